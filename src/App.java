@@ -1,25 +1,211 @@
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+
+import biblioteca.application.usecases.export.ExportDataRequest;
+import biblioteca.application.usecases.export.ExportDataResult;
 import biblioteca.console.ioc.DependencyContainer;
+import biblioteca.console.server.DeskServer;
 import biblioteca.console.utils.DisplayHelper;
+import biblioteca.data.database.RepositoryJournal.RecoveryStats;
+import biblioteca.data.export.ExportFormat;
 
 /**
- * Main application entry point
+ * Main application entry point.
+ *
+ * With "--exportar <directorio> [--formato csv|ndjson] [--gzip]" it exports
+ * all the data and exits without showing the menu (e.g. for a nightly job).
+ * With "--servidor <puerto> [--sesiones N]" it serves the menu to many desks
+ * over TCP, one independent session per connection, until stopped.
  */
 public class App {
+    private static final int DEFAULT_PLATFORM_SESSIONS = 200;
+    private static final int SESSION_IDLE_TIMEOUT_MILLIS = 30 * 60 * 1000;
 
     public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("--exportar")) {
+            System.exit(export(args));
+        }
+        if (args.length > 0 && args[0].equals("--servidor")) {
+            System.exit(serve(args));
+        }
         try {
             DisplayHelper.printInfo("Inicializando sistema de biblioteca...");
 
             DependencyContainer container = new DependencyContainer();
             container.initialize();
+            container.startDailyTasks();
 
             DisplayHelper.printSuccess("Sistema inicializado correctamente");
+            if (container.getDatabaseUrl() != null) {
+                DisplayHelper.printInfo("Datos en la base de datos " + container.getDatabaseUrl());
+            } else {
+                reportRecovery(container.getRecoveryStats());
+            }
 
             container.getMainController().start();
+            container.close();
 
         } catch (Exception e) {
             DisplayHelper.printErrorMessage("Error fatal en la aplicación: " + e.getMessage());
             e.printStackTrace();
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Exporta todos los datos sin pasar por el menú
+     *
+     * @return Código de salida: 0 si se exportó todo
+     */
+    private static int export(String[] args) {
+        if (args.length < 2) {
+            DisplayHelper.printErrorMessage("Uso: --exportar <directorio> [--formato csv|ndjson] [--gzip]");
+            return 2;
+        }
+        ExportFormat format = ExportFormat.CSV;
+        boolean gzip = false;
+        for (int i = 2; i < args.length; i++) {
+            if (args[i].equals("--gzip")) {
+                gzip = true;
+            } else if (args[i].equals("--formato") && i + 1 < args.length) {
+                String name = args[++i];
+                if (!name.equalsIgnoreCase("csv") && !name.equalsIgnoreCase("ndjson")) {
+                    DisplayHelper.printErrorMessage("Formato desconocido: " + name + " (use csv o ndjson)");
+                    return 2;
+                }
+                format = ExportFormat.valueOf(name.toUpperCase());
+            } else {
+                DisplayHelper.printErrorMessage("Opción desconocida: " + args[i]);
+                return 2;
+            }
+        }
+
+        DependencyContainer container = new DependencyContainer();
+        try {
+            container.initialize();
+            ExportDataResult result = container.getExportDataUseCase().execute(
+                    new ExportDataRequest(args[1], format, gzip),
+                    file -> DisplayHelper.printInfo(String.format("%s: %,d registros, %s en %,d ms -> %s",
+                            file.table(), file.rows(), formatBytes(file.fileBytes()), file.elapsedMillis(),
+                            file.path())));
+            if (!result.isSuccess()) {
+                DisplayHelper.printErrorMessage(result.getMessage());
+                return 1;
+            }
+            DisplayHelper.printSuccess(result.getMessage());
+            return 0;
+        } catch (Exception e) {
+            DisplayHelper.printErrorMessage("Error fatal en la exportación: " + e.getMessage());
+            return 1;
+        } finally {
+            try {
+                container.close();
+            } catch (IOException e) {
+                DisplayHelper.printErrorMessage("Error al cerrar los datos: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Atiende mostradores por TCP hasta que se detenga el proceso (Ctrl+C),
+     * y entonces cierra las sesiones y guarda los datos
+     *
+     * @return Código de salida: 0 si se detuvo normalmente
+     */
+    private static int serve(String[] args) {
+        int port;
+        int platformSessions = DEFAULT_PLATFORM_SESSIONS;
+        try {
+            if (args.length < 2) {
+                throw new NumberFormatException();
+            }
+            port = Integer.parseInt(args[1]);
+            for (int i = 2; i < args.length; i++) {
+                if (args[i].equals("--sesiones") && i + 1 < args.length) {
+                    platformSessions = Integer.parseInt(args[++i]);
+                } else {
+                    DisplayHelper.printErrorMessage("Opción desconocida: " + args[i]);
+                    return 2;
+                }
+            }
+        } catch (NumberFormatException e) {
+            DisplayHelper.printErrorMessage("Uso: --servidor <puerto> [--sesiones N]");
+            return 2;
+        }
+
+        DependencyContainer container = new DependencyContainer();
+        // El hook de apagado espera que se guarden los datos antes de salir
+        CountDownLatch stopped = new CountDownLatch(1);
+        DeskServer server = null;
+        try {
+            container.initialize();
+            container.startDailyTasks();
+            server = new DeskServer(container.getMainController(), port, platformSessions,
+                    SESSION_IDLE_TIMEOUT_MILLIS);
+            DeskServer started = server;
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    started.close();
+                    stopped.await();
+                } catch (IOException | InterruptedException e) {
+                    DisplayHelper.printErrorMessage("Error al detener el servidor: " + e.getMessage());
+                }
+            }));
+            DisplayHelper.printSuccess(String.format("Servidor de mostradores en el puerto %d (%s)",
+                    server.getPort(), server.usesVirtualThreads() ? "hilos virtuales"
+                            : "hasta " + platformSessions + " sesiones simultáneas"));
+            if (!server.usesVirtualThreads()) {
+                // Sin hilos virtuales cada sesión retiene un hilo de plataforma
+                DisplayHelper.printWarning(String.format("Java %d no tiene hilos virtuales: cada sesión ocupa "
+                        + "un hilo y las conexiones de más esperan turno. Para miles de mostradores use Java 21 "
+                        + "o posterior", Runtime.version().feature()));
+            }
+            server.serve();
+            return 0;
+        } catch (Exception e) {
+            DisplayHelper.printErrorMessage("Error fatal en el servidor: " + e.getMessage());
+            return 1;
+        } finally {
+            // serve() vuelve apenas se cierra el puerto; los datos se cierran
+            // recién cuando terminó la última sesión
+            try {
+                if (server != null) {
+                    server.close();
+                }
+            } catch (IOException e) {
+                DisplayHelper.printErrorMessage("Error al detener el servidor: " + e.getMessage());
+            }
+            try {
+                container.close();
+            } catch (IOException e) {
+                DisplayHelper.printErrorMessage("Error al cerrar los datos: " + e.getMessage());
+            }
+            stopped.countDown();
+        }
+    }
+
+    /**
+     * Muestra cómo se restauró el estado guardado
+     */
+    private static void reportRecovery(RecoveryStats stats) {
+        if (stats.seeded()) {
+            DisplayHelper.printInfo(String.format(
+                    "Primer arranque: datos iniciales cargados (snapshot de %s) en %d ms",
+                    formatBytes(stats.snapshotBytes()), stats.elapsedMillis()));
+        } else {
+            DisplayHelper.printInfo(String.format(
+                    "Estado restaurado en %d ms: snapshot de %s (%,d entidades) + %,d registros del log",
+                    stats.elapsedMillis(), formatBytes(stats.snapshotBytes()),
+                    stats.snapshotEntities(), stats.replayedRecords()));
+        }
+    }
+
+    private static String formatBytes(long bytes) {
+        if (bytes < 1024) {
+            return bytes + " B";
+        }
+        if (bytes < 1024 * 1024) {
+            return String.format("%.1f KB", bytes / 1024.0);
+        }
+        return String.format("%.1f MB", bytes / (1024.0 * 1024));
+    }
+}
@@ -3,11 +3,12 @@ package biblioteca.application.devoluciones.consultar;
 import java.time.LocalDate;
 import java.util.Comparator;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import biblioteca.data.database.FineRepository;
 import biblioteca.data.database.LoanRepository;
+import biblioteca.domain.entities.Copy;
 import biblioteca.domain.entities.Loan;
+import biblioteca.domain.entities.Member;
 import biblioteca.domain.enums.LoanState;
 
 /**
@@ -38,7 +39,7 @@ public class QueryReturnsUseCase {
                     .filter(loan -> matchesDateRangeFilter(loan, request.getStartDate(), request.getEndDate()))
                     .filter(loan -> matchesFineFilter(loan, request.getWithFine()))
                     .sorted(Comparator.comparing(Loan::getReturnDate).reversed()) // Most recent first
-                    .collect(Collectors.toList());
+                    .toList();
 
             if (filteredReturns.isEmpty()) {
                 return QueryReturnsResult.success(filteredReturns,
@@ -57,25 +58,28 @@ public class QueryReturnsUseCase {
      * Get recent returns for a specific member (used for member details)
      */
     public List<Loan> getRecentReturnsByMember(String memberId, int limit) {
-        return loanRepository.findByState(LoanState.RETURNED).stream()
-                .filter(loan -> loan.getMember().getId().equals(memberId))
+        // Busca por socio: el archivo resuelve el socio con el diccionario de cada segmento
+        return loanRepository.findByMemberId(memberId).stream()
+                .filter(loan -> loan.getState() == LoanState.RETURNED)
                 .sorted(Comparator.comparing(Loan::getReturnDate).reversed())
                 .limit(limit)
-                .collect(Collectors.toList());
+                .toList();
     }
 
     private boolean matchesMemberFilter(Loan loan, String memberId) {
         if (memberId == null || memberId.trim().isEmpty()) {
             return true;
         }
-        return loan.getMember().getId().equalsIgnoreCase(memberId.trim());
+        return loan.getMemberId().equalsIgnoreCase(memberId.trim());
     }
 
     private boolean matchesBookFilter(Loan loan, String bookId) {
         if (bookId == null || bookId.trim().isEmpty()) {
             return true;
         }
-        return loan.getCopy().getBook().getId() == Integer.parseInt(bookId.trim());
+        // El ejemplar puede haberse dado de baja después de la devolución
+        Copy copy = loan.getCopy();
+        return copy != null && copy.getBook().getId() == Integer.parseInt(bookId.trim());
     }
 
     private boolean matchesDateRangeFilter(Loan loan, LocalDate startDate, LocalDate endDate) {
@@ -101,10 +105,9 @@ public class QueryReturnsUseCase {
         }
 
         // Check if this loan generated a fine
-        boolean hasFine = !fineRepository.findByMember(loan.getMember()).stream()
-                .filter(fine -> fine.getIssueDate().equals(loan.getReturnDate()))
-                .collect(Collectors.toList())
-                .isEmpty();
+        Member member = loan.getMember();
+        boolean hasFine = member != null && fineRepository.findByMember(member).stream()
+                .anyMatch(fine -> fine.getIssueDate().equals(loan.getReturnDate()));
 
         return withFine == hasFine;
     }
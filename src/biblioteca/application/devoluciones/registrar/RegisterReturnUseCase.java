@@ -3,35 +3,42 @@ package biblioteca.application.devoluciones.registrar;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
 
+import biblioteca.data.database.BatchRunner;
 import biblioteca.data.database.CopyRepository;
 import biblioteca.data.database.FineRepository;
 import biblioteca.data.database.LoanRepository;
 import biblioteca.data.database.SystemParametersRepository;
 import biblioteca.domain.entities.Copy;
+import biblioteca.domain.entities.EntityResolver;
 import biblioteca.domain.entities.Fine;
 import biblioteca.domain.entities.Loan;
+import biblioteca.domain.entities.Member;
 import biblioteca.domain.entities.SystemParameters;
-import biblioteca.domain.enums.LoanState;
+import biblioteca.domain.enums.CopyState;
 
 /**
  * Use case for registering book returns
- * Handles return processing, fine calculation, and state updates
+ * Handles return processing, fine calculation, and state updates. The fine,
+ * copy and loan are stored as one unit of work.
  */
 public class RegisterReturnUseCase {
     private final LoanRepository loanRepository;
     private final CopyRepository copyRepository;
     private final FineRepository fineRepository;
     private final SystemParametersRepository systemParametersRepository;
+    private final BatchRunner batchRunner;
 
     public RegisterReturnUseCase(
             LoanRepository loanRepository,
             CopyRepository copyRepository,
             FineRepository fineRepository,
-            SystemParametersRepository systemParametersRepository) {
+            SystemParametersRepository systemParametersRepository,
+            BatchRunner batchRunner) {
         this.loanRepository = loanRepository;
         this.copyRepository = copyRepository;
         this.fineRepository = fineRepository;
         this.systemParametersRepository = systemParametersRepository;
+        this.batchRunner = batchRunner;
     }
 
     /**
@@ -59,24 +66,39 @@ public class RegisterReturnUseCase {
         LocalDate today = LocalDate.now();
         long delayDays = ChronoUnit.DAYS.between(activeLoan.getDueDate(), today);
 
-        // 4. Create fine if there's a delay
-        Fine fine = null;
-        if (delayDays > 0) {
-            fine = calculateFine(activeLoan, delayDays);
-            fine = fineRepository.save(fine); // Capture the fine with generated ID
+        // 4. Create fine if there's a delay. The member may have been
+        // removed with the loan still open: the return goes through anyway
+        Member member = activeLoan.getMember();
+        Fine newFine = delayDays > 0 ? calculateFine(activeLoan, member, delayDays) : null;
+
+        // 5. Loan RETURNED with return date, as a new instance: a rollback
+        // puts back the one read above unchanged
+        Loan returnedLoan = activeLoan.returned(today);
+
+        // 6. Store fine, copy and loan together, or none of them. If another
+        // desk returned the loan, or changed the copy since it was read, the
+        // return fails instead of closing the loan twice
+        Fine fine;
+        try {
+            fine = batchRunner.call(() -> {
+                Loan currentLoan = loanRepository.findActiveLoanByCopy(copy);
+                if (currentLoan == null || !currentLoan.getId().equals(activeLoan.getId())) {
+                    throw new IllegalStateException("el préstamo ya fue devuelto");
+                }
+                if (copy.getState() != CopyState.LOANED
+                        || copyRepository.compareAndSetState(copy, CopyState.AVAILABLE) == null) {
+                    throw new IllegalStateException("el ejemplar cambió mientras se registraba");
+                }
+                Fine savedFine = newFine != null ? fineRepository.save(newFine) : null; // Capture the generated ID
+                loanRepository.save(returnedLoan);
+                return savedFine;
+            });
+        } catch (IllegalStateException e) {
+            return new RegisterReturnResult(false, "No se pudo registrar la devolución: " + e.getMessage());
         }
 
-        // 5. Update copy state to AVAILABLE
-        copy.markAsAvailable();
-        copyRepository.update(copy);
-
-        // 6. Update loan state to RETURNED with return date
-        activeLoan.setReturnDate(today);
-        activeLoan.setState(LoanState.RETURNED);
-        loanRepository.save(activeLoan);
-
         // 7. Build result message
-        String message = buildReturnMessage(activeLoan, delayDays, fine);
+        String message = buildReturnMessage(returnedLoan, copy, member, delayDays, fine);
 
         return new RegisterReturnResult(true, message, fine);
     }
@@ -102,31 +124,36 @@ public class RegisterReturnUseCase {
         LocalDate today = LocalDate.now();
         long delayDays = ChronoUnit.DAYS.between(activeLoan.getDueDate(), today);
 
+        Member member = activeLoan.getMember();
         Fine previewFine = null;
         if (delayDays > 0) {
-            previewFine = calculateFine(activeLoan, delayDays);
+            previewFine = calculateFine(activeLoan, member, delayDays);
         }
 
-        String previewMessage = buildPreviewMessage(activeLoan, delayDays, previewFine);
+        String previewMessage = buildPreviewMessage(activeLoan, copy, member, delayDays, previewFine);
 
         return new RegisterReturnResult(true, previewMessage, previewFine);
     }
 
     /**
      * Calculate fine based on delay days and member type benefits
+     *
+     * @param member The loan's member, null if it no longer exists (no
+     *               discount applies)
      */
-    private Fine calculateFine(Loan loan, long delayDays) {
+    private Fine calculateFine(Loan loan, Member member, long delayDays) {
         SystemParameters params = systemParametersRepository.get();
         double baseAmount = delayDays * params.getFinePerDay();
 
         // Apply member type discount
-        double finalAmount = loan.getMember().calculateFineAmount(baseAmount);
+        double finalAmount = member != null ? member.calculateFineAmount(baseAmount) : baseAmount;
 
         Fine fine = new Fine(
                 null, // ID will be generated by repository
-                loan.getMember(),
+                loan.getMemberId(),
                 finalAmount,
-                LocalDate.now());
+                LocalDate.now(),
+                EntityResolver.pinned(member, null));
 
         return fine;
     }
@@ -134,11 +161,11 @@ public class RegisterReturnUseCase {
     /**
      * Build detailed return message
      */
-    private String buildReturnMessage(Loan loan, long delayDays, Fine fine) {
+    private String buildReturnMessage(Loan loan, Copy copy, Member member, long delayDays, Fine fine) {
         StringBuilder message = new StringBuilder();
         message.append(String.format("Devolución registrada exitosamente%n"));
-        message.append(String.format("Libro: %s%n", loan.getCopy().getBook().getTitle()));
-        message.append(String.format("Ejemplar: %s%n", loan.getCopy().getCode()));
+        message.append(String.format("Libro: %s%n", copy.getBook().getTitle()));
+        message.append(String.format("Ejemplar: %s%n", loan.getCopyCode()));
         message.append(String.format("Fecha de vencimiento: %s%n", loan.getDueDate()));
         message.append(String.format("Fecha de devolución: %s%n", loan.getReturnDate()));
 
@@ -147,10 +174,10 @@ public class RegisterReturnUseCase {
             message.append(String.format("Multa generada: $%.2f%n", fine.getAmount()));
 
             // Show discount if applicable
-            double discountPercentage = loan.getMember().getType().getFineDiscountPercentage();
+            double discountPercentage = member != null ? member.getType().getFineDiscountPercentage() : 0;
             if (discountPercentage > 0) {
                 message.append(String.format("(Descuento %s aplicado: %.0f%%)%n",
-                        loan.getMember().getType().getDisplayName(),
+                        member.getType().getDisplayName(),
                         discountPercentage));
             }
         } else {
@@ -163,13 +190,16 @@ public class RegisterReturnUseCase {
     /**
      * Build preview message for return (before confirmation)
      */
-    private String buildPreviewMessage(Loan loan, long delayDays, Fine fine) {
+    private String buildPreviewMessage(Loan loan, Copy copy, Member member, long delayDays, Fine fine) {
         StringBuilder message = new StringBuilder();
         message.append(String.format("Préstamo activo encontrado%n"));
-        message.append(String.format("Socio: %s (%s)%n", loan.getMember().getName(),
-                loan.getMember().getType().getDisplayName()));
-        message.append(String.format("Libro: %s%n", loan.getCopy().getBook().getTitle()));
-        message.append(String.format("Ejemplar: %s%n", loan.getCopy().getCode()));
+        if (member != null) {
+            message.append(String.format("Socio: %s (%s)%n", member.getName(), member.getType().getDisplayName()));
+        } else {
+            message.append(String.format("Socio: %s (dado de baja)%n", loan.getMemberId()));
+        }
+        message.append(String.format("Libro: %s%n", copy.getBook().getTitle()));
+        message.append(String.format("Ejemplar: %s%n", loan.getCopyCode()));
         message.append(String.format("Fecha de préstamo: %s%n", loan.getLoanDate()));
         message.append(String.format("Fecha de vencimiento: %s%n", loan.getDueDate()));
         message.append(String.format("Fecha de devolución: %s (hoy)%n", LocalDate.now()));
@@ -180,10 +210,10 @@ public class RegisterReturnUseCase {
             message.append(String.format("Multa a generar: $%.2f%n", fine.getAmount()));
 
             // Show discount if applicable
-            double discountPercentage = loan.getMember().getType().getFineDiscountPercentage();
+            double discountPercentage = member != null ? member.getType().getFineDiscountPercentage() : 0;
             if (discountPercentage > 0) {
                 message.append(String.format("(Descuento %s: %.0f%%)%n",
-                        loan.getMember().getType().getDisplayName(),
+                        member.getType().getDisplayName(),
                         discountPercentage));
             }
         } else {
@@ -1,11 +1,8 @@
 package biblioteca.application.libros.eliminar;
 
-import java.util.List;
-
 import biblioteca.data.database.BookRepository;
 import biblioteca.data.database.CopyRepository;
 import biblioteca.domain.entities.Book;
-import biblioteca.domain.entities.Copy;
 import biblioteca.domain.enums.CopyState;
 
 /**
@@ -28,10 +25,7 @@ public class DeleteBookUseCase {
         }
 
         // Check if book has loaned copies
-        List<Copy> copies = copyRepository.findByBook(book);
-        long loanedCopies = copies.stream()
-                .filter(copy -> copy.getState() == CopyState.LOANED)
-                .count();
+        long loanedCopies = copyRepository.countByBookAndState(book, CopyState.LOANED);
 
         if (loanedCopies > 0) {
             return DeleteBookResult.failure(
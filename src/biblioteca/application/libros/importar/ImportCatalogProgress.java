@@ -0,0 +1,21 @@
+package biblioteca.application.libros.importar;
+
+/**
+ * Progress of a running catalog import, reported after every batch
+ *
+ * @param recordsRead   Records read from the file so far
+ * @param booksImported Books stored so far
+ * @param copiesCreated Copies stored so far
+ * @param skipped       Records skipped (invalid or duplicated)
+ * @param elapsedMillis Time since the import started
+ */
+public record ImportCatalogProgress(long recordsRead, long booksImported, long copiesCreated, long skipped,
+        long elapsedMillis) {
+
+    /**
+     * @return Records processed per second
+     */
+    public long recordsPerSecond() {
+        return elapsedMillis > 0 ? recordsRead * 1000 / elapsedMillis : recordsRead;
+    }
+}
@@ -0,0 +1,35 @@
+package biblioteca.application.libros.importar;
+
+import biblioteca.domain.enums.CopyOrigin;
+
+/**
+ * Request for importing a catalog file
+ */
+public class ImportCatalogRequest {
+    private final String filePath;
+    private final int defaultCopies;
+    private final CopyOrigin origin;
+
+    /**
+     * @param filePath      Path of the .csv, .ndjson or .jsonl file
+     * @param defaultCopies Copies to create for books without a copies field
+     * @param origin        Origin of the created copies
+     */
+    public ImportCatalogRequest(String filePath, int defaultCopies, CopyOrigin origin) {
+        this.filePath = filePath;
+        this.defaultCopies = defaultCopies;
+        this.origin = origin;
+    }
+
+    public String getFilePath() {
+        return filePath;
+    }
+
+    public int getDefaultCopies() {
+        return defaultCopies;
+    }
+
+    public CopyOrigin getOrigin() {
+        return origin;
+    }
+}
@@ -0,0 +1,57 @@
+package biblioteca.application.libros.importar;
+
+import java.util.List;
+
+/**
+ * Result of importing a catalog file
+ */
+public class ImportCatalogResult {
+    public static ImportCatalogResult success(ImportCatalogProgress totals, List<String> errors) {
+        String message = String.format("Importación finalizada: %,d libros y %,d ejemplares en %,d ms"
+                + " (%,d registros omitidos)", totals.booksImported(), totals.copiesCreated(),
+                totals.elapsedMillis(), totals.skipped());
+        return new ImportCatalogResult(true, message, totals, errors);
+    }
+
+    public static ImportCatalogResult failure(String message) {
+        return new ImportCatalogResult(false, message, null, List.of());
+    }
+
+    private final boolean success;
+
+    private final String message;
+
+    private final ImportCatalogProgress totals;
+
+    private final List<String> errors;
+
+    private ImportCatalogResult(boolean success, String message, ImportCatalogProgress totals,
+            List<String> errors) {
+        this.success = success;
+        this.message = message;
+        this.totals = totals;
+        this.errors = errors;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * @return Final counters, null if the import could not start
+     */
+    public ImportCatalogProgress getTotals() {
+        return totals;
+    }
+
+    /**
+     * @return Reasons of the first skipped records
+     */
+    public List<String> getErrors() {
+        return errors;
+    }
+}
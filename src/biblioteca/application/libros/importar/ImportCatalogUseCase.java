@@ -0,0 +1,258 @@
+package biblioteca.application.libros.importar;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import biblioteca.data.catalog.CatalogReader;
+import biblioteca.data.catalog.CatalogRecord;
+import biblioteca.data.database.AuthorRepository;
+import biblioteca.data.database.BatchRunner;
+import biblioteca.data.database.BookRepository;
+import biblioteca.data.database.CategoryRepository;
+import biblioteca.data.database.CopyRepository;
+import biblioteca.data.database.PublisherRepository;
+import biblioteca.data.store.TextNormalizer;
+import biblioteca.domain.entities.Author;
+import biblioteca.domain.entities.Book;
+import biblioteca.domain.entities.Category;
+import biblioteca.domain.entities.Publisher;
+
+/**
+ * Use case for importing a whole catalog file (CSV or NDJSON).
+ *
+ * The file is streamed and stored in batches of {@value #BATCH_SIZE} books,
+ * each one a single {@link BatchRunner} unit, so memory use depends on the
+ * batch size and on the number of distinct authors, categories and
+ * publishers, not on the size of the file. Authors, categories and
+ * publishers are matched by name (case and accent insensitive) and created
+ * when missing; books whose title already exists are skipped, like in
+ * {@code RegisterBookUseCase}.
+ */
+public class ImportCatalogUseCase {
+    static final int BATCH_SIZE = 1000;
+    private static final int MAX_COPIES_PER_BOOK = 100;
+    private static final int MAX_REPORTED_ERRORS = 20;
+
+    private final BookRepository bookRepository;
+    private final AuthorRepository authorRepository;
+    private final CategoryRepository categoryRepository;
+    private final PublisherRepository publisherRepository;
+    private final CopyRepository copyRepository;
+    private final BatchRunner batchRunner;
+
+    public ImportCatalogUseCase(BookRepository bookRepository,
+            AuthorRepository authorRepository,
+            CategoryRepository categoryRepository,
+            PublisherRepository publisherRepository,
+            CopyRepository copyRepository,
+            BatchRunner batchRunner) {
+        this.bookRepository = bookRepository;
+        this.authorRepository = authorRepository;
+        this.categoryRepository = categoryRepository;
+        this.publisherRepository = publisherRepository;
+        this.copyRepository = copyRepository;
+        this.batchRunner = batchRunner;
+    }
+
+    /**
+     * Imports the catalog
+     * 
+     * @param request  The file and the copies to create
+     * @param progress Receives the counters after every stored batch
+     * @return The operation result
+     */
+    public ImportCatalogResult execute(ImportCatalogRequest request, Consumer<ImportCatalogProgress> progress) {
+        if (request.getFilePath() == null || request.getFilePath().isBlank()) {
+            return ImportCatalogResult.failure("Debe indicar el archivo a importar");
+        }
+        if (request.getDefaultCopies() < 0 || request.getDefaultCopies() > MAX_COPIES_PER_BOOK) {
+            return ImportCatalogResult.failure(
+                    "La cantidad de ejemplares debe estar entre 0 y " + MAX_COPIES_PER_BOOK);
+        }
+        Path file = Path.of(request.getFilePath().trim());
+        if (!Files.isRegularFile(file)) {
+            return ImportCatalogResult.failure("No se encontró el archivo: " + file);
+        }
+
+        Import run = new Import(request, progress);
+        try (CatalogReader reader = CatalogReader.open(file)) {
+            CatalogRecord record;
+            while ((record = reader.next()) != null) {
+                run.add(record);
+            }
+            run.flush();
+        } catch (IOException | RuntimeException e) {
+            ImportCatalogProgress totals = run.progress();
+            return ImportCatalogResult.failure(String.format(
+                    "Error al importar el catálogo: %s (%,d libros ya importados)",
+                    e.getMessage(), totals.booksImported()));
+        }
+        return ImportCatalogResult.success(run.progress(), run.errors);
+    }
+
+    /**
+     * State of one import: the name lookups, the pending batch and the
+     * counters
+     */
+    private class Import {
+        private final ImportCatalogRequest request;
+        private final Consumer<ImportCatalogProgress> listener;
+        private final long start = System.nanoTime();
+        private final Map<String, Author> authors = new HashMap<>();
+        private final Map<String, Category> categories = new HashMap<>();
+        private final Map<String, Publisher> publishers = new HashMap<>();
+        private final List<String> errors = new ArrayList<>();
+
+        // Pending batch
+        private final List<Author> newAuthors = new ArrayList<>();
+        private final List<Category> newCategories = new ArrayList<>();
+        private final List<Publisher> newPublishers = new ArrayList<>();
+        private final List<Book> books = new ArrayList<>(BATCH_SIZE);
+        private final List<Integer> copies = new ArrayList<>(BATCH_SIZE);
+        private final Set<String> titles = new HashSet<>();
+
+        private long recordsRead;
+        private long booksImported;
+        private long copiesCreated;
+        private long skipped;
+
+        Import(ImportCatalogRequest request, Consumer<ImportCatalogProgress> listener) {
+            this.request = request;
+            this.listener = listener;
+            authorRepository.findAll().forEach(author -> authors.putIfAbsent(key(author.getName()), author));
+            categoryRepository.findAll()
+                    .forEach(category -> categories.putIfAbsent(key(category.getName()), category));
+            publisherRepository.findAll()
+                    .forEach(publisher -> publishers.putIfAbsent(key(publisher.getName()), publisher));
+        }
+
+        void add(CatalogRecord record) {
+            recordsRead++;
+            String error = validate(record);
+            if (error != null) {
+                skip(record, error);
+                return;
+            }
+            String title = record.title().trim();
+            if (!titles.add(key(title)) || bookRepository.existsByTitle(title)) {
+                skip(record, "ya existe un libro con el título '" + title + "'");
+                return;
+            }
+
+            Author author = authors.computeIfAbsent(key(record.author()), name -> {
+                Author created = new Author(0, record.author().trim());
+                newAuthors.add(created);
+                return created;
+            });
+            Category category = categories.computeIfAbsent(key(record.category()), name -> {
+                Category created = new Category(0, record.category().trim());
+                newCategories.add(created);
+                return created;
+            });
+            Publisher publisher = publishers.computeIfAbsent(key(record.publisher()), name -> {
+                Publisher created = new Publisher(0, record.publisher().trim());
+                newPublishers.add(created);
+                return created;
+            });
+            books.add(new Book(0, title, author, category, publisher, parse(record.year())));
+            copies.add(record.copies() != null ? parse(record.copies()) : request.getDefaultCopies());
+            if (books.size() == BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        /**
+         * Stores the pending batch as one unit and reports progress
+         */
+        void flush() {
+            if (books.isEmpty() && newAuthors.isEmpty() && newCategories.isEmpty() && newPublishers.isEmpty()) {
+                return;
+            }
+            batchRunner.batch(() -> {
+                // New authors, categories and publishers get their IDs
+                // before the books that reference them are stored
+                newAuthors.forEach(authorRepository::save);
+                newCategories.forEach(categoryRepository::save);
+                newPublishers.forEach(publisherRepository::save);
+                bookRepository.saveAll(books);
+                for (int i = 0; i < books.size(); i++) {
+                    if (copies.get(i) > 0) {
+                        copiesCreated += copyRepository.createCopies(books.get(i), copies.get(i),
+                                request.getOrigin()).size();
+                    }
+                }
+            });
+            booksImported += books.size();
+            newAuthors.clear();
+            newCategories.clear();
+            newPublishers.clear();
+            books.clear();
+            copies.clear();
+            titles.clear();
+            if (listener != null) {
+                listener.accept(progress());
+            }
+        }
+
+        ImportCatalogProgress progress() {
+            return new ImportCatalogProgress(recordsRead, booksImported, copiesCreated, skipped,
+                    (System.nanoTime() - start) / 1_000_000);
+        }
+
+        private String validate(CatalogRecord record) {
+            if (!record.isValid()) {
+                return record.error();
+            }
+            if (record.title() == null) {
+                return "falta el título";
+            }
+            if (record.author() == null || record.category() == null || record.publisher() == null) {
+                return "faltan el autor, la categoría o la editorial";
+            }
+            if (record.year() == null) {
+                return "falta el año";
+            }
+            int year = parse(record.year());
+            if (year <= 0) {
+                return "año inválido: " + record.year();
+            }
+            if (record.copies() != null) {
+                int quantity = parse(record.copies());
+                if (quantity < 0 || quantity > MAX_COPIES_PER_BOOK) {
+                    return "cantidad de ejemplares inválida: " + record.copies();
+                }
+            }
+            return null;
+        }
+
+        private void skip(CatalogRecord record, String reason) {
+            skipped++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add("Línea " + record.line() + ": " + reason);
+            }
+        }
+    }
+
+    private static String key(String name) {
+        return TextNormalizer.normalize(name);
+    }
+
+    /**
+     * @return The number, or -1 if the text is not an integer
+     */
+    private static int parse(String number) {
+        try {
+            return number != null ? Integer.parseInt(number.trim()) : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
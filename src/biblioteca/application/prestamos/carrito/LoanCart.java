@@ -2,21 +2,24 @@ package biblioteca.application.prestamos.carrito;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Predicate;
 
 import biblioteca.domain.entities.Copy;
 
 /**
  * Carrito de préstamos que permite agregar múltiples ejemplares
  * antes de confirmar un préstamo conjunto.
+ * Los items se guardan en una lista inmutable que se reemplaza en cada
+ * modificación (copy-on-write), así getItems() la comparte sin copiarla.
  */
 public class LoanCart {
     private String memberId;
-    private List<Copy> items;
+    private volatile List<Copy> items;
     private boolean confirmed;
 
     public LoanCart(String memberId) {
         this.memberId = memberId;
-        this.items = new ArrayList<>();
+        this.items = List.of();
         this.confirmed = false;
     }
 
@@ -25,7 +28,9 @@ public class LoanCart {
      */
     public boolean addItem(Copy copy) {
         if (!items.contains(copy)) {
-            items.add(copy);
+            List<Copy> updated = new ArrayList<>(items);
+            updated.add(copy);
+            items = List.copyOf(updated);
             return true;
         }
         return false; // Ya existe en el carrito
@@ -35,14 +40,23 @@ public class LoanCart {
      * Remueve un ejemplar del carrito.
      */
     public boolean removeItem(Copy copy) {
-        return items.remove(copy);
+        return removeItems(copy::equals);
     }
 
     /**
      * Remueve un ejemplar por su código.
      */
     public boolean removeItemByCode(String copyCode) {
-        return items.removeIf(copy -> copy.getCode().equals(copyCode));
+        return removeItems(copy -> copy.getCode().equals(copyCode));
+    }
+
+    private boolean removeItems(Predicate<Copy> filter) {
+        List<Copy> updated = new ArrayList<>(items);
+        if (!updated.removeIf(filter)) {
+            return false;
+        }
+        items = List.copyOf(updated);
+        return true;
     }
 
     /**
@@ -63,7 +77,7 @@ public class LoanCart {
      * Limpia todos los items del carrito.
      */
     public void clear() {
-        items.clear();
+        items = List.of();
         confirmed = false;
     }
 
@@ -95,7 +109,7 @@ public class LoanCart {
     }
 
     public List<Copy> getItems() {
-        return new ArrayList<>(items); // Defensive copy
+        return items; // Inmutable, se reemplaza en cada cambio
     }
 
     public boolean isConfirmed() {
@@ -0,0 +1,237 @@
+package biblioteca.application.prestamos.carrito;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntUnaryOperator;
+
+import biblioteca.data.database.LoanRepository;
+
+/**
+ * Cupo de préstamos por socio: préstamos abiertos más los lugares que sus
+ * carritos tienen reservados.
+ *
+ * Un carrito reserva un lugar al agregar cada ejemplar, y lo libera al
+ * quitarlo, al limpiarse o cuando pasa el tiempo de reserva sin que se use.
+ * Al confirmarse, sus préstamos ocupan el cupo y la reserva se libera; al
+ * devolverse un préstamo, el índice de préstamos abiertos deja de contarlo.
+ * Reservar y liberar se sincronizan por socio: dos carritos del mismo socio
+ * no pueden pasar juntos el límite, y los de socios distintos no se esperan.
+ * Cada socio tiene un {@link ReentrantLock} y no un monitor: la verificación
+ * consulta el repositorio, y un hilo virtual que espera un monitor retiene
+ * su hilo de plataforma.
+ * Solo los socios con reservas ocupan memoria: cuando se libera o vence la
+ * última, su entrada se retira del mapa. Los préstamos abiertos se cuentan
+ * con el índice del repositorio, así que cada verificación es O(1).
+ */
+public class LoanQuota {
+    private final LoanRepository loanRepository;
+    private final int maxLoansPerMember;
+    private final long holdNanos;
+    private final Map<String, MemberQuota> quotas = new ConcurrentHashMap<>();
+
+    /**
+     * @param loanRepository    Préstamos abiertos por socio
+     * @param maxLoansPerMember Límite de préstamos abiertos más reservados
+     * @param holdTime          Tiempo que una reserva sigue vigente desde el
+     *                          último uso del carrito
+     */
+    public LoanQuota(LoanRepository loanRepository, int maxLoansPerMember, Duration holdTime) {
+        this.loanRepository = loanRepository;
+        this.maxLoansPerMember = maxLoansPerMember;
+        this.holdNanos = holdTime.toNanos();
+    }
+
+    public int getMaxLoansPerMember() {
+        return maxLoansPerMember;
+    }
+
+    /**
+     * Reserva un lugar más para el carrito, si el socio tiene cupo
+     *
+     * @return true si se reservó
+     */
+    public boolean reserve(LoanCart cart) {
+        return reserve(cart, held -> held + 1);
+    }
+
+    /**
+     * Asegura que el carrito tenga reservado un lugar por ejemplar, p. ej.
+     * antes de confirmarlo: sus reservas pueden haber vencido
+     *
+     * @return true si el carrito queda con todos sus lugares
+     */
+    public boolean hold(LoanCart cart) {
+        return reserve(cart, held -> cart.getItemCount());
+    }
+
+    /**
+     * Libera un lugar reservado por el carrito
+     */
+    public void release(LoanCart cart) {
+        release(cart, 1);
+    }
+
+    /**
+     * Libera todos los lugares reservados por el carrito
+     */
+    public void releaseAll(LoanCart cart) {
+        release(cart, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Lugares reservados por carritos del socio que siguen vigentes
+     */
+    public int reserved(String memberId) {
+        MemberQuota quota = quotas.get(memberId);
+        if (quota == null) {
+            return 0;
+        }
+        quota.lock.lock();
+        try {
+            quota.expire(System.nanoTime());
+            int reserved = quota.reserved;
+            retireIfEmpty(quota);
+            return reserved;
+        } finally {
+            quota.lock.unlock();
+        }
+    }
+
+    /**
+     * Socios con reservas en memoria
+     */
+    int trackedMembers() {
+        return quotas.size();
+    }
+
+    /**
+     * Préstamos abiertos más lugares reservados del socio
+     */
+    public long used(String memberId) {
+        // Las reservas se leen primero: un carrito confirmado guarda sus
+        // préstamos antes de liberarlas, así que nunca se cuenta de menos
+        int reserved = reserved(memberId);
+        return loanRepository.countActiveLoansByMemberId(memberId) + reserved;
+    }
+
+    /**
+     * Lleva las reservas del carrito a la cantidad calculada a partir de
+     * las que tiene, y renueva su vencimiento
+     */
+    private boolean reserve(LoanCart cart, IntUnaryOperator wanted) {
+        while (true) {
+            MemberQuota quota = quotas.computeIfAbsent(cart.getMemberId(), MemberQuota::new);
+            quota.lock.lock();
+            try {
+                if (quota.retired) {
+                    // Se retiró del mapa entre la búsqueda y el bloqueo
+                    continue;
+                }
+                try {
+                    return reserve(quota, cart, wanted);
+                } finally {
+                    retireIfEmpty(quota);
+                }
+            } finally {
+                quota.lock.unlock();
+            }
+        }
+    }
+
+    private boolean reserve(MemberQuota quota, LoanCart cart, IntUnaryOperator wanted) {
+        long now = System.nanoTime();
+        quota.expire(now);
+        Hold hold = quota.holds.get(cart);
+        int held = hold != null ? hold.slots : 0;
+        int slots = wanted.applyAsInt(held);
+        if (slots > held) {
+            long open = loanRepository.countActiveLoansByMemberId(cart.getMemberId());
+            if (open + quota.reserved + (slots - held) > maxLoansPerMember) {
+                return false;
+            }
+            quota.reserved += slots - held;
+            if (hold == null) {
+                hold = new Hold();
+                quota.holds.put(cart, hold);
+            }
+            hold.slots = slots;
+        }
+        if (hold != null) {
+            hold.expiresAt = now + holdNanos;
+        }
+        return true;
+    }
+
+    private void release(LoanCart cart, int slots) {
+        MemberQuota quota = quotas.get(cart.getMemberId());
+        if (quota == null) {
+            return;
+        }
+        quota.lock.lock();
+        try {
+            quota.expire(System.nanoTime());
+            Hold hold = quota.holds.get(cart);
+            if (hold != null) {
+                int released = Math.min(slots, hold.slots);
+                hold.slots -= released;
+                quota.reserved -= released;
+                if (hold.slots == 0) {
+                    quota.holds.remove(cart);
+                }
+            }
+            retireIfEmpty(quota);
+        } finally {
+            quota.lock.unlock();
+        }
+    }
+
+    /**
+     * Quita del mapa la entrada de un socio sin reservas; se llama con su
+     * lock tomado. Quien la obtuvo antes y la encuentra retirada vuelve
+     * a buscarla, así ninguna reserva queda en una entrada fuera del mapa.
+     */
+    private void retireIfEmpty(MemberQuota quota) {
+        if (quota.holds.isEmpty() && !quota.retired) {
+            quota.retired = true;
+            quotas.remove(quota.memberId, quota);
+        }
+    }
+
+    /**
+     * Reservas de los carritos de un socio; se usa con su lock tomado
+     */
+    private static final class MemberQuota {
+        private final String memberId;
+        private final ReentrantLock lock = new ReentrantLock();
+        // Por identidad de carrito: LoanCart no redefine equals
+        private final Map<LoanCart, Hold> holds = new HashMap<>();
+        private int reserved;
+        private boolean retired;
+
+        MemberQuota(String memberId) {
+            this.memberId = memberId;
+        }
+
+        /**
+         * Descarta las reservas de carritos abandonados
+         */
+        void expire(long now) {
+            for (Iterator<Hold> it = holds.values().iterator(); it.hasNext();) {
+                Hold hold = it.next();
+                if (now - hold.expiresAt > 0) {
+                    reserved -= hold.slots;
+                    it.remove();
+                }
+            }
+        }
+    }
+
+    private static final class Hold {
+        private int slots;
+        private long expiresAt;
+    }
+}
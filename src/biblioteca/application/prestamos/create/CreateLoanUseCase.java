@@ -1,10 +1,13 @@
 package biblioteca.application.prestamos.create;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 
 import biblioteca.application.prestamos.carrito.LoanCart;
+import biblioteca.application.prestamos.carrito.LoanQuota;
+import biblioteca.data.database.BatchRunner;
 import biblioteca.data.database.LoanRepository;
 import biblioteca.data.database.CopyRepository;
 import biblioteca.data.database.MemberRepository;
@@ -16,21 +19,29 @@ import biblioteca.domain.enums.MemberState;
 
 /**
  * Caso de uso para crear préstamos utilizando un carrito.
- * Valida todas las reglas de negocio antes de crear el préstamo.
+ * Valida todas las reglas de negocio antes de crear el préstamo, y guarda
+ * los préstamos y ejemplares del carrito como una sola unidad de trabajo.
+ * Cada ejemplar agregado reserva un lugar del cupo del socio (ver
+ * {@link LoanQuota}), así dos mostradores no pueden superar juntos el límite.
  */
 public class CreateLoanUseCase {
     private static final int MAX_LOANS_PER_MEMBER = 3;
     private static final int LOAN_DURATION_DAYS = 7;
+    private static final int CART_HOLD_MINUTES = 30;
 
     private final MemberRepository memberRepository;
     private final LoanRepository loanRepository;
     private final CopyRepository copyRepository;
+    private final BatchRunner batchRunner;
+    private final LoanQuota quota;
 
     public CreateLoanUseCase(MemberRepository memberRepository, LoanRepository loanRepository,
-            CopyRepository copyRepository) {
+            CopyRepository copyRepository, BatchRunner batchRunner) {
         this.memberRepository = memberRepository;
         this.loanRepository = loanRepository;
         this.copyRepository = copyRepository;
+        this.batchRunner = batchRunner;
+        this.quota = new LoanQuota(loanRepository, MAX_LOANS_PER_MEMBER, Duration.ofMinutes(CART_HOLD_MINUTES));
     }
 
     /**
@@ -38,7 +49,26 @@ public class CreateLoanUseCase {
      */
     public CreateLoanResult validateMember(CreateLoanRequest request) {
         Member member = memberRepository.findById(request.getMemberId());
+        CreateLoanResult standing = validateStanding(member);
+        if (!standing.isSuccess()) {
+            return standing;
+        }
+
+        // Verificar límite de préstamos activos y reservados en carritos
+        long usedSlots = quota.used(request.getMemberId());
+        if (usedSlots >= MAX_LOANS_PER_MEMBER) {
+            return CreateLoanResult.error(
+                    String.format("El socio ya tiene %d préstamos activos o en carritos (máximo permitido: %d)",
+                            usedSlots, MAX_LOANS_PER_MEMBER));
+        }
+
+        return CreateLoanResult.success("Socio válido para préstamos", member);
+    }
 
+    /**
+     * Verifica que el socio exista, esté activo y no tenga multas pendientes.
+     */
+    private CreateLoanResult validateStanding(Member member) {
         if (member == null) {
             return CreateLoanResult.error("El socio no existe en el sistema");
         }
@@ -54,37 +84,55 @@ public class CreateLoanUseCase {
                     .error("El socio tiene multas pendientes. Debe pagarlas antes de realizar préstamos");
         }
 
-        // Verificar límite de préstamos activos
-        long activeLoanCount = loanRepository.countActiveLoansByMemberId(request.getMemberId());
-        if (activeLoanCount >= MAX_LOANS_PER_MEMBER) {
-            return CreateLoanResult.error(
-                    String.format("El socio ya tiene %d préstamos activos (máximo permitido: %d)",
-                            activeLoanCount, MAX_LOANS_PER_MEMBER));
-        }
-
         return CreateLoanResult.success("Socio válido para préstamos", member);
     }
 
     /**
-     * Valida si se puede agregar un ejemplar al carrito.
+     * Agrega un ejemplar al carrito reservando un lugar del cupo del socio.
      */
-    public CreateLoanResult validateCopyForCart(String copyCode, LoanCart cart) {
+    public CreateLoanResult addToCart(Copy copy, LoanCart cart) {
         // Verificar que el ejemplar no esté ya en el carrito
-        if (cart.containsCopyByCode(copyCode)) {
+        if (cart.containsCopyByCode(copy.getCode())) {
             return CreateLoanResult.error("El ejemplar ya está en el carrito");
         }
 
-        // Verificar límite del carrito + préstamos activos
-        Member member = memberRepository.findById(cart.getMemberId());
-        long activeLoanCount = loanRepository.countActiveLoansByMemberId(cart.getMemberId());
+        // Reservar el lugar: préstamos activos + reservas de todos los
+        // carritos del socio no pueden pasar el límite
+        if (!quota.reserve(cart)) {
+            return CreateLoanResult.error(limitMessage(cart));
+        }
 
-        if (activeLoanCount + cart.getItemCount() >= MAX_LOANS_PER_MEMBER) {
-            return CreateLoanResult.error(
-                    String.format("Se alcanzará el límite de préstamos (%d). Préstamos activos: %d, en carrito: %d",
-                            MAX_LOANS_PER_MEMBER, activeLoanCount, cart.getItemCount()));
+        if (!cart.addItem(copy)) {
+            quota.release(cart);
+            return CreateLoanResult.error("El ejemplar ya está en el carrito");
         }
 
-        return CreateLoanResult.success("Ejemplar válido para agregar al carrito");
+        return CreateLoanResult.success("Ejemplar agregado al carrito");
+    }
+
+    /**
+     * Quita un ejemplar del carrito y libera su lugar del cupo.
+     */
+    public boolean removeFromCart(String copyCode, LoanCart cart) {
+        if (!cart.removeItemByCode(copyCode)) {
+            return false;
+        }
+        quota.release(cart);
+        return true;
+    }
+
+    /**
+     * Vacía el carrito y libera todos sus lugares del cupo.
+     */
+    public void clearCart(LoanCart cart) {
+        quota.releaseAll(cart);
+        cart.clear();
+    }
+
+    private String limitMessage(LoanCart cart) {
+        return String.format("Se alcanzará el límite de préstamos (%d). Préstamos activos: %d, en carritos: %d",
+                MAX_LOANS_PER_MEMBER, loanRepository.countActiveLoansByMemberId(cart.getMemberId()),
+                quota.reserved(cart.getMemberId()));
     }
 
     /**
@@ -95,16 +143,18 @@ public class CreateLoanUseCase {
             return CreateLoanResult.error("El carrito está vacío");
         }
 
-        // Validar nuevamente el socio
-        CreateLoanResult memberValidation = validateMember(
-                new CreateLoanRequest(cart.getMemberId(), new ArrayList<>()));
+        // Validar nuevamente el socio; el límite ya lo cubren las reservas
+        // del carrito, que se renuevan por si vencieron
+        CreateLoanResult memberValidation = validateStanding(memberRepository.findById(cart.getMemberId()));
 
         if (!memberValidation.isSuccess()) {
             return memberValidation;
         }
+        if (!quota.hold(cart)) {
+            return CreateLoanResult.error(limitMessage(cart));
+        }
 
         try {
-            List<Loan> createdLoans = new ArrayList<>();
             LocalDate loanDate = LocalDate.now();
             LocalDate dueDate = loanDate.plusDays(LOAN_DURATION_DAYS);
 
@@ -112,26 +162,38 @@ public class CreateLoanUseCase {
             Member member = memberRepository.findById(cart.getMemberId());
 
             // Crear un préstamo para cada ejemplar del carrito
-            for (Copy copy : cart.getItems()) {
-                Loan loan = new Loan(
+            List<Copy> copies = cart.getItems();
+            List<Loan> newLoans = new ArrayList<>();
+            for (Copy copy : copies) {
+                if (!copy.isAvailable()) {
+                    return CreateLoanResult.error(unavailableMessage(copy));
+                }
+                newLoans.add(new Loan(
                         null, // Dejar que el repositorio genere el ID
                         member,
                         copy,
                         loanDate,
-                        dueDate);
-
-                Loan savedLoan = loanRepository.save(loan);
-                createdLoans.add(savedLoan);
-
-                // CRÍTICO: Actualizar el estado del ejemplar a LOANED
-                Copy updatedCopy = new Copy(
-                        copy.getCode(),
-                        CopyState.LOANED, // Cambiar estado a LOANED
-                        copy.getOrigin(),
-                        copy.getBook());
-                copyRepository.update(updatedCopy);
+                        dueDate));
             }
 
+            // Guardar el carrito completo como una unidad de trabajo: se
+            // guardan todos los préstamos y ejemplares o ninguno, en una sola
+            // escritura durable (con JDBC, dos lotes en una transacción).
+            // Cada ejemplar pasa a LOANED solo si sigue como cuando se agregó
+            // al carrito; si otro mostrador lo prestó antes, el lote se
+            // deshace sin haber guardado ningún préstamo
+            List<Loan> createdLoans = batchRunner.call(() -> {
+                for (Copy copy : copies) {
+                    if (copyRepository.compareAndSetState(copy, CopyState.LOANED) == null) {
+                        throw new CopyUnavailableException(copy);
+                    }
+                }
+                return loanRepository.saveAll(newLoans);
+            });
+
+            // Los préstamos ya ocupan el cupo: liberar las reservas
+            quota.releaseAll(cart);
+
             // Marcar carrito como confirmado
             cart.confirm();
 
@@ -140,11 +202,32 @@ public class CreateLoanUseCase {
 
             return CreateLoanResult.success(message, createdLoans);
 
+        } catch (CopyUnavailableException e) {
+            return CreateLoanResult.error(unavailableMessage(e.copy));
         } catch (Exception e) {
             return CreateLoanResult.error("Error al confirmar el préstamo: " + e.getMessage());
         }
     }
 
+    private static String unavailableMessage(Copy copy) {
+        return String.format("El ejemplar %s ya no está disponible: quítelo del carrito y vuelva a confirmar",
+                copy.getCode());
+    }
+
+    /**
+     * Un ejemplar del carrito cambió desde que se agregó; deshace el lote
+     */
+    private static final class CopyUnavailableException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private final transient Copy copy;
+
+        CopyUnavailableException(Copy copy) {
+            super("Ejemplar no disponible: " + copy.getCode(), null, false, false);
+            this.copy = copy;
+        }
+    }
+
     /**
      * Obtiene información de préstamos activos de un socio.
      */
@@ -156,11 +239,13 @@ public class CreateLoanUseCase {
 
         List<Loan> activeLoans = loanRepository.findActiveLoansByMemberId(memberId);
         long activeLoanCount = activeLoans.size();
-        int availableSlots = MAX_LOANS_PER_MEMBER - (int) activeLoanCount;
+        int reservedSlots = quota.reserved(memberId);
+        int availableSlots = Math.max(0, MAX_LOANS_PER_MEMBER - (int) activeLoanCount - reservedSlots);
 
         StringBuilder info = new StringBuilder();
         info.append(String.format("Información de préstamos para socio %s:\n", memberId));
         info.append(String.format("- Préstamos activos: %d/%d\n", activeLoanCount, MAX_LOANS_PER_MEMBER));
+        info.append(String.format("- En carritos: %d\n", reservedSlots));
         info.append(String.format("- Espacios disponibles: %d\n", availableSlots));
         info.append(String.format("- Estado del socio: %s\n", member.getState()));
         info.append(String.format("- Multas pendientes: %s\n", member.hasPendingFines() ? "SÍ" : "NO"));
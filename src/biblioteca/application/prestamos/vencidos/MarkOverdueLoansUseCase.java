@@ -0,0 +1,81 @@
+package biblioteca.application.prestamos.vencidos;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+import biblioteca.data.database.LoanRepository;
+import biblioteca.domain.entities.Loan;
+import biblioteca.domain.enums.LoanState;
+
+/**
+ * Caso de uso que pasa a OVERDUE los préstamos activos cuya fecha de
+ * vencimiento ya pasó. Se ejecuta como tarea diaria: solo procesa una vez por
+ * fecha, aunque se pida varias veces ({@link OverdueLoansScheduler} lo pide
+ * desde un solo hilo). Una pasada que dejó
+ * préstamos vencidos sin marcar (porque otra operación los estaba
+ * modificando) no cuenta como la del día. Las sesiones esperan con
+ * un {@link ReentrantLock}, que no retiene el hilo de plataforma de un hilo
+ * virtual mientras otra sesión recorre los préstamos.
+ */
+public class MarkOverdueLoansUseCase {
+    private final LoanRepository loanRepository;
+    private final ReentrantLock lock = new ReentrantLock();
+    private LocalDate lastRunDate;
+
+    public MarkOverdueLoansUseCase(LoanRepository loanRepository) {
+        this.loanRepository = loanRepository;
+    }
+
+    /**
+     * Ejecuta la actualización si todavía no se completó en el día de hoy.
+     *
+     * @return Cantidad de préstamos marcados como vencidos
+     */
+    public int executeDaily() {
+        lock.lock();
+        try {
+            LocalDate today = LocalDate.now();
+            if (today.equals(lastRunDate)) {
+                return 0;
+            }
+            return execute(today);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Indica si la pasada de hoy ya se completó
+     */
+    public boolean isUpToDate() {
+        lock.lock();
+        try {
+            return LocalDate.now().equals(lastRunDate);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Marca como vencidos los préstamos activos con vencimiento anterior a la
+     * fecha indicada. La fecha queda como procesada solo si no quedó ninguno
+     * activo.
+     *
+     * @return Cantidad de préstamos marcados como vencidos
+     */
+    public int execute(LocalDate today) {
+        lock.lock();
+        try {
+            List<Loan> markedLoans = loanRepository.markOverdueLoans(today);
+            boolean skipped = loanRepository.findOverdueLoans(today).stream()
+                    .anyMatch(loan -> loan.getState() == LoanState.ACTIVE);
+            if (!skipped) {
+                lastRunDate = today;
+            }
+            return markedLoans.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
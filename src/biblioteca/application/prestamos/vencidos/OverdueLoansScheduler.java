@@ -0,0 +1,87 @@
+package biblioteca.application.prestamos.vencidos;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Corre el marcado de vencidos como tarea diaria en un único hilo, en vez de
+ * que cada sesión lo pida al volver al menú. La primera pasada se hace al
+ * arrancar y las siguientes al cambiar el día; si una pasada dejó préstamos
+ * sin marcar, se reintenta al minuto.
+ */
+public class OverdueLoansScheduler implements AutoCloseable {
+    private static final Duration RETRY_DELAY = Duration.ofMinutes(1);
+
+    private final MarkOverdueLoansUseCase markOverdueLoansUseCase;
+    private final ScheduledThreadPoolExecutor executor;
+
+    public OverdueLoansScheduler(MarkOverdueLoansUseCase markOverdueLoansUseCase) {
+        this.markOverdueLoansUseCase = markOverdueLoansUseCase;
+        this.executor = new ScheduledThreadPoolExecutor(1, task -> {
+            Thread thread = new Thread(task, "vencidos-diario");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Al cerrar no se espera la próxima pasada
+        executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+    }
+
+    /**
+     * Hace la pasada de hoy en el hilo actual y programa las siguientes
+     */
+    public void start() {
+        run();
+    }
+
+    /**
+     * Cancela las pasadas pendientes y espera la que esté en curso
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+        boolean interrupted = false;
+        while (true) {
+            try {
+                if (executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                    break;
+                }
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        Duration next;
+        try {
+            markOverdueLoansUseCase.executeDaily();
+            next = markOverdueLoansUseCase.isUpToDate() ? untilTomorrow() : RETRY_DELAY;
+        } catch (RuntimeException e) {
+            // Los préstamos quedan como estaban; se vuelve a intentar
+            next = RETRY_DELAY;
+        }
+        try {
+            executor.schedule(this::run, next.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // Cerrado mientras corría la pasada
+        }
+    }
+
+    /**
+     * Tiempo hasta el comienzo del día siguiente, más un segundo de margen
+     */
+    private static Duration untilTomorrow() {
+        ZoneId zone = ZoneId.systemDefault();
+        ZonedDateTime now = ZonedDateTime.now(zone);
+        ZonedDateTime tomorrow = LocalDate.now(zone).plusDays(1).atStartOfDay(zone);
+        return Duration.between(now, tomorrow).plusSeconds(1);
+    }
+}
@@ -2,12 +2,10 @@ package biblioteca.application.socios.consultar;
 
 import java.util.Comparator;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import biblioteca.data.database.FineRepository;
 import biblioteca.data.database.LoanRepository;
 import biblioteca.data.database.MemberRepository;
-import biblioteca.domain.entities.Fine;
 import biblioteca.domain.entities.Loan;
 import biblioteca.domain.entities.Member;
 import biblioteca.domain.enums.LoanState;
@@ -48,8 +46,7 @@ public class QueryMemberUseCase {
                     .count();
 
             // Get fine data from FineRepository
-            List<Fine> unpaidFines = fineRepository.findUnpaidByMember(member);
-            int totalUnpaidFines = unpaidFines.size();
+            int totalUnpaidFines = fineRepository.countUnpaidByMember(member);
             double totalUnpaidAmount = fineRepository.getTotalUnpaidAmount(member);
 
             // Get recent returns (last 5)
@@ -57,7 +54,7 @@ public class QueryMemberUseCase {
                     .filter(loan -> loan.getState() == LoanState.RETURNED)
                     .sorted(Comparator.comparing(Loan::getReturnDate).reversed())
                     .limit(5)
-                    .collect(Collectors.toList());
+                    .toList();
 
             // Create summary with real loan and fine data
             QueryMemberResult.MemberSummary summary = new QueryMemberResult.MemberSummary(
@@ -50,7 +50,7 @@ public class PayFineUseCase {
                     continue;
                 }
 
-                if (!fine.getMember().equals(member)) {
+                if (!fine.getMemberId().equals(member.getId())) {
                     failedFines.add(fineId + " (no pertenece al socio)");
                     continue;
                 }
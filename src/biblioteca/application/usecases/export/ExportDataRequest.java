@@ -0,0 +1,35 @@
+package biblioteca.application.usecases.export;
+
+import biblioteca.data.export.ExportFormat;
+
+/**
+ * Request for a full dataset export
+ */
+public class ExportDataRequest {
+    private final String directory;
+    private final ExportFormat format;
+    private final boolean gzip;
+
+    /**
+     * @param directory Directory for the files, created if missing
+     * @param format    Format of the files
+     * @param gzip      Whether to gzip the files (adds ".gz")
+     */
+    public ExportDataRequest(String directory, ExportFormat format, boolean gzip) {
+        this.directory = directory;
+        this.format = format;
+        this.gzip = gzip;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public ExportFormat getFormat() {
+        return format;
+    }
+
+    public boolean isGzip() {
+        return gzip;
+    }
+}
@@ -0,0 +1,46 @@
+package biblioteca.application.usecases.export;
+
+import java.util.List;
+
+/**
+ * Result of a full dataset export
+ */
+public class ExportDataResult {
+    public static ExportDataResult success(List<ExportedFile> files, long elapsedMillis) {
+        long rows = files.stream().mapToLong(ExportedFile::rows).sum();
+        String message = String.format("Exportación finalizada: %,d registros en %d archivos (%,d ms)",
+                rows, files.size(), elapsedMillis);
+        return new ExportDataResult(true, message, files);
+    }
+
+    public static ExportDataResult failure(String message, List<ExportedFile> files) {
+        return new ExportDataResult(false, message, files);
+    }
+
+    private final boolean success;
+
+    private final String message;
+
+    private final List<ExportedFile> files;
+
+    private ExportDataResult(boolean success, String message, List<ExportedFile> files) {
+        this.success = success;
+        this.message = message;
+        this.files = List.copyOf(files);
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * @return Files written, also the ones completed before a failure
+     */
+    public List<ExportedFile> getFiles() {
+        return files;
+    }
+}
@@ -0,0 +1,114 @@
+package biblioteca.application.usecases.export;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import biblioteca.data.database.BookRepository;
+import biblioteca.data.database.CopyRepository;
+import biblioteca.data.database.FineRepository;
+import biblioteca.data.database.LoanRepository;
+import biblioteca.data.database.MemberRepository;
+import biblioteca.data.export.ExportSink;
+import biblioteca.data.export.ExportTable;
+import biblioteca.data.export.ExportTables;
+
+/**
+ * Use case for exporting members, books, copies, loans and fines, one file
+ * per table, e.g. for a nightly load into a data warehouse.
+ *
+ * Every table is streamed from its repository's {@code forEach} straight
+ * into an {@link ExportSink}, so no copy of the entities or intermediate
+ * String is built and memory use does not grow with the data. In-memory
+ * repositories walk their shared snapshot, so the export does not hold up
+ * the desks writing meanwhile. Each file appears under its final name only
+ * once complete.
+ */
+public class ExportDataUseCase {
+    private final MemberRepository memberRepository;
+    private final BookRepository bookRepository;
+    private final CopyRepository copyRepository;
+    private final LoanRepository loanRepository;
+    private final FineRepository fineRepository;
+
+    public ExportDataUseCase(MemberRepository memberRepository,
+            BookRepository bookRepository,
+            CopyRepository copyRepository,
+            LoanRepository loanRepository,
+            FineRepository fineRepository) {
+        this.memberRepository = memberRepository;
+        this.bookRepository = bookRepository;
+        this.copyRepository = copyRepository;
+        this.loanRepository = loanRepository;
+        this.fineRepository = fineRepository;
+    }
+
+    /**
+     * Exports every table
+     *
+     * @param request  Directory, format and compression
+     * @param progress Receives each file once written
+     * @return The operation result
+     */
+    public ExportDataResult execute(ExportDataRequest request, Consumer<ExportedFile> progress) {
+        List<ExportedFile> files = new ArrayList<>();
+        if (request.getDirectory() == null || request.getDirectory().isBlank()) {
+            return ExportDataResult.failure("Debe indicar el directorio de destino", files);
+        }
+        if (request.getFormat() == null) {
+            return ExportDataResult.failure("Debe indicar el formato", files);
+        }
+        long start = System.nanoTime();
+        try {
+            Path directory = Files.createDirectories(Path.of(request.getDirectory().trim()));
+            List<Export<?>> exports = List.of(
+                    new Export<>(ExportTables.MEMBERS, memberRepository::forEach),
+                    new Export<>(ExportTables.BOOKS, bookRepository::forEach),
+                    new Export<>(ExportTables.COPIES, copyRepository::forEach),
+                    new Export<>(ExportTables.LOANS, loanRepository::forEach),
+                    new Export<>(ExportTables.FINES, fineRepository::forEach));
+            for (Export<?> export : exports) {
+                ExportedFile file = export.write(request, directory);
+                files.add(file);
+                progress.accept(file);
+            }
+        } catch (IOException | RuntimeException e) {
+            return ExportDataResult.failure("Error al exportar los datos: " + e.getMessage(), files);
+        }
+        return ExportDataResult.success(files, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * A table and the scan of its repository
+     */
+    private record Export<T>(ExportTable<T> table, Consumer<Consumer<T>> source) {
+
+        ExportedFile write(ExportDataRequest request, Path directory) throws IOException {
+            String fileName = table.getName() + "." + request.getFormat().getExtension()
+                    + (request.isGzip() ? ".gz" : "");
+            Path path = directory.resolve(fileName);
+            long start = System.nanoTime();
+            try (ExportSink sink = ExportSink.open(path, request.isGzip())) {
+                ExportTable.Writer<T> writer = table.open(request.getFormat(), sink);
+                try {
+                    source.accept(entity -> {
+                        try {
+                            writer.write(entity);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+                sink.finish();
+                return new ExportedFile(table.getName(), path, writer.rows(), sink.textBytes(),
+                        sink.fileBytes(), (System.nanoTime() - start) / 1_000_000);
+            }
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package biblioteca.application.usecases.export;
+
+import java.nio.file.Path;
+
+/**
+ * One file of an export
+ *
+ * @param table         Exported table
+ * @param path          The file
+ * @param rows          Entities written
+ * @param textBytes     Size of the text, before compression
+ * @param fileBytes     Size of the file
+ * @param elapsedMillis Time spent writing it
+ */
+public record ExportedFile(String table, Path path, long rows, long textBytes, long fileBytes,
+        long elapsedMillis) {
+
+    /**
+     * Throughput in MB of text per second
+     */
+    public double megabytesPerSecond() {
+        return elapsedMillis > 0 ? textBytes / 1_048_576.0 / (elapsedMillis / 1000.0) : 0;
+    }
+}
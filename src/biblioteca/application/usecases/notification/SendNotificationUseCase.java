@@ -33,8 +33,6 @@ public class SendNotificationUseCase {
 
     private final NotificationRepository notificationRepository;
 
-    private int notificationCounter = 1;
-
     /**
      * Constructor with dependency injection
      * 
@@ -62,7 +60,7 @@ public class SendNotificationUseCase {
             }
 
             // Generate unique ID
-            String notificationId = generateNotificationId();
+            String notificationId = notificationRepository.generateId();
 
             // Create notification instance based on channel (Polymorphism)
             Notification notification = createNotification(
@@ -118,13 +116,4 @@ public class SendNotificationUseCase {
             case SMS -> new SMSNotification(id, message, recipientInfo);
         };
     }
-
-    /**
-     * Generate unique notification ID
-     * 
-     * @return notification ID
-     */
-    private String generateNotificationId() {
-        return "NOTIF-" + String.format("%05d", notificationCounter++);
-    }
 }
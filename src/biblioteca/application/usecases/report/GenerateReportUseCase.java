@@ -68,7 +68,7 @@ public class GenerateReportUseCase {
      */
     public GenerateReportResult execute(GenerateReportRequest request) {
         try {
-            // Get data from repositories
+            // Read-only repository snapshots, shared without copying
             List<Member> members = memberRepository.findAll();
             List<Loan> loans = loanRepository.findAll();
             List<Fine> fines = fineRepository.findAll();
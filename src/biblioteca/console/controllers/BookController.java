@@ -3,6 +3,9 @@ package biblioteca.console.controllers;
 import biblioteca.application.libros.eliminar.DeleteBookRequest;
 import biblioteca.application.libros.eliminar.DeleteBookResult;
 import biblioteca.application.libros.eliminar.DeleteBookUseCase;
+import biblioteca.application.libros.importar.ImportCatalogRequest;
+import biblioteca.application.libros.importar.ImportCatalogResult;
+import biblioteca.application.libros.importar.ImportCatalogUseCase;
 import biblioteca.application.libros.ingresar_stock.AddStockRequest;
 import biblioteca.application.libros.ingresar_stock.AddStockResult;
 import biblioteca.application.libros.ingresar_stock.AddStockUseCase;
@@ -15,8 +18,10 @@ import biblioteca.application.libros.registrar.RegisterBookUseCase;
 import biblioteca.console.forms.AddStockForm;
 import biblioteca.console.forms.DeleteBookForm;
 import biblioteca.console.forms.FindBookForm;
+import biblioteca.console.forms.ImportCatalogForm;
 import biblioteca.console.forms.ModifyBookForm;
 import biblioteca.console.forms.RegisterBookForm;
+import biblioteca.console.utils.ConsoleSession;
 import biblioteca.console.utils.DisplayHelper;
 import biblioteca.console.utils.InputHelper;
 import biblioteca.domain.entities.Copy;
@@ -29,30 +34,36 @@ public class BookController {
     private final AddStockUseCase addStockUseCase;
     private final ModifyBookUseCase modifyBookUseCase;
     private final DeleteBookUseCase deleteBookUseCase;
+    private final ImportCatalogUseCase importCatalogUseCase;
     private final RegisterBookForm registerBookForm;
     private final AddStockForm addStockForm;
     private final ModifyBookForm modifyBookForm;
     private final DeleteBookForm deleteBookForm;
     private final FindBookForm findBookForm;
+    private final ImportCatalogForm importCatalogForm;
 
     public BookController(RegisterBookUseCase registerBookUseCase,
             AddStockUseCase addStockUseCase,
             ModifyBookUseCase modifyBookUseCase,
             DeleteBookUseCase deleteBookUseCase,
+            ImportCatalogUseCase importCatalogUseCase,
             RegisterBookForm registerBookForm,
             AddStockForm addStockForm,
             ModifyBookForm modifyBookForm,
             DeleteBookForm deleteBookForm,
-            FindBookForm findBookForm) {
+            FindBookForm findBookForm,
+            ImportCatalogForm importCatalogForm) {
         this.registerBookUseCase = registerBookUseCase;
         this.addStockUseCase = addStockUseCase;
         this.modifyBookUseCase = modifyBookUseCase;
         this.deleteBookUseCase = deleteBookUseCase;
+        this.importCatalogUseCase = importCatalogUseCase;
         this.registerBookForm = registerBookForm;
         this.addStockForm = addStockForm;
         this.modifyBookForm = modifyBookForm;
         this.deleteBookForm = deleteBookForm;
         this.findBookForm = findBookForm;
+        this.importCatalogForm = importCatalogForm;
     }
 
     /**
@@ -65,14 +76,15 @@ public class BookController {
             try {
                 DisplayHelper.renderTitle("GESTIÓN DE LIBROS");
 
-                System.out.println("1. Registrar nuevo libro");
-                System.out.println("2. Ingresar stock (compra/donación)");
-                System.out.println("3. Modificar libro");
-                System.out.println("4. Eliminar libro");
-                System.out.println("5. Buscar libro");
-                System.out.println("6. Volver al menú principal");
+                ConsoleSession.out().println("1. Registrar nuevo libro");
+                ConsoleSession.out().println("2. Ingresar stock (compra/donación)");
+                ConsoleSession.out().println("3. Modificar libro");
+                ConsoleSession.out().println("4. Eliminar libro");
+                ConsoleSession.out().println("5. Buscar libro");
+                ConsoleSession.out().println("6. Importar catálogo (CSV/NDJSON)");
+                ConsoleSession.out().println("7. Volver al menú principal");
 
-                int opcion = InputHelper.leerEnteroEnRango("Seleccione una opción", 1, 6);
+                int opcion = InputHelper.leerEnteroEnRango("Seleccione una opción", 1, 7);
 
                 switch (opcion) {
                     case 1 -> registerBook();
@@ -80,7 +92,8 @@ public class BookController {
                     case 3 -> modifyBook();
                     case 4 -> deleteBook();
                     case 5 -> findBook();
-                    case 6 -> {
+                    case 6 -> importCatalog();
+                    case 7 -> {
                         continuar = false;
                         DisplayHelper.printInfo("Volviendo al menú principal...");
                     }
@@ -110,9 +123,9 @@ public class BookController {
 
         if (result.isSuccess()) {
             DisplayHelper.printSuccess("Libro registrado exitosamente!");
-            System.out.println("\n=== LIBRO REGISTRADO ===");
-            System.out.println(result.getBook().toDetailedString());
-            System.out.println("========================");
+            ConsoleSession.out().println("\n=== LIBRO REGISTRADO ===");
+            ConsoleSession.out().println(result.getBook().toDetailedString());
+            ConsoleSession.out().println("========================");
         } else {
             DisplayHelper.printErrorMessage(result.getMessage());
         }
@@ -132,16 +145,40 @@ public class BookController {
         if (result.isSuccess()) {
             DisplayHelper.printSuccess(result.getMessage());
 
-            System.out.println("\n=== CÓDIGOS GENERADOS ===");
+            ConsoleSession.out().println("\n=== CÓDIGOS GENERADOS ===");
             for (Copy copy : result.getCreatedCopies()) {
-                System.out.println("• " + copy.getCode());
+                ConsoleSession.out().println("• " + copy.getCode());
             }
-            System.out.println("========================");
+            ConsoleSession.out().println("========================");
         } else {
             DisplayHelper.printErrorMessage(result.getMessage());
         }
     }
 
+    private void importCatalog() {
+        DisplayHelper.renderSubtitle("Importar Catálogo");
+
+        ImportCatalogRequest request = importCatalogForm.captureData();
+
+        if (request == null) {
+            return;
+        }
+
+        ImportCatalogResult result = importCatalogUseCase.execute(request, progress -> DisplayHelper.printInfo(
+                String.format("%,d registros leídos, %,d libros importados (%,d registros/s)",
+                        progress.recordsRead(), progress.booksImported(), progress.recordsPerSecond())));
+
+        if (result.isSuccess()) {
+            DisplayHelper.printSuccess(result.getMessage());
+        } else {
+            DisplayHelper.printErrorMessage(result.getMessage());
+        }
+        if (!result.getErrors().isEmpty()) {
+            DisplayHelper.renderBulletList(result.getErrors(), "Registros omitidos (primeros "
+                    + result.getErrors().size() + ")");
+        }
+    }
+
     private void modifyBook() {
         DisplayHelper.renderSubtitle("Modificar Libro");
 
@@ -8,6 +8,7 @@ import biblioteca.application.configuracion.actualizar.UpdateConfigUseCase;
 import biblioteca.application.configuracion.ver.ViewConfigRequest;
 import biblioteca.application.configuracion.ver.ViewConfigResult;
 import biblioteca.application.configuracion.ver.ViewConfigUseCase;
+import biblioteca.console.utils.ConsoleSession;
 import biblioteca.console.utils.DisplayHelper;
 import biblioteca.console.utils.InputHelper;
 import biblioteca.domain.entities.SystemParameters;
@@ -71,7 +72,7 @@ public class ConfigController {
         ViewConfigResult result = viewConfigUseCase.execute(new ViewConfigRequest());
         SystemParameters params = result.getParameters();
 
-        System.out.println("Valor actual: " + params.getLoanDays() + " días");
+        ConsoleSession.out().println("Valor actual: " + params.getLoanDays() + " días");
         int newValue = InputHelper.leerEntero("Ingrese nuevo valor: ");
 
         UpdateConfigRequest request = new UpdateConfigRequest();
@@ -93,7 +94,7 @@ public class ConfigController {
         ViewConfigResult result = viewConfigUseCase.execute(new ViewConfigRequest());
         SystemParameters params = result.getParameters();
 
-        System.out.println("Valor actual: $" + String.format("%.2f", params.getFinePerDay()));
+        ConsoleSession.out().println("Valor actual: $" + String.format("%.2f", params.getFinePerDay()));
         String input = InputHelper.leerTextoObligatorio("Ingrese nuevo valor: ");
 
         try {
@@ -120,7 +121,7 @@ public class ConfigController {
         ViewConfigResult result = viewConfigUseCase.execute(new ViewConfigRequest());
         SystemParameters params = result.getParameters();
 
-        System.out.println("Valor actual: " + params.getMaxLoansPerMember() + " préstamos");
+        ConsoleSession.out().println("Valor actual: " + params.getMaxLoansPerMember() + " préstamos");
         int newValue = InputHelper.leerEntero("Ingrese nuevo valor: ");
 
         UpdateConfigRequest request = new UpdateConfigRequest();
@@ -142,7 +143,7 @@ public class ConfigController {
         ViewConfigResult result = viewConfigUseCase.execute(new ViewConfigRequest());
         SystemParameters params = result.getParameters();
 
-        System.out.println("Valor actual: " + params.getMaxActiveReservationsPerMember() + " reservas");
+        ConsoleSession.out().println("Valor actual: " + params.getMaxActiveReservationsPerMember() + " reservas");
         int newValue = InputHelper.leerEntero("Ingrese nuevo valor: ");
 
         UpdateConfigRequest request = new UpdateConfigRequest();
@@ -161,25 +162,25 @@ public class ConfigController {
     private void showBenefits() {
         DisplayHelper.renderSubtitle("Beneficios por Categoría");
 
-        System.out.println("\n📋 BENEFICIOS ACTUALES POR TIPO DE SOCIO:\n");
+        ConsoleSession.out().println("\n📋 BENEFICIOS ACTUALES POR TIPO DE SOCIO:\n");
 
         // Standard
-        System.out.println("🔹 " + MemberType.STANDARD.getDisplayName() + ":");
-        System.out.println("   • Sin beneficios adicionales");
-        System.out.println("   • Descuento en multas: 0%");
-        System.out.println("   • Días extra de préstamo: 0\n");
+        ConsoleSession.out().println("🔹 " + MemberType.STANDARD.getDisplayName() + ":");
+        ConsoleSession.out().println("   • Sin beneficios adicionales");
+        ConsoleSession.out().println("   • Descuento en multas: 0%");
+        ConsoleSession.out().println("   • Días extra de préstamo: 0\n");
 
         // Student
-        System.out.println("🔹 " + MemberType.STUDENT.getDisplayName() + ":");
-        System.out.println("   • Descuento en multas: " +
+        ConsoleSession.out().println("🔹 " + MemberType.STUDENT.getDisplayName() + ":");
+        ConsoleSession.out().println("   • Descuento en multas: " +
                 (int) (MemberType.STUDENT.getFineDiscountPercentage() * 100) + "%");
-        System.out.println("   • Días extra de préstamo: " + MemberType.STUDENT.getExtraLoanDays() + "\n");
+        ConsoleSession.out().println("   • Días extra de préstamo: " + MemberType.STUDENT.getExtraLoanDays() + "\n");
 
         // Retired
-        System.out.println("🔹 " + MemberType.RETIRED.getDisplayName() + ":");
-        System.out.println("   • Descuento en multas: " +
+        ConsoleSession.out().println("🔹 " + MemberType.RETIRED.getDisplayName() + ":");
+        ConsoleSession.out().println("   • Descuento en multas: " +
                 (int) (MemberType.RETIRED.getFineDiscountPercentage() * 100) + "%");
-        System.out.println("   • Días extra de préstamo: " + MemberType.RETIRED.getExtraLoanDays() + "\n");
+        ConsoleSession.out().println("   • Días extra de préstamo: " + MemberType.RETIRED.getExtraLoanDays() + "\n");
 
         DisplayHelper.printInfo("ℹ️  Los beneficios están definidos en el código (enum MemberType)");
         DisplayHelper.printInfo("ℹ️  No son modificables desde la configuración del sistema");
@@ -5,6 +5,7 @@ import java.util.List;
 
 import biblioteca.application.prestamos.create.CreateLoanUseCase;
 import biblioteca.console.forms.LoanCartForm;
+import biblioteca.console.utils.ConsoleSession;
 import biblioteca.console.utils.DisplayHelper;
 import biblioteca.console.utils.InputHelper;
 import biblioteca.console.utils.MemberSearchHelper;
@@ -43,12 +44,12 @@ public class LoanController {
         while (continueMenu) {
             DisplayHelper.renderTitle("Gestión de Préstamos");
 
-            System.out.println("1. Nuevo préstamo");
-            System.out.println("2. Ver préstamos activos");
-            System.out.println("3. Ver préstamos vencidos");
-            System.out.println("4. Buscar préstamos por socio");
-            System.out.println("5. Estadísticas de préstamos");
-            System.out.println("6. Volver al menú principal");
+            ConsoleSession.out().println("1. Nuevo préstamo");
+            ConsoleSession.out().println("2. Ver préstamos activos");
+            ConsoleSession.out().println("3. Ver préstamos vencidos");
+            ConsoleSession.out().println("4. Buscar préstamos por socio");
+            ConsoleSession.out().println("5. Estadísticas de préstamos");
+            ConsoleSession.out().println("6. Volver al menú principal");
 
             int opcion = InputHelper.leerEnteroEnRango("Seleccione una opción: ", 1, 6);
 
@@ -94,7 +95,7 @@ public class LoanController {
             DisplayHelper.printInfo("No hay préstamos activos en el sistema");
         } else {
             DisplayHelper.printInfo(String.format("Total de préstamos activos: %d", activeLoans.size()));
-            System.out.println();
+            ConsoleSession.out().println();
 
             displayLoanList(activeLoans);
         }
@@ -114,7 +115,7 @@ public class LoanController {
             DisplayHelper.printSuccess("No hay préstamos vencidos en el sistema");
         } else {
             DisplayHelper.printWarning(String.format("Total de préstamos vencidos: %d", overdueLoans.size()));
-            System.out.println();
+            ConsoleSession.out().println();
 
             displayLoanList(overdueLoans);
         }
@@ -139,7 +140,7 @@ public class LoanController {
 
         DisplayHelper.printSuccess("Socio seleccionado: " + member.getName());
         MemberSearchHelper.displayMemberSummary(member);
-        System.out.println();
+        ConsoleSession.out().println();
 
         // Buscar préstamos del socio
         List<Loan> memberLoans = loanRepository.findByMemberId(member.getId());
@@ -148,15 +149,15 @@ public class LoanController {
             DisplayHelper.printInfo("El socio no tiene préstamos registrados");
         } else {
             DisplayHelper.printInfo(String.format("Total de préstamos del socio: %d", memberLoans.size()));
-            System.out.println();
+            ConsoleSession.out().println();
 
             // Mostrar estadísticas rápidas
             long activeCount = memberLoans.stream().filter(loan -> loan.getState() == LoanState.ACTIVE).count();
             long returnedCount = memberLoans.stream().filter(loan -> loan.getState() == LoanState.RETURNED).count();
             long overdueCount = memberLoans.stream().filter(loan -> loan.getState() == LoanState.OVERDUE).count();
 
-            System.out.printf("Activos: %d | Devueltos: %d | Vencidos: %d%n", activeCount, returnedCount, overdueCount);
-            System.out.println();
+            ConsoleSession.out().printf("Activos: %d | Devueltos: %d | Vencidos: %d%n", activeCount, returnedCount, overdueCount);
+            ConsoleSession.out().println();
 
             displayLoanList(memberLoans);
         }
@@ -196,24 +197,24 @@ public class LoanController {
                 .count();
 
         // Mostrar estadísticas
-        System.out.println("=== ESTADÍSTICAS GENERALES ===");
-        System.out.printf("Total de préstamos: %d%n", totalLoans);
-        System.out.printf("Préstamos activos: %d (%.1f%%)%n", activeLoans, (activeLoans * 100.0 / totalLoans));
-        System.out.printf("Préstamos devueltos: %d (%.1f%%)%n", returnedLoans, (returnedLoans * 100.0 / totalLoans));
-        System.out.printf("Préstamos vencidos: %d (%.1f%%)%n", overdueLoans, (overdueLoans * 100.0 / totalLoans));
-        System.out.println();
-
-        System.out.println("=== ESTADÍSTICAS TEMPORALES ===");
-        System.out.printf("Préstamos hoy: %d%n", loansToday);
-        System.out.printf("Préstamos esta semana: %d%n", loansThisWeek);
-        System.out.println();
+        ConsoleSession.out().println("=== ESTADÍSTICAS GENERALES ===");
+        ConsoleSession.out().printf("Total de préstamos: %d%n", totalLoans);
+        ConsoleSession.out().printf("Préstamos activos: %d (%.1f%%)%n", activeLoans, (activeLoans * 100.0 / totalLoans));
+        ConsoleSession.out().printf("Préstamos devueltos: %d (%.1f%%)%n", returnedLoans, (returnedLoans * 100.0 / totalLoans));
+        ConsoleSession.out().printf("Préstamos vencidos: %d (%.1f%%)%n", overdueLoans, (overdueLoans * 100.0 / totalLoans));
+        ConsoleSession.out().println();
+
+        ConsoleSession.out().println("=== ESTADÍSTICAS TEMPORALES ===");
+        ConsoleSession.out().printf("Préstamos hoy: %d%n", loansToday);
+        ConsoleSession.out().printf("Préstamos esta semana: %d%n", loansThisWeek);
+        ConsoleSession.out().println();
 
         // Top socios con más préstamos
-        System.out.println("=== TOP SOCIOS (Préstamos Activos) ===");
+        ConsoleSession.out().println("=== TOP SOCIOS (Préstamos Activos) ===");
         loanRepository.findByState(LoanState.ACTIVE)
                 .stream()
                 .collect(java.util.stream.Collectors.groupingBy(
-                        loan -> loan.getMember().getId(),
+                        loan -> loan.getMemberId(),
                         java.util.stream.Collectors.counting()))
                 .entrySet()
                 .stream()
@@ -222,7 +223,7 @@ public class LoanController {
                 .forEach(entry -> {
                     Member member = memberRepository.findById(entry.getKey());
                     String memberName = member != null ? member.getName() : "Desconocido";
-                    System.out.printf("- %s (%s): %d préstamos%n",
+                    ConsoleSession.out().printf("- %s (%s): %d préstamos%n",
                             memberName, entry.getKey(), entry.getValue());
                 });
 
@@ -237,27 +238,28 @@ public class LoanController {
             return;
         }
 
-        System.out.println("-".repeat(100));
-        System.out.printf("%-15s %-12s %-12s %-12s %-12s %-10s%n",
+        ConsoleSession.out().println("-".repeat(100));
+        ConsoleSession.out().printf("%-15s %-12s %-12s %-12s %-12s %-10s%n",
                 "ID Préstamo", "Socio", "Ejemplar", "F. Préstamo", "F. Vencim.", "Estado");
-        System.out.println("-".repeat(100));
+        ConsoleSession.out().println("-".repeat(100));
 
         for (Loan loan : loans) {
-            // Obtener nombre del socio (ahora es directo del objeto)
-            String memberName = loan.getMember().getName();
+            // El socio puede haberse dado de baja con el préstamo abierto
+            Member member = loan.getMember();
+            String memberName = member != null ? member.getName() : "(baja)";
             if (memberName.length() > 11) {
                 memberName = memberName.substring(0, 8) + "...";
             }
 
-            System.out.printf("%-15s %-12s %-12s %-12s %-12s %-10s%n",
+            ConsoleSession.out().printf("%-15s %-12s %-12s %-12s %-12s %-10s%n",
                     loan.getId(),
                     memberName,
-                    loan.getCopy().getCode(),
+                    loan.getCopyCode(),
                     loan.getLoanDate().toString(),
                     loan.getDueDate().toString(),
                     loan.getState().getDisplayName());
         }
 
-        System.out.println("-".repeat(100));
+        ConsoleSession.out().println("-".repeat(100));
     }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package biblioteca.console.controllers;
 
+import biblioteca.console.utils.ConsoleSession;
 import biblioteca.console.utils.DisplayHelper;
 import biblioteca.console.utils.InputHelper;
 import biblioteca.data.database.AuthorRepository;
@@ -62,14 +63,14 @@ public class MainController {
                 DisplayHelper.clearScreen();
                 DisplayHelper.renderTitle("SISTEMA DE GESTIÓN DE BIBLIOTECA");
 
-                System.out.println("1. Gestión de Libros");
-                System.out.println("2. Gestión de Socios");
-                System.out.println("3. Gestión de Préstamos");
-                System.out.println("4. Gestión de Devoluciones");
-                System.out.println("5. Configuración del Sistema");
-                System.out.println("6. Generar reportes del sistema");
-                System.out.println("7. Gestión de notificaciones");
-                System.out.println("8. Salir");
+                ConsoleSession.out().println("1. Gestión de Libros");
+                ConsoleSession.out().println("2. Gestión de Socios");
+                ConsoleSession.out().println("3. Gestión de Préstamos");
+                ConsoleSession.out().println("4. Gestión de Devoluciones");
+                ConsoleSession.out().println("5. Configuración del Sistema");
+                ConsoleSession.out().println("6. Generar reportes del sistema");
+                ConsoleSession.out().println("7. Gestión de notificaciones");
+                ConsoleSession.out().println("8. Salir");
 
                 int opcion = InputHelper.leerEnteroEnRango("Seleccione una opción", 1, 8);
 
@@ -7,6 +7,7 @@ import biblioteca.console.forms.FindMemberForm;
 import biblioteca.console.forms.ModifyMemberForm;
 import biblioteca.console.forms.PayFineForm;
 import biblioteca.console.forms.RegisterMemberForm;
+import biblioteca.console.utils.ConsoleSession;
 import biblioteca.console.utils.DisplayHelper;
 import biblioteca.console.utils.InputHelper;
 
@@ -49,11 +50,11 @@ public class MemberController {
             try {
                 DisplayHelper.renderTitle("GESTIÓN DE SOCIOS");
 
-                System.out.println("1. Registrar nuevo socio");
-                System.out.println("2. Modificar datos del socio");
-                System.out.println("3. Buscar y consultar socio");
-                System.out.println("4. Pagar multas");
-                System.out.println("5. Volver al menú principal");
+                ConsoleSession.out().println("1. Registrar nuevo socio");
+                ConsoleSession.out().println("2. Modificar datos del socio");
+                ConsoleSession.out().println("3. Buscar y consultar socio");
+                ConsoleSession.out().println("4. Pagar multas");
+                ConsoleSession.out().println("5. Volver al menú principal");
 
                 int opcion = InputHelper.leerEnteroEnRango("Seleccione una opción", 1, 5);
 
@@ -5,6 +5,7 @@ import java.util.List;
 import biblioteca.application.usecases.notification.ListNotificationsUseCase;
 import biblioteca.application.usecases.notification.ListNotificationsUseCase.NotificationFilter;
 import biblioteca.application.usecases.notification.ListNotificationsUseCase.NotificationStats;
+import biblioteca.console.utils.ConsoleSession;
 import biblioteca.console.utils.DisplayHelper;
 import biblioteca.console.utils.InputHelper;
 import biblioteca.data.database.NotificationRepository;
@@ -33,21 +34,21 @@ public class NotificationController {
     public void showMenu() {
         while (true) {
             DisplayHelper.renderTitle("GESTIÓN DE NOTIFICACIONES");
-            System.out.println();
+            ConsoleSession.out().println();
 
             // Show statistics
             NotificationStats stats = listNotificationsUseCase.getStats();
-            System.out.println("Estadísticas:");
-            System.out.println(
+            ConsoleSession.out().println("Estadísticas:");
+            ConsoleSession.out().println(
                     "Total: " + stats.total() + " | Enviadas: " + stats.sent() + " | Pendientes: " + stats.pending());
-            System.out.println();
+            ConsoleSession.out().println();
 
-            System.out.println("Opciones:");
-            System.out.println();
-            System.out.println("1. Ver historial de notificaciones");
-            System.out.println();
-            System.out.println("0. Volver al menú principal");
-            System.out.println();
+            ConsoleSession.out().println("Opciones:");
+            ConsoleSession.out().println();
+            ConsoleSession.out().println("1. Ver historial de notificaciones");
+            ConsoleSession.out().println();
+            ConsoleSession.out().println("0. Volver al menú principal");
+            ConsoleSession.out().println();
 
             int option = InputHelper.leerEnteroEnRango("Seleccione una opción", 0, 1);
 
@@ -59,7 +60,7 @@ public class NotificationController {
                 viewNotificationsMenu();
             }
 
-            System.out.println();
+            ConsoleSession.out().println();
             InputHelper.pausar();
         }
     }
@@ -69,14 +70,14 @@ public class NotificationController {
      */
     private void viewNotificationsMenu() {
         DisplayHelper.renderSubtitle("Historial de Notificaciones");
-        System.out.println();
+        ConsoleSession.out().println();
 
         // Select filter
-        System.out.println("Filtrar por:");
-        System.out.println("1. Todas las notificaciones");
-        System.out.println("2. Solo enviadas");
-        System.out.println("3. Solo pendientes");
-        System.out.println();
+        ConsoleSession.out().println("Filtrar por:");
+        ConsoleSession.out().println("1. Todas las notificaciones");
+        ConsoleSession.out().println("2. Solo enviadas");
+        ConsoleSession.out().println("3. Solo pendientes");
+        ConsoleSession.out().println();
 
         int filterOption = InputHelper.leerEnteroEnRango("Filtro", 1, 3);
 
@@ -89,12 +90,12 @@ public class NotificationController {
 
         List<Notification> notifications = listNotificationsUseCase.execute(filter);
 
-        System.out.println();
-        System.out.println(DisplayHelper.SEPARATOR);
-        System.out
+        ConsoleSession.out().println();
+        ConsoleSession.out().println(DisplayHelper.SEPARATOR);
+        ConsoleSession.out()
                 .println("Mostrando: " + filter.getDisplayName() + " (" + notifications.size() + " notificación(es))");
-        System.out.println(DisplayHelper.SEPARATOR);
-        System.out.println();
+        ConsoleSession.out().println(DisplayHelper.SEPARATOR);
+        ConsoleSession.out().println();
 
         if (notifications.isEmpty()) {
             DisplayHelper.printInfo("No hay notificaciones para mostrar.");
@@ -104,16 +105,16 @@ public class NotificationController {
         // Display notifications
         for (Notification notification : notifications) {
             String status = notification.isSent() ? "ENVIADA" : "PENDIENTE";
-            System.out.println("ID: " + notification.getId() + " | Canal: " + notification.getChannelName()
+            ConsoleSession.out().println("ID: " + notification.getId() + " | Canal: " + notification.getChannelName()
                     + " | Estado: " + status);
-            System.out.println("Para: " + notification.getRecipientInfo());
-            System.out.println("Creada: " + notification.formatDateTime(notification.getCreatedAt()));
+            ConsoleSession.out().println("Para: " + notification.getRecipientInfo());
+            ConsoleSession.out().println("Creada: " + notification.formatDateTime(notification.getCreatedAt()));
             if (notification.isSent()) {
-                System.out.println("Enviada: " + notification.formatDateTime(notification.getSentAt()));
+                ConsoleSession.out().println("Enviada: " + notification.formatDateTime(notification.getSentAt()));
             }
-            System.out.println("Mensaje: " + notification.getMessage());
-            System.out.println("-".repeat(80));
-            System.out.println();
+            ConsoleSession.out().println("Mensaje: " + notification.getMessage());
+            ConsoleSession.out().println("-".repeat(80));
+            ConsoleSession.out().println();
         }
     }
 }
@@ -1,14 +1,20 @@
 package biblioteca.console.controllers;
 
+import biblioteca.application.usecases.export.ExportDataRequest;
+import biblioteca.application.usecases.export.ExportDataResult;
+import biblioteca.application.usecases.export.ExportDataUseCase;
+import biblioteca.application.usecases.export.ExportedFile;
 import biblioteca.application.usecases.report.GenerateReportRequest;
 import biblioteca.application.usecases.report.GenerateReportResult;
 import biblioteca.application.usecases.report.GenerateReportUseCase;
 import biblioteca.application.usecases.report.GenerateReportUseCase.ReportType;
+import biblioteca.console.utils.ConsoleSession;
 import biblioteca.console.utils.DisplayHelper;
 import biblioteca.console.utils.InputHelper;
 import biblioteca.data.database.FineRepository;
 import biblioteca.data.database.LoanRepository;
 import biblioteca.data.database.MemberRepository;
+import biblioteca.data.export.ExportFormat;
 
 /**
  * Controller for report generation functionality.
@@ -17,6 +23,7 @@ import biblioteca.data.database.MemberRepository;
 public class ReportController {
 
     private final GenerateReportUseCase generateReportUseCase;
+    private final ExportDataUseCase exportDataUseCase;
 
     /**
      * Constructor with dependency injection
@@ -24,15 +31,18 @@ public class ReportController {
      * @param memberRepository Member repository
      * @param loanRepository   Loan repository
      * @param fineRepository   Fine repository
+     * @param exportDataUseCase Full dataset export use case
      */
     public ReportController(
             MemberRepository memberRepository,
             LoanRepository loanRepository,
-            FineRepository fineRepository) {
+            FineRepository fineRepository,
+            ExportDataUseCase exportDataUseCase) {
         this.generateReportUseCase = new GenerateReportUseCase(
                 memberRepository,
                 loanRepository,
                 fineRepository);
+        this.exportDataUseCase = exportDataUseCase;
     }
 
     /**
@@ -41,25 +51,30 @@ public class ReportController {
     public void showMenu() {
         while (true) {
             DisplayHelper.renderTitle("GENERACIÓN DE REPORTES");
-            System.out.println();
-            System.out.println("Tipos de reportes disponibles:");
-            System.out.println();
-            System.out.println("1. Préstamos Activos");
-            System.out.println("2. Multas Pendientes");
-            System.out.println("3. Estadísticas de Socios");
-            System.out.println();
-            System.out.println("0. Volver al menú principal");
-            System.out.println();
-
-            int option = InputHelper.leerEnteroEnRango("Seleccione el tipo de reporte", 0, 3);
+            ConsoleSession.out().println();
+            ConsoleSession.out().println("Tipos de reportes disponibles:");
+            ConsoleSession.out().println();
+            ConsoleSession.out().println("1. Préstamos Activos");
+            ConsoleSession.out().println("2. Multas Pendientes");
+            ConsoleSession.out().println("3. Estadísticas de Socios");
+            ConsoleSession.out().println("4. Exportación completa de datos (CSV/NDJSON)");
+            ConsoleSession.out().println();
+            ConsoleSession.out().println("0. Volver al menú principal");
+            ConsoleSession.out().println();
+
+            int option = InputHelper.leerEnteroEnRango("Seleccione el tipo de reporte", 0, 4);
 
             if (option == 0) {
                 return;
             }
 
-            generateReportByOption(option);
+            if (option == 4) {
+                exportData();
+            } else {
+                generateReportByOption(option);
+            }
 
-            System.out.println();
+            ConsoleSession.out().println();
             InputHelper.pausar();
         }
     }
@@ -82,19 +97,48 @@ public class ReportController {
             return;
         }
 
-        System.out.println();
+        ConsoleSession.out().println();
         DisplayHelper.printInfo("Generando reporte de " + reportType.getDisplayName() + "...");
-        System.out.println();
+        ConsoleSession.out().println();
 
         GenerateReportRequest request = new GenerateReportRequest(reportType);
         GenerateReportResult result = generateReportUseCase.execute(request);
 
         if (result.isSuccess()) {
             DisplayHelper.printSuccess(result.getMessage());
-            System.out.println();
+            ConsoleSession.out().println();
             DisplayHelper.printInfo("El archivo se guardó en el directorio actual del proyecto.");
         } else {
             DisplayHelper.printErrorMessage(result.getMessage());
         }
     }
+
+    /**
+     * Export every table to files for external analysis
+     */
+    private void exportData() {
+        ConsoleSession.out().println();
+        String directory = InputHelper.leerTextoObligatorio("Directorio de destino");
+        ExportFormat format = InputHelper.leerEnteroEnRango("Formato (1 = CSV, 2 = NDJSON)", 1, 2) == 1
+                ? ExportFormat.CSV
+                : ExportFormat.NDJSON;
+        boolean gzip = InputHelper.confirmar("¿Comprimir con gzip?");
+
+        ConsoleSession.out().println();
+        DisplayHelper.printInfo("Exportando datos...");
+        ExportDataResult result = exportDataUseCase.execute(new ExportDataRequest(directory, format, gzip),
+                ReportController::printExportedFile);
+
+        ConsoleSession.out().println();
+        if (result.isSuccess()) {
+            DisplayHelper.printSuccess(result.getMessage());
+        } else {
+            DisplayHelper.printErrorMessage(result.getMessage());
+        }
+    }
+
+    private static void printExportedFile(ExportedFile file) {
+        ConsoleSession.out().printf("  %-8s %,12d registros  %,10.1f MB  %,8.1f MB/s  %s%n", file.table(), file.rows(),
+                file.fileBytes() / 1_048_576.0, file.megabytesPerSecond(), file.path());
+    }
 }
@@ -2,6 +2,7 @@ package biblioteca.console.controllers;
 
 import biblioteca.console.forms.QueryReturnsForm;
 import biblioteca.console.forms.RegisterReturnForm;
+import biblioteca.console.utils.ConsoleSession;
 import biblioteca.console.utils.DisplayHelper;
 import biblioteca.console.utils.InputHelper;
 
@@ -27,9 +28,9 @@ public class ReturnController {
             try {
                 DisplayHelper.renderTitle("GESTIÓN DE DEVOLUCIONES");
 
-                System.out.println("1. Registrar devolución");
-                System.out.println("2. Consultar historial de devoluciones");
-                System.out.println("3. Volver al menú principal");
+                ConsoleSession.out().println("1. Registrar devolución");
+                ConsoleSession.out().println("2. Consultar historial de devoluciones");
+                ConsoleSession.out().println("3. Volver al menú principal");
 
                 int opcion = InputHelper.leerEnteroEnRango("Seleccione una opción", 1, 3);
 
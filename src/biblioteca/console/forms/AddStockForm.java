@@ -1,6 +1,7 @@
 package biblioteca.console.forms;
 
 import biblioteca.application.libros.ingresar_stock.AddStockRequest;
+import biblioteca.console.utils.ConsoleSession;
 import biblioteca.console.utils.DisplayHelper;
 import biblioteca.console.utils.InputHelper;
 import biblioteca.data.database.BookRepository;
@@ -32,7 +33,7 @@ public class AddStockForm {
 
             // Display selected book
             DisplayHelper.printSuccess("Libro seleccionado:");
-            System.out.println(selectedBook.toDetailedString());
+            ConsoleSession.out().println(selectedBook.toDetailedString());
 
             // Select origin
             CopyOrigin origin = selectOrigin();
@@ -58,8 +59,8 @@ public class AddStockForm {
     }
 
     private Book searchAndSelectBook() {
-        System.out.println("1. Buscar por ID");
-        System.out.println("2. Buscar por Título");
+        ConsoleSession.out().println("1. Buscar por ID");
+        ConsoleSession.out().println("2. Buscar por Título");
         int searchOption = InputHelper.leerEnteroEnRango("Seleccione método de búsqueda", 1, 2);
 
         if (searchOption == 1) {
@@ -90,19 +91,19 @@ public class AddStockForm {
     }
 
     private CopyOrigin selectOrigin() {
-        System.out.println("\n1. Compra");
-        System.out.println("2. Donación");
+        ConsoleSession.out().println("\n1. Compra");
+        ConsoleSession.out().println("2. Donación");
         int originOption = InputHelper.leerEnteroEnRango("Seleccione origen", 1, 2);
         return (originOption == 1) ? CopyOrigin.PURCHASE : CopyOrigin.DONATION;
     }
 
     private boolean confirmData(Book book, CopyOrigin origin, int quantity) {
-        System.out.println("\n=== CONFIRMACIÓN DE DATOS ===");
-        System.out.println("Libro: " + book.getTitle());
-        System.out.println("Autor: " + book.getAuthor().getName());
-        System.out.println("Origen: " + origin.getDisplayName());
-        System.out.println("Cantidad: " + quantity + " ejemplares");
-        System.out.println("=============================");
+        ConsoleSession.out().println("\n=== CONFIRMACIÓN DE DATOS ===");
+        ConsoleSession.out().println("Libro: " + book.getTitle());
+        ConsoleSession.out().println("Autor: " + book.getAuthor().getName());
+        ConsoleSession.out().println("Origen: " + origin.getDisplayName());
+        ConsoleSession.out().println("Cantidad: " + quantity + " ejemplares");
+        ConsoleSession.out().println("=============================");
 
         return InputHelper.confirmar("¿Confirma ingresar " + quantity + " ejemplares de origen " +
                 origin.getDisplayName() + "?");
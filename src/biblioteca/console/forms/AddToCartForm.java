@@ -3,6 +3,7 @@ package biblioteca.console.forms;
 import biblioteca.application.prestamos.carrito.LoanCart;
 import biblioteca.application.prestamos.create.CreateLoanResult;
 import biblioteca.application.prestamos.create.CreateLoanUseCase;
+import biblioteca.console.utils.ConsoleSession;
 import biblioteca.console.utils.DisplayHelper;
 import biblioteca.console.utils.InputHelper;
 import biblioteca.data.database.CopyRepository;
@@ -36,7 +37,7 @@ public class AddToCartForm {
                 cart.getItemCount(), cart.getMemberId()));
 
         while (true) {
-            System.out.println("\n" + "-".repeat(50));
+            ConsoleSession.out().println("\n" + "-".repeat(50));
 
             // Solicitar código del ejemplar
             String copyCode = InputHelper.leerTexto("Ingrese el código del ejemplar (o 'salir' para terminar): ");
@@ -73,22 +74,16 @@ public class AddToCartForm {
             DisplayHelper.printSuccess(String.format("Ejemplar encontrado: %s - %s",
                     copy.getCode(), copy.getBook().getTitle()));
 
-            // Validar si se puede agregar al carrito
-            CreateLoanResult validation = createLoanUseCase.validateCopyForCart(copyCode, cart);
+            // Agregar al carrito reservando un lugar del cupo del socio
+            CreateLoanResult result = createLoanUseCase.addToCart(copy, cart);
 
-            if (!validation.isSuccess()) {
-                DisplayHelper.printErrorMessage("No se puede agregar al carrito: " + validation.getMessage());
+            if (!result.isSuccess()) {
+                DisplayHelper.printErrorMessage("No se puede agregar al carrito: " + result.getMessage());
                 continue;
             }
 
-            // Agregar al carrito
-            boolean added = cart.addItem(copy);
-            if (added) {
-                DisplayHelper.printSuccess(String.format("Ejemplar '%s' agregado al carrito", copyCode));
-                DisplayHelper.printInfo(String.format("Carrito ahora tiene %d ejemplar(es)", cart.getItemCount()));
-            } else {
-                DisplayHelper.printWarning("El ejemplar ya estaba en el carrito");
-            }
+            DisplayHelper.printSuccess(String.format("Ejemplar '%s' agregado al carrito", copyCode));
+            DisplayHelper.printInfo(String.format("Carrito ahora tiene %d ejemplar(es)", cart.getItemCount()));
 
             // Preguntar si desea agregar más ejemplares
             if (!InputHelper.confirmar("¿Desea agregar otro ejemplar?")) {
@@ -98,7 +93,7 @@ public class AddToCartForm {
 
         // Mostrar resumen del carrito
         if (!cart.isEmpty()) {
-            System.out.println("\n" + "=".repeat(50));
+            ConsoleSession.out().println("\n" + "=".repeat(50));
             showCartSummary(cart);
         }
     }
@@ -111,17 +106,17 @@ public class AddToCartForm {
         DisplayHelper.printInfo(String.format("Socio: %s", cart.getMemberId()));
         DisplayHelper.printInfo(String.format("Total de ejemplares: %d", cart.getItemCount()));
 
-        System.out.println("-".repeat(40));
-        System.out.println("Ejemplares en el carrito:");
+        ConsoleSession.out().println("-".repeat(40));
+        ConsoleSession.out().println("Ejemplares en el carrito:");
 
         int counter = 1;
         for (Copy copy : cart.getItems()) {
-            System.out.printf("%d. %s - %s%n",
+            ConsoleSession.out().printf("%d. %s - %s%n",
                     counter++,
                     copy.getCode(),
                     copy.getBook().getTitle());
         }
 
-        System.out.println("-".repeat(40));
+        ConsoleSession.out().println("-".repeat(40));
     }
 }
\ No newline at end of file
@@ -5,6 +5,7 @@ import java.util.List;
 import biblioteca.application.prestamos.carrito.LoanCart;
 import biblioteca.application.prestamos.create.CreateLoanResult;
 import biblioteca.application.prestamos.create.CreateLoanUseCase;
+import biblioteca.console.utils.ConsoleSession;
 import biblioteca.console.utils.DisplayHelper;
 import biblioteca.console.utils.InputHelper;
 import biblioteca.domain.entities.Copy;
@@ -79,10 +80,10 @@ public class ConfirmLoanForm {
         while (true) {
             showCartItems(cart);
 
-            System.out.println("\nOpciones:");
-            System.out.println("1. Remover ejemplar");
-            System.out.println("2. Limpiar carrito");
-            System.out.println("3. Volver al menú anterior");
+            ConsoleSession.out().println("\nOpciones:");
+            ConsoleSession.out().println("1. Remover ejemplar");
+            ConsoleSession.out().println("2. Limpiar carrito");
+            ConsoleSession.out().println("3. Volver al menú anterior");
 
             int opcion = InputHelper.leerEnteroEnRango("Seleccione una opción: ", 1, 3);
 
@@ -92,7 +93,7 @@ public class ConfirmLoanForm {
                     break;
                 case 2:
                     if (InputHelper.confirmar("¿Está seguro de limpiar todo el carrito?")) {
-                        cart.clear();
+                        createLoanUseCase.clearCart(cart);
                         DisplayHelper.printSuccess("Carrito limpiado");
                         return false; // Carrito vacío, salir
                     }
@@ -114,28 +115,28 @@ public class ConfirmLoanForm {
     private void showLoanSummary(LoanCart cart) {
         DisplayHelper.renderSubtitle("Resumen del Préstamo");
 
-        System.out.printf("Socio: %s%n", cart.getMemberId());
-        System.out.printf("Cantidad de ejemplares: %d%n", cart.getItemCount());
-        System.out.println();
+        ConsoleSession.out().printf("Socio: %s%n", cart.getMemberId());
+        ConsoleSession.out().printf("Cantidad de ejemplares: %d%n", cart.getItemCount());
+        ConsoleSession.out().println();
 
-        System.out.println("Ejemplares a prestar:");
-        System.out.println("-".repeat(60));
+        ConsoleSession.out().println("Ejemplares a prestar:");
+        ConsoleSession.out().println("-".repeat(60));
 
         int counter = 1;
         for (Copy copy : cart.getItems()) {
-            System.out.printf("%d. Código: %s%n", counter, copy.getCode());
-            System.out.printf("   Título: %s%n", copy.getBook().getTitle());
-            System.out.printf("   Autor: %s%n", copy.getBook().getAuthor());
-            System.out.printf("   Estado: %s%n", copy.getState().getDisplayName());
+            ConsoleSession.out().printf("%d. Código: %s%n", counter, copy.getCode());
+            ConsoleSession.out().printf("   Título: %s%n", copy.getBook().getTitle());
+            ConsoleSession.out().printf("   Autor: %s%n", copy.getBook().getAuthor());
+            ConsoleSession.out().printf("   Estado: %s%n", copy.getState().getDisplayName());
 
             if (counter < cart.getItemCount()) {
-                System.out.println();
+                ConsoleSession.out().println();
             }
             counter++;
         }
 
-        System.out.println("-".repeat(60));
-        System.out.println();
+        ConsoleSession.out().println("-".repeat(60));
+        ConsoleSession.out().println();
     }
 
     /**
@@ -144,42 +145,42 @@ public class ConfirmLoanForm {
     private void showLoanDetails(List<Loan> loans) {
         DisplayHelper.renderSubtitle("Préstamos Creados");
 
-        System.out.println("Detalles de los préstamos:");
-        System.out.println("-".repeat(60));
+        ConsoleSession.out().println("Detalles de los préstamos:");
+        ConsoleSession.out().println("-".repeat(60));
 
         for (int i = 0; i < loans.size(); i++) {
             Loan loan = loans.get(i);
-            System.out.printf("Préstamo %d:%n", i + 1);
-            System.out.printf("  ID: %s%n", loan.getId());
-            System.out.printf("  Ejemplar: %s%n", loan.getCopy().getCode());
-            System.out.printf("  Fecha de préstamo: %s%n", loan.getLoanDate());
-            System.out.printf("  Fecha de vencimiento: %s%n", loan.getDueDate());
-            System.out.printf("  Estado: %s%n", loan.getState().getDisplayName());
+            ConsoleSession.out().printf("Préstamo %d:%n", i + 1);
+            ConsoleSession.out().printf("  ID: %s%n", loan.getId());
+            ConsoleSession.out().printf("  Ejemplar: %s%n", loan.getCopyCode());
+            ConsoleSession.out().printf("  Fecha de préstamo: %s%n", loan.getLoanDate());
+            ConsoleSession.out().printf("  Fecha de vencimiento: %s%n", loan.getDueDate());
+            ConsoleSession.out().printf("  Estado: %s%n", loan.getState().getDisplayName());
 
             if (i < loans.size() - 1) {
-                System.out.println();
+                ConsoleSession.out().println();
             }
         }
 
-        System.out.println("-".repeat(60));
+        ConsoleSession.out().println("-".repeat(60));
     }
 
     /**
      * Muestra los items del carrito para edición
      */
     private void showCartItems(LoanCart cart) {
-        System.out.println("\nContenido del carrito:");
-        System.out.println("-".repeat(50));
+        ConsoleSession.out().println("\nContenido del carrito:");
+        ConsoleSession.out().println("-".repeat(50));
 
         List<Copy> items = cart.getItems();
         for (int i = 0; i < items.size(); i++) {
             Copy copy = items.get(i);
-            System.out.printf("%d. %s - %s%n",
+            ConsoleSession.out().printf("%d. %s - %s%n",
                     i + 1,
                     copy.getCode(),
                     copy.getBook().getTitle());
         }
-        System.out.println("-".repeat(50));
+        ConsoleSession.out().println("-".repeat(50));
     }
 
     /**
@@ -193,7 +194,7 @@ public class ConfirmLoanForm {
 
         String copyCode = InputHelper.leerTextoObligatorio("Ingrese el código del ejemplar a remover: ");
 
-        if (cart.removeItemByCode(copyCode)) {
+        if (createLoanUseCase.removeFromCart(copyCode, cart)) {
             DisplayHelper.printSuccess("Ejemplar removido del carrito: " + copyCode);
         } else {
             DisplayHelper.printErrorMessage("Ejemplar no encontrado en el carrito: " + copyCode);
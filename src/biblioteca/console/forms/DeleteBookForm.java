@@ -1,12 +1,12 @@
 package biblioteca.console.forms;
 
 import biblioteca.application.libros.eliminar.DeleteBookRequest;
+import biblioteca.console.utils.ConsoleSession;
 import biblioteca.console.utils.DisplayHelper;
 import biblioteca.console.utils.InputHelper;
 import biblioteca.data.database.BookRepository;
 import biblioteca.data.database.CopyRepository;
 import biblioteca.domain.entities.Book;
-import biblioteca.domain.entities.Copy;
 
 /**
  * Form for capturing book deletion data from console
@@ -62,22 +62,20 @@ public class DeleteBookForm {
 
     private boolean showBookInfoAndConfirm(Book book) {
         // Obtener información de ejemplares
-        java.util.List<Copy> copies = copyRepository.findByBook(book);
-        long loanedCopies = copies.stream()
-                .filter(copy -> copy.getState() == biblioteca.domain.enums.CopyState.LOANED)
-                .count();
+        long totalCopies = copyRepository.countByBook(book);
+        long loanedCopies = copyRepository.countByBookAndState(book, biblioteca.domain.enums.CopyState.LOANED);
 
         // Mostrar información del libro a eliminar
-        System.out.println("\n=== INFORMACIÓN DEL LIBRO A ELIMINAR ===");
-        System.out.println("Título: " + book.getTitle());
-        System.out.println("Autor: " + book.getAuthor().getName());
-        System.out.println("Categoría: " + book.getCategory().getName());
-        System.out.println("Editorial: " + book.getPublisher().getName());
-        System.out.println("Año: " + book.getYear());
-        System.out.println("Ejemplares totales: " + copies.size());
-        System.out.println("Ejemplares disponibles: " + (copies.size() - loanedCopies));
-        System.out.println("Ejemplares prestados: " + loanedCopies);
-        System.out.println("=========================================");
+        ConsoleSession.out().println("\n=== INFORMACIÓN DEL LIBRO A ELIMINAR ===");
+        ConsoleSession.out().println("Título: " + book.getTitle());
+        ConsoleSession.out().println("Autor: " + book.getAuthor().getName());
+        ConsoleSession.out().println("Categoría: " + book.getCategory().getName());
+        ConsoleSession.out().println("Editorial: " + book.getPublisher().getName());
+        ConsoleSession.out().println("Año: " + book.getYear());
+        ConsoleSession.out().println("Ejemplares totales: " + totalCopies);
+        ConsoleSession.out().println("Ejemplares disponibles: " + (totalCopies - loanedCopies));
+        ConsoleSession.out().println("Ejemplares prestados: " + loanedCopies);
+        ConsoleSession.out().println("=========================================");
 
         // Advertencia si hay ejemplares prestados
         if (loanedCopies > 0) {
@@ -1,11 +1,13 @@
 package biblioteca.console.forms;
 
+import biblioteca.console.utils.ConsoleSession;
 import biblioteca.console.utils.DisplayHelper;
 import biblioteca.console.utils.InputHelper;
 import biblioteca.data.database.BookRepository;
 import biblioteca.data.database.CopyRepository;
 import biblioteca.domain.entities.Book;
 import biblioteca.domain.entities.Copy;
+import biblioteca.domain.enums.CopyState;
 
 /**
  * Form for capturing book search data from console
@@ -60,59 +62,49 @@ public class FindBookForm {
     private void displayBookList(java.util.List<Book> books) {
         for (int i = 0; i < books.size(); i++) {
             Book book = books.get(i);
-            java.util.List<Copy> copies = copyRepository.findByBook(book);
-            long availableCopies = copies.stream()
-                    .filter(copy -> copy.getState() == biblioteca.domain.enums.CopyState.AVAILABLE)
-                    .count();
-            long loanedCopies = copies.stream()
-                    .filter(copy -> copy.getState() == biblioteca.domain.enums.CopyState.LOANED)
-                    .count();
-
-            System.out.printf("%d. %s | DISPONIBLES: %d | PRESTADOS: %d | TOTAL: %d\n",
-                    i + 1, book.toString(), availableCopies, loanedCopies, copies.size());
+            long availableCopies = copyRepository.countByBookAndState(book, CopyState.AVAILABLE);
+            long loanedCopies = copyRepository.countByBookAndState(book, CopyState.LOANED);
+            long totalCopies = copyRepository.countByBook(book);
+
+            ConsoleSession.out().printf("%d. %s | DISPONIBLES: %d | PRESTADOS: %d | TOTAL: %d\n",
+                    i + 1, book.toString(), availableCopies, loanedCopies, totalCopies);
         }
     }
 
     private void displayBookWithCopyInfo(Book book) {
-        System.out.println("\n=== INFORMACIÓN DEL LIBRO ===");
-        System.out.println("ID: " + book.getId());
-        System.out.println("Título: " + book.getTitle());
-        System.out.println("Autor: " + book.getAuthor().getName());
-        System.out.println("Categoría: " + book.getCategory().getName());
-        System.out.println("Editorial: " + book.getPublisher().getName());
-        System.out.println("Año: " + book.getYear());
+        ConsoleSession.out().println("\n=== INFORMACIÓN DEL LIBRO ===");
+        ConsoleSession.out().println("ID: " + book.getId());
+        ConsoleSession.out().println("Título: " + book.getTitle());
+        ConsoleSession.out().println("Autor: " + book.getAuthor().getName());
+        ConsoleSession.out().println("Categoría: " + book.getCategory().getName());
+        ConsoleSession.out().println("Editorial: " + book.getPublisher().getName());
+        ConsoleSession.out().println("Año: " + book.getYear());
 
         // Obtener información de ejemplares
         java.util.List<Copy> copies = copyRepository.findByBook(book);
 
         if (copies.isEmpty()) {
-            System.out.println("\n=== EJEMPLARES ===");
-            System.out.println("No hay ejemplares registrados para este libro.");
+            ConsoleSession.out().println("\n=== EJEMPLARES ===");
+            ConsoleSession.out().println("No hay ejemplares registrados para este libro.");
         } else {
-            long availableCopies = copies.stream()
-                    .filter(copy -> copy.getState() == biblioteca.domain.enums.CopyState.AVAILABLE)
-                    .count();
-            long loanedCopies = copies.stream()
-                    .filter(copy -> copy.getState() == biblioteca.domain.enums.CopyState.LOANED)
-                    .count();
-            long reservedCopies = copies.stream()
-                    .filter(copy -> copy.getState() == biblioteca.domain.enums.CopyState.RESERVED)
-                    .count();
-
-            System.out.println("\n=== EJEMPLARES ===");
-            System.out.println("Total: " + copies.size());
-            System.out.println("Disponibles: " + availableCopies);
-            System.out.println("Prestados: " + loanedCopies);
-            System.out.println("Reservados: " + reservedCopies);
+            long availableCopies = copyRepository.countByBookAndState(book, CopyState.AVAILABLE);
+            long loanedCopies = copyRepository.countByBookAndState(book, CopyState.LOANED);
+            long reservedCopies = copyRepository.countByBookAndState(book, CopyState.RESERVED);
+
+            ConsoleSession.out().println("\n=== EJEMPLARES ===");
+            ConsoleSession.out().println("Total: " + copies.size());
+            ConsoleSession.out().println("Disponibles: " + availableCopies);
+            ConsoleSession.out().println("Prestados: " + loanedCopies);
+            ConsoleSession.out().println("Reservados: " + reservedCopies);
 
             // Mostrar algunos códigos de ejemplares como muestra
-            System.out.println("\nCódigos de ejemplares (primeros 5):");
+            ConsoleSession.out().println("\nCódigos de ejemplares (primeros 5):");
             copies.stream()
                     .limit(5)
-                    .forEach(copy -> System.out.println("- " + copy.getCode() + " (" + copy.getState() + ")"));
+                    .forEach(copy -> ConsoleSession.out().println("- " + copy.getCode() + " (" + copy.getState() + ")"));
 
             if (copies.size() > 5) {
-                System.out.println("... y " + (copies.size() - 5) + " más");
+                ConsoleSession.out().println("... y " + (copies.size() - 5) + " más");
             }
         }
     }
@@ -5,6 +5,7 @@ import java.util.List;
 import biblioteca.application.socios.consultar.QueryMemberRequest;
 import biblioteca.application.socios.consultar.QueryMemberResult;
 import biblioteca.application.socios.consultar.QueryMemberUseCase;
+import biblioteca.console.utils.ConsoleSession;
 import biblioteca.console.utils.DisplayHelper;
 import biblioteca.console.utils.InputHelper;
 import biblioteca.data.database.MemberRepository;
@@ -67,7 +68,7 @@ public class FindMemberForm {
      * @return List containing the found member or empty list
      */
     private List<Member> searchById() {
-        System.out.println();
+        ConsoleSession.out().println();
         String memberId = InputHelper.leerTexto("Ingrese el ID del socio");
 
         if (memberId == null || memberId.trim().isEmpty()) {
@@ -89,7 +90,7 @@ public class FindMemberForm {
      * @return List of members matching the search criteria
      */
     private List<Member> searchByName() {
-        System.out.println();
+        ConsoleSession.out().println();
         String searchText = InputHelper.leerTexto("Ingrese el nombre o parte del nombre del socio");
 
         if (searchText == null || searchText.trim().isEmpty()) {
@@ -106,7 +107,7 @@ public class FindMemberForm {
      * @param results List of members found
      */
     private void displaySearchResults(List<Member> results) {
-        System.out.println();
+        ConsoleSession.out().println();
 
         if (results == null || results.isEmpty()) {
             DisplayHelper.renderSubtitle("RESULTADOS DE BÚSQUEDA");
@@ -119,9 +120,9 @@ public class FindMemberForm {
         // If only one result, show it directly and ask for detailed info
         if (results.size() == 1) {
             Member member = results.get(0);
-            System.out.println("Socio encontrado: " + member.toString());
+            ConsoleSession.out().println("Socio encontrado: " + member.toString());
 
-            System.out.println();
+            ConsoleSession.out().println();
             if (InputHelper.confirmar("¿Desea ver información detallada?")) {
                 showDetailedMemberInfoSingle(member);
             }
@@ -131,11 +132,11 @@ public class FindMemberForm {
         // Display results in a numbered list for multiple matches
         for (int i = 0; i < results.size(); i++) {
             Member member = results.get(i);
-            System.out.printf("%d. %s%n", (i + 1), member.toString());
+            ConsoleSession.out().printf("%d. %s%n", (i + 1), member.toString());
         }
 
         // Ask if user wants to see detailed information
-        System.out.println();
+        ConsoleSession.out().println();
         if (InputHelper.confirmar("¿Desea ver información detallada de algún socio?")) {
             showDetailedMemberInfo(results);
         }
@@ -154,18 +155,18 @@ public class FindMemberForm {
             QueryMemberRequest request = new QueryMemberRequest(member.getId());
             QueryMemberResult result = queryMemberUseCase.execute(request);
 
-            System.out.println();
+            ConsoleSession.out().println();
             if (result.isSuccess()) {
                 displayCompleteMemberInformation(result);
             } else {
                 // Fallback to basic information if QueryMemberUseCase fails
                 DisplayHelper.renderSubtitle("INFORMACIÓN DETALLADA");
-                System.out.println(member.toDetailedString());
+                ConsoleSession.out().println(member.toDetailedString());
 
                 // Show member type benefits with system parameters
                 displayMemberBenefits(member);
 
-                System.out.println();
+                ConsoleSession.out().println();
                 DisplayHelper.printWarning("Nota: No se pudo obtener el resumen de actividad completo.");
             }
 
@@ -182,7 +183,7 @@ public class FindMemberForm {
      */
     private void showDetailedMemberInfo(List<Member> results) {
         try {
-            System.out.println();
+            ConsoleSession.out().println();
             int selection = InputHelper.leerEnteroEnRango(
                     "Seleccione el número del socio para ver detalles",
                     1,
@@ -194,18 +195,18 @@ public class FindMemberForm {
             QueryMemberRequest request = new QueryMemberRequest(selectedMember.getId());
             QueryMemberResult result = queryMemberUseCase.execute(request);
 
-            System.out.println();
+            ConsoleSession.out().println();
             if (result.isSuccess()) {
                 displayCompleteMemberInformation(result);
             } else {
                 // Fallback to basic information if QueryMemberUseCase fails
                 DisplayHelper.renderSubtitle("INFORMACIÓN DETALLADA");
-                System.out.println(selectedMember.toDetailedString());
+                ConsoleSession.out().println(selectedMember.toDetailedString());
 
                 // Show member type benefits with system parameters
                 displayMemberBenefits(selectedMember);
 
-                System.out.println();
+                ConsoleSession.out().println();
                 DisplayHelper.printWarning("Nota: No se pudo obtener el resumen de actividad completo.");
             }
 
@@ -223,25 +224,25 @@ public class FindMemberForm {
         DisplayHelper.renderSubtitle("INFORMACIÓN COMPLETA DEL SOCIO");
 
         // Display basic member information
-        System.out.println(result.getMember().toDetailedString());
+        ConsoleSession.out().println(result.getMember().toDetailedString());
 
         // Display activity summary
-        System.out.println();
+        ConsoleSession.out().println();
         DisplayHelper.renderSubtitle("RESUMEN DE ACTIVIDAD");
 
         QueryMemberResult.MemberSummary summary = result.getSummary();
 
-        System.out.printf("📚 Préstamos activos: %d%n", summary.getActiveLoans());
-        System.out.printf("⚠️  Multas pendientes: %d%n", summary.getTotalUnpaidFines());
+        ConsoleSession.out().printf("📚 Préstamos activos: %d%n", summary.getActiveLoans());
+        ConsoleSession.out().printf("⚠️  Multas pendientes: %d%n", summary.getTotalUnpaidFines());
 
         if (summary.getTotalUnpaidAmount() > 0) {
-            System.out.printf("💰 Monto total adeudado: $%.2f%n", summary.getTotalUnpaidAmount());
+            ConsoleSession.out().printf("💰 Monto total adeudado: $%.2f%n", summary.getTotalUnpaidAmount());
         }
 
-        System.out.printf("📋 Reservas activas: %d%n", summary.getActiveReservations());
+        ConsoleSession.out().printf("📋 Reservas activas: %d%n", summary.getActiveReservations());
 
         // Display member status
-        System.out.println();
+        ConsoleSession.out().println();
         DisplayHelper.renderSubtitle("ESTADO DEL SOCIO");
 
         if (summary.getTotalUnpaidFines() == 0) {
@@ -261,25 +262,27 @@ public class FindMemberForm {
 
         // Display recent returns
         if (result.hasRecentReturns()) {
-            System.out.println();
+            ConsoleSession.out().println();
             DisplayHelper.renderSubtitle("DEVOLUCIONES RECIENTES");
 
             for (int i = 0; i < result.getRecentReturns().size(); i++) {
                 var loan = result.getRecentReturns().get(i);
-                System.out.println((i + 1) + ". " + loan.getCopy().getBook().getTitle());
-                System.out.println("   Ejemplar: " + loan.getCopy().getCode());
-                System.out.println("   Fecha devolución: " + DisplayHelper.formatDate(loan.getReturnDate()));
+                var copy = loan.getCopy();
+                ConsoleSession.out().println((i + 1) + ". "
+                        + (copy != null ? copy.getBook().getTitle() : "(ejemplar dado de baja)"));
+                ConsoleSession.out().println("   Ejemplar: " + loan.getCopyCode());
+                ConsoleSession.out().println("   Fecha devolución: " + DisplayHelper.formatDate(loan.getReturnDate()));
 
                 // Check if it was late
                 if (loan.getReturnDate() != null && loan.getReturnDate().isAfter(loan.getDueDate())) {
                     long daysLate = java.time.temporal.ChronoUnit.DAYS.between(
                             loan.getDueDate(),
                             loan.getReturnDate());
-                    System.out.println("   ⚠️  Devolución con " + daysLate + " día(s) de retraso");
+                    ConsoleSession.out().println("   ⚠️  Devolución con " + daysLate + " día(s) de retraso");
                 } else {
-                    System.out.println("   ✓ Devolución a tiempo");
+                    ConsoleSession.out().println("   ✓ Devolución a tiempo");
                 }
-                System.out.println();
+                ConsoleSession.out().println();
             }
         }
     }
@@ -291,42 +294,42 @@ public class FindMemberForm {
      * @param member The member to display benefits for
      */
     private void displayMemberBenefits(Member member) {
-        System.out.println();
+        ConsoleSession.out().println();
         DisplayHelper.renderSubtitle("BENEFICIOS DE CATEGORÍA");
 
         // Get system parameters
         SystemParameters params = systemParametersRepository.get();
 
         // Display member type
-        System.out.println("Categoría: " + member.getType().getDisplayName());
+        ConsoleSession.out().println("Categoría: " + member.getType().getDisplayName());
 
         // Calculate and display loan duration
         int baseLoanDays = params.getLoanDays();
         int extraDays = member.getType().getExtraLoanDays();
         int totalLoanDays = baseLoanDays + extraDays;
 
-        System.out.printf("📅 Duración de préstamos: %d días", totalLoanDays);
+        ConsoleSession.out().printf("📅 Duración de préstamos: %d días", totalLoanDays);
         if (extraDays > 0) {
-            System.out.printf(" (%d días base + %d días extra)%n", baseLoanDays, extraDays);
+            ConsoleSession.out().printf(" (%d días base + %d días extra)%n", baseLoanDays, extraDays);
         } else {
-            System.out.println(" (estándar)");
+            ConsoleSession.out().println(" (estándar)");
         }
 
         // Display max loans allowed
-        System.out.printf("�� Límite de préstamos simultáneos: %d libro(s)%n", params.getMaxLoansPerMember());
+        ConsoleSession.out().printf("�� Límite de préstamos simultáneos: %d libro(s)%n", params.getMaxLoansPerMember());
 
         // Display fine discount
         double discountPercentage = member.getType().getFineDiscountPercentage() * 100;
-        System.out.printf("💰 Descuento en multas: %.0f%%%n", discountPercentage);
+        ConsoleSession.out().printf("💰 Descuento en multas: %.0f%%%n", discountPercentage);
 
         // Show fine calculation example
         double baseFine = params.getFinePerDay();
         double discountedFine = baseFine * (1 - member.getType().getFineDiscountPercentage());
 
         if (discountPercentage > 0) {
-            System.out.printf("   Ejemplo: $%.2f por día (en lugar de $%.2f)%n", discountedFine, baseFine);
+            ConsoleSession.out().printf("   Ejemplo: $%.2f por día (en lugar de $%.2f)%n", discountedFine, baseFine);
         } else {
-            System.out.printf("   Tarifa: $%.2f por día de retraso%n", baseFine);
+            ConsoleSession.out().printf("   Tarifa: $%.2f por día de retraso%n", baseFine);
         }
     }
 }
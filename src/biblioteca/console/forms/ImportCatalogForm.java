@@ -0,0 +1,45 @@
+package biblioteca.console.forms;
+
+import biblioteca.application.libros.importar.ImportCatalogRequest;
+import biblioteca.console.utils.ConsoleSession;
+import biblioteca.console.utils.DisplayHelper;
+import biblioteca.console.utils.InputHelper;
+import biblioteca.domain.enums.CopyOrigin;
+
+/**
+ * Form for capturing catalog import data from console
+ */
+public class ImportCatalogForm {
+
+    /**
+     * Captures catalog import data from user input
+     * 
+     * @return ImportCatalogRequest with the captured data, or null if cancelled
+     */
+    public ImportCatalogRequest captureData() {
+        try {
+            ConsoleSession.out().println("Formatos admitidos:");
+            ConsoleSession.out().println("• CSV (.csv) con cabecera: titulo,autor,categoria,editorial,anio[,ejemplares]");
+            ConsoleSession.out().println("• NDJSON (.ndjson/.jsonl): un objeto JSON por línea con los mismos campos");
+
+            String filePath = InputHelper.leerTextoObligatorio("Ruta del archivo");
+            int defaultCopies = InputHelper.leerEnteroEnRango(
+                    "Ejemplares por libro cuando el archivo no los indica", 0, 100);
+
+            ConsoleSession.out().println("\n1. Compra");
+            ConsoleSession.out().println("2. Donación");
+            int originOption = InputHelper.leerEnteroEnRango("Origen de los ejemplares", 1, 2);
+            CopyOrigin origin = (originOption == 1) ? CopyOrigin.PURCHASE : CopyOrigin.DONATION;
+
+            if (InputHelper.confirmar("¿Confirma importar el catálogo de " + filePath + "?")) {
+                return new ImportCatalogRequest(filePath, defaultCopies, origin);
+            }
+            DisplayHelper.printInfo("Operación cancelada");
+            return null;
+
+        } catch (Exception e) {
+            DisplayHelper.printErrorMessage("Error al capturar datos: " + e.getMessage());
+            return null;
+        }
+    }
+}
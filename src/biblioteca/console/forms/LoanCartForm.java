@@ -6,6 +6,7 @@ import biblioteca.application.prestamos.carrito.LoanCart;
 import biblioteca.application.prestamos.create.CreateLoanRequest;
 import biblioteca.application.prestamos.create.CreateLoanResult;
 import biblioteca.application.prestamos.create.CreateLoanUseCase;
+import biblioteca.console.utils.ConsoleSession;
 import biblioteca.console.utils.DisplayHelper;
 import biblioteca.console.utils.InputHelper;
 import biblioteca.console.utils.MemberSearchHelper;
@@ -66,8 +67,14 @@ public class LoanCartForm {
         // Crear carrito de préstamos
         LoanCart cart = new LoanCart(member.getId()); // Menú del carrito
         boolean continueCart = true;
-        while (continueCart) {
-            continueCart = showCartMenu(cart);
+        try {
+            while (continueCart) {
+                continueCart = showCartMenu(cart);
+            }
+        } finally {
+            // El carrito no sigue después del menú, tampoco si se cortó la
+            // sesión: liberar el cupo que tenga reservado
+            createLoanUseCase.clearCart(cart);
         }
     }
 
@@ -78,8 +85,8 @@ public class LoanCartForm {
         CreateLoanResult loanInfo = createLoanUseCase.getMemberLoanInfo(memberId);
         if (loanInfo.isSuccess()) {
             DisplayHelper.renderSubtitle("Información de Préstamos del Socio");
-            System.out.println(loanInfo.getMessage());
-            System.out.println();
+            ConsoleSession.out().println(loanInfo.getMessage());
+            ConsoleSession.out().println();
         }
     }
 
@@ -96,12 +103,12 @@ public class LoanCartForm {
             showCartSummary(cart);
         }
 
-        System.out.println("\nOpciones:");
-        System.out.println("1. Agregar ejemplar al carrito");
-        System.out.println("2. Ver contenido del carrito");
-        System.out.println("3. Editar carrito");
-        System.out.println("4. Confirmar préstamo");
-        System.out.println("5. Cancelar y salir");
+        ConsoleSession.out().println("\nOpciones:");
+        ConsoleSession.out().println("1. Agregar ejemplar al carrito");
+        ConsoleSession.out().println("2. Ver contenido del carrito");
+        ConsoleSession.out().println("3. Editar carrito");
+        ConsoleSession.out().println("4. Confirmar préstamo");
+        ConsoleSession.out().println("5. Cancelar y salir");
 
         int opcion = InputHelper.leerEnteroEnRango("Seleccione una opción: ", 1, 5);
 
@@ -155,13 +162,13 @@ public class LoanCartForm {
      */
     private void showCartSummary(LoanCart cart) {
         if (cart.isEmpty()) {
-            System.out.println("Carrito vacío");
+            ConsoleSession.out().println("Carrito vacío");
             return;
         }
 
-        System.out.println("Resumen:");
-        System.out.printf("- Socio: %s%n", cart.getMemberId());
-        System.out.printf("- Ejemplares: %d%n", cart.getItemCount());
+        ConsoleSession.out().println("Resumen:");
+        ConsoleSession.out().printf("- Socio: %s%n", cart.getMemberId());
+        ConsoleSession.out().printf("- Ejemplares: %d%n", cart.getItemCount());
     }
 
     /**
@@ -176,28 +183,28 @@ public class LoanCartForm {
             return;
         }
 
-        System.out.printf("Socio: %s%n", cart.getMemberId());
-        System.out.printf("Cantidad de ejemplares: %d%n", cart.getItemCount());
-        System.out.println();
+        ConsoleSession.out().printf("Socio: %s%n", cart.getMemberId());
+        ConsoleSession.out().printf("Cantidad de ejemplares: %d%n", cart.getItemCount());
+        ConsoleSession.out().println();
 
-        System.out.println("Ejemplares en el carrito:");
-        System.out.println("-".repeat(70));
+        ConsoleSession.out().println("Ejemplares en el carrito:");
+        ConsoleSession.out().println("-".repeat(70));
 
         int counter = 1;
         for (var copy : cart.getItems()) {
-            System.out.printf("%d. Código: %s%n", counter, copy.getCode());
-            System.out.printf("   Título: %s%n", copy.getBook().getTitle());
-            System.out.printf("   Autor: %s%n", copy.getBook().getAuthor());
-            System.out.printf("   Año: %d%n", copy.getBook().getYear());
-            System.out.printf("   Estado: %s%n", copy.getState().getDisplayName());
+            ConsoleSession.out().printf("%d. Código: %s%n", counter, copy.getCode());
+            ConsoleSession.out().printf("   Título: %s%n", copy.getBook().getTitle());
+            ConsoleSession.out().printf("   Autor: %s%n", copy.getBook().getAuthor());
+            ConsoleSession.out().printf("   Año: %d%n", copy.getBook().getYear());
+            ConsoleSession.out().printf("   Estado: %s%n", copy.getState().getDisplayName());
 
             if (counter < cart.getItemCount()) {
-                System.out.println();
+                ConsoleSession.out().println();
             }
             counter++;
         }
 
-        System.out.println("-".repeat(70));
+        ConsoleSession.out().println("-".repeat(70));
         InputHelper.pausar("Presione Enter para continuar...");
     }
 }
\ No newline at end of file
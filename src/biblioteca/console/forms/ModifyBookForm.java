@@ -1,6 +1,7 @@
 package biblioteca.console.forms;
 
 import biblioteca.application.libros.modificar.ModifyBookRequest;
+import biblioteca.console.utils.ConsoleSession;
 import biblioteca.console.utils.DisplayHelper;
 import biblioteca.console.utils.InputHelper;
 import biblioteca.data.database.BookRepository;
@@ -53,10 +54,10 @@ public class ModifyBookForm {
 
     private ModifyBookRequest showModificationMenu(Book book) {
         while (true) {
-            System.out.println("\n=== MODIFICAR: " + book.getTitle() + " ===");
-            System.out.println("1. Modificar título");
-            System.out.println("2. Modificar año de publicación");
-            System.out.println("0. Volver al menú anterior");
+            ConsoleSession.out().println("\n=== MODIFICAR: " + book.getTitle() + " ===");
+            ConsoleSession.out().println("1. Modificar título");
+            ConsoleSession.out().println("2. Modificar año de publicación");
+            ConsoleSession.out().println("0. Volver al menú anterior");
 
             int option = InputHelper.leerEnteroEnRango("Seleccione una opción", 0, 2);
 
@@ -72,7 +73,7 @@ public class ModifyBookForm {
     }
 
     private ModifyBookRequest captureNewTitle(Book book) {
-        System.out.println("Título actual: " + book.getTitle());
+        ConsoleSession.out().println("Título actual: " + book.getTitle());
         String newTitle = InputHelper.leerTexto("Nuevo título (Enter para mantener actual)");
 
         if (newTitle != null && !newTitle.trim().isEmpty()) {
@@ -86,7 +87,7 @@ public class ModifyBookForm {
     }
 
     private ModifyBookRequest captureNewYear(Book book) {
-        System.out.println("Año actual: " + book.getYear());
+        ConsoleSession.out().println("Año actual: " + book.getYear());
 
         try {
             int newYear = InputHelper.leerEnteroEnRango("Nuevo año de publicación", 1000, 2030);
@@ -101,21 +102,21 @@ public class ModifyBookForm {
     }
 
     private boolean confirmTitleChange(Book book, String newTitle) {
-        System.out.println("\n=== CONFIRMACIÓN DE CAMBIO ===");
-        System.out.println("Libro: " + book.getTitle());
-        System.out.println("Título actual: " + book.getTitle());
-        System.out.println("Título nuevo: " + newTitle);
-        System.out.println("==============================");
+        ConsoleSession.out().println("\n=== CONFIRMACIÓN DE CAMBIO ===");
+        ConsoleSession.out().println("Libro: " + book.getTitle());
+        ConsoleSession.out().println("Título actual: " + book.getTitle());
+        ConsoleSession.out().println("Título nuevo: " + newTitle);
+        ConsoleSession.out().println("==============================");
 
         return InputHelper.confirmar("¿Confirma el cambio de título?");
     }
 
     private boolean confirmYearChange(Book book, int newYear) {
-        System.out.println("\n=== CONFIRMACIÓN DE CAMBIO ===");
-        System.out.println("Libro: " + book.getTitle());
-        System.out.println("Año actual: " + book.getYear());
-        System.out.println("Año nuevo: " + newYear);
-        System.out.println("==============================");
+        ConsoleSession.out().println("\n=== CONFIRMACIÓN DE CAMBIO ===");
+        ConsoleSession.out().println("Libro: " + book.getTitle());
+        ConsoleSession.out().println("Año actual: " + book.getYear());
+        ConsoleSession.out().println("Año nuevo: " + newYear);
+        ConsoleSession.out().println("==============================");
 
         return InputHelper.confirmar("¿Confirma el cambio de año?");
     }
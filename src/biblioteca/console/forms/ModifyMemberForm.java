@@ -3,6 +3,7 @@ package biblioteca.console.forms;
 import java.util.List;
 
 import biblioteca.application.socios.modificar.ModifyMemberRequest;
+import biblioteca.console.utils.ConsoleSession;
 import biblioteca.console.utils.DisplayHelper;
 import biblioteca.console.utils.InputHelper;
 import biblioteca.data.database.MemberRepository;
@@ -36,10 +37,10 @@ public class ModifyMemberForm {
 
             // Display current member information
             DisplayHelper.printSuccess("Socio seleccionado:");
-            System.out.println(selectedMember.toDetailedString());
+            ConsoleSession.out().println(selectedMember.toDetailedString());
 
             // Capture new data (ENTER to keep current)
-            System.out.println("\nIngrese los nuevos datos (ENTER para mantener actual):");
+            ConsoleSession.out().println("\nIngrese los nuevos datos (ENTER para mantener actual):");
 
             String newEmail = InputHelper.leerTexto("Nuevo email (actual: " + selectedMember.getEmail() + ")");
             if (newEmail != null && newEmail.trim().isEmpty()) {
@@ -52,11 +53,11 @@ public class ModifyMemberForm {
             }
 
             // Capture new member type
-            System.out.println("\nCategoría actual: " + selectedMember.getType().getDisplayName());
-            System.out.println("Seleccione nueva categoría (ENTER para mantener actual):");
-            System.out.println("1. " + MemberType.STANDARD.getDisplayName());
-            System.out.println("2. " + MemberType.STUDENT.getDisplayName());
-            System.out.println("3. " + MemberType.RETIRED.getDisplayName());
+            ConsoleSession.out().println("\nCategoría actual: " + selectedMember.getType().getDisplayName());
+            ConsoleSession.out().println("Seleccione nueva categoría (ENTER para mantener actual):");
+            ConsoleSession.out().println("1. " + MemberType.STANDARD.getDisplayName());
+            ConsoleSession.out().println("2. " + MemberType.STUDENT.getDisplayName());
+            ConsoleSession.out().println("3. " + MemberType.RETIRED.getDisplayName());
 
             String typeInput = InputHelper.leerTexto("Seleccione opción (1-3)");
             MemberType newType = null;
@@ -81,19 +82,19 @@ public class ModifyMemberForm {
             }
 
             // Show confirmation
-            System.out.println("\n=== CONFIRMACIÓN DE CAMBIOS ===");
-            System.out.println("Socio: " + selectedMember.getName() + " (ID: " + selectedMember.getId() + ")");
+            ConsoleSession.out().println("\n=== CONFIRMACIÓN DE CAMBIOS ===");
+            ConsoleSession.out().println("Socio: " + selectedMember.getName() + " (ID: " + selectedMember.getId() + ")");
             if (newEmail != null) {
-                System.out.println("Email: " + selectedMember.getEmail() + " → " + newEmail);
+                ConsoleSession.out().println("Email: " + selectedMember.getEmail() + " → " + newEmail);
             }
             if (newPhone != null) {
-                System.out.println("Teléfono: " + selectedMember.getPhone() + " → " + newPhone);
+                ConsoleSession.out().println("Teléfono: " + selectedMember.getPhone() + " → " + newPhone);
             }
             if (newType != null) {
-                System.out.println(
+                ConsoleSession.out().println(
                         "Categoría: " + selectedMember.getType().getDisplayName() + " → " + newType.getDisplayName());
             }
-            System.out.println("===============================");
+            ConsoleSession.out().println("===============================");
 
             if (InputHelper.confirmar("¿Confirma modificar el socio?")) {
                 return new ModifyMemberRequest(selectedMember.getId(), newEmail, newPhone, newType);
@@ -109,8 +110,8 @@ public class ModifyMemberForm {
     }
 
     private Member searchAndSelectMember() {
-        System.out.println("1. Buscar por ID");
-        System.out.println("2. Buscar por Nombre");
+        ConsoleSession.out().println("1. Buscar por ID");
+        ConsoleSession.out().println("2. Buscar por Nombre");
         int searchOption = InputHelper.leerEnteroEnRango("Seleccione método de búsqueda", 1, 2);
 
         if (searchOption == 1) {
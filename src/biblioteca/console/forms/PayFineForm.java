@@ -6,6 +6,7 @@ import java.util.List;
 import biblioteca.application.socios.pagar_multa.PayFineRequest;
 import biblioteca.application.socios.pagar_multa.PayFineResult;
 import biblioteca.application.socios.pagar_multa.PayFineUseCase;
+import biblioteca.console.utils.ConsoleSession;
 import biblioteca.console.utils.DisplayHelper;
 import biblioteca.console.utils.InputHelper;
 import biblioteca.data.database.FineRepository;
@@ -45,15 +46,16 @@ public class PayFineForm {
             // Display member information
             displayMemberInfo(member);
 
-            // Get unpaid fines for this member
-            List<Fine> unpaidFines = fineRepository.findUnpaidByMember(member);
-
-            if (unpaidFines.isEmpty()) {
-                System.out.println();
+            // Check the running balance before loading the fines
+            if (fineRepository.countUnpaidByMember(member) == 0) {
+                ConsoleSession.out().println();
                 DisplayHelper.printSuccess("¡Este socio no tiene multas pendientes!");
                 return;
             }
 
+            // Get unpaid fines for this member
+            List<Fine> unpaidFines = fineRepository.findUnpaidByMember(member);
+
             // Display unpaid fines
             displayUnpaidFines(unpaidFines, member);
 
@@ -65,7 +67,7 @@ public class PayFineForm {
             }
 
             // Process payment
-            processFinePayment(member, selectedFineIds, unpaidFines);
+            processFinePayment(member, selectedFineIds);
 
         } catch (Exception e) {
             DisplayHelper.printErrorMessage("Error inesperado: " + e.getMessage());
@@ -120,7 +122,7 @@ public class PayFineForm {
      * @return List containing the found member or empty list
      */
     private List<Member> searchById() {
-        System.out.println();
+        ConsoleSession.out().println();
         String memberId = InputHelper.leerTexto("Ingrese el ID del socio");
 
         if (memberId == null || memberId.trim().isEmpty()) {
@@ -142,7 +144,7 @@ public class PayFineForm {
      * @return List of members matching the search criteria
      */
     private List<Member> searchByName() {
-        System.out.println();
+        ConsoleSession.out().println();
         String searchText = InputHelper.leerTexto("Ingrese el nombre o parte del nombre del socio");
 
         if (searchText == null || searchText.trim().isEmpty()) {
@@ -159,9 +161,9 @@ public class PayFineForm {
      * @param member The member whose information to display
      */
     private void displayMemberInfo(Member member) {
-        System.out.println();
+        ConsoleSession.out().println();
         DisplayHelper.renderSubtitle("INFORMACIÓN DEL SOCIO");
-        System.out.println(member.toDetailedString());
+        ConsoleSession.out().println(member.toDetailedString());
     }
 
     /**
@@ -171,28 +173,25 @@ public class PayFineForm {
      * @param member The member
      */
     private void displayUnpaidFines(List<Fine> fines, Member member) {
-        System.out.println();
+        ConsoleSession.out().println();
         DisplayHelper.renderSubtitle("MULTAS PENDIENTES");
 
-        double totalAmount = 0.0;
-
         for (int i = 0; i < fines.size(); i++) {
             Fine fine = fines.get(i);
-            System.out.printf("%d. Multa %s - $%.2f - Emitida: %s%n",
+            ConsoleSession.out().printf("%d. Multa %s - $%.2f - Emitida: %s%n",
                     i + 1,
                     fine.getId(),
                     fine.getAmount(),
                     DisplayHelper.formatDate(fine.getIssueDate()));
-            totalAmount += fine.getAmount();
         }
 
-        System.out.println();
-        System.out.printf("Total de multas pendientes: %d%n", fines.size());
-        System.out.printf("Monto total: $%.2f%n", totalAmount);
+        ConsoleSession.out().println();
+        ConsoleSession.out().printf("Total de multas pendientes: %d%n", fineRepository.countUnpaidByMember(member));
+        ConsoleSession.out().printf("Monto total: $%.2f%n", fineRepository.getTotalUnpaidAmount(member));
 
         // Show member type benefits if applicable
         if (member.getType().getFineDiscountPercentage() > 0) {
-            System.out.println();
+            ConsoleSession.out().println();
             DisplayHelper.printInfo(String.format(
                     "Como socio %s, tiene un descuento del %.0f%% en multas",
                     member.getType().getDisplayName(),
@@ -207,11 +206,11 @@ public class PayFineForm {
      * @return List of selected fine IDs
      */
     private List<String> selectFinesToPay(List<Fine> fines) {
-        System.out.println();
-        System.out.println("Opciones:");
-        System.out.println("  - Ingrese los números de las multas a pagar (separados por coma). Ej: 1,3,5");
-        System.out.println("  - Escriba 'todas' para pagar todas las multas");
-        System.out.println("  - Presione Enter sin texto para cancelar");
+        ConsoleSession.out().println();
+        ConsoleSession.out().println("Opciones:");
+        ConsoleSession.out().println("  - Ingrese los números de las multas a pagar (separados por coma). Ej: 1,3,5");
+        ConsoleSession.out().println("  - Escriba 'todas' para pagar todas las multas");
+        ConsoleSession.out().println("  - Presione Enter sin texto para cancelar");
 
         String input = InputHelper.leerTexto("\nSelección");
 
@@ -251,31 +250,27 @@ public class PayFineForm {
      * 
      * @param member          The member paying
      * @param selectedFineIds List of fine IDs to pay
-     * @param allFines        All unpaid fines (for display)
      */
-    private void processFinePayment(Member member, List<String> selectedFineIds, List<Fine> allFines) {
-        System.out.println();
+    private void processFinePayment(Member member, List<String> selectedFineIds) {
+        ConsoleSession.out().println();
         DisplayHelper.renderSubtitle("RESUMEN DE PAGO");
 
         // Calculate total to pay
         double totalAmount = 0.0;
-        System.out.println("Multas seleccionadas para pago:");
+        ConsoleSession.out().println("Multas seleccionadas para pago:");
         for (String fineId : selectedFineIds) {
-            Fine fine = allFines.stream()
-                    .filter(f -> f.getId().equals(fineId))
-                    .findFirst()
-                    .orElse(null);
+            Fine fine = fineRepository.findById(fineId);
 
             if (fine != null) {
-                System.out.printf("  • %s - $%.2f%n", fine.getId(), fine.getAmount());
+                ConsoleSession.out().printf("  • %s - $%.2f%n", fine.getId(), fine.getAmount());
                 totalAmount += fine.getAmount();
             }
         }
 
-        System.out.println();
-        System.out.printf("Total a pagar: $%.2f%n", totalAmount);
+        ConsoleSession.out().println();
+        ConsoleSession.out().printf("Total a pagar: $%.2f%n", totalAmount);
 
-        System.out.println();
+        ConsoleSession.out().println();
         if (!InputHelper.confirmar("¿Confirma el pago de las multas seleccionadas?")) {
             DisplayHelper.printInfo("Pago cancelado.");
             return;
@@ -286,7 +281,7 @@ public class PayFineForm {
         PayFineResult result = payFineUseCase.execute(request);
 
         // Display result
-        System.out.println();
+        ConsoleSession.out().println();
         if (result.isSuccess()) {
             DisplayHelper.renderSubtitle("PAGO PROCESADO EXITOSAMENTE");
             DisplayHelper.printSuccess(result.getMessage());
@@ -6,11 +6,14 @@ import java.util.List;
 import biblioteca.application.devoluciones.consultar.QueryReturnsRequest;
 import biblioteca.application.devoluciones.consultar.QueryReturnsResult;
 import biblioteca.application.devoluciones.consultar.QueryReturnsUseCase;
+import biblioteca.console.utils.ConsoleSession;
 import biblioteca.console.utils.DisplayHelper;
 import biblioteca.console.utils.InputHelper;
 import biblioteca.data.database.FineRepository;
+import biblioteca.domain.entities.Copy;
 import biblioteca.domain.entities.Fine;
 import biblioteca.domain.entities.Loan;
+import biblioteca.domain.entities.Member;
 
 /**
  * Form for querying returns history with filters
@@ -32,14 +35,14 @@ public class QueryReturnsForm {
 
         try {
             // Show filter options
-            System.out.println("\nOpciones de filtrado:");
-            System.out.println("1. Ver todas las devoluciones");
-            System.out.println("2. Filtrar por socio");
-            System.out.println("3. Filtrar por libro");
-            System.out.println("4. Filtrar por rango de fechas");
-            System.out.println("5. Ver solo devoluciones con multa");
-            System.out.println("6. Ver solo devoluciones sin multa");
-            System.out.println("7. Volver");
+            ConsoleSession.out().println("\nOpciones de filtrado:");
+            ConsoleSession.out().println("1. Ver todas las devoluciones");
+            ConsoleSession.out().println("2. Filtrar por socio");
+            ConsoleSession.out().println("3. Filtrar por libro");
+            ConsoleSession.out().println("4. Filtrar por rango de fechas");
+            ConsoleSession.out().println("5. Ver solo devoluciones con multa");
+            ConsoleSession.out().println("6. Ver solo devoluciones sin multa");
+            ConsoleSession.out().println("7. Volver");
 
             int option = InputHelper.leerEnteroEnRango("Seleccione una opción", 1, 7);
 
@@ -80,8 +83,8 @@ public class QueryReturnsForm {
     }
 
     private QueryReturnsRequest createDateRangeRequest() {
-        System.out.println("\n=== FILTRO POR RANGO DE FECHAS ===");
-        System.out.println("Nota: Deje vacío para no aplicar límite en esa fecha");
+        ConsoleSession.out().println("\n=== FILTRO POR RANGO DE FECHAS ===");
+        ConsoleSession.out().println("Nota: Deje vacío para no aplicar límite en esa fecha");
 
         LocalDate startDate = null;
         LocalDate endDate = null;
@@ -119,9 +122,9 @@ public class QueryReturnsForm {
     private void executeQuery(QueryReturnsRequest request) {
         QueryReturnsResult result = queryReturnsUseCase.execute(request);
 
-        System.out.println("\n" + DisplayHelper.SEPARATOR);
-        System.out.println("📋 RESULTADOS DE LA BÚSQUEDA");
-        System.out.println(DisplayHelper.SEPARATOR);
+        ConsoleSession.out().println("\n" + DisplayHelper.SEPARATOR);
+        ConsoleSession.out().println("📋 RESULTADOS DE LA BÚSQUEDA");
+        ConsoleSession.out().println(DisplayHelper.SEPARATOR);
 
         if (result.isSuccess()) {
             DisplayHelper.printSuccess(result.getMessage());
@@ -135,26 +138,29 @@ public class QueryReturnsForm {
     }
 
     private void displayReturns(List<Loan> returns) {
-        System.out.println("\n=== DEVOLUCIONES ENCONTRADAS ===\n");
+        ConsoleSession.out().println("\n=== DEVOLUCIONES ENCONTRADAS ===\n");
 
         for (int i = 0; i < returns.size(); i++) {
             Loan loan = returns.get(i);
-            System.out.println((i + 1) + ". " + formatReturn(loan));
-            System.out.println("   " + "-".repeat(60));
+            ConsoleSession.out().println((i + 1) + ". " + formatReturn(loan));
+            ConsoleSession.out().println("   " + "-".repeat(60));
         }
 
-        System.out.println("\nTotal: " + returns.size() + " devolución(es)");
+        ConsoleSession.out().println("\nTotal: " + returns.size() + " devolución(es)");
     }
 
     private String formatReturn(Loan loan) {
         StringBuilder sb = new StringBuilder();
+        // Socio y ejemplar pueden haberse dado de baja después de la devolución
+        Member member = loan.getMember();
+        Copy copy = loan.getCopy();
         sb.append(String.format("Socio: %s (%s)%n",
-                loan.getMember().getName(),
-                loan.getMember().getId()));
+                member != null ? member.getName() : "(dado de baja)",
+                loan.getMemberId()));
         sb.append(String.format("   Libro: %s%n",
-                loan.getCopy().getBook().getTitle()));
+                copy != null ? copy.getBook().getTitle() : "(ejemplar dado de baja)"));
         sb.append(String.format("   Ejemplar: %s%n",
-                loan.getCopy().getCode()));
+                loan.getCopyCode()));
         sb.append(String.format("   Fecha préstamo: %s%n",
                 DisplayHelper.formatDate(loan.getLoanDate())));
         sb.append(String.format("   Fecha vencimiento: %s%n",
@@ -170,7 +176,7 @@ public class QueryReturnsForm {
             sb.append(String.format("   ⚠️  Devolución con %d día(s) de retraso%n", daysLate));
 
             // Look for fine generated on return date
-            Fine fine = fineRepository.findByMember(loan.getMember()).stream()
+            Fine fine = member == null ? null : fineRepository.findByMember(member).stream()
                     .filter(f -> f.getIssueDate().equals(loan.getReturnDate()))
                     .findFirst()
                     .orElse(null);
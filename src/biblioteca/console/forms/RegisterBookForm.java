@@ -1,6 +1,7 @@
 package biblioteca.console.forms;
 
 import biblioteca.application.libros.registrar.RegisterBookRequest;
+import biblioteca.console.utils.ConsoleSession;
 import biblioteca.console.utils.DisplayHelper;
 import biblioteca.console.utils.InputHelper;
 import biblioteca.data.database.AuthorRepository;
@@ -102,13 +103,13 @@ public class RegisterBookForm {
     }
 
     private boolean confirmData(String title, Author author, Category category, Publisher publisher, int year) {
-        System.out.println("\n=== CONFIRMACIÓN DE DATOS ===");
-        System.out.println("Título: " + title);
-        System.out.println("Autor: " + author.getName());
-        System.out.println("Categoría: " + category.getName());
-        System.out.println("Editorial: " + publisher.getName());
-        System.out.println("Año: " + year);
-        System.out.println("=============================");
+        ConsoleSession.out().println("\n=== CONFIRMACIÓN DE DATOS ===");
+        ConsoleSession.out().println("Título: " + title);
+        ConsoleSession.out().println("Autor: " + author.getName());
+        ConsoleSession.out().println("Categoría: " + category.getName());
+        ConsoleSession.out().println("Editorial: " + publisher.getName());
+        ConsoleSession.out().println("Año: " + year);
+        ConsoleSession.out().println("=============================");
 
         return InputHelper.confirmar("¿Está seguro que desea registrar este libro?");
     }
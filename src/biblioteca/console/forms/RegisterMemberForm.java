@@ -1,6 +1,7 @@
 package biblioteca.console.forms;
 
 import biblioteca.application.socios.registrar.RegisterMemberRequest;
+import biblioteca.console.utils.ConsoleSession;
 import biblioteca.console.utils.DisplayHelper;
 import biblioteca.console.utils.InputHelper;
 import biblioteca.domain.enums.MemberType;
@@ -35,10 +36,10 @@ public class RegisterMemberForm {
             String phone = InputHelper.leerTextoObligatorio("Teléfono");
 
             // Capture member type
-            System.out.println("\nSeleccione la categoría del socio:");
-            System.out.println("1. " + MemberType.STANDARD.getDisplayName() + " (sin beneficios)");
-            System.out.println("2. " + MemberType.STUDENT.getDisplayName() + " (50% descuento en multas)");
-            System.out.println("3. " + MemberType.RETIRED.getDisplayName() + " (+3 días al plazo de préstamo)");
+            ConsoleSession.out().println("\nSeleccione la categoría del socio:");
+            ConsoleSession.out().println("1. " + MemberType.STANDARD.getDisplayName() + " (sin beneficios)");
+            ConsoleSession.out().println("2. " + MemberType.STUDENT.getDisplayName() + " (50% descuento en multas)");
+            ConsoleSession.out().println("3. " + MemberType.RETIRED.getDisplayName() + " (+3 días al plazo de préstamo)");
 
             int typeOption = InputHelper.leerEnteroEnRango("Seleccione una opción", 1, 3);
             MemberType type = switch (typeOption) {
@@ -49,13 +50,13 @@ public class RegisterMemberForm {
             };
 
             // Show confirmation
-            System.out.println("\n=== CONFIRMACIÓN DE DATOS ===");
-            System.out.println("ID: " + (id != null ? id : "(auto-generado)"));
-            System.out.println("Nombre: " + name);
-            System.out.println("Email: " + email);
-            System.out.println("Teléfono: " + phone);
-            System.out.println("Categoría: " + type.getDisplayName());
-            System.out.println("=============================");
+            ConsoleSession.out().println("\n=== CONFIRMACIÓN DE DATOS ===");
+            ConsoleSession.out().println("ID: " + (id != null ? id : "(auto-generado)"));
+            ConsoleSession.out().println("Nombre: " + name);
+            ConsoleSession.out().println("Email: " + email);
+            ConsoleSession.out().println("Teléfono: " + phone);
+            ConsoleSession.out().println("Categoría: " + type.getDisplayName());
+            ConsoleSession.out().println("=============================");
 
             if (InputHelper.confirmar("¿Está seguro que desea registrar este socio?")) {
                 return new RegisterMemberRequest(id, name, email, phone, type);
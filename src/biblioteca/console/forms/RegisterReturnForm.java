@@ -3,6 +3,7 @@ package biblioteca.console.forms;
 import biblioteca.application.devoluciones.registrar.RegisterReturnRequest;
 import biblioteca.application.devoluciones.registrar.RegisterReturnResult;
 import biblioteca.application.devoluciones.registrar.RegisterReturnUseCase;
+import biblioteca.console.utils.ConsoleSession;
 import biblioteca.console.utils.DisplayHelper;
 import biblioteca.console.utils.InputHelper;
 
@@ -34,9 +35,9 @@ public class RegisterReturnForm {
             copyCode = copyCode.trim().toUpperCase();
 
             // Step 2: Preview return information
-            System.out.println("\n" + DisplayHelper.SEPARATOR);
-            System.out.println("📋 INFORMACIÓN DE LA DEVOLUCIÓN");
-            System.out.println(DisplayHelper.SEPARATOR);
+            ConsoleSession.out().println("\n" + DisplayHelper.SEPARATOR);
+            ConsoleSession.out().println("📋 INFORMACIÓN DE LA DEVOLUCIÓN");
+            ConsoleSession.out().println(DisplayHelper.SEPARATOR);
 
             RegisterReturnResult previewResult = registerReturnUseCase.previewReturn(copyCode);
 
@@ -45,8 +46,8 @@ public class RegisterReturnForm {
                 return;
             }
 
-            System.out.println(previewResult.getMessage());
-            System.out.println(DisplayHelper.SEPARATOR);
+            ConsoleSession.out().println(previewResult.getMessage());
+            ConsoleSession.out().println(DisplayHelper.SEPARATOR);
 
             // Step 3: Confirm return
             boolean confirm = InputHelper.confirmar("\n¿Confirmar devolución?");
@@ -60,20 +61,20 @@ public class RegisterReturnForm {
             RegisterReturnRequest request = new RegisterReturnRequest(copyCode);
             RegisterReturnResult result = registerReturnUseCase.execute(request);
 
-            System.out.println();
+            ConsoleSession.out().println();
             if (result.isSuccess()) {
                 DisplayHelper.printSuccess(result.getMessage());
 
                 // Show fine details if applicable
                 if (result.hasFine()) {
-                    System.out.println("\n⚠️  MULTA GENERADA");
-                    System.out.println(DisplayHelper.SEPARATOR);
-                    System.out.println("ID Multa:     " + result.getFine().getId());
-                    System.out.println("Monto:        $" + String.format("%.2f", result.getFine().getAmount()));
-                    System.out.println("Fecha:        " + DisplayHelper.formatDate(result.getFine().getIssueDate()));
-                    System.out.println("Estado:       " + (result.getFine().isPaid() ? "Pagada" : "Pendiente"));
-                    System.out.println(DisplayHelper.SEPARATOR);
-                    System.out.println("\n💡 El socio puede pagar la multa en el módulo de Pagos");
+                    ConsoleSession.out().println("\n⚠️  MULTA GENERADA");
+                    ConsoleSession.out().println(DisplayHelper.SEPARATOR);
+                    ConsoleSession.out().println("ID Multa:     " + result.getFine().getId());
+                    ConsoleSession.out().println("Monto:        $" + String.format("%.2f", result.getFine().getAmount()));
+                    ConsoleSession.out().println("Fecha:        " + DisplayHelper.formatDate(result.getFine().getIssueDate()));
+                    ConsoleSession.out().println("Estado:       " + (result.getFine().isPaid() ? "Pagada" : "Pendiente"));
+                    ConsoleSession.out().println(DisplayHelper.SEPARATOR);
+                    ConsoleSession.out().println("\n💡 El socio puede pagar la multa en el módulo de Pagos");
                 }
             } else {
                 DisplayHelper.printErrorMessage(result.getMessage());
@@ -1,18 +1,27 @@
 package biblioteca.console.ioc;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.List;
+
 import biblioteca.application.configuracion.actualizar.UpdateConfigUseCase;
 import biblioteca.application.configuracion.ver.ViewConfigUseCase;
 import biblioteca.application.devoluciones.consultar.QueryReturnsUseCase;
 import biblioteca.application.devoluciones.registrar.RegisterReturnUseCase;
 import biblioteca.application.libros.eliminar.DeleteBookUseCase;
+import biblioteca.application.libros.importar.ImportCatalogUseCase;
 import biblioteca.application.libros.ingresar_stock.AddStockUseCase;
 import biblioteca.application.libros.modificar.ModifyBookUseCase;
 import biblioteca.application.libros.registrar.RegisterBookUseCase;
 import biblioteca.application.prestamos.create.CreateLoanUseCase;
+import biblioteca.application.prestamos.vencidos.MarkOverdueLoansUseCase;
+import biblioteca.application.prestamos.vencidos.OverdueLoansScheduler;
 import biblioteca.application.socios.consultar.QueryMemberUseCase;
 import biblioteca.application.socios.modificar.ModifyMemberUseCase;
 import biblioteca.application.socios.pagar_multa.PayFineUseCase;
 import biblioteca.application.socios.registrar.RegisterMemberUseCase;
+import biblioteca.application.usecases.export.ExportDataUseCase;
 import biblioteca.application.usecases.report.GenerateReportUseCase;
 import biblioteca.console.controllers.BookController;
 import biblioteca.console.controllers.ConfigController;
@@ -26,6 +35,7 @@ import biblioteca.console.forms.AddStockForm;
 import biblioteca.console.forms.DeleteBookForm;
 import biblioteca.console.forms.FindBookForm;
 import biblioteca.console.forms.FindMemberForm;
+import biblioteca.console.forms.ImportCatalogForm;
 import biblioteca.console.forms.LoanCartForm;
 import biblioteca.console.forms.ModifyBookForm;
 import biblioteca.console.forms.ModifyMemberForm;
@@ -34,29 +44,75 @@ import biblioteca.console.forms.QueryReturnsForm;
 import biblioteca.console.forms.RegisterBookForm;
 import biblioteca.console.forms.RegisterMemberForm;
 import biblioteca.console.forms.RegisterReturnForm;
+import biblioteca.data.changes.ChangeCapture;
+import biblioteca.data.changes.ChangeStream;
 import biblioteca.data.database.AuthorRepository;
+import biblioteca.data.database.BatchRunner;
 import biblioteca.data.database.BookRepository;
 import biblioteca.data.database.CategoryRepository;
 import biblioteca.data.database.CopyRepository;
 import biblioteca.data.database.FineRepository;
+import biblioteca.data.database.InMemoryAuthorRepository;
+import biblioteca.data.database.InMemoryBookRepository;
+import biblioteca.data.database.InMemoryCategoryRepository;
+import biblioteca.data.database.InMemoryCopyRepository;
+import biblioteca.data.database.InMemoryFineRepository;
+import biblioteca.data.database.InMemoryLoanRepository;
+import biblioteca.data.database.InMemoryMemberRepository;
+import biblioteca.data.database.InMemoryNotificationRepository;
+import biblioteca.data.database.InMemoryPublisherRepository;
+import biblioteca.data.database.InMemorySystemParametersRepository;
 import biblioteca.data.database.LoanRepository;
 import biblioteca.data.database.MemberRepository;
 import biblioteca.data.database.NotificationRepository;
 import biblioteca.data.database.PublisherRepository;
+import biblioteca.data.database.RepositoryJournal;
+import biblioteca.data.database.RepositoryResolver;
 import biblioteca.data.database.SystemParametersRepository;
+import biblioteca.data.database.jdbc.JdbcAuthorRepository;
+import biblioteca.data.database.jdbc.JdbcBookRepository;
+import biblioteca.data.database.jdbc.JdbcCategoryRepository;
+import biblioteca.data.database.jdbc.JdbcCopyRepository;
+import biblioteca.data.database.jdbc.JdbcDatabase;
+import biblioteca.data.database.jdbc.JdbcFineRepository;
+import biblioteca.data.database.jdbc.JdbcLoanRepository;
+import biblioteca.data.database.jdbc.JdbcMemberRepository;
+import biblioteca.data.database.jdbc.JdbcNotificationRepository;
+import biblioteca.data.database.jdbc.JdbcPublisherRepository;
+import biblioteca.data.database.jdbc.JdbcSystemParametersRepository;
 import biblioteca.data.dummy.AuthorDummyData;
 import biblioteca.data.dummy.BookDummyData;
 import biblioteca.data.dummy.CategoryDummyData;
 import biblioteca.data.dummy.CopyDummyData;
 import biblioteca.data.dummy.FineDummyData;
 import biblioteca.data.dummy.LoanDummyData;
+import biblioteca.data.dummy.MemberDummyData;
 import biblioteca.data.dummy.NotificationDummyData;
 import biblioteca.data.dummy.PublisherDummyData;
+import biblioteca.data.ids.IdService;
+import biblioteca.data.persistence.LoanArchive;
+import biblioteca.data.persistence.WriteAheadLog;
+import biblioteca.domain.entities.Copy;
+import biblioteca.domain.entities.EntityResolver;
+import biblioteca.domain.entities.Fine;
+import biblioteca.domain.entities.Loan;
+import biblioteca.domain.entities.Member;
 
 /**
  * Dependency injection container for initializing all application components
  */
 public class DependencyContainer {
+    private static final Path DATA_DIRECTORY = Path.of(System.getProperty("biblioteca.dataDir", "data"));
+    private static final String WAL_FILE_NAME = "biblioteca.wal";
+    private static final String SNAPSHOT_FILE_NAME = "biblioteca.snap";
+    private static final String LOAN_ARCHIVE_DIRECTORY_NAME = "archivo-prestamos";
+    private static final String ID_FILE_NAME = "biblioteca.ids";
+    // "memoria" (por defecto): repositorios en memoria con log de
+    // transacciones; "jdbc": base de datos embebida vía JDBC
+    private static final String STORAGE = System.getProperty("biblioteca.storage", "memoria");
+    private static final String JDBC_URL = System.getProperty("biblioteca.jdbcUrl",
+            "jdbc:h2:" + DATA_DIRECTORY.toAbsolutePath().resolve("biblioteca"));
+    private static final int JDBC_POOL_SIZE = 4;
 
     private BookRepository bookRepository;
     private AuthorRepository authorRepository;
@@ -68,27 +124,38 @@ public class DependencyContainer {
     private FineRepository fineRepository;
     private SystemParametersRepository systemParametersRepository;
     private NotificationRepository notificationRepository;
+    private RepositoryJournal repositoryJournal;
+    private JdbcDatabase database;
+    private IdService idService;
+    private RepositoryJournal.RecoveryStats recoveryStats;
+    private BatchRunner batchRunner = BatchRunner.NONE;
+    private final ChangeStream changeStream = new ChangeStream();
+    private OverdueLoansScheduler overdueLoansScheduler;
 
     private RegisterBookUseCase registerBookUseCase;
     private AddStockUseCase addStockUseCase;
     private ModifyBookUseCase modifyBookUseCase;
     private DeleteBookUseCase deleteBookUseCase;
+    private ImportCatalogUseCase importCatalogUseCase;
     private RegisterMemberUseCase registerMemberUseCase;
     private ModifyMemberUseCase modifyMemberUseCase;
     private QueryMemberUseCase queryMemberUseCase;
     private PayFineUseCase payFineUseCase;
     private CreateLoanUseCase createLoanUseCase;
+    private MarkOverdueLoansUseCase markOverdueLoansUseCase;
     private RegisterReturnUseCase registerReturnUseCase;
     private QueryReturnsUseCase queryReturnsUseCase;
     private ViewConfigUseCase viewConfigUseCase;
     private UpdateConfigUseCase updateConfigUseCase;
     private GenerateReportUseCase generateReportUseCase;
+    private ExportDataUseCase exportDataUseCase;
 
     private RegisterBookForm registerBookForm;
     private AddStockForm addStockForm;
     private ModifyBookForm modifyBookForm;
     private DeleteBookForm deleteBookForm;
     private FindBookForm findBookForm;
+    private ImportCatalogForm importCatalogForm;
     private RegisterMemberForm registerMemberForm;
     private ModifyMemberForm modifyMemberForm;
     private FindMemberForm findMemberForm;
@@ -116,6 +183,59 @@ public class DependencyContainer {
         initializeControllers();
     }
 
+    /**
+     * Starts the daily overdue-loan pass: runs today's pass before returning
+     * and the following ones on a background thread. Only the console and
+     * the desk server call it; the export leaves loan states alone
+     */
+    public void startDailyTasks() {
+        overdueLoansScheduler = new OverdueLoansScheduler(markOverdueLoansUseCase);
+        overdueLoansScheduler.start();
+    }
+
+    /**
+     * Closes the transaction log or the database once the application stops
+     */
+    public void close() throws IOException {
+        if (overdueLoansScheduler != null) {
+            overdueLoansScheduler.close();
+        }
+        if (idService != null) {
+            idService.close();
+        }
+        if (repositoryJournal != null) {
+            repositoryJournal.close();
+        }
+        if (database != null) {
+            database.close();
+        }
+    }
+
+    /**
+     * @return Stream of the changes to loans, copies, fines and members
+     */
+    public ChangeStream getChangeStream() {
+        return changeStream;
+    }
+
+    public RepositoryJournal getRepositoryJournal() {
+        return repositoryJournal;
+    }
+
+    /**
+     * @return Statistics of the state recovery, or null with JDBC storage
+     */
+    public RepositoryJournal.RecoveryStats getRecoveryStats() {
+        return recoveryStats;
+    }
+
+    /**
+     * @return URL of the database, or null with in-memory storage
+     */
+    public String getDatabaseUrl() {
+        return database != null ? JDBC_URL : null;
+    }
+
     public BookRepository getBookRepository() {
         return bookRepository;
     }
@@ -152,6 +272,10 @@ public class DependencyContainer {
         return deleteBookUseCase;
     }
 
+    public ImportCatalogUseCase getImportCatalogUseCase() {
+        return importCatalogUseCase;
+    }
+
     public RegisterBookForm getRegisterBookForm() {
         return registerBookForm;
     }
@@ -228,6 +352,10 @@ public class DependencyContainer {
         return createLoanUseCase;
     }
 
+    public MarkOverdueLoansUseCase getMarkOverdueLoansUseCase() {
+        return markOverdueLoansUseCase;
+    }
+
     public LoanCartForm getLoanCartForm() {
         return loanCartForm;
     }
@@ -276,18 +404,120 @@ public class DependencyContainer {
         return configController;
     }
 
-    private void initializeRepositories() {
-        bookRepository = new BookRepository();
-        authorRepository = new AuthorRepository();
-        categoryRepository = new CategoryRepository();
-        publisherRepository = new PublisherRepository();
-        copyRepository = new CopyRepository();
-        memberRepository = new MemberRepository(); // Ya carga MemberDummyData en constructor
-        loanRepository = new LoanRepository(); // Se cargarán datos dummy después
-        fineRepository = new FineRepository();
-        systemParametersRepository = new SystemParametersRepository();
-        notificationRepository = new NotificationRepository();
+    public ExportDataUseCase getExportDataUseCase() {
+        return exportDataUseCase;
+    }
 
+    private void initializeRepositories() {
+        // Ambos almacenamientos toman los IDs nuevos del mismo servicio
+        try {
+            idService = IdService.open(DATA_DIRECTORY.resolve(ID_FILE_NAME));
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudieron leer los contadores de IDs", e);
+        }
+        switch (STORAGE) {
+            case "memoria" -> initializeInMemoryRepositories();
+            case "jdbc" -> initializeJdbcRepositories();
+            default -> throw new IllegalArgumentException("Almacenamiento desconocido: " + STORAGE
+                    + " (use \"memoria\" o \"jdbc\")");
+        }
+        // Se publican los cambios posteriores a la recuperación y los datos
+        // dummy; los de un lote, solo si el lote se confirma
+        loanRepository.addListener(new ChangeCapture<>(changeStream, Loan.class, Loan::getId));
+        copyRepository.addListener(new ChangeCapture<>(changeStream, Copy.class, Copy::getCode));
+        fineRepository.addListener(new ChangeCapture<>(changeStream, Fine.class, Fine::getId));
+        memberRepository.addListener(new ChangeCapture<>(changeStream, Member.class, Member::getId));
+        BatchRunner storageBatchRunner = batchRunner;
+        batchRunner = work -> changeStream.batch(() -> storageBatchRunner.batch(work));
+    }
+
+    private void initializeInMemoryRepositories() {
+        InMemoryBookRepository books = new InMemoryBookRepository();
+        InMemoryAuthorRepository authors = new InMemoryAuthorRepository();
+        InMemoryCategoryRepository categories = new InMemoryCategoryRepository();
+        InMemoryPublisherRepository publishers = new InMemoryPublisherRepository();
+        InMemoryCopyRepository copies = new InMemoryCopyRepository(idService);
+        InMemoryMemberRepository members = new InMemoryMemberRepository(idService); // Ya carga MemberDummyData en constructor
+        // Préstamos y multas resuelven socios y ejemplares con estos repositorios
+        EntityResolver resolver = new RepositoryResolver(members, copies);
+        InMemoryLoanRepository loans = new InMemoryLoanRepository(resolver, openLoanArchive(resolver), idService); // Se cargarán datos dummy después
+        InMemoryFineRepository fines = new InMemoryFineRepository(resolver, idService);
+        InMemorySystemParametersRepository systemParameters = new InMemorySystemParametersRepository();
+        InMemoryNotificationRepository notifications = new InMemoryNotificationRepository(idService);
+
+        bookRepository = books;
+        copyRepository = copies;
+        memberRepository = members;
+        authorRepository = authors;
+        categoryRepository = categories;
+        publisherRepository = publishers;
+        loanRepository = loans;
+        fineRepository = fines;
+        systemParametersRepository = systemParameters;
+        notificationRepository = notifications;
+
+        // Restaurar el estado desde el último snapshot y el log de
+        // transacciones; en el primer arranque se cargan los datos dummy
+        // como estado inicial
+        try {
+            repositoryJournal = new RepositoryJournal(
+                    WriteAheadLog.open(DATA_DIRECTORY.resolve(WAL_FILE_NAME)),
+                    DATA_DIRECTORY.resolve(SNAPSHOT_FILE_NAME),
+                    authors,
+                    categories,
+                    publishers,
+                    books,
+                    copies,
+                    members,
+                    loans,
+                    fines,
+                    notifications,
+                    systemParameters);
+            recoveryStats = repositoryJournal.recover(this::loadDummyData);
+            batchRunner = repositoryJournal::batch;
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo restaurar el estado guardado", e);
+        }
+    }
+
+    private void initializeJdbcRepositories() {
+        // Cada cambio se confirma en la base de datos, que se encarga de la
+        // durabilidad: no hace falta el log de transacciones ni el archivo
+        // de préstamos
+        database = JdbcDatabase.open(JDBC_URL, JDBC_POOL_SIZE);
+        batchRunner = work -> database.inTransaction(connection -> {
+            work.run();
+            return null;
+        });
+        authorRepository = new JdbcAuthorRepository(database);
+        categoryRepository = new JdbcCategoryRepository(database);
+        publisherRepository = new JdbcPublisherRepository(database);
+        bookRepository = new JdbcBookRepository(database);
+        copyRepository = new JdbcCopyRepository(database, bookRepository, idService);
+        memberRepository = new JdbcMemberRepository(database, idService);
+        // Socios y ejemplares se resuelven con la caché de identidad de sus repositorios
+        EntityResolver resolver = new RepositoryResolver(memberRepository, copyRepository);
+        loanRepository = new JdbcLoanRepository(database, resolver, idService);
+        fineRepository = new JdbcFineRepository(database, resolver, idService);
+        systemParametersRepository = new JdbcSystemParametersRepository(database);
+        notificationRepository = new JdbcNotificationRepository(database, idService);
+
+        // Una base de datos recién creada parte de los datos dummy
+        if (database.wasCreated()) {
+            memberRepository.loadDummyData(MemberDummyData.getMembers());
+            loadDummyData();
+        }
+    }
+
+    private LoanArchive openLoanArchive(EntityResolver resolver) {
+        try {
+            return LoanArchive.open(DATA_DIRECTORY.resolve(LOAN_ARCHIVE_DIRECTORY_NAME), resolver);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo abrir el archivo de préstamos devueltos", e);
+        }
+    }
+
+    private void loadDummyData() {
         // Cargar datos dummy de repositorios base
         authorRepository.loadDummyData(AuthorDummyData.getAuthors());
         categoryRepository.loadDummyData(CategoryDummyData.getCategories());
@@ -303,9 +533,12 @@ public class DependencyContainer {
         copyRepository.loadDummyData(CopyDummyData.getCopies(bookRepository.findAll()));
 
         // Cargar datos dummy de préstamos (depende de miembros y ejemplares)
+        List<Copy> copies = copyRepository.findAll();
         loanRepository.loadDummyData(LoanDummyData.getLoans(
                 memberRepository.findAll(),
-                copyRepository.findAll()));
+                copies));
+        // Los préstamos dummy marcan ejemplares como prestados directamente
+        copyRepository.updateAll(copies);
 
         // Cargar datos dummy de multas (depende de miembros)
         FineDummyData.loadDummyFines(fineRepository, memberRepository);
@@ -333,20 +566,32 @@ public class DependencyContainer {
                 bookRepository,
                 copyRepository);
 
+        importCatalogUseCase = new ImportCatalogUseCase(
+                bookRepository,
+                authorRepository,
+                categoryRepository,
+                publisherRepository,
+                copyRepository,
+                batchRunner);
+
         registerMemberUseCase = new RegisterMemberUseCase(memberRepository);
         modifyMemberUseCase = new ModifyMemberUseCase(memberRepository);
         queryMemberUseCase = new QueryMemberUseCase(memberRepository, loanRepository, fineRepository);
         payFineUseCase = new PayFineUseCase(memberRepository, fineRepository);
-        createLoanUseCase = new CreateLoanUseCase(memberRepository, loanRepository, copyRepository);
+        createLoanUseCase = new CreateLoanUseCase(memberRepository, loanRepository, copyRepository, batchRunner);
+        markOverdueLoansUseCase = new MarkOverdueLoansUseCase(loanRepository);
         registerReturnUseCase = new RegisterReturnUseCase(
                 loanRepository,
                 copyRepository,
                 fineRepository,
-                systemParametersRepository);
+                systemParametersRepository,
+                batchRunner);
         queryReturnsUseCase = new QueryReturnsUseCase(loanRepository, fineRepository);
         viewConfigUseCase = new ViewConfigUseCase(systemParametersRepository);
         updateConfigUseCase = new UpdateConfigUseCase(systemParametersRepository);
         generateReportUseCase = new GenerateReportUseCase(memberRepository, loanRepository, fineRepository);
+        exportDataUseCase = new ExportDataUseCase(memberRepository, bookRepository, copyRepository,
+                loanRepository, fineRepository);
     }
 
     private void initializeForms() {
@@ -369,6 +614,8 @@ public class DependencyContainer {
                 bookRepository,
                 copyRepository);
 
+        importCatalogForm = new ImportCatalogForm();
+
         registerMemberForm = new RegisterMemberForm();
         modifyMemberForm = new ModifyMemberForm(memberRepository);
 
@@ -385,11 +632,13 @@ public class DependencyContainer {
                 addStockUseCase,
                 modifyBookUseCase,
                 deleteBookUseCase,
+                importCatalogUseCase,
                 registerBookForm,
                 addStockForm,
                 modifyBookForm,
                 deleteBookForm,
-                findBookForm);
+                findBookForm,
+                importCatalogForm);
 
         memberController = new MemberController(
                 registerMemberUseCase,
@@ -410,7 +659,8 @@ public class DependencyContainer {
 
         configController = new ConfigController(viewConfigUseCase, updateConfigUseCase);
 
-        reportController = new ReportController(memberRepository, loanRepository, fineRepository);
+        reportController = new ReportController(memberRepository, loanRepository, fineRepository,
+                exportDataUseCase);
 
         notificationController = new NotificationController(notificationRepository);
 
@@ -0,0 +1,184 @@
+package biblioteca.console.server;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import biblioteca.console.controllers.MainController;
+import biblioteca.console.utils.ConsoleSession;
+
+/**
+ * Modo servidor: atiende muchos mostradores a la vez por TCP (p. ej. con
+ * telnet o nc). Cada conexión es una sesión independiente con su propia
+ * entrada y salida ({@link ConsoleSession}) que recorre el menú principal;
+ * los controladores, casos de uso y repositorios son los mismos para todas.
+ *
+ * Cada sesión corre en un hilo virtual si la JVM los tiene (Java 21 o
+ * posterior), así miles de sesiones esperando al operador no agregan hilos
+ * de plataforma. En versiones anteriores corren en un pool fijo de hilos y
+ * las conexiones que exceden el pool esperan un mostrador libre. En ambos
+ * casos una sesión sin actividad durante {@code idleTimeoutMillis} se
+ * cierra, para no retener un hilo ni el cupo reservado por su carrito.
+ */
+public class DeskServer implements AutoCloseable {
+    private final MainController mainController;
+    private final ServerSocket serverSocket;
+    private final ExecutorService sessions;
+    private final boolean virtualThreads;
+    private final int maxPlatformSessions;
+    private final int idleTimeoutMillis;
+    private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger sessionNumbers = new AtomicInteger();
+    private volatile boolean closed;
+
+    /**
+     * @param mainController      Menú que recorre cada sesión
+     * @param port                Puerto TCP; 0 elige uno libre
+     * @param maxPlatformSessions Sesiones simultáneas sin hilos virtuales
+     * @param idleTimeoutMillis   Tiempo máximo esperando al operador
+     */
+    public DeskServer(MainController mainController, int port, int maxPlatformSessions, int idleTimeoutMillis)
+            throws IOException {
+        this.mainController = mainController;
+        this.maxPlatformSessions = maxPlatformSessions;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.serverSocket = new ServerSocket();
+        serverSocket.bind(new InetSocketAddress(port), 1024);
+        ExecutorService virtual = newVirtualThreadExecutor();
+        this.virtualThreads = virtual != null;
+        this.sessions = virtual != null ? virtual : Executors.newFixedThreadPool(maxPlatformSessions, task -> {
+            Thread thread = new Thread(task, "mostrador-" + sessionNumbers.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public boolean usesVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Sesiones conectadas, incluidas las que esperan un mostrador libre
+     */
+    public int getConnectedSessions() {
+        return connections.size();
+    }
+
+    /**
+     * Acepta conexiones hasta que se cierre el servidor
+     */
+    public void serve() throws IOException {
+        while (!closed) {
+            Socket socket;
+            try {
+                socket = serverSocket.accept();
+            } catch (SocketException e) {
+                if (closed) {
+                    return;
+                }
+                throw e;
+            }
+            connections.add(socket);
+            if (!virtualThreads && active.get() >= maxPlatformSessions) {
+                greet(socket, "Todos los mostradores están ocupados; la sesión comenzará cuando se libere uno");
+            }
+            try {
+                sessions.execute(() -> runSession(socket));
+            } catch (RejectedExecutionException e) {
+                // Aceptada mientras se cerraba el servidor
+                connections.remove(socket);
+                socket.close();
+                return;
+            }
+        }
+    }
+
+    private void runSession(Socket socket) {
+        active.incrementAndGet();
+        try (socket) {
+            if (closed) {
+                return;
+            }
+            socket.setSoTimeout(idleTimeoutMillis);
+            socket.setTcpNoDelay(true);
+            InputStream in = socket.getInputStream();
+            OutputStream out = socket.getOutputStream();
+            ConsoleSession.run(in, out, mainController::start);
+        } catch (IOException | RuntimeException e) {
+            // La conexión se cortó o la sesión venció: el mostrador queda libre
+        } finally {
+            active.decrementAndGet();
+            connections.remove(socket);
+        }
+    }
+
+    private static void greet(Socket socket, String message) {
+        try {
+            PrintStream out = new PrintStream(socket.getOutputStream(), true, StandardCharsets.UTF_8);
+            out.println("(i) " + message);
+        } catch (IOException e) {
+            // Se informa al cerrar la conexión
+        }
+    }
+
+    /**
+     * Deja de aceptar conexiones, corta las sesiones abiertas y espera que
+     * terminen todas, así nada escribe en los repositorios después de que
+     * se cierren. Se puede llamar desde varios hilos: cada uno vuelve
+     * recién cuando no queda ninguna sesión.
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        serverSocket.close();
+        for (Socket socket : connections) {
+            socket.close();
+        }
+        sessions.shutdown();
+        boolean interrupted = false;
+        while (true) {
+            try {
+                if (sessions.awaitTermination(10, TimeUnit.SECONDS)) {
+                    break;
+                }
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Un executor con un hilo virtual por tarea, o null si la JVM no tiene
+     * hilos virtuales
+     */
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package biblioteca.console.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Scanner;
+
+/**
+ * Entrada y salida de la consola de un mostrador.
+ *
+ * Sin sesiones se usa la consola del proceso. En modo servidor cada
+ * conexión corre con su propia sesión en su hilo: {@link InputHelper} lee
+ * de ella, y lo que la consola escribe en {@link #out()} se acumula en la
+ * sesión y se envía al cliente antes de cada lectura, así una conexión
+ * lenta no frena a las demás. {@code System.out} no se toca: lo que se
+ * imprime fuera de la consola (las notificaciones simuladas, por ejemplo)
+ * sale por la salida del proceso.
+ */
+public final class ConsoleSession {
+    private static final ThreadLocal<ConsoleSession> CURRENT = new ThreadLocal<>();
+    private static final ConsoleSession STANDARD = new ConsoleSession(new Scanner(System.in), null);
+
+    private final Scanner scanner;
+    private final OutputStream output;
+    private final ByteArrayOutputStream pending;
+    private final PrintStream printer;
+
+    private ConsoleSession(Scanner scanner, OutputStream output) {
+        this.scanner = scanner;
+        this.output = output;
+        this.pending = output != null ? new ByteArrayOutputStream(8192) : null;
+        this.printer = pending != null ? new PrintStream(pending, false, StandardCharsets.UTF_8) : null;
+    }
+
+    /**
+     * Corre la sesión en el hilo actual con la entrada y salida indicadas,
+     * enviando al final lo que quede pendiente
+     */
+    public static void run(InputStream in, OutputStream out, Runnable body) {
+        ConsoleSession session = new ConsoleSession(new Scanner(in, StandardCharsets.UTF_8), out);
+        CURRENT.set(session);
+        try {
+            body.run();
+        } finally {
+            CURRENT.remove();
+            session.flush();
+        }
+    }
+
+    /**
+     * La sesión del hilo actual, o la consola del proceso
+     */
+    static ConsoleSession current() {
+        ConsoleSession session = CURRENT.get();
+        return session != null ? session : STANDARD;
+    }
+
+    /**
+     * Salida de la sesión del hilo actual, o {@code System.out} si no tiene
+     */
+    public static PrintStream out() {
+        ConsoleSession session = CURRENT.get();
+        return session != null ? session.printer : System.out;
+    }
+
+    /**
+     * Lee una línea, enviando antes la salida pendiente (el mensaje que la
+     * pide)
+     */
+    String nextLine() {
+        flush();
+        return scanner.nextLine();
+    }
+
+    private void flush() {
+        if (pending == null) {
+            return;
+        }
+        printer.flush();
+        if (pending.size() == 0) {
+            return;
+        }
+        try {
+            pending.writeTo(output);
+            output.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            pending.reset();
+        }
+    }
+}
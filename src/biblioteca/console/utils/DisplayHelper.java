@@ -19,7 +19,7 @@ public class DisplayHelper {
         // new ProcessBuilder("clear").inheritIO().start().waitFor();
         // } catch (Exception e) {
         // for (int i = 0; i < 50; i++) {
-        // System.out.println();
+        // ConsoleSession.out().println();
         // }
         // }
     }
@@ -33,9 +33,9 @@ public class DisplayHelper {
         int espacios = (ancho - titulo.length()) / 2;
         String espaciosStr = " ".repeat(Math.max(0, espacios));
 
-        System.out.println("\n" + linea);
-        System.out.println(espaciosStr + titulo);
-        System.out.println(linea + "\n");
+        ConsoleSession.out().println("\n" + linea);
+        ConsoleSession.out().println(espaciosStr + titulo);
+        ConsoleSession.out().println(linea + "\n");
     }
 
     /**
@@ -43,36 +43,36 @@ public class DisplayHelper {
      */
     public static void renderSubtitle(String subtitulo) {
         String linea = "-".repeat(40);
-        System.out.println("\n" + subtitulo);
-        System.out.println(linea);
+        ConsoleSession.out().println("\n" + subtitulo);
+        ConsoleSession.out().println(linea);
     }
 
     /**
      * Displays a success message
      */
     public static void printSuccess(String mensaje) {
-        System.out.println("✓ " + mensaje);
+        ConsoleSession.out().println("✓ " + mensaje);
     }
 
     /**
      * Displays an error message
      */
     public static void printErrorMessage(String mensaje) {
-        System.out.println("✗ Error: " + mensaje);
+        ConsoleSession.out().println("✗ Error: " + mensaje);
     }
 
     /**
      * Displays a warning message
      */
     public static void printWarning(String mensaje) {
-        System.out.println("⚠ Advertencia: " + mensaje);
+        ConsoleSession.out().println("⚠ Advertencia: " + mensaje);
     }
 
     /**
      * Displays an informational message
      */
     public static void printInfo(String mensaje) {
-        System.out.println("(i) " + mensaje);
+        ConsoleSession.out().println("(i) " + mensaje);
     }
 
     /**
@@ -84,12 +84,12 @@ public class DisplayHelper {
         }
 
         if (elementos == null || elementos.isEmpty()) {
-            System.out.println("No hay elementos para mostrar.");
+            ConsoleSession.out().println("No hay elementos para mostrar.");
             return;
         }
 
         for (int i = 0; i < elementos.size(); i++) {
-            System.out.println((i + 1) + ". " + elementos.get(i).toString());
+            ConsoleSession.out().println((i + 1) + ". " + elementos.get(i).toString());
         }
     }
 
@@ -102,12 +102,12 @@ public class DisplayHelper {
         }
 
         if (elementos == null || elementos.isEmpty()) {
-            System.out.println("No hay elementos para mostrar.");
+            ConsoleSession.out().println("No hay elementos para mostrar.");
             return;
         }
 
         for (T elemento : elementos) {
-            System.out.println("• " + elemento.toString());
+            ConsoleSession.out().println("• " + elemento.toString());
         }
     }
 
@@ -151,9 +151,9 @@ public class DisplayHelper {
         int ancho = mensaje.length() + 4;
         String lineaHorizontal = "+" + "-".repeat(ancho - 2) + "+";
 
-        System.out.println(lineaHorizontal);
-        System.out.println("| " + mensaje + " |");
-        System.out.println(lineaHorizontal);
+        ConsoleSession.out().println(lineaHorizontal);
+        ConsoleSession.out().println("| " + mensaje + " |");
+        ConsoleSession.out().println(lineaHorizontal);
     }
 
     /**
@@ -168,11 +168,11 @@ public class DisplayHelper {
         int ancho = anchoMax + 4;
         String lineaHorizontal = "+" + "-".repeat(ancho - 2) + "+";
 
-        System.out.println(lineaHorizontal);
+        ConsoleSession.out().println(lineaHorizontal);
         for (String mensaje : mensajes) {
-            System.out.printf("| %-" + (ancho - 4) + "s |\n", mensaje);
+            ConsoleSession.out().printf("| %-" + (ancho - 4) + "s |\n", mensaje);
         }
-        System.out.println(lineaHorizontal);
+        ConsoleSession.out().println(lineaHorizontal);
     }
 
     /**
@@ -186,19 +186,19 @@ public class DisplayHelper {
     }
 
     private static void renderTableRow(String[] columnas, int[] anchos) {
-        System.out.print("| ");
+        ConsoleSession.out().print("| ");
         for (int i = 0; i < columnas.length; i++) {
             String valor = columnas[i] != null ? columnas[i] : "";
-            System.out.printf("%-" + anchos[i] + "s | ", valor);
+            ConsoleSession.out().printf("%-" + anchos[i] + "s | ", valor);
         }
-        System.out.println();
+        ConsoleSession.out().println();
     }
 
     private static void renderTableDivider(int[] anchos) {
-        System.out.print("+-");
+        ConsoleSession.out().print("+-");
         for (int i = 0; i < anchos.length; i++) {
-            System.out.print("-".repeat(anchos[i]) + "-+-");
+            ConsoleSession.out().print("-".repeat(anchos[i]) + "-+-");
         }
-        System.out.println();
+        ConsoleSession.out().println();
     }
 }
\ No newline at end of file
@@ -2,20 +2,19 @@ package biblioteca.console.utils;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Scanner;
 
 /**
- * Utilidad para manejar entrada de datos desde consola
+ * Utilidad para manejar entrada de datos desde consola. Lee de la
+ * {@link ConsoleSession} del hilo actual.
  */
 public class InputHelper {
-    private static final Scanner scanner = new Scanner(System.in);
 
     /**
      * Lee una línea de texto desde consola
      */
     public static String leerTexto(String mensaje) {
-        System.out.print(mensaje + ": ");
-        return scanner.nextLine().trim();
+        ConsoleSession.out().print(mensaje + ": ");
+        return ConsoleSession.current().nextLine().trim();
     }
 
     /**
@@ -26,7 +25,7 @@ public class InputHelper {
         do {
             texto = leerTexto(mensaje);
             if (texto.isEmpty()) {
-                System.out.println("Este campo no puede estar vacío. Intente nuevamente.");
+                ConsoleSession.out().println("Este campo no puede estar vacío. Intente nuevamente.");
             }
         } while (texto.isEmpty());
         return texto;
@@ -38,11 +37,11 @@ public class InputHelper {
     public static int leerEntero(String mensaje) {
         while (true) {
             try {
-                System.out.print(mensaje + ": ");
-                String input = scanner.nextLine().trim();
+                ConsoleSession.out().print(mensaje + ": ");
+                String input = ConsoleSession.current().nextLine().trim();
                 return Integer.parseInt(input);
             } catch (NumberFormatException e) {
-                System.out.println("Por favor ingrese un número válido.");
+                ConsoleSession.out().println("Por favor ingrese un número válido.");
             }
         }
     }
@@ -55,7 +54,7 @@ public class InputHelper {
         do {
             numero = leerEntero(mensaje);
             if (numero < min || numero > max) {
-                System.out.println("El número debe estar entre " + min + " y " + max + ".");
+                ConsoleSession.out().println("El número debe estar entre " + min + " y " + max + ".");
             }
         } while (numero < min || numero > max);
         return numero;
@@ -71,13 +70,13 @@ public class InputHelper {
      */
     public static <T> T seleccionar(List<T> opciones, String mensaje) {
         if (opciones == null || opciones.isEmpty()) {
-            System.out.println("No hay opciones disponibles.");
+            ConsoleSession.out().println("No hay opciones disponibles.");
             return null;
         }
 
-        System.out.println("\n" + mensaje);
+        ConsoleSession.out().println("\n" + mensaje);
         for (int i = 0; i < opciones.size(); i++) {
-            System.out.println((i + 1) + ". " + opciones.get(i).toString());
+            ConsoleSession.out().println((i + 1) + ". " + opciones.get(i).toString());
         }
 
         int seleccion = leerEnteroEnRango("Seleccione una opción", 1, opciones.size());
@@ -94,18 +93,18 @@ public class InputHelper {
      */
     public static <T> List<T> seleccionarMultiple(List<T> opciones, String mensaje) {
         if (opciones == null || opciones.isEmpty()) {
-            System.out.println("No hay opciones disponibles.");
+            ConsoleSession.out().println("No hay opciones disponibles.");
             return new ArrayList<>();
         }
 
         List<T> seleccionados = new ArrayList<>();
 
-        System.out.println("\n" + mensaje);
-        System.out.println("(Ingrese 0 para terminar la selección)");
+        ConsoleSession.out().println("\n" + mensaje);
+        ConsoleSession.out().println("(Ingrese 0 para terminar la selección)");
 
         while (true) {
             for (int i = 0; i < opciones.size(); i++) {
-                System.out.println((i + 1) + ". " + opciones.get(i).toString());
+                ConsoleSession.out().println((i + 1) + ". " + opciones.get(i).toString());
             }
 
             int seleccion = leerEnteroEnRango("Seleccione una opción (0 para terminar)", 0, opciones.size());
@@ -117,12 +116,12 @@ public class InputHelper {
             T objetoSeleccionado = opciones.get(seleccion - 1);
             if (!seleccionados.contains(objetoSeleccionado)) {
                 seleccionados.add(objetoSeleccionado);
-                System.out.println("✓ Agregado: " + objetoSeleccionado.toString());
+                ConsoleSession.out().println("✓ Agregado: " + objetoSeleccionado.toString());
             } else {
-                System.out.println("Este elemento ya fue seleccionado.");
+                ConsoleSession.out().println("Este elemento ya fue seleccionado.");
             }
 
-            System.out.println("Elementos seleccionados: " + seleccionados.size());
+            ConsoleSession.out().println("Elementos seleccionados: " + seleccionados.size());
         }
 
         return seleccionados;
@@ -139,7 +138,7 @@ public class InputHelper {
             } else if (respuesta.equals("n") || respuesta.equals("no")) {
                 return false;
             } else {
-                System.out.println("Por favor responda con S (Sí) o N (No).");
+                ConsoleSession.out().println("Por favor responda con S (Sí) o N (No).");
             }
         }
     }
@@ -155,7 +154,7 @@ public class InputHelper {
      * Pausa la ejecución con un mensaje personalizado
      */
     public static void pausar(String mensaje) {
-        System.out.println(mensaje);
-        scanner.nextLine();
+        ConsoleSession.out().println(mensaje);
+        ConsoleSession.current().nextLine();
     }
 }
\ No newline at end of file
@@ -44,18 +44,18 @@ public class MemberSearchHelper {
 
             // Múltiples resultados - mostrar opciones
             DisplayHelper.printInfo(String.format("Se encontraron %d socios:", membersByName.size()));
-            System.out.println();
+            ConsoleSession.out().println();
 
             for (int i = 0; i < membersByName.size(); i++) {
                 Member member = membersByName.get(i);
-                System.out.printf("%d. %s (ID: %s) - %s%n",
+                ConsoleSession.out().printf("%d. %s (ID: %s) - %s%n",
                         i + 1,
                         member.getName(),
                         member.getId(),
                         member.getType().getDisplayName());
             }
 
-            System.out.println((membersByName.size() + 1) + ". Buscar otro término");
+            ConsoleSession.out().println((membersByName.size() + 1) + ". Buscar otro término");
 
             int selection = InputHelper.leerEnteroEnRango(
                     "Seleccione un socio: ", 1, membersByName.size() + 1);
@@ -76,15 +76,15 @@ public class MemberSearchHelper {
             return;
         }
 
-        System.out.println("-".repeat(50));
-        System.out.printf("ID: %s%n", member.getId());
-        System.out.printf("Nombre: %s%n", member.getName());
-        System.out.printf("Email: %s%n", member.getEmail());
-        System.out.printf("Tipo: %s%n", member.getType().getDisplayName());
-        System.out.printf("Estado: %s%n", member.getState().getDisplayName());
+        ConsoleSession.out().println("-".repeat(50));
+        ConsoleSession.out().printf("ID: %s%n", member.getId());
+        ConsoleSession.out().printf("Nombre: %s%n", member.getName());
+        ConsoleSession.out().printf("Email: %s%n", member.getEmail());
+        ConsoleSession.out().printf("Tipo: %s%n", member.getType().getDisplayName());
+        ConsoleSession.out().printf("Estado: %s%n", member.getState().getDisplayName());
         if (member.hasPendingFines()) {
-            System.out.printf("Multas pendientes: $%.2f%n", member.getPendingFines());
+            ConsoleSession.out().printf("Multas pendientes: $%.2f%n", member.getPendingFines());
         }
-        System.out.println("-".repeat(50));
+        ConsoleSession.out().println("-".repeat(50));
     }
 }
\ No newline at end of file
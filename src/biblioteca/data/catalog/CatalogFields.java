@@ -0,0 +1,37 @@
+package biblioteca.data.catalog;
+
+import java.util.Map;
+
+import biblioteca.data.store.TextNormalizer;
+
+/**
+ * Field names of the catalog formats
+ */
+final class CatalogFields {
+    private static final Map<String, String> CANONICAL_NAMES = Map.ofEntries(
+            Map.entry("title", "title"), Map.entry("titulo", "title"),
+            Map.entry("author", "author"), Map.entry("autor", "author"),
+            Map.entry("category", "category"), Map.entry("categoria", "category"),
+            Map.entry("publisher", "publisher"), Map.entry("editorial", "publisher"),
+            Map.entry("year", "year"), Map.entry("anio", "year"), Map.entry("ano", "year"),
+            Map.entry("copies", "copies"), Map.entry("ejemplares", "copies"));
+
+    private CatalogFields() {
+    }
+
+    /**
+     * Canonical name of a field (case and accent insensitive), or null if
+     * the field is not recognized and must be ignored
+     */
+    static String canonicalName(String name) {
+        return CANONICAL_NAMES.get(TextNormalizer.normalize(name));
+    }
+
+    /**
+     * Builds a record from its fields by canonical name
+     */
+    static CatalogRecord record(long line, Map<String, String> fields) {
+        return new CatalogRecord(line, fields.get("title"), fields.get("author"), fields.get("category"),
+                fields.get("publisher"), fields.get("year"), fields.get("copies"), null);
+    }
+}
@@ -0,0 +1,52 @@
+package biblioteca.data.catalog;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Streaming reader of a catalog file: records are parsed one at a time, so
+ * memory use does not depend on the size of the file.
+ *
+ * Recognized fields (also with their Spanish names): title/titulo,
+ * author/autor, category/categoria, publisher/editorial, year/anio and
+ * copies/ejemplares.
+ */
+public interface CatalogReader extends Closeable {
+
+    /**
+     * Reads the next record. A record that cannot be parsed is returned as
+     * invalid and reading goes on with the next one.
+     *
+     * @return The record, or null at the end of the file
+     * @throws IOException if the file cannot be read
+     */
+    CatalogRecord next() throws IOException;
+
+    /**
+     * Opens a catalog, choosing the format by extension: ".csv" (with a
+     * header row) or ".ndjson"/".jsonl" (one JSON object per line)
+     *
+     * @param file The catalog file
+     * @return The reader, positioned at the first record
+     * @throws IOException              if the file cannot be opened
+     * @throws IllegalArgumentException if the extension is not supported
+     */
+    static CatalogReader open(Path file) throws IOException {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (!name.endsWith(".csv") && !name.endsWith(".ndjson") && !name.endsWith(".jsonl")) {
+            throw new IllegalArgumentException("Formato no soportado (use .csv, .ndjson o .jsonl): " + file);
+        }
+        BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+        try {
+            return name.endsWith(".csv") ? new CsvCatalogReader(reader) : new NdjsonCatalogReader(reader);
+        } catch (IOException | RuntimeException e) {
+            reader.close();
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package biblioteca.data.catalog;
+
+/**
+ * One book of a catalog file, with its fields as read (not yet validated)
+ *
+ * @param line      Line of the file where the record starts
+ * @param title     Book title
+ * @param author    Author name
+ * @param category  Category name
+ * @param publisher Publisher name
+ * @param year      Publication year as text
+ * @param copies    Number of copies to create as text, null if absent
+ * @param error     Why the record could not be read, null if it was
+ */
+public record CatalogRecord(long line, String title, String author, String category, String publisher,
+        String year, String copies, String error) {
+
+    static CatalogRecord invalid(long line, String error) {
+        return new CatalogRecord(line, null, null, null, null, null, null, error);
+    }
+
+    public boolean isValid() {
+        return error == null;
+    }
+}
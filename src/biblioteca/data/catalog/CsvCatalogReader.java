@@ -0,0 +1,158 @@
+package biblioteca.data.catalog;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CSV catalog (RFC 4180): a header row with the field names, then one book
+ * per row. Quoted fields may contain delimiters, doubled quotes and line
+ * breaks. The delimiter is ',' or, if the header uses it instead, ';'.
+ */
+final class CsvCatalogReader implements CatalogReader {
+    private static final int EOF = -1;
+    // Longest header line considered when detecting the delimiter
+    private static final int HEADER_LOOKAHEAD = 64 * 1024;
+
+    private final BufferedReader reader;
+    private final char delimiter;
+    private final String[] columns;
+    private final StringBuilder field = new StringBuilder();
+    private long line = 1;
+    private String rowError;
+
+    CsvCatalogReader(BufferedReader reader) throws IOException {
+        this.reader = reader;
+        reader.mark(1);
+        if (reader.read() != '\uFEFF') { // Byte order mark
+            reader.reset();
+        }
+        reader.mark(HEADER_LOOKAHEAD);
+        String header = reader.readLine();
+        if (header == null) {
+            throw new IOException("El archivo CSV está vacío");
+        }
+        reader.reset();
+        this.delimiter = count(header, ';') > count(header, ',') ? ';' : ',';
+
+        List<String> names = readRow();
+        this.columns = new String[names.size()];
+        boolean hasTitle = false;
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = CatalogFields.canonicalName(names.get(i));
+            hasTitle |= "title".equals(columns[i]);
+        }
+        if (!hasTitle) {
+            throw new IOException("La cabecera CSV no tiene la columna 'title' (o 'titulo'): " + header);
+        }
+    }
+
+    @Override
+    public CatalogRecord next() throws IOException {
+        while (true) {
+            long recordLine = line;
+            List<String> values = readRow();
+            if (values == null) {
+                return null;
+            }
+            if (rowError != null) {
+                return CatalogRecord.invalid(recordLine, rowError);
+            }
+            if (values.size() == 1 && values.get(0).isEmpty()) {
+                continue; // Blank line
+            }
+            Map<String, String> fields = new HashMap<>();
+            for (int i = 0; i < columns.length && i < values.size(); i++) {
+                String value = values.get(i).trim();
+                if (columns[i] != null && !value.isEmpty()) {
+                    fields.put(columns[i], value);
+                }
+            }
+            return CatalogFields.record(recordLine, fields);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * Reads the fields of one row, which may span several lines
+     *
+     * @return The fields, or null at the end of the file
+     */
+    private List<String> readRow() throws IOException {
+        rowError = null;
+        int c = reader.read();
+        if (c == EOF) {
+            return null;
+        }
+        List<String> values = new ArrayList<>();
+        field.setLength(0);
+        boolean quoted = false;
+        boolean afterQuote = false;
+        while (true) {
+            if (quoted) {
+                if (c == EOF) {
+                    rowError = "Comillas sin cerrar";
+                    values.add(field.toString());
+                    return values;
+                }
+                if (c == '"') {
+                    reader.mark(1);
+                    if (reader.read() == '"') {
+                        field.append('"');
+                    } else {
+                        reader.reset();
+                        quoted = false;
+                        afterQuote = true;
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == delimiter) {
+                values.add(field.toString());
+                field.setLength(0);
+                afterQuote = false;
+            } else if (c == '\n' || c == '\r' || c == EOF) {
+                if (c == '\r') {
+                    reader.mark(1);
+                    if (reader.read() != '\n') {
+                        reader.reset();
+                    }
+                }
+                if (c != EOF) {
+                    line++;
+                }
+                values.add(field.toString());
+                return values;
+            } else if (c == '"' && field.length() == 0 && !afterQuote) {
+                quoted = true;
+            } else if (afterQuote) {
+                if (rowError == null) {
+                    rowError = "Texto después de cerrar las comillas";
+                }
+            } else {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+    }
+
+    private static int count(String text, char c) {
+        int count = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == c) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
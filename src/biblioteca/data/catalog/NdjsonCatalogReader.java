@@ -0,0 +1,178 @@
+package biblioteca.data.catalog;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * NDJSON catalog: one flat JSON object per line, e.g.
+ * {"title": "Rayuela", "author": "Julio Cortázar", "year": 1963, "copies": 2}.
+ * Values may be strings, numbers, booleans or null; unknown fields are
+ * ignored and a line that is not such an object is an invalid record.
+ */
+final class NdjsonCatalogReader implements CatalogReader {
+    private final BufferedReader reader;
+    private final StringBuilder value = new StringBuilder();
+    private long line;
+    private String text;
+    private int position;
+
+    NdjsonCatalogReader(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    @Override
+    public CatalogRecord next() throws IOException {
+        while ((text = reader.readLine()) != null) {
+            line++;
+            position = 0;
+            if (line == 1 && text.startsWith("\uFEFF")) {
+                position = 1; // Byte order mark
+            }
+            skipWhitespace();
+            if (position == text.length()) {
+                continue; // Blank line
+            }
+            try {
+                return CatalogFields.record(line, parseObject());
+            } catch (IllegalArgumentException e) {
+                return CatalogRecord.invalid(line, e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private Map<String, String> parseObject() {
+        Map<String, String> fields = new HashMap<>();
+        expect('{');
+        skipWhitespace();
+        if (peek() == '}') {
+            position++;
+        } else {
+            while (true) {
+                skipWhitespace();
+                String name = parseString();
+                skipWhitespace();
+                expect(':');
+                skipWhitespace();
+                String fieldValue = parseValue();
+                String canonical = CatalogFields.canonicalName(name);
+                if (canonical != null && fieldValue != null && !fieldValue.isBlank()) {
+                    fields.put(canonical, fieldValue.trim());
+                }
+                skipWhitespace();
+                char c = nextChar();
+                if (c == '}') {
+                    break;
+                }
+                if (c != ',') {
+                    throw error("Se esperaba ',' o '}'");
+                }
+            }
+        }
+        skipWhitespace();
+        if (position != text.length()) {
+            throw error("Texto después del objeto");
+        }
+        return fields;
+    }
+
+    /**
+     * Parses a scalar value
+     *
+     * @return Its text (numbers and booleans as written), null for null
+     */
+    private String parseValue() {
+        char c = peek();
+        if (c == '"') {
+            return parseString();
+        }
+        if (c == '{' || c == '[') {
+            throw error("Solo se admiten valores simples");
+        }
+        int start = position;
+        while (position < text.length() && ",} \t".indexOf(text.charAt(position)) < 0) {
+            position++;
+        }
+        String literal = text.substring(start, position);
+        if (literal.equals("null")) {
+            return null;
+        }
+        if (literal.equals("true") || literal.equals("false") || literal.matches("-?\\d+(\\.\\d+)?([eE][+-]?\\d+)?")) {
+            return literal;
+        }
+        throw error("Valor inválido: " + literal);
+    }
+
+    private String parseString() {
+        expect('"');
+        value.setLength(0);
+        while (true) {
+            char c = nextChar();
+            if (c == '"') {
+                return value.toString();
+            }
+            if (c != '\\') {
+                value.append(c);
+                continue;
+            }
+            char escaped = nextChar();
+            switch (escaped) {
+                case '"', '\\', '/' -> value.append(escaped);
+                case 'b' -> value.append('\b');
+                case 'f' -> value.append('\f');
+                case 'n' -> value.append('\n');
+                case 'r' -> value.append('\r');
+                case 't' -> value.append('\t');
+                case 'u' -> {
+                    if (position + 4 > text.length()) {
+                        throw error("Escape \\u incompleto");
+                    }
+                    try {
+                        value.append((char) Integer.parseInt(text.substring(position, position + 4), 16));
+                    } catch (NumberFormatException e) {
+                        throw error("Escape \\u inválido");
+                    }
+                    position += 4;
+                }
+                default -> throw error("Escape inválido: \\" + escaped);
+            }
+        }
+    }
+
+    private void expect(char expected) {
+        if (nextChar() != expected) {
+            throw error("Se esperaba '" + expected + "'");
+        }
+    }
+
+    private char nextChar() {
+        if (position >= text.length()) {
+            throw error("Fin de línea inesperado");
+        }
+        return text.charAt(position++);
+    }
+
+    private char peek() {
+        if (position >= text.length()) {
+            throw error("Fin de línea inesperado");
+        }
+        return text.charAt(position);
+    }
+
+    private void skipWhitespace() {
+        while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+            position++;
+        }
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " (columna " + (position + 1) + ")");
+    }
+}
@@ -0,0 +1,53 @@
+package biblioteca.data.changes;
+
+import java.util.List;
+import java.util.function.Function;
+
+import biblioteca.data.store.StoreListener;
+
+/**
+ * Publishes the changes a repository reports to its listeners on a
+ * {@link ChangeStream}
+ *
+ * @param <K> Key type
+ * @param <V> Entity type
+ */
+public class ChangeCapture<K, V> implements StoreListener<K, V> {
+    private final ChangeStream stream;
+    private final Class<V> entityType;
+    private final Function<V, K> keyExtractor;
+
+    /**
+     * @param stream       Stream to publish on
+     * @param entityType   Class of the entities
+     * @param keyExtractor Key of an entity, for the events of a clear
+     */
+    public ChangeCapture(ChangeStream stream, Class<V> entityType, Function<V, K> keyExtractor) {
+        this.stream = stream;
+        this.entityType = entityType;
+        this.keyExtractor = keyExtractor;
+    }
+
+    @Override
+    public void stored(K key, V previous, V entity) {
+        if (previous == null) {
+            stream.publish(entityType, ChangeType.CREATED, key.toString(), null, entity);
+        } else {
+            // The same instance: changed in place, the previous state is gone
+            stream.publish(entityType, ChangeType.UPDATED, key.toString(), previous != entity ? previous : null,
+                    entity);
+        }
+    }
+
+    @Override
+    public void removed(K key, V entity) {
+        stream.publish(entityType, ChangeType.DELETED, key.toString(), entity, null);
+    }
+
+    @Override
+    public void cleared(List<V> removed) {
+        for (V entity : removed) {
+            removed(keyExtractor.apply(entity), entity);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package biblioteca.data.changes;
+
+/**
+ * A change to one entity, as published on a {@link ChangeStream}.
+ *
+ * {@code before} is the instance the change replaced, when the change saved
+ * a new instance; it is null for a creation and for a change made on the
+ * stored instance itself (or by a database, which does not return the
+ * previous row). {@code after} is null for a deletion. Entities are the
+ * repository's own instances, not copies.
+ *
+ * @param sequence   Position in the stream, starting at 1
+ * @param entityType Class of the entity
+ * @param type       Creation, update or deletion
+ * @param key        ID (or code) of the entity
+ * @param before     Previous instance, if known
+ * @param after      Instance after the change
+ * @param <T>        Entity type
+ */
+public record ChangeEvent<T>(long sequence, Class<T> entityType, ChangeType type, String key, T before, T after) {
+
+    /**
+     * The entity after the change, or the deleted one
+     */
+    public T entity() {
+        return after != null ? after : before;
+    }
+
+    /**
+     * This event typed for the given entity class, or null if it is about
+     * another entity type
+     */
+    @SuppressWarnings("unchecked")
+    public <E> ChangeEvent<E> as(Class<E> type) {
+        return entityType == type ? (ChangeEvent<E>) this : null;
+    }
+}
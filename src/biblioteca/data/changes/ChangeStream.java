@@ -0,0 +1,214 @@
+package biblioteca.data.changes;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * In-process stream of repository changes. Every change gets the next
+ * sequence number and is delivered, in order and on the thread that made
+ * it, to every subscription.
+ *
+ * The last events are kept in a ring buffer so a consumer can subscribe
+ * from the sequence number it last processed and catch up before receiving
+ * new events; older positions are no longer available and the consumer has
+ * to rebuild its state from the repositories instead. Consumers run on the
+ * writing thread while the stream, and possibly a repository, is locked:
+ * they must not use the repositories, only hand the event on.
+ *
+ * Changes published inside {@link #batch(Runnable)} are held back until the
+ * work returns, and dropped if it throws: a rolled back unit of work
+ * publishes nothing.
+ */
+public class ChangeStream {
+    /**
+     * Events kept for subscriptions that start in the past
+     */
+    public static final int DEFAULT_RETAINED_EVENTS = 10_000;
+
+    private final ChangeEvent<?>[] retained;
+    private final List<Subscription> subscriptions = new ArrayList<>();
+    private final ThreadLocal<List<Change<?>>> pending = new ThreadLocal<>();
+    private long lastSequence;
+
+    public ChangeStream() {
+        this(DEFAULT_RETAINED_EVENTS);
+    }
+
+    /**
+     * @param retainedEvents Size of the ring buffer of past events
+     */
+    public ChangeStream(int retainedEvents) {
+        if (retainedEvents < 1) {
+            throw new IllegalArgumentException("Debe conservar al menos un evento");
+        }
+        this.retained = new ChangeEvent<?>[retainedEvents];
+    }
+
+    /**
+     * Publishes a change, or holds it until the current batch ends
+     */
+    public <T> void publish(Class<T> entityType, ChangeType type, String key, T before, T after) {
+        Change<T> change = new Change<>(entityType, type, key, before, after);
+        List<Change<?>> batch = pending.get();
+        if (batch != null) {
+            batch.add(change);
+        } else {
+            deliver(List.of(change));
+        }
+    }
+
+    /**
+     * Runs the work publishing its changes only once it returns. Nested
+     * batches join the outer one.
+     */
+    public void batch(Runnable work) {
+        if (pending.get() != null) {
+            work.run();
+            return;
+        }
+        List<Change<?>> batch = new ArrayList<>();
+        pending.set(batch);
+        try {
+            work.run();
+        } finally {
+            pending.remove();
+        }
+        deliver(batch);
+    }
+
+    /**
+     * Sequence number of the last event, 0 if none yet
+     */
+    public synchronized long lastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * Oldest sequence number still available to {@link #subscribe}
+     */
+    public synchronized long firstRetainedSequence() {
+        return Math.max(1, lastSequence - retained.length + 1);
+    }
+
+    /**
+     * Subscribes to every event after the given sequence number: the
+     * retained ones are delivered before this method returns, then each new
+     * one as it is published
+     *
+     * @param afterSequence Last sequence number already processed; 0 for
+     *                      everything retained, {@link #lastSequence()} for
+     *                      new events only
+     * @param consumer      Receives the events in order
+     * @throws IllegalArgumentException if events after that position are
+     *                                  no longer retained
+     */
+    public synchronized Subscription subscribe(long afterSequence, Consumer<ChangeEvent<?>> consumer) {
+        long first = Math.max(afterSequence + 1, 1);
+        if (afterSequence > 0 && first < firstRetainedSequence()) {
+            throw new IllegalArgumentException("Los eventos posteriores a " + afterSequence
+                    + " ya no están disponibles; el primero conservado es " + firstRetainedSequence());
+        }
+        Subscription subscription = new Subscription(consumer);
+        for (long sequence = Math.max(first, firstRetainedSequence()); sequence <= lastSequence; sequence++) {
+            if (!subscription.deliver(retained[slot(sequence)])) {
+                return subscription;
+            }
+        }
+        subscriptions.add(subscription);
+        return subscription;
+    }
+
+    /**
+     * Like {@link #subscribe(long, Consumer)}, for the events of one entity
+     * type only
+     */
+    public <T> Subscription subscribe(long afterSequence, Class<T> entityType, Consumer<ChangeEvent<T>> consumer) {
+        return subscribe(afterSequence, event -> {
+            ChangeEvent<T> typed = event.as(entityType);
+            if (typed != null) {
+                consumer.accept(typed);
+            }
+        });
+    }
+
+    private synchronized void deliver(List<Change<?>> changes) {
+        for (Change<?> change : changes) {
+            ChangeEvent<?> event = change.toEvent(++lastSequence);
+            retained[slot(lastSequence)] = event;
+            subscriptions.removeIf(subscription -> !subscription.deliver(event));
+        }
+    }
+
+    private int slot(long sequence) {
+        return (int) (sequence % retained.length);
+    }
+
+    /**
+     * A consumer's registration. A consumer that throws is unsubscribed and
+     * its exception kept in {@link #getFailure()}.
+     */
+    public final class Subscription {
+        private final Consumer<ChangeEvent<?>> consumer;
+        private long lastDelivered;
+        private RuntimeException failure;
+        private boolean cancelled;
+
+        private Subscription(Consumer<ChangeEvent<?>> consumer) {
+            this.consumer = consumer;
+        }
+
+        /**
+         * Stops the deliveries
+         */
+        public void cancel() {
+            synchronized (ChangeStream.this) {
+                cancelled = true;
+                subscriptions.remove(this);
+            }
+        }
+
+        public boolean isActive() {
+            synchronized (ChangeStream.this) {
+                return !cancelled && failure == null;
+            }
+        }
+
+        /**
+         * Sequence number of the last event delivered, to subscribe again
+         * from there
+         */
+        public long getLastDelivered() {
+            synchronized (ChangeStream.this) {
+                return lastDelivered;
+            }
+        }
+
+        public RuntimeException getFailure() {
+            synchronized (ChangeStream.this) {
+                return failure;
+            }
+        }
+
+        private boolean deliver(ChangeEvent<?> event) {
+            if (cancelled) {
+                return false;
+            }
+            try {
+                consumer.accept(event);
+            } catch (RuntimeException e) {
+                failure = e;
+                return false;
+            }
+            lastDelivered = event.sequence();
+            return true;
+        }
+    }
+
+    private record Change<T>(Class<T> entityType, ChangeType type, String key, T before, T after) {
+
+        ChangeEvent<T> toEvent(long sequence) {
+            return new ChangeEvent<>(sequence, entityType, type, key, before, after);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package biblioteca.data.changes;
+
+/**
+ * Kind of change carried by a {@link ChangeEvent}
+ */
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -1,6 +1,5 @@
 package biblioteca.data.database;
 
-import java.util.ArrayList;
 import java.util.List;
 
 import biblioteca.domain.entities.Author;
@@ -8,16 +7,12 @@ import biblioteca.domain.entities.Author;
 /**
  * Repository for Author entities - handles CRUD operations
  */
-public class AuthorRepository {
-    private List<Author> authors = new ArrayList<>();
+public interface AuthorRepository {
 
-    public AuthorRepository() {
-    }
-
-    public void loadDummyData(List<Author> initialData) {
-        this.authors.clear();
-        this.authors.addAll(initialData);
-    }
+    /**
+     * Replaces the stored authors with the initial data
+     */
+    void loadDummyData(List<Author> initialData);
 
     /**
      * Finds an author by ID
@@ -25,21 +20,14 @@ public class AuthorRepository {
      * @param id The author ID
      * @return The author if found, null otherwise
      */
-    public Author findById(int id) {
-        return authors.stream()
-                .filter(author -> author.getId() == id)
-                .findFirst()
-                .orElse(null);
-    }
+    Author findById(int id);
 
     /**
      * Retrieves all authors
      * 
-     * @return List of all authors
+     * @return Read-only snapshot of all authors
      */
-    public List<Author> findAll() {
-        return new ArrayList<>(authors);
-    }
+    List<Author> findAll();
 
     /**
      * Checks if an author with the given ID exists
@@ -47,10 +35,7 @@ public class AuthorRepository {
      * @param id The ID to check
      * @return true if exists, false otherwise
      */
-    public boolean existsById(int id) {
-        return authors.stream()
-                .anyMatch(author -> author.getId() == id);
-    }
+    boolean existsById(int id);
 
     /**
      * Finds authors by name (partial match, case insensitive)
@@ -58,11 +43,7 @@ public class AuthorRepository {
      * @param name The name to search for
      * @return List of matching authors
      */
-    public List<Author> findByNameContaining(String name) {
-        return authors.stream()
-                .filter(author -> author.getName().toLowerCase().contains(name.toLowerCase()))
-                .toList();
-    }
+    List<Author> findByNameContaining(String name);
 
     /**
      * Saves a new author
@@ -70,15 +51,5 @@ public class AuthorRepository {
      * @param author The author to save
      * @return The saved author
      */
-    public Author save(Author author) {
-        if (author.getId() == 0) {
-            int maxId = authors.stream()
-                    .mapToInt(Author::getId)
-                    .max()
-                    .orElse(0);
-            author.setId(maxId + 1);
-        }
-        authors.add(author);
-        return author;
-    }
-}
\ No newline at end of file
+    Author save(Author author);
+}
@@ -0,0 +1,43 @@
+package biblioteca.data.database;
+
+import java.util.function.Supplier;
+
+/**
+ * Runs a group of repository changes as one unit of work: a single group
+ * commit of the transaction log with in-memory storage, or a single
+ * database transaction with JDBC storage. Bulk operations use it so they do
+ * not pay one commit per entity, and use cases that change several
+ * repositories use it so their changes are stored all or nothing.
+ *
+ * If the work throws, its changes are rolled back and the exception is
+ * rethrown. Work that changes a stored entity should save a new instance
+ * rather than mutate the one read from the repository: in-memory rollback
+ * restores the instances that were replaced.
+ */
+@FunctionalInterface
+public interface BatchRunner {
+
+    /**
+     * Runner for storage without batching; the changes run as they are and
+     * are not rolled back
+     */
+    BatchRunner NONE = Runnable::run;
+
+    /**
+     * Runs the changes and returns once all of them are stored
+     *
+     * @param work Changes to apply
+     */
+    void batch(Runnable work);
+
+    /**
+     * Like {@link #batch(Runnable)}, returning the work's result
+     */
+    default <T> T call(Supplier<T> work) {
+        Object[] result = new Object[1];
+        batch(() -> result[0] = work.get());
+        @SuppressWarnings("unchecked")
+        T value = (T) result[0];
+        return value;
+    }
+}
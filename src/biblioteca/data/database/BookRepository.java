@@ -1,28 +1,19 @@
 package biblioteca.data.database;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 import biblioteca.domain.entities.Book;
 
 /**
  * Repository for Book entities - handles CRUD operations
  */
-public class BookRepository {
-    private List<Book> books = new ArrayList<>();
-    private int nextId = 1;
+public interface BookRepository {
 
-    public BookRepository() {
-    }
-
-    public void loadDummyData(List<Book> initialData) {
-        this.books.clear();
-        this.books.addAll(initialData);
-        this.nextId = initialData.stream()
-                .mapToInt(Book::getId)
-                .max()
-                .orElse(0) + 1;
-    }
+    /**
+     * Replaces the stored books with the initial data
+     */
+    void loadDummyData(List<Book> initialData);
 
     /**
      * Saves a new book to the repository
@@ -30,11 +21,15 @@ public class BookRepository {
      * @param book The book to save
      * @return The saved book with assigned ID
      */
-    public Book save(Book book) {
-        book.setId(nextId++);
-        books.add(book);
-        return book;
-    }
+    Book save(Book book);
+
+    /**
+     * Saves several new books at once, assigning their IDs
+     * 
+     * @param books The books to save
+     * @return The saved books, in the same order
+     */
+    List<Book> saveAll(List<Book> books);
 
     /**
      * Finds a book by its ID
@@ -42,21 +37,22 @@ public class BookRepository {
      * @param id The book ID
      * @return The book if found, null otherwise
      */
-    public Book findById(int id) {
-        return books.stream()
-                .filter(book -> book.getId() == id)
-                .findFirst()
-                .orElse(null);
-    }
+    Book findById(int id);
 
     /**
      * Retrieves all books
      * 
-     * @return List of all books
+     * @return Read-only snapshot of all books
      */
-    public List<Book> findAll() {
-        return new ArrayList<>(books);
-    }
+    List<Book> findAll();
+
+    /**
+     * Visits all books without copying them into a list, for full scans
+     * such as exports
+     * 
+     * @param action Called once per book
+     */
+    void forEach(Consumer<? super Book> action);
 
     /**
      * Checks if a book with the given title exists
@@ -64,10 +60,7 @@ public class BookRepository {
      * @param title The title to check
      * @return true if exists, false otherwise
      */
-    public boolean existsByTitle(String title) {
-        return books.stream()
-                .anyMatch(book -> book.getTitle().equalsIgnoreCase(title.trim()));
-    }
+    boolean existsByTitle(String title);
 
     /**
      * Checks if a book with the given ID exists
@@ -75,19 +68,14 @@ public class BookRepository {
      * @param id The ID to check
      * @return true if exists, false otherwise
      */
-    public boolean existsById(int id) {
-        return books.stream()
-                .anyMatch(book -> book.getId() == id);
-    }
+    boolean existsById(int id);
 
     /**
      * Gets the next available ID
      * 
      * @return The next ID to assign
      */
-    public int getNextId() {
-        return nextId;
-    }
+    int getNextId();
 
     /**
      * Deletes a book by ID
@@ -95,9 +83,7 @@ public class BookRepository {
      * @param id The ID of the book to delete
      * @return true if deleted, false if not found
      */
-    public boolean deleteById(int id) {
-        return books.removeIf(book -> book.getId() == id);
-    }
+    boolean deleteById(int id);
 
     /**
      * Updates an existing book
@@ -105,35 +91,15 @@ public class BookRepository {
      * @param book The book to update
      * @return The updated book if found, null otherwise
      */
-    public Book update(Book book) {
-        for (int i = 0; i < books.size(); i++) {
-            if (books.get(i).getId() == book.getId()) {
-                books.set(i, book);
-                return book;
-            }
-        }
-        return null;
-    }
+    Book update(Book book);
 
     /**
-     * Searches books by a text query in all fields (case insensitive)
+     * Searches books by a text query in all fields (case and accent
+     * insensitive). Every word of the query must prefix-match a word of the
+     * title, author, category, publisher or year.
      * 
      * @param query The search text
-     * @return List of books matching the query
+     * @return List of books matching the query, best match first
      */
-    public List<Book> searchByText(String query) {
-        if (query == null || query.trim().isEmpty()) {
-            return new ArrayList<>();
-        }
-
-        String searchTerm = query.toLowerCase().trim();
-
-        return books.stream()
-                .filter(book -> book.getTitle().toLowerCase().contains(searchTerm) ||
-                        book.getAuthor().getName().toLowerCase().contains(searchTerm) ||
-                        book.getCategory().getName().toLowerCase().contains(searchTerm) ||
-                        book.getPublisher().getName().toLowerCase().contains(searchTerm) ||
-                        String.valueOf(book.getYear()).contains(searchTerm))
-                .toList();
-    }
-}
\ No newline at end of file
+    List<Book> searchByText(String query);
+}
@@ -0,0 +1,180 @@
+package biblioteca.data.database;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+import biblioteca.data.store.StoreIndex;
+import biblioteca.data.store.TextNormalizer;
+import biblioteca.domain.entities.Book;
+
+/**
+ * Inverted index over the searchable fields of a book (title, author,
+ * category, publisher and year). Terms are lowercased and stripped of accents;
+ * query terms match indexed terms by prefix and results are ranked by the
+ * weight of the fields they matched in.
+ */
+public class BookSearchIndex extends StoreIndex<Integer, Book> {
+    private static final int TITLE_WEIGHT = 4;
+    private static final int AUTHOR_WEIGHT = 3;
+    private static final int CATEGORY_WEIGHT = 2;
+    private static final int PUBLISHER_WEIGHT = 2;
+    private static final int YEAR_WEIGHT = 1;
+    private static final int EXACT_TERM_BONUS = 1;
+    private static final Pattern TERM_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    // term -> (book ID -> best field weight for that term)
+    private final NavigableMap<String, Map<Integer, Integer>> postings = new TreeMap<>();
+    private final Map<Integer, Set<String>> termsByBook = new HashMap<>();
+
+    @Override
+    protected void add(Integer bookId, Book book) {
+        Map<String, Integer> weights = termWeights(book);
+        for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), term -> new HashMap<>())
+                    .put(bookId, entry.getValue());
+        }
+        termsByBook.put(bookId, weights.keySet());
+    }
+
+    @Override
+    protected void remove(Integer bookId) {
+        Set<String> terms = termsByBook.remove(bookId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<Integer, Integer> books = postings.get(term);
+            if (books != null) {
+                books.remove(bookId);
+                if (books.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    @Override
+    protected void clear() {
+        postings.clear();
+        termsByBook.clear();
+    }
+
+    /**
+     * Finds the books matching every term of the query
+     *
+     * @param query The search text
+     * @return Matching books, best match first
+     */
+    List<Book> search(String query) {
+        List<String> queryTerms = tokenize(query);
+        if (queryTerms.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return read(() -> rank(queryTerms));
+    }
+
+    private List<Book> rank(List<String> queryTerms) {
+        Map<Integer, Integer> scores = null;
+        for (String queryTerm : queryTerms) {
+            Map<Integer, Integer> termScores = new HashMap<>();
+            for (Map.Entry<String, Map<Integer, Integer>> entry : postings
+                    .subMap(queryTerm, true, queryTerm + Character.MAX_VALUE, false).entrySet()) {
+                int bonus = entry.getKey().equals(queryTerm) ? EXACT_TERM_BONUS : 0;
+                entry.getValue().forEach((bookId, weight) -> termScores.merge(bookId, weight + bonus, Math::max));
+            }
+
+            if (scores == null) {
+                scores = termScores;
+            } else {
+                scores.keySet().retainAll(termScores.keySet());
+                scores.replaceAll((bookId, score) -> score + termScores.get(bookId));
+            }
+            if (scores.isEmpty()) {
+                break;
+            }
+        }
+
+        Map<Integer, Integer> finalScores = scores;
+        List<Integer> ranked = new ArrayList<>(finalScores.keySet());
+        ranked.sort(Comparator.comparing((Integer bookId) -> finalScores.get(bookId)).reversed()
+                .thenComparing(Comparator.naturalOrder()));
+        List<Book> books = new ArrayList<>(ranked.size());
+        for (Integer bookId : ranked) {
+            books.add(resolve(bookId));
+        }
+        return books;
+    }
+
+    /**
+     * Scores a book against the terms of a query the way {@link #search}
+     * ranks it, for stores that find the candidates by other means
+     *
+     * @param book       The book
+     * @param queryTerms Terms of the query, see {@link #tokenize}
+     * @return The score, or -1 if some term matches no field of the book
+     */
+    public static int score(Book book, List<String> queryTerms) {
+        Map<String, Integer> weights = termWeights(book);
+        int score = 0;
+        for (String queryTerm : queryTerms) {
+            int best = -1;
+            for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+                if (entry.getKey().startsWith(queryTerm)) {
+                    int bonus = entry.getKey().equals(queryTerm) ? EXACT_TERM_BONUS : 0;
+                    best = Math.max(best, entry.getValue() + bonus);
+                }
+            }
+            if (best < 0) {
+                return -1;
+            }
+            score += best;
+        }
+        return score;
+    }
+
+    /**
+     * Terms a book can be found by
+     */
+    public static Set<String> terms(Book book) {
+        return termWeights(book).keySet();
+    }
+
+    private static Map<String, Integer> termWeights(Book book) {
+        Map<String, Integer> weights = new HashMap<>();
+        addField(weights, book.getTitle(), TITLE_WEIGHT);
+        addField(weights, book.getAuthor() != null ? book.getAuthor().getName() : null, AUTHOR_WEIGHT);
+        addField(weights, book.getCategory() != null ? book.getCategory().getName() : null, CATEGORY_WEIGHT);
+        addField(weights, book.getPublisher() != null ? book.getPublisher().getName() : null, PUBLISHER_WEIGHT);
+        addField(weights, String.valueOf(book.getYear()), YEAR_WEIGHT);
+        return weights;
+    }
+
+    private static void addField(Map<String, Integer> weights, String text, int weight) {
+        for (String term : tokenize(text)) {
+            weights.merge(term, weight, Math::max);
+        }
+    }
+
+    /**
+     * Splits text into lowercase, accent-free terms
+     */
+    public static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return terms;
+        }
+        for (String term : TERM_SEPARATOR.split(TextNormalizer.normalize(text))) {
+            if (!term.isEmpty()) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+}
@@ -1,6 +1,5 @@
 package biblioteca.data.database;
 
-import java.util.ArrayList;
 import java.util.List;
 
 import biblioteca.domain.entities.Category;
@@ -8,16 +7,12 @@ import biblioteca.domain.entities.Category;
 /**
  * Repository for Category entities - handles CRUD operations
  */
-public class CategoryRepository {
-    private List<Category> categories = new ArrayList<>();
+public interface CategoryRepository {
 
-    public CategoryRepository() {
-    }
-
-    public void loadDummyData(List<Category> initialData) {
-        this.categories.clear();
-        this.categories.addAll(initialData);
-    }
+    /**
+     * Replaces the stored categories with the initial data
+     */
+    void loadDummyData(List<Category> initialData);
 
     /**
      * Finds a category by ID
@@ -25,21 +20,14 @@ public class CategoryRepository {
      * @param id The category ID
      * @return The category if found, null otherwise
      */
-    public Category findById(int id) {
-        return categories.stream()
-                .filter(category -> category.getId() == id)
-                .findFirst()
-                .orElse(null);
-    }
+    Category findById(int id);
 
     /**
      * Retrieves all categories
      * 
-     * @return List of all categories
+     * @return Read-only snapshot of all categories
      */
-    public List<Category> findAll() {
-        return new ArrayList<>(categories);
-    }
+    List<Category> findAll();
 
     /**
      * Checks if a category with the given ID exists
@@ -47,10 +35,7 @@ public class CategoryRepository {
      * @param id The ID to check
      * @return true if exists, false otherwise
      */
-    public boolean existsById(int id) {
-        return categories.stream()
-                .anyMatch(category -> category.getId() == id);
-    }
+    boolean existsById(int id);
 
     /**
      * Finds categories by name (partial match, case insensitive)
@@ -58,11 +43,7 @@ public class CategoryRepository {
      * @param name The name to search for
      * @return List of matching categories
      */
-    public List<Category> findByNameContaining(String name) {
-        return categories.stream()
-                .filter(category -> category.getName().toLowerCase().contains(name.toLowerCase()))
-                .toList();
-    }
+    List<Category> findByNameContaining(String name);
 
     /**
      * Saves a new category
@@ -70,15 +51,5 @@ public class CategoryRepository {
      * @param category The category to save
      * @return The saved category
      */
-    public Category save(Category category) {
-        if (category.getId() == 0) {
-            int maxId = categories.stream()
-                    .mapToInt(Category::getId)
-                    .max()
-                    .orElse(0);
-            category.setId(maxId + 1);
-        }
-        categories.add(category);
-        return category;
-    }
-}
\ No newline at end of file
+    Category save(Category category);
+}
@@ -0,0 +1,61 @@
+package biblioteca.data.database;
+
+import biblioteca.data.ids.IdFormat;
+
+/**
+ * Format of copy codes: "LIB", the book ID (at least 4 digits), '-' and
+ * the copy number (at least 3 digits), e.g. "LIB0001-001".
+ *
+ * Both parts grow past their width; the separator keeps every code
+ * unambiguous, so a code can be parsed without knowing its book. Copy
+ * numbers come from one sequence for all books, so two generated codes
+ * never collide. Codes of older versions, without the separator, stay
+ * valid and can never equal a new one.
+ */
+public final class CopyCodes {
+    private static final String PREFIX = "LIB";
+    private static final char SEPARATOR = '-';
+
+    private CopyCodes() {
+    }
+
+    public static String format(int bookId, long number) {
+        StringBuilder code = new StringBuilder(PREFIX.length() + 8).append(PREFIX);
+        IdFormat.appendPadded(code, bookId, 4).append(SEPARATOR);
+        return IdFormat.appendPadded(code, number, 3).toString();
+    }
+
+    /**
+     * Copy number of a code
+     *
+     * @return The number, 0 if the code does not follow the format
+     */
+    public static long number(String code) {
+        int separator = code.indexOf(SEPARATOR);
+        if (!code.startsWith(PREFIX) || !digits(code, PREFIX.length(), separator)
+                || !digits(code, separator + 1, code.length())) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(code, separator + 1, code.length(), 10);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Whether the non-empty range [from, to) of the code is all digits
+     */
+    private static boolean digits(String code, int from, int to) {
+        if (from >= to) {
+            return false;
+        }
+        for (int i = from; i < to; i++) {
+            char c = code.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -1,8 +1,9 @@
 package biblioteca.data.database;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
+import biblioteca.data.store.StoreListener;
 import biblioteca.domain.entities.Book;
 import biblioteca.domain.entities.Copy;
 import biblioteca.domain.enums.CopyOrigin;
@@ -11,18 +12,12 @@ import biblioteca.domain.enums.CopyState;
 /**
  * Repository for Copy entities - handles CRUD operations for book copies
  */
-public class CopyRepository {
-    private List<Copy> copies = new ArrayList<>();
-    private int nextCodeNumber = 1;
+public interface CopyRepository {
 
-    public CopyRepository() {
-    }
-
-    public void loadDummyData(List<Copy> initialData) {
-        this.copies.clear();
-        this.copies.addAll(initialData);
-        updateNextCodeNumber();
-    }
+    /**
+     * Replaces the stored copies with the initial data
+     */
+    void loadDummyData(List<Copy> initialData);
 
     /**
      * Generates multiple copies for a book
@@ -32,18 +27,7 @@ public class CopyRepository {
      * @param origin   Origin of the copies (PURCHASE or DONATION)
      * @return List of created copies
      */
-    public List<Copy> createCopies(Book book, int quantity, CopyOrigin origin) {
-        List<Copy> newCopies = new ArrayList<>();
-
-        for (int i = 0; i < quantity; i++) {
-            String code = generateUniqueCode(book);
-            Copy copy = new Copy(code, CopyState.AVAILABLE, origin, book);
-            copies.add(copy);
-            newCopies.add(copy);
-        }
-
-        return newCopies;
-    }
+    List<Copy> createCopies(Book book, int quantity, CopyOrigin origin);
 
     /**
      * Finds a copy by its unique code
@@ -51,12 +35,7 @@ public class CopyRepository {
      * @param code The copy code
      * @return The copy if found, null otherwise
      */
-    public Copy findByCode(String code) {
-        return copies.stream()
-                .filter(copy -> copy.getCode().equals(code))
-                .findFirst()
-                .orElse(null);
-    }
+    Copy findByCode(String code);
 
     /**
      * Finds all copies of a specific book
@@ -64,11 +43,7 @@ public class CopyRepository {
      * @param book The book to find copies for
      * @return List of copies for the book
      */
-    public List<Copy> findByBook(Book book) {
-        return copies.stream()
-                .filter(copy -> copy.getBook().getId() == book.getId())
-                .toList();
-    }
+    List<Copy> findByBook(Book book);
 
     /**
      * Finds copies by state
@@ -76,11 +51,7 @@ public class CopyRepository {
      * @param state The state to filter by
      * @return List of copies with the specified state
      */
-    public List<Copy> findByState(CopyState state) {
-        return copies.stream()
-                .filter(copy -> copy.getState() == state)
-                .toList();
-    }
+    List<Copy> findByState(CopyState state);
 
     /**
      * Finds available copies of a specific book
@@ -88,12 +59,7 @@ public class CopyRepository {
      * @param book The book to find available copies for
      * @return List of available copies
      */
-    public List<Copy> findAvailableCopiesByBook(Book book) {
-        return copies.stream()
-                .filter(copy -> copy.getBook().getId() == book.getId())
-                .filter(Copy::isAvailable)
-                .toList();
-    }
+    List<Copy> findAvailableCopiesByBook(Book book);
 
     /**
      * Counts copies by book and state
@@ -102,37 +68,59 @@ public class CopyRepository {
      * @param state The state to count
      * @return Number of copies in the specified state
      */
-    public long countByBookAndState(Book book, CopyState state) {
-        return copies.stream()
-                .filter(copy -> copy.getBook().getId() == book.getId())
-                .filter(copy -> copy.getState() == state)
-                .count();
-    }
+    long countByBookAndState(Book book, CopyState state);
+
+    /**
+     * Counts all copies of a book regardless of state
+     * 
+     * @param book The book to count copies for
+     * @return Total number of copies
+     */
+    long countByBook(Book book);
 
     /**
-     * Updates a copy
+     * Updates a copy, increasing its version
      * 
      * @param copy The copy to update
      * @return The updated copy if found, null otherwise
      */
-    public Copy update(Copy copy) {
-        for (int i = 0; i < copies.size(); i++) {
-            if (copies.get(i).getCode().equals(copy.getCode())) {
-                copies.set(i, copy);
-                return copy;
-            }
-        }
-        return null;
-    }
+    Copy update(Copy copy);
+
+    /**
+     * Updates several copies at once
+     * 
+     * @param copies The copies to update
+     * @return Number of copies found and updated
+     */
+    int updateAll(List<Copy> copies);
+
+    /**
+     * Changes the state of a copy only if it is unchanged since it was read:
+     * same state and same version as {@code copy}. Two desks cannot lend
+     * the same copy, and neither waits for the other: the second one gets
+     * null.
+     * 
+     * @param copy     The copy as read
+     * @param newState The new state
+     * @return The stored copy with the new state, or null if the copy
+     *         changed or no longer exists
+     */
+    Copy compareAndSetState(Copy copy, CopyState newState);
 
     /**
      * Retrieves all copies
      * 
-     * @return List of all copies
+     * @return Read-only snapshot of all copies
      */
-    public List<Copy> findAll() {
-        return new ArrayList<>(copies);
-    }
+    List<Copy> findAll();
+
+    /**
+     * Visits all copies without copying them into a list, for full scans
+     * such as exports
+     * 
+     * @param action Called once per copy
+     */
+    void forEach(Consumer<? super Copy> action);
 
     /**
      * Checks if any copies exist for a book with loaned or reserved state
@@ -140,10 +128,9 @@ public class CopyRepository {
      * @param book The book to check
      * @return true if there are active copies (loaned or reserved)
      */
-    public boolean hasActiveCopies(Book book) {
-        return copies.stream()
-                .filter(copy -> copy.getBook().getId() == book.getId())
-                .anyMatch(copy -> copy.getState() == CopyState.LOANED || copy.getState() == CopyState.RESERVED);
+    default boolean hasActiveCopies(Book book) {
+        return countByBookAndState(book, CopyState.LOANED) > 0
+                || countByBookAndState(book, CopyState.RESERVED) > 0;
     }
 
     /**
@@ -152,40 +139,10 @@ public class CopyRepository {
      * @param book The book to delete copies for
      * @return Number of copies deleted
      */
-    public int deleteByBook(Book book) {
-        int initialSize = copies.size();
-        copies.removeIf(copy -> copy.getBook().getId() == book.getId());
-        return initialSize - copies.size();
-    }
+    int deleteByBook(Book book);
 
-    private String generateUniqueCode(Book book) {
-        String prefix = "LIB";
-        String bookId = String.format("%04d", book.getId());
-        String copyNumber = String.format("%03d", nextCodeNumber++);
-        return prefix + bookId + copyNumber;
-    }
-
-    private void updateNextCodeNumber() {
-        if (!copies.isEmpty()) {
-            // Find the highest copy number from existing codes
-            int maxNumber = copies.stream()
-                    .mapToInt(copy -> extractCopyNumber(copy.getCode()))
-                    .max()
-                    .orElse(0);
-            nextCodeNumber = maxNumber + 1;
-        }
-    }
-
-    private int extractCopyNumber(String code) {
-        try {
-            // Extract the last 3 digits from codes like "LIB0001001"
-            if (code.length() >= 3) {
-                String numberPart = code.substring(code.length() - 3);
-                return Integer.parseInt(numberPart);
-            }
-        } catch (NumberFormatException e) {
-            // Ignore invalid codes
-        }
-        return 0;
-    }
-}
\ No newline at end of file
+    /**
+     * Registers a listener notified of every change once it is stored
+     */
+    void addListener(StoreListener<String, Copy> listener);
+}
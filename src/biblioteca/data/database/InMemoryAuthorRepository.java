@@ -0,0 +1,76 @@
+package biblioteca.data.database;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import biblioteca.data.store.IntEntityStore;
+import biblioteca.data.store.TrigramIndex;
+import biblioteca.domain.entities.Author;
+
+/**
+ * In-memory Author repository; name searches use a trigram index
+ */
+public class InMemoryAuthorRepository implements AuthorRepository {
+    private IntEntityStore<Author> authors = new IntEntityStore<>(Author::getId);
+    private TrigramIndex<Integer, Author> authorsByName = authors
+            .addIndex(new TrigramIndex<>(Author::getName));
+    private final AtomicInteger nextId = new AtomicInteger(1);
+
+    public InMemoryAuthorRepository() {
+    }
+
+    @Override
+    public void loadDummyData(List<Author> initialData) {
+        this.authors.clear();
+        this.authors.putAll(initialData);
+        recomputeNextId();
+    }
+
+    /**
+     * Moves the ID counter past the highest stored ID
+     */
+    void recomputeNextId() {
+        nextId.set(authors.snapshot().stream()
+                .mapToInt(Author::getId)
+                .max()
+                .orElse(0) + 1);
+    }
+
+    @Override
+    public Author findById(int id) {
+        return authors.get(id);
+    }
+
+    @Override
+    public List<Author> findAll() {
+        return authors.snapshot();
+    }
+
+    @Override
+    public boolean existsById(int id) {
+        return authors.contains(id);
+    }
+
+    @Override
+    public List<Author> findByNameContaining(String name) {
+        return authorsByName.search(name);
+    }
+
+    @Override
+    public Author save(Author author) {
+        if (author.getId() == 0) {
+            author.setId(nextId.getAndIncrement());
+        } else {
+            nextId.accumulateAndGet(author.getId() + 1, Math::max);
+        }
+        authors.put(author);
+        return author;
+    }
+
+    /**
+     * Backing store, journaled by {@link RepositoryJournal}
+     */
+    IntEntityStore<Author> store() {
+        return authors;
+    }
+}
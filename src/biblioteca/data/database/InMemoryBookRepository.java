@@ -0,0 +1,115 @@
+package biblioteca.data.database;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import biblioteca.data.store.HashIndex;
+import biblioteca.data.store.IntEntityStore;
+import biblioteca.data.store.TextNormalizer;
+import biblioteca.domain.entities.Book;
+
+/**
+ * In-memory Book repository with a title index and a ranked full-text
+ * search index
+ */
+public class InMemoryBookRepository implements BookRepository {
+    private IntEntityStore<Book> books = new IntEntityStore<>(Book::getId);
+    private HashIndex<String, Integer, Book> booksByTitle = books
+            .addHashIndex(book -> TextNormalizer.normalize(book.getTitle()));
+    private BookSearchIndex searchIndex = books.addIndex(new BookSearchIndex());
+    private final AtomicInteger nextId = new AtomicInteger(1);
+
+    public InMemoryBookRepository() {
+    }
+
+    @Override
+    public void loadDummyData(List<Book> initialData) {
+        this.books.clear();
+        this.books.putAll(initialData);
+        recomputeNextId();
+    }
+
+    /**
+     * Moves the ID counter past the highest stored ID
+     */
+    void recomputeNextId() {
+        nextId.set(books.snapshot().stream()
+                .mapToInt(Book::getId)
+                .max()
+                .orElse(0) + 1);
+    }
+
+    @Override
+    public Book save(Book book) {
+        book.setId(nextId.getAndIncrement());
+        books.put(book);
+        return book;
+    }
+
+    @Override
+    public List<Book> saveAll(List<Book> newBooks) {
+        for (Book book : newBooks) {
+            book.setId(nextId.getAndIncrement());
+        }
+        books.putAll(newBooks);
+        return newBooks;
+    }
+
+    @Override
+    public Book findById(int id) {
+        return books.get(id);
+    }
+
+    @Override
+    public List<Book> findAll() {
+        return books.snapshot();
+    }
+
+    @Override
+    public void forEach(Consumer<? super Book> action) {
+        books.snapshot().forEach(action);
+    }
+
+    @Override
+    public boolean existsByTitle(String title) {
+        return booksByTitle.contains(TextNormalizer.normalize(title));
+    }
+
+    @Override
+    public boolean existsById(int id) {
+        return books.contains(id);
+    }
+
+    @Override
+    public int getNextId() {
+        return nextId.get();
+    }
+
+    @Override
+    public boolean deleteById(int id) {
+        return books.remove(id) != null;
+    }
+
+    @Override
+    public Book update(Book book) {
+        return books.replace(book) ? book : null;
+    }
+
+    @Override
+    public List<Book> searchByText(String query) {
+        if (query == null || query.trim().isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        return searchIndex.search(query);
+    }
+
+    /**
+     * Backing store, journaled by {@link RepositoryJournal}
+     */
+    IntEntityStore<Book> store() {
+        return books;
+    }
+}
@@ -0,0 +1,76 @@
+package biblioteca.data.database;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import biblioteca.data.store.IntEntityStore;
+import biblioteca.data.store.TrigramIndex;
+import biblioteca.domain.entities.Category;
+
+/**
+ * In-memory Category repository; name searches use a trigram index
+ */
+public class InMemoryCategoryRepository implements CategoryRepository {
+    private IntEntityStore<Category> categories = new IntEntityStore<>(Category::getId);
+    private TrigramIndex<Integer, Category> categoriesByName = categories
+            .addIndex(new TrigramIndex<>(Category::getName));
+    private final AtomicInteger nextId = new AtomicInteger(1);
+
+    public InMemoryCategoryRepository() {
+    }
+
+    @Override
+    public void loadDummyData(List<Category> initialData) {
+        this.categories.clear();
+        this.categories.putAll(initialData);
+        recomputeNextId();
+    }
+
+    /**
+     * Moves the ID counter past the highest stored ID
+     */
+    void recomputeNextId() {
+        nextId.set(categories.snapshot().stream()
+                .mapToInt(Category::getId)
+                .max()
+                .orElse(0) + 1);
+    }
+
+    @Override
+    public Category findById(int id) {
+        return categories.get(id);
+    }
+
+    @Override
+    public List<Category> findAll() {
+        return categories.snapshot();
+    }
+
+    @Override
+    public boolean existsById(int id) {
+        return categories.contains(id);
+    }
+
+    @Override
+    public List<Category> findByNameContaining(String name) {
+        return categoriesByName.search(name);
+    }
+
+    @Override
+    public Category save(Category category) {
+        if (category.getId() == 0) {
+            category.setId(nextId.getAndIncrement());
+        } else {
+            nextId.accumulateAndGet(category.getId() + 1, Math::max);
+        }
+        categories.put(category);
+        return category;
+    }
+
+    /**
+     * Backing store, journaled by {@link RepositoryJournal}
+     */
+    IntEntityStore<Category> store() {
+        return categories;
+    }
+}
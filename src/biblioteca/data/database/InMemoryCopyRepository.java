@@ -0,0 +1,188 @@
+package biblioteca.data.database;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import biblioteca.data.ids.IdKind;
+import biblioteca.data.ids.IdSequence;
+import biblioteca.data.ids.IdService;
+import biblioteca.data.store.EntityStore;
+import biblioteca.data.store.HashIndex;
+import biblioteca.data.store.StoreListener;
+import biblioteca.domain.entities.Book;
+import biblioteca.domain.entities.Copy;
+import biblioteca.domain.enums.CopyOrigin;
+import biblioteca.domain.enums.CopyState;
+
+/**
+ * In-memory Copy repository, indexed by book, by state and by book and
+ * state
+ */
+public class InMemoryCopyRepository implements CopyRepository {
+    private final EntityStore<String, Copy> copies = new EntityStore<>(Copy::getCode);
+    private final HashIndex<Integer, String, Copy> copiesByBook = copies
+            .addHashIndex(copy -> copy.getBook().getId());
+    private final HashIndex<BookState, String, Copy> copiesByBookAndState = copies
+            .addHashIndex(copy -> new BookState(copy.getBook().getId(), copy.getState()));
+    private final HashIndex<CopyState, String, Copy> copiesByState = copies.addHashIndex(Copy::getState);
+    private final IdSequence codeNumbers;
+
+    /**
+     * Index key for per-book state counts
+     */
+    private record BookState(int bookId, CopyState state) {
+    }
+
+    public InMemoryCopyRepository(IdService idService) {
+        this.codeNumbers = idService.sequence(IdKind.COPY);
+    }
+
+    @Override
+    public void loadDummyData(List<Copy> initialData) {
+        copies.write(() -> {
+            copies.clear();
+            copies.putAll(initialData);
+            updateNextCodeNumber();
+        });
+    }
+
+    @Override
+    public List<Copy> createCopies(Book book, int quantity, CopyOrigin origin) {
+        return copies.write(() -> {
+            List<Copy> newCopies = new ArrayList<>();
+
+            for (int i = 0; i < quantity; i++) {
+                String code = generateUniqueCode(book);
+                Copy copy = new Copy(code, CopyState.AVAILABLE, origin, book);
+                copies.put(copy);
+                newCopies.add(copy);
+            }
+
+            return newCopies;
+        });
+    }
+
+    @Override
+    public Copy findByCode(String code) {
+        return copies.get(code);
+    }
+
+    @Override
+    public List<Copy> findByBook(Book book) {
+        return copiesByBook.find(book.getId());
+    }
+
+    @Override
+    public List<Copy> findByState(CopyState state) {
+        return copiesByState.find(state);
+    }
+
+    @Override
+    public List<Copy> findAvailableCopiesByBook(Book book) {
+        return copiesByBookAndState.find(new BookState(book.getId(), CopyState.AVAILABLE));
+    }
+
+    @Override
+    public long countByBookAndState(Book book, CopyState state) {
+        return copiesByBookAndState.count(new BookState(book.getId(), state));
+    }
+
+    @Override
+    public long countByBook(Book book) {
+        return copiesByBook.count(book.getId());
+    }
+
+    @Override
+    public Copy update(Copy copy) {
+        return copies.write(() -> {
+            Copy stored = copies.get(copy.getCode());
+            if (stored == null) {
+                return null;
+            }
+            copy.setVersion(stored.getVersion() + 1);
+            copies.put(copy);
+            return copy;
+        });
+    }
+
+    @Override
+    public int updateAll(List<Copy> copies) {
+        return this.copies.write(() -> {
+            int updated = 0;
+            for (Copy copy : copies) {
+                if (update(copy) != null) {
+                    updated++;
+                }
+            }
+            return updated;
+        });
+    }
+
+    @Override
+    public Copy compareAndSetState(Copy copy, CopyState newState) {
+        return copies.write(() -> {
+            Copy stored = copies.get(copy.getCode());
+            if (stored == null || stored.getState() != copy.getState()
+                    || stored.getVersion() != copy.getVersion()) {
+                return null;
+            }
+            // A new instance: the stored one is what a rollback puts back
+            Copy changed = new Copy(stored.getCode(), newState, stored.getOrigin(), stored.getBook());
+            changed.setVersion(stored.getVersion() + 1);
+            copies.put(changed);
+            return changed;
+        });
+    }
+
+    @Override
+    public List<Copy> findAll() {
+        return copies.snapshot();
+    }
+
+    @Override
+    public void forEach(Consumer<? super Copy> action) {
+        copies.snapshot().forEach(action);
+    }
+
+    @Override
+    public int deleteByBook(Book book) {
+        return copies.write(() -> {
+            List<String> codes = new ArrayList<>(copiesByBook.keys(book.getId()));
+            codes.forEach(copies::remove);
+            return codes.size();
+        });
+    }
+
+    /**
+     * Next code for the book. The counter starts past every stored copy
+     * number and is shared by all books, so the code is not taken yet.
+     */
+    private String generateUniqueCode(Book book) {
+        return CopyCodes.format(book.getId(), codeNumbers.next());
+    }
+
+    void updateNextCodeNumber() {
+        // Reads the live values: a snapshot of every copy would be built
+        // just to be thrown away
+        codeNumbers.advancePast(copies.read(() -> {
+            long highest = 0;
+            for (Copy copy : copies.values()) {
+                highest = Math.max(highest, CopyCodes.number(copy.getCode()));
+            }
+            return highest;
+        }));
+    }
+
+    @Override
+    public void addListener(StoreListener<String, Copy> listener) {
+        copies.addListener(listener);
+    }
+
+    /**
+     * Backing store, journaled by {@link RepositoryJournal}
+     */
+    EntityStore<String, Copy> store() {
+        return copies;
+    }
+}
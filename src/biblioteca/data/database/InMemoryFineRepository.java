@@ -0,0 +1,145 @@
+package biblioteca.data.database;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import biblioteca.data.ids.IdKind;
+import biblioteca.data.ids.IdSequence;
+import biblioteca.data.ids.IdService;
+import biblioteca.data.store.EntityStore;
+import biblioteca.data.store.HashIndex;
+import biblioteca.data.store.StoreListener;
+import biblioteca.data.store.SumIndex;
+import biblioteca.domain.entities.EntityResolver;
+import biblioteca.domain.entities.Fine;
+import biblioteca.domain.entities.Member;
+
+/**
+ * In-memory fine repository.
+ * Keeps running unpaid totals per member so balance queries do not scan the
+ * fine history. Stored fines resolve their member through the repository's
+ * {@link EntityResolver} instead of holding it.
+ */
+public class InMemoryFineRepository implements FineRepository {
+    private final EntityStore<String, Fine> fines;
+    private final HashIndex<String, String, Fine> finesByMember;
+    private final HashIndex<Boolean, String, Fine> finesByPaid;
+    private final HashIndex<String, String, Fine> unpaidFinesByMember;
+    private final SumIndex<String, String, Fine> unpaidBalanceByMember;
+    private final EntityResolver resolver;
+    private final IdSequence ids;
+
+    public InMemoryFineRepository(EntityResolver resolver, IdService idService) {
+        this.resolver = resolver;
+        this.ids = idService.sequence(IdKind.FINE);
+        this.fines = new EntityStore<>(Fine::getId, Fine::copy);
+        this.finesByMember = fines.addHashIndex(Fine::getMemberId);
+        this.finesByPaid = fines.addHashIndex(Fine::isPaid);
+        this.unpaidFinesByMember = fines.addHashIndex(fine -> fine.isPaid() ? null : fine.getMemberId());
+        this.unpaidBalanceByMember = fines.addSumIndex(
+                fine -> fine.isPaid() ? null : fine.getMemberId(),
+                Fine::getAmount);
+    }
+
+    @Override
+    public Fine save(Fine fine) {
+        if (fine.getId() == null) {
+            // Create a new fine with generated ID
+            Fine fineWithId = new Fine(ids.nextId(), fine.getMemberId(), fine.getAmount(), fine.getIssueDate(),
+                    resolver);
+            // Preserve payment state if the fine was already paid
+            if (fine.isPaid() && fine.getPaidDate() != null) {
+                fineWithId.pay(fine.getPaidDate());
+            }
+            fines.put(fineWithId);
+            return fineWithId;
+        }
+        // Keeps generated IDs ahead of explicitly assigned ones like "FINE0042"
+        ids.advancePast(fine.getId());
+        fine.attach(resolver);
+        fines.put(fine);
+        return fine;
+    }
+
+    @Override
+    public List<Fine> findAll() {
+        return fines.snapshot();
+    }
+
+    @Override
+    public void forEach(Consumer<? super Fine> action) {
+        fines.snapshot().forEach(action);
+    }
+
+    @Override
+    public Fine findById(String id) {
+        return fines.get(id);
+    }
+
+    @Override
+    public List<Fine> findByMember(Member member) {
+        return finesByMember.find(member.getId());
+    }
+
+    @Override
+    public List<Fine> findUnpaidByMember(Member member) {
+        return unpaidFinesByMember.find(member.getId());
+    }
+
+    @Override
+    public List<Fine> findAllUnpaid() {
+        return finesByPaid.find(false);
+    }
+
+    @Override
+    public boolean markAsPaid(String fineId) {
+        // Checked and paid under the write lock: a fine is paid only once
+        return fines.write(() -> {
+            Fine fine = findById(fineId);
+            if (fine != null && !fine.isPaid()) {
+                fines.update(fineId, unpaid -> unpaid.pay(java.time.LocalDate.now()));
+                return true;
+            }
+            return false;
+        });
+    }
+
+    @Override
+    public double getTotalUnpaidAmount(Member member) {
+        return unpaidBalanceByMember.sum(member.getId());
+    }
+
+    @Override
+    public int countUnpaidByMember(Member member) {
+        return unpaidBalanceByMember.count(member.getId());
+    }
+
+    @Override
+    public int count() {
+        return fines.size();
+    }
+
+    @Override
+    public void clear() {
+        fines.clear();
+    }
+
+    /**
+     * Moves the ID counter past every stored fine ID
+     */
+    void recomputeNextId() {
+        ids.advancePastAll(fines.snapshot().stream().map(Fine::getId));
+    }
+
+    @Override
+    public void addListener(StoreListener<String, Fine> listener) {
+        fines.addListener(listener);
+    }
+
+    /**
+     * Backing store, journaled by {@link RepositoryJournal}
+     */
+    EntityStore<String, Fine> store() {
+        return fines;
+    }
+}
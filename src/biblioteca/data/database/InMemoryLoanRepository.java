@@ -0,0 +1,335 @@
+package biblioteca.data.database;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import biblioteca.data.ids.IdKind;
+import biblioteca.data.ids.IdSequence;
+import biblioteca.data.ids.IdService;
+import biblioteca.data.persistence.LoanArchive;
+
+import biblioteca.data.store.EntityStore;
+import biblioteca.data.store.HashIndex;
+import biblioteca.data.store.OrderedIndex;
+import biblioteca.data.store.StoreListener;
+import biblioteca.data.store.UniqueIndex;
+import biblioteca.domain.entities.Copy;
+import biblioteca.domain.entities.EntityResolver;
+import biblioteca.domain.entities.Loan;
+import biblioteca.domain.enums.LoanState;
+
+/**
+ * Repositorio de préstamos en memoria, con índices por socio, ejemplar,
+ * estado y vencimiento de los préstamos abiertos.
+ *
+ * Con un {@link LoanArchive}, los préstamos devueltos se mueven por lotes
+ * fuera de memoria y las búsquedas por socio, por ejemplar, por estado
+ * RETURNED y {@link #findAll()} combinan memoria y archivo.
+ *
+ * Los préstamos guardados resuelven socio y ejemplar con el
+ * {@link EntityResolver} del repositorio, por lo que no los retienen.
+ */
+public class InMemoryLoanRepository implements LoanRepository {
+    // Préstamos devueltos en memoria a partir de los cuales vale la pena
+    // escribir un segmento nuevo
+    private static final int ARCHIVE_BATCH_SIZE = 1024;
+
+    private final EntityStore<String, Loan> loans;
+    private final HashIndex<String, String, Loan> loansByMember;
+    private final HashIndex<String, String, Loan> loansByCopy;
+    private final HashIndex<LoanState, String, Loan> loansByState;
+    // Índices parciales: solo contienen préstamos abiertos (ACTIVE u OVERDUE)
+    private final HashIndex<String, String, Loan> openLoansByMember;
+    private final UniqueIndex<String, String, Loan> openLoanByCopy;
+    private final OrderedIndex<LocalDate, String, Loan> openLoansByDueDate;
+    private final EntityResolver resolver;
+    private final LoanArchive archive;
+    // Mientras se archivan préstamos, quitarlos de memoria no es borrarlos.
+    // Solo cambia con el store bloqueado para escritura
+    private boolean archiving;
+    private final IdSequence ids;
+
+    public InMemoryLoanRepository(EntityResolver resolver, IdService idService) {
+        this(resolver, null, idService);
+    }
+
+    /**
+     * @param resolver  Resolución de socios y ejemplares por su ID
+     * @param archive   Archivo de préstamos devueltos, o null para mantener
+     *                  todo en memoria
+     * @param idService Origen de los IDs de préstamos nuevos
+     */
+    public InMemoryLoanRepository(EntityResolver resolver, LoanArchive archive, IdService idService) {
+        this.resolver = resolver;
+        this.archive = archive;
+        this.ids = idService.sequence(IdKind.LOAN);
+        this.loans = new EntityStore<>(Loan::getId, Loan::copy);
+        this.loansByMember = loans.addHashIndex(Loan::getMemberId);
+        this.loansByCopy = loans.addHashIndex(Loan::getCopyCode);
+        this.loansByState = loans.addHashIndex(Loan::getState);
+        this.openLoansByMember = loans.addHashIndex(loan -> isOpen(loan) ? loan.getMemberId() : null);
+        this.openLoanByCopy = loans.addUniqueIndex("préstamo abierto por ejemplar",
+                loan -> isOpen(loan) ? loan.getCopyCode() : null);
+        this.openLoansByDueDate = loans.addOrderedIndex(loan -> isOpen(loan) ? loan.getDueDate() : null);
+        // Los datos dummy se cargarán desde DependencyContainer
+    }
+
+    @Override
+    public void loadDummyData(List<Loan> dummyLoans) {
+        loans.clear();
+        dummyLoans.forEach(loan -> loan.attach(resolver));
+        loans.putAll(dummyLoans);
+
+        // Actualizar el contador de IDs para nuevos préstamos
+        recomputeNextId();
+    }
+
+    /**
+     * Ubica el contador de IDs después del mayor ID almacenado, incluidos
+     * los archivados.
+     */
+    void recomputeNextId() {
+        ids.advancePastAll(loans.snapshot().stream().map(Loan::getId));
+        if (archive != null) {
+            ids.advancePastAll(archive.loanIds().stream());
+        }
+    }
+
+    /**
+     * Mueve al archivo los préstamos devueltos que siguen en memoria, si
+     * alcanzan para un segmento. El segmento es durable antes de quitarlos
+     * de memoria.
+     *
+     * @return Cantidad de préstamos archivados
+     */
+    int archiveReturnedLoans() throws IOException {
+        List<Loan> returned = loansByState.find(LoanState.RETURNED);
+        if (archive == null || returned.size() < ARCHIVE_BATCH_SIZE) {
+            return 0;
+        }
+        archive.append(returned);
+        loans.write(() -> {
+            archiving = true;
+            try {
+                for (Loan loan : returned) {
+                    loans.remove(loan.getId());
+                }
+            } finally {
+                archiving = false;
+            }
+        });
+        return returned.size();
+    }
+
+    /**
+     * Quita de memoria los préstamos que ya están en el último segmento:
+     * quedan duplicados si el proceso se detuvo entre escribir el segmento y
+     * registrar su eliminación.
+     */
+    void dropArchivedLoans() {
+        if (archive == null) {
+            return;
+        }
+        loans.write(() -> {
+            archiving = true;
+            try {
+                for (String id : archive.latestLoanIds()) {
+                    loans.remove(id);
+                }
+            } finally {
+                archiving = false;
+            }
+        });
+    }
+
+    @Override
+    public List<Loan> findAll() {
+        if (!hasArchivedLoans()) {
+            return loans.snapshot();
+        }
+        return withArchived(loans.snapshot(), archive.findAll());
+    }
+
+    @Override
+    public void forEach(Consumer<? super Loan> action) {
+        loans.snapshot().forEach(action);
+        if (archive != null) {
+            archive.forEach(action);
+        }
+    }
+
+    @Override
+    public Loan findById(String id) {
+        Loan loan = loans.get(id);
+        if (loan != null || !hasArchivedLoans()) {
+            return loan;
+        }
+        return archive.findById(id);
+    }
+
+    @Override
+    public List<Loan> findByMemberId(String memberId) {
+        if (!hasArchivedLoans()) {
+            return loansByMember.find(memberId);
+        }
+        return withArchived(loansByMember.find(memberId), archive.findByMemberId(memberId));
+    }
+
+    @Override
+    public List<Loan> findByState(LoanState state) {
+        if (state != LoanState.RETURNED || !hasArchivedLoans()) {
+            return loansByState.find(state);
+        }
+        return withArchived(loansByState.find(state), archive.findAll());
+    }
+
+    @Override
+    public List<Loan> findActiveLoansByMemberId(String memberId) {
+        return openLoansByMember.find(memberId);
+    }
+
+    // Recorre solo el rango vencido del índice por fecha de vencimiento
+    @Override
+    public List<Loan> findOverdueLoans(LocalDate today) {
+        return openLoansByDueDate.findBefore(today);
+    }
+
+    @Override
+    public List<Loan> markOverdueLoans(LocalDate today) {
+        // Bajo el bloqueo de escritura: una devolución concurrente no puede
+        // quedar marcada como vencida. Los préstamos que otra operación está
+        // modificando se marcarán en la próxima pasada
+        return loans.write(() -> {
+            List<Loan> markedLoans = new ArrayList<>();
+            for (Loan loan : openLoansByDueDate.findBefore(today)) {
+                if (loan.getState() == LoanState.ACTIVE && !loans.isClaimedByOther(loan.getId())) {
+                    markedLoans.add(loans.update(loan.getId(), active -> active.setState(LoanState.OVERDUE)));
+                }
+            }
+            return markedLoans;
+        });
+    }
+
+    @Override
+    public List<Loan> findByCopyCode(String copyCode) {
+        if (!hasArchivedLoans()) {
+            return loansByCopy.find(copyCode);
+        }
+        return withArchived(loansByCopy.find(copyCode), archive.findByCopyCode(copyCode));
+    }
+
+    @Override
+    public Loan findActiveLoanByCopy(Copy copy) {
+        return openLoanByCopy.find(copy.getCode());
+    }
+
+    @Override
+    public List<Loan> findOverdueLoansByMemberId(String memberId) {
+        LocalDate today = LocalDate.now();
+        // Los préstamos abiertos de un socio están acotados por el límite de préstamos
+        return openLoansByMember.find(memberId).stream()
+                .filter(loan -> loan.getDueDate().isBefore(today))
+                .toList();
+    }
+
+    @Override
+    public long countActiveLoansByMemberId(String memberId) {
+        return openLoansByMember.count(memberId);
+    }
+
+    @Override
+    public Loan save(Loan loan) {
+        if (loan.getId() == null || loan.getId().isEmpty()) {
+            // Nuevo préstamo
+            loan = new Loan(
+                    generateId(),
+                    loan.getMemberId(),
+                    loan.getCopyCode(),
+                    loan.getLoanDate(),
+                    loan.getDueDate(),
+                    loan.getState(),
+                    resolver);
+            loans.put(loan);
+        } else {
+            // Actualización
+            loan.attach(resolver);
+            loans.replace(loan);
+        }
+        return loan;
+    }
+
+    @Override
+    public List<Loan> saveAll(List<Loan> loans) {
+        List<Loan> saved = new ArrayList<>(loans.size());
+        for (Loan loan : loans) {
+            saved.add(save(loan));
+        }
+        return saved;
+    }
+
+    @Override
+    public void deleteById(String id) {
+        loans.remove(id);
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        return loans.contains(id);
+    }
+
+    @Override
+    public String generateId() {
+        return ids.nextId();
+    }
+
+    private boolean hasArchivedLoans() {
+        return archive != null && !archive.isEmpty();
+    }
+
+    private static List<Loan> withArchived(List<Loan> inMemory, List<Loan> archived) {
+        List<Loan> result = new ArrayList<>(inMemory.size() + archived.size());
+        result.addAll(inMemory);
+        result.addAll(archived);
+        return result;
+    }
+
+    /**
+     * Los oyentes no reciben como eliminación el paso de un préstamo al
+     * archivo: sigue existiendo
+     */
+    @Override
+    public void addListener(StoreListener<String, Loan> listener) {
+        loans.addListener(new StoreListener<>() {
+            @Override
+            public void stored(String key, Loan previous, Loan entity) {
+                listener.stored(key, previous, entity);
+            }
+
+            @Override
+            public void removed(String key, Loan entity) {
+                if (!archiving) {
+                    listener.removed(key, entity);
+                }
+            }
+
+            @Override
+            public void cleared(List<Loan> removed) {
+                listener.cleared(removed);
+            }
+        });
+    }
+
+    private static boolean isOpen(Loan loan) {
+        return loan.getState() == LoanState.ACTIVE || loan.getState() == LoanState.OVERDUE;
+    }
+
+    /**
+     * Backing store, journaled by {@link RepositoryJournal}
+     */
+    EntityStore<String, Loan> store() {
+        return loans;
+    }
+}
@@ -0,0 +1,166 @@
+package biblioteca.data.database;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import biblioteca.data.dummy.MemberDummyData;
+import biblioteca.data.ids.IdKind;
+import biblioteca.data.ids.IdSequence;
+import biblioteca.data.ids.IdService;
+import biblioteca.data.store.EntityStore;
+import biblioteca.data.store.HashIndex;
+import biblioteca.data.store.StoreListener;
+import biblioteca.data.store.TrigramIndex;
+import biblioteca.data.store.UniqueIndex;
+import biblioteca.domain.entities.Member;
+import biblioteca.domain.enums.MemberType;
+
+/**
+ * In-memory Member repository; name and email searches use trigram indexes
+ */
+public class InMemoryMemberRepository implements MemberRepository {
+    private final EntityStore<String, Member> members;
+    private final UniqueIndex<String, String, Member> membersByEmail;
+    private final HashIndex<MemberType, String, Member> membersByType;
+    private final TrigramIndex<String, Member> nameIndex;
+    private final TrigramIndex<String, Member> emailIndex;
+    private final IdSequence ids;
+
+    public InMemoryMemberRepository(IdService idService) {
+        this.ids = idService.sequence(IdKind.MEMBER);
+        this.members = new EntityStore<>(Member::getId, Member::copy);
+        this.membersByEmail = members.addUniqueIndex("email", member -> normalizeEmail(member.getEmail()));
+        this.membersByType = members.addHashIndex(Member::getType);
+        this.nameIndex = members.addIndex(new TrigramIndex<>(Member::getName));
+        this.emailIndex = members.addIndex(new TrigramIndex<>(Member::getEmail));
+        members.putAll(MemberDummyData.getMembers());
+        recomputeNextId();
+    }
+
+    @Override
+    public void loadDummyData(List<Member> initialData) {
+        members.clear();
+        members.putAll(initialData);
+        recomputeNextId();
+    }
+
+    /**
+     * Moves the ID counter past every stored member ID
+     */
+    void recomputeNextId() {
+        ids.advancePastAll(members.snapshot().stream().map(Member::getId));
+    }
+
+    @Override
+    public Member save(Member member) {
+        if (member.getId() == null || member.getId().isEmpty()) {
+            member.setId(ids.nextId());
+        } else {
+            ids.advancePast(member.getId());
+        }
+        members.put(member);
+        return member;
+    }
+
+    @Override
+    public Member update(Member member) {
+        // Changes a copy: if the new email is taken the stored member stays as it was
+        return members.update(member.getId(), existingMember -> {
+            existingMember.setName(member.getName());
+            existingMember.setEmail(member.getEmail());
+            existingMember.setPhone(member.getPhone());
+            existingMember.setType(member.getType());
+            existingMember.setState(member.getState());
+            existingMember.setPendingFines(member.getPendingFines());
+        });
+    }
+
+    @Override
+    public Member findById(String id) {
+        return members.get(id);
+    }
+
+    @Override
+    public List<Member> searchByName(String name) {
+        if (name == null || name.trim().isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        return nameIndex.search(name);
+    }
+
+    @Override
+    public List<Member> searchByText(String searchText) {
+        if (searchText == null || searchText.trim().isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Set<Member> matches = new LinkedHashSet<>(nameIndex.search(searchText));
+        matches.addAll(emailIndex.search(searchText));
+        Member memberById = members.get(searchText);
+        if (memberById != null) {
+            matches.add(memberById);
+        }
+        return new ArrayList<>(matches);
+    }
+
+    @Override
+    public Member findByEmail(String email) {
+        return membersByEmail.find(normalizeEmail(email));
+    }
+
+    @Override
+    public List<Member> findAll() {
+        return members.snapshot();
+    }
+
+    @Override
+    public void forEach(Consumer<? super Member> action) {
+        members.snapshot().forEach(action);
+    }
+
+    @Override
+    public List<Member> findByType(MemberType type) {
+        return membersByType.find(type);
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        return members.contains(id);
+    }
+
+    @Override
+    public boolean existsByEmail(String email) {
+        return findByEmail(email) != null;
+    }
+
+    @Override
+    public boolean deleteById(String id) {
+        return members.remove(id) != null;
+    }
+
+    @Override
+    public int count() {
+        return members.size();
+    }
+
+    private static String normalizeEmail(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public void addListener(StoreListener<String, Member> listener) {
+        members.addListener(listener);
+    }
+
+    /**
+     * Backing store, journaled by {@link RepositoryJournal}
+     */
+    EntityStore<String, Member> store() {
+        return members;
+    }
+}
@@ -0,0 +1,127 @@
+package biblioteca.data.database;
+
+import java.util.List;
+import java.util.Locale;
+
+import biblioteca.data.ids.IdKind;
+import biblioteca.data.ids.IdSequence;
+import biblioteca.data.ids.IdService;
+import biblioteca.data.store.EntityStore;
+import biblioteca.data.store.HashIndex;
+import biblioteca.domain.notifications.Notification;
+
+/**
+ * Repository for managing notifications in memory.
+ * Notifications are indexed by channel and by sent state, so filtered
+ * lists and counters do not scan the history.
+ */
+public class InMemoryNotificationRepository implements NotificationRepository {
+
+    private final EntityStore<String, Notification> notifications;
+    private final HashIndex<String, String, Notification> notificationsByChannel;
+    private final HashIndex<Boolean, String, Notification> notificationsBySent;
+    private final IdSequence ids;
+
+    /**
+     * Constructor - initializes empty notification indexes
+     * 
+     * @param idService Source of the IDs of new notifications
+     */
+    public InMemoryNotificationRepository(IdService idService) {
+        this.ids = idService.sequence(IdKind.NOTIFICATION);
+        this.notifications = new EntityStore<>(Notification::getId);
+        this.notificationsByChannel = notifications.addHashIndex(n -> channelKey(n.getChannelName()));
+        this.notificationsBySent = notifications.addHashIndex(Notification::isSent);
+    }
+
+    @Override
+    public void save(Notification notification) {
+        ids.advancePast(notification.getId());
+        notifications.put(notification);
+        notification.onDelivered(this::onDelivered);
+    }
+
+    @Override
+    public String generateId() {
+        return ids.nextId();
+    }
+
+    @Override
+    public Notification findById(String id) {
+        return notifications.get(id);
+    }
+
+    @Override
+    public List<Notification> findAll() {
+        return notifications.snapshot();
+    }
+
+    @Override
+    public List<Notification> findAllSent() {
+        return notificationsBySent.find(true);
+    }
+
+    @Override
+    public List<Notification> findAllPending() {
+        return notificationsBySent.find(false);
+    }
+
+    @Override
+    public List<Notification> findByChannel(String channelName) {
+        return notificationsByChannel.find(channelKey(channelName));
+    }
+
+    @Override
+    public int count() {
+        return notifications.size();
+    }
+
+    @Override
+    public int countSent() {
+        return notificationsBySent.count(true);
+    }
+
+    @Override
+    public int countPending() {
+        return notificationsBySent.count(false);
+    }
+
+    @Override
+    public void clear() {
+        notifications.clear();
+    }
+
+    @Override
+    public void loadDummyData(List<Notification> dummyNotifications) {
+        dummyNotifications.forEach(this::save);
+    }
+
+    /**
+     * Moves the ID counter past every stored notification ID
+     */
+    void recomputeNextId() {
+        ids.advancePastAll(notifications.snapshot().stream().map(Notification::getId));
+    }
+
+    /**
+     * Moves a stored notification from pending to sent after deliver() succeeds
+     */
+    private void onDelivered(Notification notification) {
+        notifications.write(() -> {
+            if (notifications.get(notification.getId()) == notification) {
+                notifications.put(notification);
+            }
+        });
+    }
+
+    private static String channelKey(String channelName) {
+        return channelName == null ? "" : channelName.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Backing store, journaled by {@link RepositoryJournal}
+     */
+    EntityStore<String, Notification> store() {
+        return notifications;
+    }
+}
@@ -0,0 +1,76 @@
+package biblioteca.data.database;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import biblioteca.data.store.IntEntityStore;
+import biblioteca.data.store.TrigramIndex;
+import biblioteca.domain.entities.Publisher;
+
+/**
+ * In-memory Publisher repository; name searches use a trigram index
+ */
+public class InMemoryPublisherRepository implements PublisherRepository {
+    private IntEntityStore<Publisher> publishers = new IntEntityStore<>(Publisher::getId);
+    private TrigramIndex<Integer, Publisher> publishersByName = publishers
+            .addIndex(new TrigramIndex<>(Publisher::getName));
+    private final AtomicInteger nextId = new AtomicInteger(1);
+
+    public InMemoryPublisherRepository() {
+    }
+
+    @Override
+    public void loadDummyData(List<Publisher> initialData) {
+        this.publishers.clear();
+        this.publishers.putAll(initialData);
+        recomputeNextId();
+    }
+
+    /**
+     * Moves the ID counter past the highest stored ID
+     */
+    void recomputeNextId() {
+        nextId.set(publishers.snapshot().stream()
+                .mapToInt(Publisher::getId)
+                .max()
+                .orElse(0) + 1);
+    }
+
+    @Override
+    public Publisher findById(int id) {
+        return publishers.get(id);
+    }
+
+    @Override
+    public List<Publisher> findAll() {
+        return publishers.snapshot();
+    }
+
+    @Override
+    public boolean existsById(int id) {
+        return publishers.contains(id);
+    }
+
+    @Override
+    public List<Publisher> findByNameContaining(String name) {
+        return publishersByName.search(name);
+    }
+
+    @Override
+    public Publisher save(Publisher publisher) {
+        if (publisher.getId() == 0) {
+            publisher.setId(nextId.getAndIncrement());
+        } else {
+            nextId.accumulateAndGet(publisher.getId() + 1, Math::max);
+        }
+        publishers.put(publisher);
+        return publisher;
+    }
+
+    /**
+     * Backing store, journaled by {@link RepositoryJournal}
+     */
+    IntEntityStore<Publisher> store() {
+        return publishers;
+    }
+}
@@ -0,0 +1,68 @@
+package biblioteca.data.database;
+
+import java.util.function.Consumer;
+
+import biblioteca.domain.entities.SystemParameters;
+
+/**
+ * In-memory system parameters, starting from the defaults. Changes are
+ * serialized on the repository, so each one is logged in the order made.
+ */
+public class InMemorySystemParametersRepository implements SystemParametersRepository {
+    private volatile SystemParameters parameters;
+    private Consumer<SystemParameters> changeListener = parameters -> {
+    };
+
+    public InMemorySystemParametersRepository() {
+        // Initialize with default parameters
+        this.parameters = new SystemParameters(
+                3, // maxLoansPerMember - default
+                14, // loanDays - 14 days standard
+                5.0, // finePerDay - $5 per day
+                5 // maxActiveReservationsPerMember - 5 reservations max
+        );
+    }
+
+    @Override
+    public SystemParameters get() {
+        return parameters;
+    }
+
+    @Override
+    public synchronized void update(SystemParameters parameters) {
+        this.parameters = parameters;
+        changeListener.accept(this.parameters);
+    }
+
+    @Override
+    public synchronized void updateMaxLoansPerMember(int maxLoans) {
+        parameters.setMaxLoansPerMember(maxLoans);
+        changeListener.accept(this.parameters);
+    }
+
+    @Override
+    public synchronized void updateLoanDays(int loanDays) {
+        parameters.setLoanDays(loanDays);
+        changeListener.accept(this.parameters);
+    }
+
+    @Override
+    public synchronized void updateFinePerDay(double finePerDay) {
+        parameters.setFinePerDay(finePerDay);
+        changeListener.accept(this.parameters);
+    }
+
+    @Override
+    public synchronized void updateMaxActiveReservationsPerMember(int maxReservations) {
+        parameters.setMaxActiveReservationsPerMember(maxReservations);
+        changeListener.accept(this.parameters);
+    }
+
+    /**
+     * Registers a callback invoked after every change, used by
+     * {@link RepositoryJournal}
+     */
+    void onChange(Consumer<SystemParameters> listener) {
+        this.changeListener = listener;
+    }
+}
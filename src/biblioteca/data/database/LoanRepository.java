@@ -1,10 +1,10 @@
 package biblioteca.data.database;
 
 import java.time.LocalDate;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
+import biblioteca.data.store.StoreListener;
 import biblioteca.domain.entities.Copy;
 import biblioteca.domain.entities.Loan;
 import biblioteca.domain.entities.Member;
@@ -14,238 +14,152 @@ import biblioteca.domain.enums.LoanState;
  * Repositorio para la gestión de préstamos en el sistema de biblioteca.
  * Proporciona operaciones CRUD y búsquedas especializadas para préstamos.
  */
-public class LoanRepository {
-    private List<Loan> loans;
-    private int nextId;
-
-    public LoanRepository() {
-        this.loans = new ArrayList<>();
-        this.nextId = 1;
-        // Los datos dummy se cargarán desde DependencyContainer
-    }
+public interface LoanRepository {
 
     /**
      * Carga datos dummy desde el archivo dedicado
      */
-    public void loadDummyData(List<Loan> dummyLoans) {
-        this.loans.clear();
-        this.loans.addAll(dummyLoans);
-
-        // Actualizar el contador de IDs para nuevos préstamos
-        if (!loans.isEmpty()) {
-            // Encontrar el ID más alto y configurar nextId
-            int maxId = loans.stream()
-                    .mapToInt(loan -> {
-                        String id = loan.getId();
-                        try {
-                            return Integer.parseInt(id.replace("LOAN", ""));
-                        } catch (NumberFormatException e) {
-                            return 0;
-                        }
-                    })
-                    .max()
-                    .orElse(0);
-            nextId = maxId + 1;
-        }
-    }
+    void loadDummyData(List<Loan> dummyLoans);
 
     /**
-     * Encuentra todos los préstamos en el sistema.
+     * Encuentra todos los préstamos en el sistema (snapshot de solo lectura).
      */
-    public List<Loan> findAll() {
-        return new ArrayList<>(loans);
-    }
+    List<Loan> findAll();
+
+    /**
+     * Recorre todos los préstamos, incluidos los archivados, sin copiarlos
+     * a una lista.
+     */
+    void forEach(Consumer<? super Loan> action);
 
     /**
      * Encuentra un préstamo por su ID.
      */
-    public Loan findById(String id) {
-        return loans.stream()
-                .filter(loan -> loan.getId().equals(id))
-                .findFirst()
-                .orElse(null);
-    }
+    Loan findById(String id);
 
     /**
      * Encuentra todos los préstamos de un socio específico.
      */
-    public List<Loan> findByMember(Member member) {
-        return loans.stream()
-                .filter(loan -> loan.getMember().getId().equals(member.getId()))
-                .collect(Collectors.toList());
+    default List<Loan> findByMember(Member member) {
+        return findByMemberId(member.getId());
     }
 
     /**
      * Encuentra todos los préstamos de un socio específico por ID (método de
      * compatibilidad).
      */
-    public List<Loan> findByMemberId(String memberId) {
-        return loans.stream()
-                .filter(loan -> loan.getMember().getId().equals(memberId))
-                .collect(Collectors.toList());
-    }
+    List<Loan> findByMemberId(String memberId);
 
     /**
      * Encuentra préstamos por estado específico.
      */
-    public List<Loan> findByState(LoanState state) {
-        return loans.stream()
-                .filter(loan -> loan.getState() == state)
-                .collect(Collectors.toList());
-    }
+    List<Loan> findByState(LoanState state);
 
     /**
      * Encuentra préstamos activos de un socio específico.
      */
-    public List<Loan> findActiveLoansByMember(Member member) {
-        return loans.stream()
-                .filter(loan -> loan.getMember().getId().equals(member.getId()))
-                .filter(loan -> loan.getState() == LoanState.ACTIVE)
-                .collect(Collectors.toList());
+    default List<Loan> findActiveLoansByMember(Member member) {
+        return findActiveLoansByMemberId(member.getId());
     }
 
     /**
      * Encuentra préstamos activos de un socio específico por ID (método de
-     * compatibilidad).
+     * compatibilidad). Incluye los vencidos: el ejemplar sigue prestado.
      */
-    public List<Loan> findActiveLoansByMemberId(String memberId) {
-        return loans.stream()
-                .filter(loan -> loan.getMember().getId().equals(memberId))
-                .filter(loan -> loan.getState() == LoanState.ACTIVE)
-                .collect(Collectors.toList());
-    }
+    List<Loan> findActiveLoansByMemberId(String memberId);
 
     /**
      * Find all overdue loans (not yet returned and past due date)
      */
-    public List<Loan> findOverdueLoans() {
-        LocalDate today = LocalDate.now();
-        return loans.stream()
-                .filter(loan -> loan.getState() == LoanState.ACTIVE || loan.getState() == LoanState.OVERDUE)
-                .filter(loan -> loan.getDueDate().isBefore(today))
-                .collect(Collectors.toList());
+    default List<Loan> findOverdueLoans() {
+        return findOverdueLoans(LocalDate.now());
     }
 
+    /**
+     * Encuentra los préstamos abiertos con vencimiento anterior a la fecha dada.
+     */
+    List<Loan> findOverdueLoans(LocalDate today);
+
+    /**
+     * Pasa a OVERDUE todos los préstamos ACTIVE vencidos antes de la fecha dada.
+     * Los que otra unidad de trabajo está modificando pueden quedar sin
+     * marcar; quien llama vuelve a intentarlo.
+     *
+     * @return Préstamos que cambiaron de estado
+     */
+    List<Loan> markOverdueLoans(LocalDate today);
+
     /**
      * Encuentra préstamos por código de ejemplar.
      */
-    public List<Loan> findByCopyCode(String copyCode) {
-        return loans.stream()
-                .filter(loan -> loan.getCopy().getCode().equals(copyCode))
-                .collect(Collectors.toList());
-    }
+    List<Loan> findByCopyCode(String copyCode);
 
     /**
      * Encuentra préstamos por ejemplar específico.
      */
-    public List<Loan> findByCopy(Copy copy) {
-        return loans.stream()
-                .filter(loan -> loan.getCopy().getCode().equals(copy.getCode()))
-                .collect(Collectors.toList());
+    default List<Loan> findByCopy(Copy copy) {
+        return findByCopyCode(copy.getCode());
     }
 
     /**
      * Encuentra un préstamo activo para un ejemplar específico.
      * Incluye tanto préstamos ACTIVE como OVERDUE (ambos son "prestados")
      */
-    public Loan findActiveLoanByCopy(Copy copy) {
-        return loans.stream()
-                .filter(loan -> loan.getCopy().getCode().equals(copy.getCode()))
-                .filter(loan -> loan.getState() == LoanState.ACTIVE || loan.getState() == LoanState.OVERDUE)
-                .findFirst()
-                .orElse(null);
-    }
+    Loan findActiveLoanByCopy(Copy copy);
 
     /**
      * Encuentra préstamos vencidos de un socio específico.
      */
-    public List<Loan> findOverdueLoansByMemberId(String memberId) {
-        LocalDate today = LocalDate.now();
-        return loans.stream()
-                .filter(loan -> loan.getMember().getId().equals(memberId))
-                .filter(loan -> loan.getState() == LoanState.ACTIVE || loan.getState() == LoanState.OVERDUE)
-                .filter(loan -> loan.getDueDate().isBefore(today))
-                .collect(Collectors.toList());
-    }
+    List<Loan> findOverdueLoansByMemberId(String memberId);
 
     /**
      * Encuentra préstamos vencidos de un socio específico.
      */
-    public List<Loan> findOverdueLoansByMember(Member member) {
-        LocalDate today = LocalDate.now();
-        return loans.stream()
-                .filter(loan -> loan.getMember().getId().equals(member.getId()))
-                .filter(loan -> loan.getState() == LoanState.ACTIVE || loan.getState() == LoanState.OVERDUE)
-                .filter(loan -> loan.getDueDate().isBefore(today))
-                .collect(Collectors.toList());
+    default List<Loan> findOverdueLoansByMember(Member member) {
+        return findOverdueLoansByMemberId(member.getId());
     }
 
     /**
-     * Cuenta los préstamos activos de un socio.
+     * Cuenta los préstamos activos de un socio, incluidos los vencidos.
      */
-    public long countActiveLoansByMemberId(String memberId) {
-        return loans.stream()
-                .filter(loan -> loan.getMember().getId().equals(memberId))
-                .filter(loan -> loan.getState() == LoanState.ACTIVE)
-                .count();
-    }
+    long countActiveLoansByMemberId(String memberId);
 
     /**
      * Cuenta los préstamos activos de un socio.
      */
-    public long countActiveLoansByMember(Member member) {
-        return loans.stream()
-                .filter(loan -> loan.getMember().getId().equals(member.getId()))
-                .filter(loan -> loan.getState() == LoanState.ACTIVE)
-                .count();
+    default long countActiveLoansByMember(Member member) {
+        return countActiveLoansByMemberId(member.getId());
     }
 
     /**
      * Guarda un préstamo (nuevo o actualización).
      */
-    public Loan save(Loan loan) {
-        if (loan.getId() == null || loan.getId().isEmpty()) {
-            // Nuevo préstamo
-            loan = new Loan(
-                    generateId(),
-                    loan.getMember(),
-                    loan.getCopy(),
-                    loan.getLoanDate(),
-                    loan.getDueDate(),
-                    loan.getState());
-            loans.add(loan);
-        } else {
-            // Actualización
-            for (int i = 0; i < loans.size(); i++) {
-                if (loans.get(i).getId().equals(loan.getId())) {
-                    loans.set(i, loan);
-                    break;
-                }
-            }
-        }
-        return loan;
-    }
+    Loan save(Loan loan);
+
+    /**
+     * Guarda varios préstamos de una vez (por ejemplo, los de un carrito).
+     *
+     * @return Los préstamos guardados, con sus IDs, en el mismo orden
+     */
+    List<Loan> saveAll(List<Loan> loans);
 
     /**
      * Elimina un préstamo por ID.
      */
-    public void deleteById(String id) {
-        loans.removeIf(loan -> loan.getId().equals(id));
-    }
+    void deleteById(String id);
 
     /**
      * Verifica si existe un préstamo con el ID especificado.
      */
-    public boolean existsById(String id) {
-        return loans.stream()
-                .anyMatch(loan -> loan.getId().equals(id));
-    }
+    boolean existsById(String id);
 
     /**
      * Genera un ID único para un nuevo préstamo.
      */
-    public String generateId() {
-        return "LOAN" + String.format("%04d", nextId++);
-    }
+    String generateId();
 
-}
\ No newline at end of file
+    /**
+     * Registra un oyente que recibe cada cambio una vez guardado
+     */
+    void addListener(StoreListener<String, Loan> listener);
+}
@@ -1,22 +1,21 @@
 package biblioteca.data.database;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
-import biblioteca.data.dummy.MemberDummyData;
+import biblioteca.data.store.StoreListener;
 import biblioteca.domain.entities.Member;
 import biblioteca.domain.enums.MemberType;
 
 /**
  * Repository for Member entity operations
  */
-public class MemberRepository {
-    private final List<Member> members;
+public interface MemberRepository {
 
-    public MemberRepository() {
-        this.members = new ArrayList<>(MemberDummyData.getMembers());
-    }
+    /**
+     * Replaces the stored members with the initial data
+     */
+    void loadDummyData(List<Member> initialData);
 
     /**
      * Saves a new member to the repository
@@ -24,13 +23,7 @@ public class MemberRepository {
      * @param member Member to save
      * @return The saved member with generated ID
      */
-    public Member save(Member member) {
-        if (member.getId() == null || member.getId().isEmpty()) {
-            member.setId(MemberDummyData.getNextAvailableId());
-        }
-        members.add(member);
-        return member;
-    }
+    Member save(Member member);
 
     /**
      * Updates an existing member
@@ -38,19 +31,7 @@ public class MemberRepository {
      * @param member Member to update
      * @return The updated member, null if not found
      */
-    public Member update(Member member) {
-        Member existingMember = findById(member.getId());
-        if (existingMember != null) {
-            existingMember.setName(member.getName());
-            existingMember.setEmail(member.getEmail());
-            existingMember.setPhone(member.getPhone());
-            existingMember.setType(member.getType());
-            existingMember.setState(member.getState());
-            existingMember.setPendingFines(member.getPendingFines());
-            return existingMember;
-        }
-        return null;
-    }
+    Member update(Member member);
 
     /**
      * Finds a member by ID
@@ -58,12 +39,7 @@ public class MemberRepository {
      * @param id Member ID
      * @return Member if found, null otherwise
      */
-    public Member findById(String id) {
-        return members.stream()
-                .filter(member -> member.getId().equals(id))
-                .findFirst()
-                .orElse(null);
-    }
+    Member findById(String id);
 
     /**
      * Searches members by name (case-insensitive partial match)
@@ -71,35 +47,15 @@ public class MemberRepository {
      * @param name Name to search for
      * @return List of matching members
      */
-    public List<Member> searchByName(String name) {
-        if (name == null || name.trim().isEmpty()) {
-            return new ArrayList<>();
-        }
-
-        String searchTerm = name.toLowerCase().trim();
-        return members.stream()
-                .filter(member -> member.getName().toLowerCase().contains(searchTerm))
-                .collect(Collectors.toList());
-    }
+    List<Member> searchByName(String name);
 
     /**
-     * Searches members by text (searches in name and email)
+     * Searches members by text (searches in name and email, or exact ID)
      * 
      * @param searchText Text to search for
      * @return List of matching members
      */
-    public List<Member> searchByText(String searchText) {
-        if (searchText == null || searchText.trim().isEmpty()) {
-            return new ArrayList<>();
-        }
-
-        String searchTerm = searchText.toLowerCase().trim();
-        return members.stream()
-                .filter(member -> member.getName().toLowerCase().contains(searchTerm) ||
-                        member.getEmail().toLowerCase().contains(searchTerm) ||
-                        member.getId().equals(searchText))
-                .collect(Collectors.toList());
-    }
+    List<Member> searchByText(String searchText);
 
     /**
      * Finds a member by email
@@ -107,21 +63,22 @@ public class MemberRepository {
      * @param email Email to search for
      * @return Member if found, null otherwise
      */
-    public Member findByEmail(String email) {
-        return members.stream()
-                .filter(member -> member.getEmail().equalsIgnoreCase(email))
-                .findFirst()
-                .orElse(null);
-    }
+    Member findByEmail(String email);
 
     /**
      * Gets all members
      * 
-     * @return List of all members
+     * @return Read-only snapshot of all members
      */
-    public List<Member> findAll() {
-        return new ArrayList<>(members);
-    }
+    List<Member> findAll();
+
+    /**
+     * Visits all members without copying them into a list, for full scans
+     * such as exports
+     * 
+     * @param action Called once per member
+     */
+    void forEach(Consumer<? super Member> action);
 
     /**
      * Gets members by type
@@ -129,11 +86,7 @@ public class MemberRepository {
      * @param type Member type to filter by
      * @return List of members of the specified type
      */
-    public List<Member> findByType(MemberType type) {
-        return members.stream()
-                .filter(member -> member.getType() == type)
-                .collect(Collectors.toList());
-    }
+    List<Member> findByType(MemberType type);
 
     /**
      * Checks if a member ID already exists
@@ -141,9 +94,7 @@ public class MemberRepository {
      * @param id ID to check
      * @return true if ID exists, false otherwise
      */
-    public boolean existsById(String id) {
-        return findById(id) != null;
-    }
+    boolean existsById(String id);
 
     /**
      * Checks if an email already exists
@@ -151,9 +102,7 @@ public class MemberRepository {
      * @param email Email to check
      * @return true if email exists, false otherwise
      */
-    public boolean existsByEmail(String email) {
-        return findByEmail(email) != null;
-    }
+    boolean existsByEmail(String email);
 
     /**
      * Deletes a member by ID
@@ -161,17 +110,17 @@ public class MemberRepository {
      * @param id Member ID to delete
      * @return true if deleted, false if not found
      */
-    public boolean deleteById(String id) {
-        return members.removeIf(member -> member.getId().equals(id));
-    }
+    boolean deleteById(String id);
 
     /**
      * Gets the total count of members
      * 
      * @return Total number of members
      */
-    public int count() {
-        return members.size();
-    }
+    int count();
 
-}
\ No newline at end of file
+    /**
+     * Registers a listener notified of every change once it is stored
+     */
+    void addListener(StoreListener<String, Member> listener);
+}
@@ -1,34 +1,28 @@
 package biblioteca.data.database;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import biblioteca.domain.notifications.Notification;
 
 /**
- * Repository for managing notifications in memory.
+ * Repository for managing notifications.
  * Stores notification history for tracking and auditing.
  */
-public class NotificationRepository {
-
-    private final List<Notification> notifications;
+public interface NotificationRepository {
 
     /**
-     * Constructor - initializes empty notification list
+     * Save a notification to the repository
+     * 
+     * @param notification Notification to save
      */
-    public NotificationRepository() {
-        this.notifications = new ArrayList<>();
-    }
+    void save(Notification notification);
 
     /**
-     * Save a notification to the repository
+     * Generate a unique ID for a new notification
      * 
-     * @param notification Notification to save
+     * @return notification ID
      */
-    public void save(Notification notification) {
-        notifications.add(notification);
-    }
+    String generateId();
 
     /**
      * Find notification by ID
@@ -36,43 +30,28 @@ public class NotificationRepository {
      * @param id Notification ID
      * @return Notification if found, null otherwise
      */
-    public Notification findById(String id) {
-        return notifications.stream()
-                .filter(n -> n.getId().equals(id))
-                .findFirst()
-                .orElse(null);
-    }
+    Notification findById(String id);
 
     /**
      * Get all notifications
      * 
-     * @return List of all notifications
+     * @return Read-only snapshot of all notifications
      */
-    public List<Notification> findAll() {
-        return new ArrayList<>(notifications);
-    }
+    List<Notification> findAll();
 
     /**
      * Get all sent notifications
      * 
      * @return List of sent notifications
      */
-    public List<Notification> findAllSent() {
-        return notifications.stream()
-                .filter(Notification::isSent)
-                .collect(Collectors.toList());
-    }
+    List<Notification> findAllSent();
 
     /**
      * Get all pending notifications (not sent yet)
      * 
      * @return List of pending notifications
      */
-    public List<Notification> findAllPending() {
-        return notifications.stream()
-                .filter(n -> !n.isSent())
-                .collect(Collectors.toList());
-    }
+    List<Notification> findAllPending();
 
     /**
      * Get notifications by channel name
@@ -80,56 +59,38 @@ public class NotificationRepository {
      * @param channelName Channel name (e.g., "Email", "SMS", "Consola")
      * @return List of notifications for that channel
      */
-    public List<Notification> findByChannel(String channelName) {
-        return notifications.stream()
-                .filter(n -> n.getChannelName().equalsIgnoreCase(channelName))
-                .collect(Collectors.toList());
-    }
+    List<Notification> findByChannel(String channelName);
 
     /**
      * Get total count of notifications
      * 
      * @return total count
      */
-    public int count() {
-        return notifications.size();
-    }
+    int count();
 
     /**
      * Get count of sent notifications
      * 
      * @return sent count
      */
-    public int countSent() {
-        return (int) notifications.stream()
-                .filter(Notification::isSent)
-                .count();
-    }
+    int countSent();
 
     /**
      * Get count of pending notifications
      * 
      * @return pending count
      */
-    public int countPending() {
-        return (int) notifications.stream()
-                .filter(n -> !n.isSent())
-                .count();
-    }
+    int countPending();
 
     /**
      * Clear all notifications (for testing purposes)
      */
-    public void clear() {
-        notifications.clear();
-    }
+    void clear();
 
     /**
      * Load dummy data for testing and initialization
      * 
      * @param dummyNotifications List of dummy notifications
      */
-    public void loadDummyData(List<Notification> dummyNotifications) {
-        notifications.addAll(dummyNotifications);
-    }
+    void loadDummyData(List<Notification> dummyNotifications);
 }
@@ -1,6 +1,5 @@
 package biblioteca.data.database;
 
-import java.util.ArrayList;
 import java.util.List;
 
 import biblioteca.domain.entities.Publisher;
@@ -8,16 +7,12 @@ import biblioteca.domain.entities.Publisher;
 /**
  * Repository for Publisher entities - handles CRUD operations
  */
-public class PublisherRepository {
-    private List<Publisher> publishers = new ArrayList<>();
+public interface PublisherRepository {
 
-    public PublisherRepository() {
-    }
-
-    public void loadDummyData(List<Publisher> initialData) {
-        this.publishers.clear();
-        this.publishers.addAll(initialData);
-    }
+    /**
+     * Replaces the stored publishers with the initial data
+     */
+    void loadDummyData(List<Publisher> initialData);
 
     /**
      * Finds a publisher by ID
@@ -25,21 +20,14 @@ public class PublisherRepository {
      * @param id The publisher ID
      * @return The publisher if found, null otherwise
      */
-    public Publisher findById(int id) {
-        return publishers.stream()
-                .filter(publisher -> publisher.getId() == id)
-                .findFirst()
-                .orElse(null);
-    }
+    Publisher findById(int id);
 
     /**
      * Retrieves all publishers
      * 
-     * @return List of all publishers
+     * @return Read-only snapshot of all publishers
      */
-    public List<Publisher> findAll() {
-        return new ArrayList<>(publishers);
-    }
+    List<Publisher> findAll();
 
     /**
      * Checks if a publisher with the given ID exists
@@ -47,10 +35,7 @@ public class PublisherRepository {
      * @param id The ID to check
      * @return true if exists, false otherwise
      */
-    public boolean existsById(int id) {
-        return publishers.stream()
-                .anyMatch(publisher -> publisher.getId() == id);
-    }
+    boolean existsById(int id);
 
     /**
      * Finds publishers by name (partial match, case insensitive)
@@ -58,11 +43,7 @@ public class PublisherRepository {
      * @param name The name to search for
      * @return List of matching publishers
      */
-    public List<Publisher> findByNameContaining(String name) {
-        return publishers.stream()
-                .filter(publisher -> publisher.getName().toLowerCase().contains(name.toLowerCase()))
-                .toList();
-    }
+    List<Publisher> findByNameContaining(String name);
 
     /**
      * Saves a new publisher
@@ -70,15 +51,5 @@ public class PublisherRepository {
      * @param publisher The publisher to save
      * @return The saved publisher
      */
-    public Publisher save(Publisher publisher) {
-        if (publisher.getId() == 0) {
-            int maxId = publishers.stream()
-                    .mapToInt(Publisher::getId)
-                    .max()
-                    .orElse(0);
-            publisher.setId(maxId + 1);
-        }
-        publishers.add(publisher);
-        return publisher;
-    }
-}
\ No newline at end of file
+    Publisher save(Publisher publisher);
+}
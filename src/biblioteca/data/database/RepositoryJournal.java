@@ -0,0 +1,853 @@
+package biblioteca.data.database;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import biblioteca.data.persistence.BinaryReader;
+import biblioteca.data.persistence.BinaryWriter;
+import biblioteca.data.persistence.EntityCodec;
+import biblioteca.data.persistence.EntityCodecs;
+import biblioteca.data.persistence.SnapshotFile;
+import biblioteca.data.persistence.WriteAheadLog;
+import biblioteca.data.store.EntityStore;
+import biblioteca.data.store.IntEntityStore;
+import biblioteca.data.store.StoreListener;
+import biblioteca.data.store.UnitOfWork;
+import biblioteca.domain.entities.Author;
+import biblioteca.domain.entities.Book;
+import biblioteca.domain.entities.Category;
+import biblioteca.domain.entities.Copy;
+import biblioteca.domain.entities.EntityResolver;
+import biblioteca.domain.entities.Member;
+import biblioteca.domain.entities.Publisher;
+import biblioteca.domain.entities.SystemParameters;
+
+/**
+ * Records every repository change in a {@link WriteAheadLog} and rebuilds
+ * the repositories on startup from the latest snapshot plus the log.
+ *
+ * Each record is [format version][section][operation][body]: a PUT carries
+ * the encoded entity, a REMOVE its key and a CLEAR nothing. A change returns
+ * once its record is durable. If its record cannot be appended, the change
+ * is undone in the store and the failure is thrown to the caller. System
+ * parameters are changed in place, so a parameter change that fails to be
+ * logged stays in memory.
+ *
+ * Changes made inside {@link #batch(Runnable)} form a unit of work: their
+ * records are buffered and logged together as one batch record, so replay
+ * applies all of them or none, and the batch costs a single durable write.
+ * A batch over 4 MB is logged as several parts followed by the final one;
+ * replay applies the parts only once the final part is read. If the work
+ * throws, the stores are rolled back by putting back the entities each
+ * change replaced, in reverse order; nothing of it reaches the log except
+ * parts already written, which an abort record cancels.
+ *
+ * Once the log grows past 64 MB, and on close, the state is written to a
+ * {@link SnapshotFile} and the log is truncated. Each checkpoint first moves
+ * returned loans to the loan archive, if there are enough of them.
+ * Replaying a log over a snapshot that already contains it yields the same
+ * state (PUT and REMOVE are idempotent per key), so a crash between writing
+ * the snapshot and truncating the log is harmless. The snapshot body is
+ * written by a single {@link BinaryWriter}, so each member ID and copy code
+ * is spelled out once per snapshot.
+ *
+ * Changes may come from several threads. A change outside a batch is
+ * appended while its store is locked, so the log follows the order of the
+ * changes, and waited for once the store is unlocked, so writers share
+ * group commits instead of queueing behind each other's disk write. This is
+ * not a strict write-ahead log: between the unlock and the group commit,
+ * other threads can already read the change. Only the thread that made it
+ * waits for it to be durable. A crash in that window loses the change even
+ * if another session acted on it. A batch
+ * runs as a {@link UnitOfWork}: the keys it changes stay claimed until its
+ * record is appended, so no other writer can slip a change to them in
+ * between. A checkpoint waits for running batches and holds every store
+ * locked for reading while it writes the snapshot and truncates the log.
+ */
+public class RepositoryJournal implements AutoCloseable {
+    private static final long CHECKPOINT_THRESHOLD_BYTES = 64L * 1024 * 1024;
+
+    private static final byte PUT = 1;
+    private static final byte REMOVE = 2;
+    private static final byte CLEAR = 3;
+
+    // Section byte of the batch records
+    private static final byte BATCH = -1;
+    private static final byte BATCH_ABORT = -2;
+    private static final byte BATCH_END = -3;
+    private static final int BATCH_PART_SIZE = 4 * 1024 * 1024;
+
+    private static final byte INT_KEY = 1;
+    private static final byte STRING_KEY = 2;
+
+    private final WriteAheadLog log;
+    private final Path snapshotPath;
+    private final InMemoryAuthorRepository authorRepository;
+    private final InMemoryCategoryRepository categoryRepository;
+    private final InMemoryPublisherRepository publisherRepository;
+    private final InMemoryBookRepository bookRepository;
+    private final InMemoryCopyRepository copyRepository;
+    private final InMemoryMemberRepository memberRepository;
+    private final InMemoryLoanRepository loanRepository;
+    private final InMemoryFineRepository fineRepository;
+    private final InMemoryNotificationRepository notificationRepository;
+    // in dependency order: a section only references sections before it
+    private final List<Section> sections = new ArrayList<>();
+    private final ThreadLocal<Batch> currentBatch = new ThreadLocal<>();
+    private final ThreadLocal<BinaryWriter> recordWriter = ThreadLocal.withInitial(BinaryWriter::new);
+    // Parts of batches read during replay whose final part is still to come
+    private final Map<Long, List<ByteBuffer>> pendingParts = new HashMap<>();
+    private final AtomicLong nextBatchId = new AtomicLong(1);
+    // Batches hold it shared, checkpoints exclusively
+    private final ReentrantReadWriteLock checkpointLock = new ReentrantReadWriteLock();
+    // Set while this thread undoes a change whose record could not be appended
+    private final ThreadLocal<boolean[]> undoingUnlogged = ThreadLocal.withInitial(() -> new boolean[1]);
+    // Last record this thread appended outside a batch and has not waited for
+    private final ThreadLocal<long[]> unsyncedSequence = ThreadLocal.withInitial(() -> new long[1]);
+    private volatile boolean recording;
+    private final AtomicLong loggedBytes = new AtomicLong();
+
+    public RepositoryJournal(
+            WriteAheadLog log,
+            Path snapshotPath,
+            InMemoryAuthorRepository authorRepository,
+            InMemoryCategoryRepository categoryRepository,
+            InMemoryPublisherRepository publisherRepository,
+            InMemoryBookRepository bookRepository,
+            InMemoryCopyRepository copyRepository,
+            InMemoryMemberRepository memberRepository,
+            InMemoryLoanRepository loanRepository,
+            InMemoryFineRepository fineRepository,
+            InMemoryNotificationRepository notificationRepository,
+            InMemorySystemParametersRepository systemParametersRepository) {
+        this.log = log;
+        this.snapshotPath = snapshotPath;
+        this.authorRepository = authorRepository;
+        this.categoryRepository = categoryRepository;
+        this.publisherRepository = publisherRepository;
+        this.bookRepository = bookRepository;
+        this.copyRepository = copyRepository;
+        this.memberRepository = memberRepository;
+        this.loanRepository = loanRepository;
+        this.fineRepository = fineRepository;
+        this.notificationRepository = notificationRepository;
+
+        IntEntityStore<Author> authors = authorRepository.store();
+        IntEntityStore<Category> categories = categoryRepository.store();
+        IntEntityStore<Publisher> publishers = publisherRepository.store();
+        IntEntityStore<Book> books = bookRepository.store();
+        EntityStore<String, Copy> copies = copyRepository.store();
+        EntityStore<String, Member> members = memberRepository.store();
+        // Loans and fines keep IDs and resolve them through the repositories
+        EntityResolver resolver = new RepositoryResolver(memberRepository, copyRepository);
+
+        // Referenced entities are updated in place so that restored books
+        // and copies keep pointing at the instance held by the store
+        addStore(authors, EntityCodecs.author(),
+                inPlace(authors, (author, restored) -> author.setName(restored.getName())));
+        addStore(categories, EntityCodecs.category(),
+                inPlace(categories, (category, restored) -> category.setName(restored.getName())));
+        addStore(publishers, EntityCodecs.publisher(),
+                inPlace(publishers, (publisher, restored) -> publisher.setName(restored.getName())));
+        addStore(books, EntityCodecs.book(authors::get, categories::get, publishers::get),
+                inPlace(books, (book, restored) -> {
+                    book.setTitle(restored.getTitle());
+                    book.setAuthor(restored.getAuthor());
+                    book.setCategory(restored.getCategory());
+                    book.setPublisher(restored.getPublisher());
+                    book.setYear(restored.getYear());
+                }));
+        addStore(copies, EntityCodecs.copy(books::get),
+                inPlace(copies, (copy, restored) -> {
+                    copy.setState(restored.getState());
+                    copy.setOrigin(restored.getOrigin());
+                    copy.setBook(restored.getBook());
+                    copy.setVersion(restored.getVersion());
+                }));
+        addStore(members, EntityCodecs.member(),
+                inPlace(members, (member, restored) -> {
+                    member.setName(restored.getName());
+                    member.setEmail(restored.getEmail());
+                    member.setPhone(restored.getPhone());
+                    member.setType(restored.getType());
+                    member.setState(restored.getState());
+                    member.setPendingFines(restored.getPendingFines());
+                }));
+        addStore(loanRepository.store(), EntityCodecs.loan(resolver),
+                loanRepository.store()::put);
+        addStore(fineRepository.store(), EntityCodecs.fine(resolver),
+                fineRepository.store()::put);
+        // save() also hooks the delivery callback
+        addStore(notificationRepository.store(), EntityCodecs.notification(),
+                notificationRepository::save);
+        sections.add(new ParametersSection(sections.size(), systemParametersRepository));
+    }
+
+    /**
+     * Rebuilds the repositories from the snapshot and the log. On first
+     * start (neither exists) runs the seed instead and snapshots the seeded
+     * state. Changes are recorded from then on.
+     *
+     * @param seed Loads the initial data on first start
+     * @return What was restored and how long it took
+     * @throws IOException if the files cannot be read or are invalid
+     */
+    public RecoveryStats recover(Runnable seed) throws IOException {
+        long start = System.nanoTime();
+        boolean hasSnapshot = Files.exists(snapshotPath);
+        if (!hasSnapshot && log.isEmpty()) {
+            seed.run();
+            log.start();
+            recording = true;
+            long snapshotBytes = checkpoint();
+            return new RecoveryStats(true, snapshotBytes, 0, 0, elapsedMillis(start));
+        }
+
+        for (Section section : sections) {
+            section.reset();
+        }
+        long snapshotBytes = 0;
+        long snapshotEntities = 0;
+        if (hasSnapshot) {
+            snapshotBytes = Files.size(snapshotPath);
+            snapshotEntities = SnapshotFile.read(snapshotPath, this::readSnapshot);
+        }
+        long replayed = log.replay(this::apply);
+        // Parts of a batch whose final part was never written are discarded
+        pendingParts.clear();
+        loanRepository.dropArchivedLoans();
+        authorRepository.recomputeNextId();
+        categoryRepository.recomputeNextId();
+        publisherRepository.recomputeNextId();
+        bookRepository.recomputeNextId();
+        copyRepository.updateNextCodeNumber();
+        memberRepository.recomputeNextId();
+        loanRepository.recomputeNextId();
+        fineRepository.recomputeNextId();
+        notificationRepository.recomputeNextId();
+        loggedBytes.set(log.size());
+        recording = true;
+        return new RecoveryStats(false, snapshotBytes, snapshotEntities, replayed, elapsedMillis(start));
+    }
+
+    /**
+     * Writes a snapshot of every repository and truncates the log, once the
+     * running batches end
+     *
+     * @return Size of the snapshot in bytes
+     * @throws IOException if the snapshot cannot be written
+     */
+    public long checkpoint() throws IOException {
+        checkpointLock.writeLock().lock();
+        try {
+            if (recording) {
+                // The segment is durable before the loans' removal is logged
+                runBatch(loanRepository::archiveReturnedLoans);
+            }
+            return snapshotLocked(0);
+        } finally {
+            checkpointLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Locks the sections from the given one on, then writes the snapshot and
+     * truncates the log: no change can be appended in between
+     */
+    private long snapshotLocked(int section) throws IOException {
+        if (section < sections.size()) {
+            return sections.get(section).whileLocked(() -> snapshotLocked(section + 1));
+        }
+        long size = SnapshotFile.write(snapshotPath, this::writeSnapshot);
+        log.truncate();
+        loggedBytes.set(0);
+        return size;
+    }
+
+    /**
+     * Runs a group of changes and waits once for all of their records to be
+     * durable. Nested batches join the outer one.
+     *
+     * @param work Changes to apply
+     */
+    public void batch(Runnable work) {
+        if (currentBatch.get() != null) {
+            work.run();
+            return;
+        }
+        checkpointLock.readLock().lock();
+        try {
+            runBatch(work::run);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            checkpointLock.readLock().unlock();
+        }
+        checkpointIfNeeded();
+    }
+
+    /**
+     * Snapshots the final state, so the next start does not replay the log,
+     * and closes the log
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (recording) {
+                checkpoint();
+            }
+        } finally {
+            recording = false;
+            log.close();
+        }
+    }
+
+    private void runBatch(BatchWork work) throws IOException {
+        Batch batch = new Batch(nextBatchId.getAndIncrement());
+        try {
+            // Claims are released once the batch is appended or rolled back
+            UnitOfWork.run(() -> {
+                runClaimed(batch, work);
+                return null;
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        if (batch.lastSequence > 0) {
+            log.awaitDurable(batch.lastSequence);
+        }
+    }
+
+    private void runClaimed(Batch batch, BatchWork work) {
+        currentBatch.set(batch);
+        try {
+            work.run();
+            if (batch.records > 0) {
+                appendBatchPart(batch, true);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(rolledBack(batch, e));
+        } catch (RuntimeException e) {
+            throw rolledBack(batch, e);
+        } catch (Error e) {
+            throw rolledBack(batch, e);
+        } finally {
+            currentBatch.remove();
+        }
+    }
+
+    private <E extends Throwable> E rolledBack(Batch batch, E failure) {
+        try {
+            rollBack(batch);
+        } catch (IOException | RuntimeException rollbackFailure) {
+            failure.addSuppressed(rollbackFailure);
+        }
+        return failure;
+    }
+
+    /**
+     * Puts back what the batch changed and cancels the parts already logged
+     */
+    private void rollBack(Batch batch) throws IOException {
+        batch.rollingBack = true;
+        for (int i = batch.undo.size() - 1; i >= 0; i--) {
+            batch.undo.get(i).run();
+        }
+        if (batch.lastSequence > 0) {
+            BinaryWriter out = new BinaryWriter();
+            out.writeByte(EntityCodecs.FORMAT_VERSION);
+            out.writeByte(BATCH_ABORT);
+            out.writeLong(batch.id);
+            log.commit(out.toByteArray());
+        }
+    }
+
+    /**
+     * Logs the records buffered by the batch as one part:
+     * [version][BATCH][batch ID][last][records...][BATCH_END], each record
+     * being [section][operation][body]. One writer encodes every record of
+     * the part, so symbols are shared between them.
+     */
+    private void appendBatchPart(Batch batch, boolean last) throws IOException {
+        BinaryWriter out = batch.writer;
+        out.writeByte(BATCH_END);
+        byte[] header = batch.header(last);
+        byte[] records = out.toByteArray();
+        byte[] payload = Arrays.copyOf(header, header.length + records.length);
+        System.arraycopy(records, 0, payload, header.length, records.length);
+        batch.lastSequence = log.append(payload);
+        loggedBytes.addAndGet(payload.length + 8);
+        out.reset();
+        batch.records = 0;
+    }
+
+    private void writeSnapshot(DataOutputStream stream) throws IOException {
+        BinaryWriter out = new BinaryWriter(stream);
+        out.writeInt(EntityCodecs.FORMAT_VERSION);
+        out.writeInt(sections.size());
+        for (Section section : sections) {
+            out.writeInt(section.id);
+            section.writeSnapshot(out);
+        }
+        out.flush();
+    }
+
+    private long readSnapshot(DataInputStream stream) throws IOException {
+        BinaryReader in = new BinaryReader(stream);
+        checkFormatVersion(in.readInt());
+        int sectionCount = in.readInt();
+        long entities = 0;
+        for (int i = 0; i < sectionCount; i++) {
+            int sectionId = in.readInt();
+            if (sectionId < 0 || sectionId >= sections.size()) {
+                throw new IOException("Sección desconocida en el snapshot: " + sectionId);
+            }
+            entities += sections.get(sectionId).readSnapshot(in);
+        }
+        return entities;
+    }
+
+    private static void checkFormatVersion(int version) throws IOException {
+        if (version != EntityCodecs.FORMAT_VERSION) {
+            throw new IOException("Versión de formato no soportada: " + version);
+        }
+    }
+
+    private void checkpointIfNeeded() {
+        if (loggedBytes.get() < CHECKPOINT_THRESHOLD_BYTES || currentBatch.get() != null) {
+            return;
+        }
+        checkpointLock.writeLock().lock();
+        try {
+            // Another thread may have checkpointed while this one waited
+            if (loggedBytes.get() >= CHECKPOINT_THRESHOLD_BYTES) {
+                checkpoint();
+            }
+        } catch (IOException e) {
+            // The log still holds every change; try again after another
+            // threshold's worth of records
+            loggedBytes.set(0);
+        } finally {
+            checkpointLock.writeLock().unlock();
+        }
+    }
+
+    private void apply(ByteBuffer payload) throws IOException {
+        BinaryReader in = new BinaryReader(payload.array(), payload.position(), payload.remaining());
+        checkFormatVersion(in.readByte());
+        byte sectionId = in.readByte();
+        switch (sectionId) {
+            case BATCH -> {
+                long batchId = in.readLong();
+                nextBatchId.accumulateAndGet(batchId + 1, Math::max);
+                if (!in.readBoolean()) {
+                    pendingParts.computeIfAbsent(batchId, id -> new ArrayList<>()).add(payload);
+                    return;
+                }
+                for (ByteBuffer part : pendingParts.getOrDefault(batchId, List.of())) {
+                    applyBatchPart(part);
+                }
+                pendingParts.remove(batchId);
+                applyRecords(in);
+            }
+            case BATCH_ABORT -> pendingParts.remove(in.readLong());
+            default -> section(sectionId).apply(in.readByte(), in);
+        }
+    }
+
+    private void applyBatchPart(ByteBuffer part) throws IOException {
+        BinaryReader in = new BinaryReader(part.array(), part.position(), part.remaining());
+        in.readByte(); // version
+        in.readByte(); // BATCH
+        in.readLong();
+        in.readBoolean();
+        applyRecords(in);
+    }
+
+    private void applyRecords(BinaryReader in) throws IOException {
+        for (byte sectionId = in.readByte(); sectionId != BATCH_END; sectionId = in.readByte()) {
+            section(sectionId).apply(in.readByte(), in);
+        }
+    }
+
+    private Section section(int sectionId) throws IOException {
+        if (sectionId < 0 || sectionId >= sections.size()) {
+            throw new IOException("Sección desconocida en el log: " + sectionId);
+        }
+        return sections.get(sectionId);
+    }
+
+    /**
+     * Logs a change already made in memory
+     *
+     * @param undo Puts back what the change replaced, run if the change is
+     *             rolled back with its batch or cannot be logged; null if the
+     *             change cannot be undone
+     */
+    private void record(int sectionId, byte operation, RecordBody body, Runnable undo) {
+        if (!recording || undoingUnlogged.get()[0]) {
+            return;
+        }
+        Batch batch = currentBatch.get();
+        if (batch != null) {
+            if (!batch.rollingBack) {
+                // Before buffering: a part that fails to append rolls back this change too
+                if (undo != null) {
+                    batch.undo.add(undo);
+                }
+                recordInBatch(batch, sectionId, operation, body);
+            }
+            return;
+        }
+        BinaryWriter out = recordWriter.get();
+        out.reset();
+        try {
+            out.writeByte(EntityCodecs.FORMAT_VERSION);
+            out.writeByte(sectionId);
+            out.writeByte(operation);
+            body.write(out);
+            long[] unsynced = unsyncedSequence.get();
+            unsynced[0] = log.append(out.toByteArray());
+        } catch (IOException e) {
+            throw undoUnlogged(undo, new UncheckedIOException(e));
+        } catch (RuntimeException e) {
+            throw undoUnlogged(undo, e);
+        } catch (Error e) {
+            throw undoUnlogged(undo, e);
+        }
+        loggedBytes.addAndGet(out.size() + 8);
+    }
+
+    /**
+     * Undoes a change that did not reach the log, without logging the undo
+     */
+    private <E extends Throwable> E undoUnlogged(Runnable undo, E failure) {
+        if (undo == null) {
+            return failure;
+        }
+        boolean[] undoing = undoingUnlogged.get();
+        undoing[0] = true;
+        try {
+            undo.run();
+        } catch (RuntimeException undoFailure) {
+            failure.addSuppressed(undoFailure);
+        } finally {
+            undoing[0] = false;
+        }
+        return failure;
+    }
+
+    /**
+     * Waits for the records this thread appended outside a batch to be
+     * durable. Called with no store locked.
+     */
+    private void awaitUnsynced() {
+        long[] unsynced = unsyncedSequence.get();
+        long sequence = unsynced[0];
+        if (sequence == 0) {
+            return;
+        }
+        unsynced[0] = 0;
+        log.awaitDurable(sequence);
+        checkpointIfNeeded();
+    }
+
+    private void recordInBatch(Batch batch, int sectionId, byte operation, RecordBody body) {
+        try {
+            batch.writer.writeByte(sectionId);
+            batch.writer.writeByte(operation);
+            body.write(batch.writer);
+            batch.records++;
+            if (batch.writer.size() >= BATCH_PART_SIZE) {
+                appendBatchPart(batch, false);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Registers how to undo a change made inside the current batch
+     */
+    private <K, V> void addStore(EntityStore<K, V> store, EntityCodec<V> codec, Consumer<V> restore) {
+        StoreSection<K, V> section = new StoreSection<>(sections.size(), store, codec, restore);
+        sections.add(section);
+        store.addListener(section);
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    private static <K, V> Consumer<V> inPlace(EntityStore<K, V> store, BiConsumer<V, V> copyFields) {
+        return restored -> {
+            V existing = store.get(store.keyOf(restored));
+            if (existing == null) {
+                store.put(restored);
+            } else {
+                copyFields.accept(existing, restored);
+                store.put(existing);
+            }
+        };
+    }
+
+    private static void writeKey(BinaryWriter out, Object key) throws IOException {
+        if (key instanceof Integer id) {
+            out.writeByte(INT_KEY);
+            out.writeInt(id);
+        } else {
+            out.writeByte(STRING_KEY);
+            out.writeString(key.toString());
+        }
+    }
+
+    private static Object readKey(BinaryReader in) throws IOException {
+        byte type = in.readByte();
+        return switch (type) {
+            case INT_KEY -> in.readInt();
+            case STRING_KEY -> in.readString();
+            default -> throw new IOException("Tipo de clave desconocido en el log: " + type);
+        };
+    }
+
+    @FunctionalInterface
+    private interface RecordBody {
+        void write(BinaryWriter out) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface BatchWork {
+        void run() throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface LockedWork {
+        long run() throws IOException;
+    }
+
+    private static class Batch {
+        final long id;
+        final BinaryWriter writer = new BinaryWriter();
+        final List<Runnable> undo = new ArrayList<>();
+        int records;
+        long lastSequence;
+        boolean rollingBack;
+
+        Batch(long id) {
+            this.id = id;
+        }
+
+        byte[] header(boolean last) throws IOException {
+            BinaryWriter out = new BinaryWriter();
+            out.writeByte(EntityCodecs.FORMAT_VERSION);
+            out.writeByte(BATCH);
+            out.writeLong(id);
+            out.writeBoolean(last);
+            return out.toByteArray();
+        }
+    }
+
+    /**
+     * Outcome of {@link #recover(Runnable)}
+     *
+     * @param seeded           true if the initial data was loaded instead
+     * @param snapshotBytes    Size of the snapshot read (or written, if seeded)
+     * @param snapshotEntities Entities loaded from the snapshot
+     * @param replayedRecords  Log records replayed after the snapshot
+     * @param elapsedMillis    Total restore time
+     */
+    public record RecoveryStats(boolean seeded, long snapshotBytes, long snapshotEntities,
+            long replayedRecords, long elapsedMillis) {
+    }
+
+    /**
+     * Part of the log owned by one repository
+     */
+    private abstract class Section {
+        final int id;
+
+        Section(int id) {
+            this.id = id;
+        }
+
+        abstract void apply(byte operation, BinaryReader in) throws IOException;
+
+        /**
+         * Writes the current state as [int count][entities]
+         */
+        abstract void writeSnapshot(BinaryWriter out) throws IOException;
+
+        /**
+         * Loads what {@link #writeSnapshot} wrote, returning the count
+         */
+        abstract int readSnapshot(BinaryReader in) throws IOException;
+
+        abstract void reset();
+
+        /**
+         * Runs the work with no change to this section possible meanwhile
+         */
+        abstract long whileLocked(LockedWork work) throws IOException;
+    }
+
+    private class StoreSection<K, V> extends Section implements StoreListener<K, V> {
+        private final EntityStore<K, V> store;
+        private final EntityCodec<V> codec;
+        private final Consumer<V> restore;
+
+        StoreSection(int id, EntityStore<K, V> store, EntityCodec<V> codec, Consumer<V> restore) {
+            super(id);
+            this.store = store;
+            this.codec = codec;
+            this.restore = restore;
+        }
+
+        @Override
+        public void stored(K key, V previous, V entity) {
+            record(id, PUT, out -> codec.write(out, entity),
+                    previous == null ? () -> store.remove(key) : () -> store.put(previous));
+        }
+
+        @Override
+        public void removed(K key, V entity) {
+            record(id, REMOVE, out -> writeKey(out, key), () -> store.put(entity));
+        }
+
+        @Override
+        public void cleared(List<V> removed) {
+            record(id, CLEAR, out -> {
+            }, () -> store.putAll(removed));
+        }
+
+        @Override
+        public void released() {
+            awaitUnsynced();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        void apply(byte operation, BinaryReader in) throws IOException {
+            switch (operation) {
+                case PUT -> restore.accept(codec.read(in));
+                case REMOVE -> store.remove((K) readKey(in));
+                case CLEAR -> store.clear();
+                default -> throw new IOException("Operación desconocida en el log: " + operation);
+            }
+        }
+
+        @Override
+        void writeSnapshot(BinaryWriter out) throws IOException {
+            out.writeInt(store.size());
+            for (V entity : store.values()) {
+                codec.write(out, entity);
+            }
+        }
+
+        @Override
+        int readSnapshot(BinaryReader in) throws IOException {
+            int count = in.readInt();
+            store.reserve(count);
+            // One write lock for the whole section instead of one per entity
+            try {
+                store.write(() -> {
+                    try {
+                        for (int i = 0; i < count; i++) {
+                            restore.accept(codec.read(in));
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            return count;
+        }
+
+        @Override
+        void reset() {
+            store.clear();
+        }
+
+        @Override
+        long whileLocked(LockedWork work) throws IOException {
+            try {
+                return store.read(() -> {
+                    try {
+                        return work.run();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    private class ParametersSection extends Section {
+        private final InMemorySystemParametersRepository repository;
+        private final EntityCodec<SystemParameters> codec = EntityCodecs.systemParameters();
+
+        ParametersSection(int id, InMemorySystemParametersRepository repository) {
+            super(id);
+            this.repository = repository;
+            repository.onChange(this::stored);
+        }
+
+        private void stored(SystemParameters parameters) {
+            record(id, PUT, out -> codec.write(out, parameters), null);
+            awaitUnsynced();
+        }
+
+        @Override
+        void apply(byte operation, BinaryReader in) throws IOException {
+            if (operation != PUT) {
+                throw new IOException("Operación desconocida en el log: " + operation);
+            }
+            repository.update(codec.read(in));
+        }
+
+        @Override
+        void writeSnapshot(BinaryWriter out) throws IOException {
+            out.writeInt(1);
+            codec.write(out, repository.get());
+        }
+
+        @Override
+        int readSnapshot(BinaryReader in) throws IOException {
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                repository.update(codec.read(in));
+            }
+            return count;
+        }
+
+        @Override
+        void reset() {
+            // Parameters always exist; replay overwrites the defaults
+        }
+
+        @Override
+        long whileLocked(LockedWork work) throws IOException {
+            // The repository's changes are synchronized on it
+            synchronized (repository) {
+                return work.run();
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package biblioteca.data.database;
+
+import biblioteca.domain.entities.Copy;
+import biblioteca.domain.entities.EntityResolver;
+import biblioteca.domain.entities.Member;
+
+/**
+ * Resuelve las referencias de préstamos y multas con los repositorios de
+ * socios y ejemplares: en memoria es una búsqueda en su almacén; sobre la
+ * base de datos pasa por la caché de identidad del repositorio.
+ */
+public class RepositoryResolver implements EntityResolver {
+    private final MemberRepository memberRepository;
+    private final CopyRepository copyRepository;
+
+    public RepositoryResolver(MemberRepository memberRepository, CopyRepository copyRepository) {
+        this.memberRepository = memberRepository;
+        this.copyRepository = copyRepository;
+    }
+
+    @Override
+    public Member findMember(String memberId) {
+        return memberRepository.findById(memberId);
+    }
+
+    @Override
+    public Copy findCopy(String copyCode) {
+        return copyRepository.findByCode(copyCode);
+    }
+}
@@ -5,49 +5,26 @@ import biblioteca.domain.entities.SystemParameters;
 /**
  * Repository for system parameters (singleton pattern)
  */
-public class SystemParametersRepository {
-    private SystemParameters parameters;
-
-    public SystemParametersRepository() {
-        // Initialize with default parameters
-        this.parameters = new SystemParameters(
-                3, // maxLoansPerMember - default
-                14, // loanDays - 14 days standard
-                5.0, // finePerDay - $5 per day
-                5 // maxActiveReservationsPerMember - 5 reservations max
-        );
-    }
+public interface SystemParametersRepository {
 
     /**
      * Get system parameters
      */
-    public SystemParameters get() {
-        return parameters;
-    }
+    SystemParameters get();
 
     /**
      * Update system parameters
      */
-    public void update(SystemParameters parameters) {
-        this.parameters = parameters;
-    }
+    void update(SystemParameters parameters);
 
     /**
      * Update individual parameters
      */
-    public void updateMaxLoansPerMember(int maxLoans) {
-        parameters.setMaxLoansPerMember(maxLoans);
-    }
+    void updateMaxLoansPerMember(int maxLoans);
 
-    public void updateLoanDays(int loanDays) {
-        parameters.setLoanDays(loanDays);
-    }
+    void updateLoanDays(int loanDays);
 
-    public void updateFinePerDay(double finePerDay) {
-        parameters.setFinePerDay(finePerDay);
-    }
+    void updateFinePerDay(double finePerDay);
 
-    public void updateMaxActiveReservationsPerMember(int maxReservations) {
-        parameters.setMaxActiveReservationsPerMember(maxReservations);
-    }
+    void updateMaxActiveReservationsPerMember(int maxReservations);
 }
@@ -0,0 +1,31 @@
+package biblioteca.data.database.jdbc;
+
+import java.sql.SQLException;
+
+/**
+ * Unchecked failure of the database behind a JDBC repository.
+ * The repository interfaces do not declare checked exceptions, so SQL
+ * errors are wrapped in this one.
+ */
+public class DataAccessException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructor with message and cause
+     * 
+     * @param message Error message
+     * @param cause   Original exception
+     */
+    public DataAccessException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    /**
+     * Constructor from an SQL error
+     * 
+     * @param cause Original exception
+     */
+    public DataAccessException(SQLException cause) {
+        super("Error de base de datos: " + cause.getMessage(), cause);
+    }
+}
@@ -0,0 +1,14 @@
+package biblioteca.data.database.jdbc;
+
+import biblioteca.data.database.AuthorRepository;
+import biblioteca.domain.entities.Author;
+
+/**
+ * Author repository backed by the "authors" table
+ */
+public class JdbcAuthorRepository extends JdbcNamedRepository<Author> implements AuthorRepository {
+
+    public JdbcAuthorRepository(JdbcDatabase database) {
+        super(database, "authors", Author::new, Author::getId, Author::getName, Author::setId);
+    }
+}
@@ -0,0 +1,182 @@
+package biblioteca.data.database.jdbc;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.Map;
+
+import biblioteca.data.database.BookRepository;
+import biblioteca.data.database.BookSearchIndex;
+import biblioteca.data.store.TextNormalizer;
+import biblioteca.domain.entities.Author;
+import biblioteca.domain.entities.Book;
+import biblioteca.domain.entities.Category;
+import biblioteca.domain.entities.Publisher;
+
+/**
+ * Book repository backed by the "books" table.
+ *
+ * Every book stores its search terms as " term1 term2 ... ", so the
+ * candidates of a text search are found with one LIKE per query term and
+ * ranked in memory exactly like {@link BookSearchIndex} does.
+ */
+public class JdbcBookRepository implements BookRepository {
+    private static final String SELECT = "SELECT b.id, b.title, b.publication_year,"
+            + " a.id AS author_id, a.name AS author_name, c.id AS category_id, c.name AS category_name,"
+            + " p.id AS publisher_id, p.name AS publisher_name FROM books b"
+            + " LEFT JOIN authors a ON a.id = b.author_id"
+            + " LEFT JOIN categories c ON c.id = b.category_id"
+            + " LEFT JOIN publishers p ON p.id = b.publisher_id";
+    private static final String INSERT = "INSERT INTO books (title, title_key, author_id, category_id,"
+            + " publisher_id, publication_year, search_terms, id) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE = "UPDATE books SET title = ?, title_key = ?, author_id = ?,"
+            + " category_id = ?, publisher_id = ?, publication_year = ?, search_terms = ? WHERE id = ?";
+    // A query of N terms reuses one prepared statement per N
+    private static final Map<Integer, String> SEARCH_BY_TERM_COUNT = new HashMap<>();
+
+    private final JdbcDatabase database;
+    private int nextId;
+
+    public JdbcBookRepository(JdbcDatabase database) {
+        this.database = database;
+        recomputeNextId();
+    }
+
+    @Override
+    public void loadDummyData(List<Book> initialData) {
+        database.inTransaction(connection -> {
+            database.update("DELETE FROM books");
+            return database.batch(INSERT, initialData, JdbcBookRepository::parameters);
+        });
+        recomputeNextId();
+    }
+
+    @Override
+    public synchronized Book save(Book book) {
+        book.setId(nextId++);
+        database.update(INSERT, parameters(book));
+        return book;
+    }
+
+    @Override
+    public List<Book> saveAll(List<Book> books) {
+        synchronized (this) {
+            for (Book book : books) {
+                book.setId(nextId++);
+            }
+        }
+        database.batch(INSERT, books, JdbcBookRepository::parameters);
+        return books;
+    }
+
+    @Override
+    public Book findById(int id) {
+        return database.queryOne(SELECT + " WHERE b.id = ?", JdbcBookRepository::map, id);
+    }
+
+    @Override
+    public List<Book> findAll() {
+        return database.query(SELECT + " ORDER BY b.id", JdbcBookRepository::map);
+    }
+
+    @Override
+    public void forEach(Consumer<? super Book> action) {
+        database.forEach(SELECT + " ORDER BY b.id", JdbcBookRepository::map, action);
+    }
+
+    @Override
+    public boolean existsByTitle(String title) {
+        return database.queryNumber("SELECT COUNT(*) FROM books WHERE title_key = ?",
+                TextNormalizer.normalize(title)) > 0;
+    }
+
+    @Override
+    public boolean existsById(int id) {
+        return database.queryNumber("SELECT COUNT(*) FROM books WHERE id = ?", id) > 0;
+    }
+
+    @Override
+    public synchronized int getNextId() {
+        return nextId;
+    }
+
+    @Override
+    public boolean deleteById(int id) {
+        return database.update("DELETE FROM books WHERE id = ?", id) > 0;
+    }
+
+    @Override
+    public Book update(Book book) {
+        return database.update(UPDATE, parameters(book)) > 0 ? book : null;
+    }
+
+    @Override
+    public List<Book> searchByText(String query) {
+        List<String> terms = BookSearchIndex.tokenize(query);
+        if (terms.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Object[] patterns = new Object[terms.size()];
+        for (int i = 0; i < patterns.length; i++) {
+            patterns[i] = "% " + JdbcDatabase.escapeLike(terms.get(i)) + "%";
+        }
+        Map<Book, Integer> scores = new HashMap<>();
+        for (Book book : database.query(searchSql(terms.size()), JdbcBookRepository::map, patterns)) {
+            int score = BookSearchIndex.score(book, terms);
+            if (score >= 0) {
+                scores.put(book, score);
+            }
+        }
+        List<Book> ranked = new ArrayList<>(scores.keySet());
+        ranked.sort(Comparator.comparing((Book book) -> scores.get(book)).reversed()
+                .thenComparing(Book::getId));
+        return ranked;
+    }
+
+    private static synchronized String searchSql(int termCount) {
+        return SEARCH_BY_TERM_COUNT.computeIfAbsent(termCount, count -> {
+            StringBuilder sql = new StringBuilder(SELECT).append(" WHERE ");
+            for (int i = 0; i < count; i++) {
+                sql.append(i > 0 ? " AND " : "").append("b.search_terms LIKE ? ESCAPE '\\'");
+            }
+            return sql.toString();
+        });
+    }
+
+    private void recomputeNextId() {
+        int maxId = (int) database.queryNumber("SELECT MAX(id) FROM books");
+        synchronized (this) {
+            nextId = maxId + 1;
+        }
+    }
+
+    private static Book map(ResultSet resultSet) throws SQLException {
+        int authorId = resultSet.getInt("author_id");
+        Author author = resultSet.wasNull() ? null : new Author(authorId, resultSet.getString("author_name"));
+        int categoryId = resultSet.getInt("category_id");
+        Category category = resultSet.wasNull() ? null
+                : new Category(categoryId, resultSet.getString("category_name"));
+        int publisherId = resultSet.getInt("publisher_id");
+        Publisher publisher = resultSet.wasNull() ? null
+                : new Publisher(publisherId, resultSet.getString("publisher_name"));
+        return new Book(resultSet.getInt("id"), resultSet.getString("title"), author, category, publisher,
+                resultSet.getInt("publication_year"));
+    }
+
+    private static Object[] parameters(Book book) {
+        return new Object[] {
+                book.getTitle(),
+                TextNormalizer.normalize(book.getTitle()),
+                book.getAuthor() != null ? book.getAuthor().getId() : null,
+                book.getCategory() != null ? book.getCategory().getId() : null,
+                book.getPublisher() != null ? book.getPublisher().getId() : null,
+                book.getYear(),
+                " " + String.join(" ", BookSearchIndex.terms(book)) + " ",
+                book.getId() };
+    }
+}
@@ -0,0 +1,14 @@
+package biblioteca.data.database.jdbc;
+
+import biblioteca.data.database.CategoryRepository;
+import biblioteca.domain.entities.Category;
+
+/**
+ * Category repository backed by the "categories" table
+ */
+public class JdbcCategoryRepository extends JdbcNamedRepository<Category> implements CategoryRepository {
+
+    public JdbcCategoryRepository(JdbcDatabase database) {
+        super(database, "categories", Category::new, Category::getId, Category::getName, Category::setId);
+    }
+}
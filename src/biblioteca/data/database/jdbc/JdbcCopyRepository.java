@@ -0,0 +1,222 @@
+package biblioteca.data.database.jdbc;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import biblioteca.data.database.BookRepository;
+import biblioteca.data.database.CopyCodes;
+import biblioteca.data.database.CopyRepository;
+import biblioteca.data.ids.IdKind;
+import biblioteca.data.ids.IdSequence;
+import biblioteca.data.ids.IdService;
+import biblioteca.data.store.IdentityCache;
+import biblioteca.data.store.StoreListener;
+import biblioteca.data.store.StoreListeners;
+import biblioteca.domain.entities.Book;
+import biblioteca.domain.entities.Copy;
+import biblioteca.domain.enums.CopyOrigin;
+import biblioteca.domain.enums.CopyState;
+
+/**
+ * Copy repository backed by the "copies" table, indexed by book and state.
+ * Books are resolved through the book repository, once per query; copies
+ * looked up by code are kept in a bounded identity cache.
+ */
+public class JdbcCopyRepository implements CopyRepository {
+    private static final String SELECT = "SELECT code, state, origin, book_id, version FROM copies";
+    private static final String INSERT = "INSERT INTO copies (state, origin, book_id, code) VALUES (?, ?, ?, ?)";
+    private static final String UPDATE = "UPDATE copies SET state = ?, origin = ?, book_id = ?,"
+            + " version = version + 1 WHERE code = ?";
+    // The row lock taken by the update orders concurrent calls; the loser
+    // then matches no row
+    private static final String COMPARE_AND_SET_STATE = "UPDATE copies SET state = ?, version = version + 1"
+            + " WHERE code = ? AND state = ? AND version = ?";
+
+    private final JdbcDatabase database;
+    private final BookRepository bookRepository;
+    // Copies by code, shared by the loans that reference them
+    private final IdentityCache<String, Copy> cache = new IdentityCache<>(JdbcDatabase.IDENTITY_CACHE_SIZE);
+    private final StoreListeners<String, Copy> listeners = new StoreListeners<>();
+    private final IdSequence codeNumbers;
+
+    public JdbcCopyRepository(JdbcDatabase database, BookRepository bookRepository, IdService idService) {
+        this.database = database;
+        this.bookRepository = bookRepository;
+        this.codeNumbers = idService.sequence(IdKind.COPY);
+        database.onRollback(cache::clear);
+        database.onCommit(cache::discardLoadsInFlight);
+        // Copy numbers are marked by the ID service; only a database it
+        // has never seen is read to find the highest one
+        if (!codeNumbers.hasStoredMark()) {
+            updateNextCodeNumber();
+        }
+    }
+
+    @Override
+    public void loadDummyData(List<Copy> initialData) {
+        database.inTransaction(connection -> {
+            database.update("DELETE FROM copies");
+            return database.batch(INSERT, initialData, JdbcCopyRepository::parameters);
+        });
+        cache.clear();
+        codeNumbers.advancePast(initialData.stream()
+                .mapToLong(copy -> CopyCodes.number(copy.getCode()))
+                .max()
+                .orElse(0));
+    }
+
+    @Override
+    public List<Copy> createCopies(Book book, int quantity, CopyOrigin origin) {
+        List<Copy> newCopies = new ArrayList<>();
+        for (int i = 0; i < quantity; i++) {
+            newCopies.add(new Copy(generateUniqueCode(book), CopyState.AVAILABLE, origin, book));
+        }
+        database.batch(INSERT, newCopies, JdbcCopyRepository::parameters);
+        newCopies.forEach(copy -> listeners.stored(copy.getCode(), null, copy));
+        return newCopies;
+    }
+
+    @Override
+    public Copy findByCode(String code) {
+        return cache.get(code, key -> database.queryOne(SELECT + " WHERE code = ?", mapper(), key));
+    }
+
+    @Override
+    public List<Copy> findByBook(Book book) {
+        return database.query(SELECT + " WHERE book_id = ? ORDER BY code", mapper(), book.getId());
+    }
+
+    @Override
+    public List<Copy> findByState(CopyState state) {
+        return database.query(SELECT + " WHERE state = ? ORDER BY code", mapper(), state);
+    }
+
+    @Override
+    public List<Copy> findAvailableCopiesByBook(Book book) {
+        return database.query(SELECT + " WHERE book_id = ? AND state = ? ORDER BY code", mapper(),
+                book.getId(), CopyState.AVAILABLE);
+    }
+
+    @Override
+    public long countByBookAndState(Book book, CopyState state) {
+        return (long) database.queryNumber("SELECT COUNT(*) FROM copies WHERE book_id = ? AND state = ?",
+                book.getId(), state);
+    }
+
+    @Override
+    public long countByBook(Book book) {
+        return (long) database.queryNumber("SELECT COUNT(*) FROM copies WHERE book_id = ?", book.getId());
+    }
+
+    @Override
+    public Copy update(Copy copy) {
+        if (database.update(UPDATE, parameters(copy)) == 0) {
+            return null;
+        }
+        readVersion(copy);
+        cache.put(copy.getCode(), copy);
+        listeners.stored(copy.getCode(), copy, copy);
+        return copy;
+    }
+
+    @Override
+    public int updateAll(List<Copy> copies) {
+        int updated = database.batch(UPDATE, copies, JdbcCopyRepository::parameters);
+        for (Copy copy : copies) {
+            readVersion(copy);
+            cache.put(copy.getCode(), copy);
+            listeners.stored(copy.getCode(), copy, copy);
+        }
+        return updated;
+    }
+
+    @Override
+    public List<Copy> findAll() {
+        return database.query(SELECT + " ORDER BY code", mapper());
+    }
+
+    @Override
+    public void forEach(Consumer<? super Copy> action) {
+        Function<Integer, Book> books = JdbcDatabase.memoize(bookRepository::findById,
+                JdbcDatabase.SCAN_CACHE_SIZE);
+        database.forEach(SELECT + " ORDER BY code", resultSet -> map(resultSet, books), action);
+    }
+
+    @Override
+    public int deleteByBook(Book book) {
+        // The cache is not indexed by book; deleting a book's copies is rare
+        cache.clear();
+        List<Copy> copies = findByBook(book);
+        int deleted = database.update("DELETE FROM copies WHERE book_id = ?", book.getId());
+        copies.forEach(copy -> listeners.removed(copy.getCode(), copy));
+        return deleted;
+    }
+
+    @Override
+    public void addListener(StoreListener<String, Copy> listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public Copy compareAndSetState(Copy copy, CopyState newState) {
+        if (database.update(COMPARE_AND_SET_STATE, newState, copy.getCode(), copy.getState(),
+                copy.getVersion()) == 0) {
+            return null;
+        }
+        Copy changed = new Copy(copy.getCode(), newState, copy.getOrigin(), copy.getBook());
+        changed.setVersion(copy.getVersion() + 1);
+        cache.put(changed.getCode(), changed);
+        listeners.stored(changed.getCode(), copy, changed);
+        return changed;
+    }
+
+    /**
+     * Brings the version of an updated copy in line with its row, so that
+     * a later compare-and-set on the cached instance can succeed
+     */
+    private void readVersion(Copy copy) {
+        copy.setVersion((long) database.queryNumber("SELECT version FROM copies WHERE code = ?", copy.getCode()));
+    }
+
+    /**
+     * Next code for the book. The counter starts past every stored copy
+     * number and is shared by all books, so the code is not in the table.
+     */
+    private String generateUniqueCode(Book book) {
+        return CopyCodes.format(book.getId(), codeNumbers.next());
+    }
+
+    private void updateNextCodeNumber() {
+        codeNumbers.advancePast(database.query("SELECT code FROM copies",
+                resultSet -> CopyCodes.number(resultSet.getString(1))).stream()
+                .mapToLong(Long::longValue)
+                .max()
+                .orElse(0));
+    }
+
+    /**
+     * Row mapper for one query; rows of the same book share its instance
+     */
+    private JdbcDatabase.RowMapper<Copy> mapper() {
+        Function<Integer, Book> books = JdbcDatabase.memoize(bookRepository::findById);
+        return resultSet -> map(resultSet, books);
+    }
+
+    private static Copy map(ResultSet resultSet, Function<Integer, Book> books) throws SQLException {
+        String origin = resultSet.getString("origin");
+        Copy copy = new Copy(resultSet.getString("code"),
+                CopyState.valueOf(resultSet.getString("state")),
+                origin != null ? CopyOrigin.valueOf(origin) : null,
+                books.apply(resultSet.getInt("book_id")));
+        copy.setVersion(resultSet.getLong("version"));
+        return copy;
+    }
+
+    private static Object[] parameters(Copy copy) {
+        return new Object[] { copy.getState(), copy.getOrigin(), copy.getBook().getId(), copy.getCode() };
+    }
+}
@@ -0,0 +1,481 @@
+package biblioteca.data.database.jdbc;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Embedded SQL database accessed through JDBC, shared by the JDBC
+ * repositories.
+ *
+ * Keeps a small pool of connections, each with its own cache of prepared
+ * statements, so a repeated query is parsed and planned once per
+ * connection. Work started inside {@link #inTransaction} runs on the
+ * transaction's connection, so repository calls made from it join the
+ * transaction. Likewise the callback of {@link #forEach} runs its queries
+ * (e.g. resolving the entities a row references) on the scan's connection:
+ * waiting for a second one could block forever once every connection of
+ * the pool is held by a scan.
+ */
+public class JdbcDatabase implements AutoCloseable {
+    /**
+     * Rows the driver fetches per round trip in {@link #forEach}
+     */
+    private static final int FETCH_SIZE = 1000;
+
+    /**
+     * Entities a full scan keeps resolved; see {@link #memoize(Function, int)}
+     */
+    static final int SCAN_CACHE_SIZE = 10_000;
+
+    /**
+     * Members and copies a repository keeps in its identity cache
+     */
+    static final int IDENTITY_CACHE_SIZE = 10_000;
+
+    private final String url;
+    private final int maxConnections;
+    private final BlockingQueue<PooledConnection> idle;
+    private final List<PooledConnection> connections = new ArrayList<>();
+    private final ThreadLocal<PooledConnection> transactionConnection = new ThreadLocal<>();
+    private final ThreadLocal<PooledConnection> scanConnection = new ThreadLocal<>();
+    private final List<Runnable> rollbackListeners = new CopyOnWriteArrayList<>();
+    private final List<Runnable> commitListeners = new CopyOnWriteArrayList<>();
+    private boolean closed;
+    private boolean created;
+
+    private JdbcDatabase(String url, int maxConnections) {
+        this.url = url;
+        this.maxConnections = maxConnections;
+        this.idle = new ArrayBlockingQueue<>(maxConnections);
+    }
+
+    /**
+     * Connects to the database and creates the schema if it does not exist
+     *
+     * @param url            JDBC URL, e.g. "jdbc:h2:/ruta/biblioteca"
+     * @param maxConnections Size of the connection pool
+     * @return The database
+     * @throws DataAccessException if the database cannot be opened
+     */
+    public static JdbcDatabase open(String url, int maxConnections) {
+        if (maxConnections < 1) {
+            throw new IllegalArgumentException("El pool necesita al menos una conexión");
+        }
+        JdbcDatabase database = new JdbcDatabase(url, maxConnections);
+        try {
+            database.created = database.inTransaction(JdbcSchema::create);
+        } catch (RuntimeException e) {
+            database.close();
+            throw e;
+        }
+        return database;
+    }
+
+    /**
+     * Checks whether the schema was created when opening, i.e. the
+     * database holds no data yet
+     */
+    public boolean wasCreated() {
+        return created;
+    }
+
+    /**
+     * Runs the work in a transaction, committing it if the work returns
+     * normally and rolling it back otherwise. Nested calls join the
+     * outer transaction.
+     */
+    public <T> T inTransaction(SqlWork<T> work) {
+        PooledConnection current = transactionConnection.get();
+        if (current != null) {
+            return run(work, current);
+        }
+        PooledConnection scanning = scanConnection.get();
+        PooledConnection connection = scanning != null ? scanning : acquire();
+        boolean committed = false;
+        try {
+            connection.connection.setAutoCommit(false);
+            transactionConnection.set(connection);
+            T result = work.run(connection);
+            connection.connection.commit();
+            committed = true;
+            commitListeners.forEach(Runnable::run);
+            return result;
+        } catch (SQLException e) {
+            throw new DataAccessException(e);
+        } finally {
+            transactionConnection.remove();
+            // Whatever the work threw (Errors too): turning auto-commit back
+            // on would commit what it left half done
+            if (!committed) {
+                rollback(connection);
+                rollbackListeners.forEach(Runnable::run);
+            }
+            restoreAutoCommit(connection);
+            if (connection != scanning) {
+                release(connection);
+            }
+        }
+    }
+
+    /**
+     * Registers a callback run after a transaction is rolled back, e.g. to
+     * drop cached entities that the work had already changed
+     */
+    public void onRollback(Runnable listener) {
+        rollbackListeners.add(listener);
+    }
+
+    /**
+     * Registers a callback run after a transaction commits, e.g. so that a
+     * cache does not keep what another thread read before the commit
+     */
+    public void onCommit(Runnable listener) {
+        commitListeners.add(listener);
+    }
+
+    /**
+     * Runs the work on a pooled connection in auto-commit mode, or on the
+     * connection of the current transaction or scan
+     */
+    public <T> T withConnection(SqlWork<T> work) {
+        PooledConnection current = transactionConnection.get();
+        if (current == null) {
+            current = scanConnection.get();
+        }
+        if (current != null) {
+            return run(work, current);
+        }
+        PooledConnection connection = acquire();
+        try {
+            return run(work, connection);
+        } finally {
+            release(connection);
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (connections) {
+            closed = true;
+            for (PooledConnection connection : connections) {
+                connection.close();
+            }
+            connections.clear();
+            idle.clear();
+        }
+    }
+
+    <T> List<T> query(String sql, RowMapper<T> mapper, Object... parameters) {
+        return withConnection(connection -> {
+            PreparedStatement statement = connection.prepare(sql);
+            bind(statement, parameters);
+            List<T> rows = new ArrayList<>();
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    rows.add(mapper.map(resultSet));
+                }
+            }
+            return rows;
+        });
+    }
+
+    /**
+     * Runs a query handing each row to the action as it is read; the
+     * driver fetches the rows in blocks, so the result is never held in
+     * memory as a whole. The action's own queries run on the same
+     * connection.
+     */
+    <T> void forEach(String sql, RowMapper<T> mapper, Consumer<? super T> action, Object... parameters) {
+        SqlWork<Void> scan = connection -> {
+            PreparedStatement statement = connection.prepare(sql);
+            bind(statement, parameters);
+            statement.setFetchSize(FETCH_SIZE);
+            connection.scanning.add(statement);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    action.accept(mapper.map(resultSet));
+                }
+            } finally {
+                connection.scanning.remove(statement);
+            }
+            return null;
+        };
+        if (transactionConnection.get() != null || scanConnection.get() != null) {
+            withConnection(scan);
+            return;
+        }
+        PooledConnection connection = acquire();
+        scanConnection.set(connection);
+        try {
+            run(scan, connection);
+        } finally {
+            scanConnection.remove();
+            release(connection);
+        }
+    }
+
+    <T> T queryOne(String sql, RowMapper<T> mapper, Object... parameters) {
+        List<T> rows = query(sql, mapper, parameters);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    /**
+     * Runs a query whose first column is a number (COUNT, SUM, MAX...)
+     *
+     * @return The number, 0 if the query returns no row or NULL
+     */
+    double queryNumber(String sql, Object... parameters) {
+        Double value = queryOne(sql, resultSet -> resultSet.getDouble(1), parameters);
+        return value != null ? value : 0;
+    }
+
+    int update(String sql, Object... parameters) {
+        return withConnection(connection -> {
+            PreparedStatement statement = connection.prepare(sql);
+            bind(statement, parameters);
+            return statement.executeUpdate();
+        });
+    }
+
+    /**
+     * Runs one statement for every item as a single JDBC batch inside a
+     * transaction
+     *
+     * @return Number of rows changed
+     */
+    <T> int batch(String sql, List<T> items, ParameterBinder<T> binder) {
+        if (items.isEmpty()) {
+            return 0;
+        }
+        return inTransaction(connection -> {
+            PreparedStatement statement = connection.prepare(sql);
+            for (T item : items) {
+                bind(statement, binder.parameters(item));
+                statement.addBatch();
+            }
+            int changed = 0;
+            for (int count : statement.executeBatch()) {
+                // SUCCESS_NO_INFO: the driver does not report the count
+                changed += count == PreparedStatement.SUCCESS_NO_INFO ? 1 : Math.max(count, 0);
+            }
+            return changed;
+        });
+    }
+
+    /**
+     * Caches the results of a lookup (including nulls) for the duration of
+     * one query, so rows referencing the same entity resolve it once
+     */
+    static <K, V> Function<K, V> memoize(Function<K, V> lookup) {
+        Map<K, V> resolved = new HashMap<>();
+        return key -> {
+            if (resolved.containsKey(key)) {
+                return resolved.get(key);
+            }
+            V value = lookup.apply(key);
+            resolved.put(key, value);
+            return value;
+        };
+    }
+
+    /**
+     * Like {@link #memoize(Function)}, keeping only the most recently used
+     * results, for scans too large to resolve every entity at once
+     */
+    static <K, V> Function<K, V> memoize(Function<K, V> lookup, int maxEntries) {
+        Map<K, V> resolved = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        return key -> {
+            if (resolved.containsKey(key)) {
+                return resolved.get(key);
+            }
+            V value = lookup.apply(key);
+            resolved.put(key, value);
+            return value;
+        };
+    }
+
+    static Integer epochDay(LocalDate date) {
+        return date != null ? Math.toIntExact(date.toEpochDay()) : null;
+    }
+
+    static LocalDate date(ResultSet resultSet, String column) throws SQLException {
+        int epochDay = resultSet.getInt(column);
+        return resultSet.wasNull() ? null : LocalDate.ofEpochDay(epochDay);
+    }
+
+    /**
+     * LIKE pattern (with '\\' as escape character) matching any text that
+     * contains the given one
+     */
+    static String likeContaining(String text) {
+        return "%" + escapeLike(text) + "%";
+    }
+
+    /**
+     * Escapes the LIKE wildcards in user text
+     */
+    static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private static void bind(PreparedStatement statement, Object[] parameters) throws SQLException {
+        for (int i = 0; i < parameters.length; i++) {
+            Object parameter = parameters[i];
+            if (parameter == null) {
+                statement.setNull(i + 1, Types.NULL);
+            } else if (parameter instanceof Enum<?> value) {
+                statement.setString(i + 1, value.name());
+            } else {
+                statement.setObject(i + 1, parameter);
+            }
+        }
+    }
+
+    private <T> T run(SqlWork<T> work, PooledConnection connection) {
+        try {
+            return work.run(connection);
+        } catch (SQLException e) {
+            throw new DataAccessException(e);
+        }
+    }
+
+    private PooledConnection acquire() {
+        PooledConnection connection = idle.poll();
+        if (connection != null) {
+            return connection;
+        }
+        synchronized (connections) {
+            if (closed) {
+                throw new IllegalStateException("La base de datos está cerrada");
+            }
+            if (connections.size() < maxConnections) {
+                try {
+                    PooledConnection created = new PooledConnection(DriverManager.getConnection(url));
+                    connections.add(created);
+                    return created;
+                } catch (SQLException e) {
+                    throw new DataAccessException("No se pudo conectar a " + url, e);
+                }
+            }
+        }
+        try {
+            return idle.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DataAccessException("Interrumpido mientras se esperaba una conexión", null);
+        }
+    }
+
+    private void release(PooledConnection connection) {
+        synchronized (connections) {
+            if (closed) {
+                connection.close();
+                return;
+            }
+        }
+        idle.offer(connection);
+    }
+
+    private static void rollback(PooledConnection connection) {
+        try {
+            connection.connection.rollback();
+        } catch (SQLException e) {
+            // The original failure is the one worth reporting
+        }
+    }
+
+    private static void restoreAutoCommit(PooledConnection connection) {
+        try {
+            connection.connection.setAutoCommit(true);
+        } catch (SQLException e) {
+            // Reported again by the next statement on this connection
+        }
+    }
+
+    /**
+     * Connection of the pool with its prepared statement cache
+     */
+    public static final class PooledConnection {
+        private final Connection connection;
+        private final Map<String, List<PreparedStatement>> statements = new HashMap<>();
+        // Statements whose result a forEach is still reading
+        private final Set<PreparedStatement> scanning = new HashSet<>();
+
+        private PooledConnection(Connection connection) {
+            this.connection = connection;
+        }
+
+        /**
+         * Returns the cached prepared statement for the SQL, preparing it
+         * on first use. While a scan reads the result of one, the same SQL
+         * gets another statement, since running it again would close the
+         * scan's result.
+         */
+        public PreparedStatement prepare(String sql) throws SQLException {
+            List<PreparedStatement> cached = statements.computeIfAbsent(sql, key -> new ArrayList<>(1));
+            for (PreparedStatement statement : cached) {
+                if (!scanning.contains(statement)) {
+                    return statement;
+                }
+            }
+            PreparedStatement statement = connection.prepareStatement(sql);
+            cached.add(statement);
+            return statement;
+        }
+
+        /**
+         * Runs a statement without caching it (DDL)
+         */
+        public void execute(String sql) throws SQLException {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(sql);
+            }
+        }
+
+        private void close() {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                // Closing on shutdown; nothing left to do with it
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface SqlWork<T> {
+        T run(PooledConnection connection) throws SQLException;
+    }
+
+    @FunctionalInterface
+    interface RowMapper<T> {
+        T map(ResultSet resultSet) throws SQLException;
+    }
+
+    @FunctionalInterface
+    interface ParameterBinder<T> {
+        Object[] parameters(T item);
+    }
+}
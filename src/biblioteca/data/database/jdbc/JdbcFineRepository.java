@@ -0,0 +1,165 @@
+package biblioteca.data.database.jdbc;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+
+import biblioteca.data.database.FineRepository;
+import biblioteca.data.ids.IdKind;
+import biblioteca.data.ids.IdSequence;
+import biblioteca.data.ids.IdService;
+import biblioteca.data.store.StoreListener;
+import biblioteca.data.store.StoreListeners;
+import biblioteca.domain.entities.EntityResolver;
+import biblioteca.domain.entities.Fine;
+import biblioteca.domain.entities.Member;
+
+/**
+ * Fine repository backed by the "fines" table. Unpaid balances are
+ * aggregated by the database over the (member, paid) index.
+ */
+public class JdbcFineRepository implements FineRepository {
+    private static final String SELECT = "SELECT id, member_id, amount, issue_day, paid, paid_day FROM fines";
+    private static final String INSERT = "INSERT INTO fines (member_id, amount, issue_day, paid, paid_day, id)"
+            + " VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE = "UPDATE fines SET member_id = ?, amount = ?, issue_day = ?, paid = ?,"
+            + " paid_day = ? WHERE id = ?";
+
+    private final JdbcDatabase database;
+    private final EntityResolver resolver;
+    private final StoreListeners<String, Fine> listeners = new StoreListeners<>();
+    private final IdSequence ids;
+
+    public JdbcFineRepository(JdbcDatabase database, EntityResolver resolver, IdService idService) {
+        this.database = database;
+        this.resolver = resolver;
+        this.ids = idService.sequence(IdKind.FINE);
+        if (!ids.hasStoredMark()) {
+            recomputeNextId();
+        }
+    }
+
+    @Override
+    public Fine save(Fine fine) {
+        if (fine.getId() == null) {
+            // Create a new fine with generated ID
+            Fine fineWithId = new Fine(ids.nextId(), fine.getMemberId(), fine.getAmount(),
+                    fine.getIssueDate(), resolver);
+            // Preserve payment state if the fine was already paid
+            if (fine.isPaid() && fine.getPaidDate() != null) {
+                fineWithId.pay(fine.getPaidDate());
+            }
+            database.update(INSERT, parameters(fineWithId));
+            listeners.stored(fineWithId.getId(), null, fineWithId);
+            return fineWithId;
+        }
+        // Keeps generated IDs ahead of explicitly assigned ones like "FINE0042"
+        ids.advancePast(fine.getId());
+        fine.attach(resolver);
+        boolean inserted = database.inTransaction(connection -> {
+            if (database.update(UPDATE, parameters(fine)) == 0) {
+                database.update(INSERT, parameters(fine));
+                return true;
+            }
+            return false;
+        });
+        listeners.stored(fine.getId(), inserted ? null : fine, fine);
+        return fine;
+    }
+
+    @Override
+    public List<Fine> findAll() {
+        return database.query(SELECT + " ORDER BY id", this::map);
+    }
+
+    @Override
+    public void forEach(Consumer<? super Fine> action) {
+        database.forEach(SELECT + " ORDER BY id", this::map, action);
+    }
+
+    @Override
+    public Fine findById(String id) {
+        return database.queryOne(SELECT + " WHERE id = ?", this::map, id);
+    }
+
+    @Override
+    public List<Fine> findByMember(Member member) {
+        return database.query(SELECT + " WHERE member_id = ? ORDER BY id", this::map, member.getId());
+    }
+
+    @Override
+    public List<Fine> findUnpaidByMember(Member member) {
+        return database.query(SELECT + " WHERE member_id = ? AND paid = FALSE ORDER BY id", this::map,
+                member.getId());
+    }
+
+    @Override
+    public List<Fine> findAllUnpaid() {
+        return database.query(SELECT + " WHERE paid = FALSE ORDER BY id", this::map);
+    }
+
+    @Override
+    public boolean markAsPaid(String fineId) {
+        if (database.update("UPDATE fines SET paid = TRUE, paid_day = ? WHERE id = ? AND paid = FALSE",
+                JdbcDatabase.epochDay(LocalDate.now()), fineId) == 0) {
+            return false;
+        }
+        Fine fine = findById(fineId);
+        listeners.stored(fineId, fine, fine);
+        return true;
+    }
+
+    @Override
+    public double getTotalUnpaidAmount(Member member) {
+        return database.queryNumber("SELECT SUM(amount) FROM fines WHERE member_id = ? AND paid = FALSE",
+                member.getId());
+    }
+
+    @Override
+    public int countUnpaidByMember(Member member) {
+        return (int) database.queryNumber("SELECT COUNT(*) FROM fines WHERE member_id = ? AND paid = FALSE",
+                member.getId());
+    }
+
+    @Override
+    public int count() {
+        return (int) database.queryNumber("SELECT COUNT(*) FROM fines");
+    }
+
+    @Override
+    public void clear() {
+        List<Fine> removed = findAll();
+        database.update("DELETE FROM fines");
+        listeners.cleared(removed);
+    }
+
+    @Override
+    public void addListener(StoreListener<String, Fine> listener) {
+        listeners.add(listener);
+    }
+
+    private void recomputeNextId() {
+        ids.advancePastAll(database.query("SELECT id FROM fines", resultSet -> resultSet.getString(1)).stream());
+    }
+
+    private Fine map(ResultSet resultSet) throws SQLException {
+        Fine fine = new Fine(resultSet.getString("id"), resultSet.getString("member_id"),
+                resultSet.getDouble("amount"), JdbcDatabase.date(resultSet, "issue_day"), resolver);
+        if (resultSet.getBoolean("paid")) {
+            fine.pay(JdbcDatabase.date(resultSet, "paid_day"));
+        }
+        return fine;
+    }
+
+    private static Object[] parameters(Fine fine) {
+        return new Object[] {
+                fine.getMemberId(),
+                fine.getAmount(),
+                JdbcDatabase.epochDay(fine.getIssueDate()),
+                fine.isPaid(),
+                JdbcDatabase.epochDay(fine.getPaidDate()),
+                fine.getId() };
+    }
+}
@@ -0,0 +1,230 @@
+package biblioteca.data.database.jdbc;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import biblioteca.data.database.LoanRepository;
+import biblioteca.data.ids.IdKind;
+import biblioteca.data.ids.IdSequence;
+import biblioteca.data.ids.IdService;
+import biblioteca.data.store.StoreListener;
+import biblioteca.data.store.StoreListeners;
+import biblioteca.domain.entities.Copy;
+import biblioteca.domain.entities.EntityResolver;
+import biblioteca.domain.entities.Loan;
+import biblioteca.domain.enums.LoanState;
+
+/**
+ * Repositorio de préstamos sobre la tabla "loans". Cada fila se lee sin
+ * consultar socios ni ejemplares: el préstamo los resuelve al pedirlos,
+ * con la caché de identidad de sus repositorios. Los préstamos abiertos se
+ * buscan por (estado, vencimiento) en el índice.
+ */
+public class JdbcLoanRepository implements LoanRepository {
+    private static final String SELECT = "SELECT id, member_id, copy_code, loan_day, due_day, return_day, state"
+            + " FROM loans";
+    private static final String OPEN = "state IN ('ACTIVE', 'OVERDUE')";
+    private static final String INSERT = "INSERT INTO loans (member_id, copy_code, loan_day, due_day, return_day,"
+            + " state, id) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE = "UPDATE loans SET member_id = ?, copy_code = ?, loan_day = ?,"
+            + " due_day = ?, return_day = ?, state = ? WHERE id = ?";
+
+    private final JdbcDatabase database;
+    private final EntityResolver resolver;
+    private final StoreListeners<String, Loan> listeners = new StoreListeners<>();
+    private final IdSequence ids;
+
+    public JdbcLoanRepository(JdbcDatabase database, EntityResolver resolver, IdService idService) {
+        this.database = database;
+        this.resolver = resolver;
+        this.ids = idService.sequence(IdKind.LOAN);
+        if (!ids.hasStoredMark()) {
+            recomputeNextId();
+        }
+    }
+
+    @Override
+    public void loadDummyData(List<Loan> dummyLoans) {
+        database.inTransaction(connection -> {
+            database.update("DELETE FROM loans");
+            return database.batch(INSERT, dummyLoans, JdbcLoanRepository::parameters);
+        });
+        ids.advancePastAll(dummyLoans.stream().map(Loan::getId));
+    }
+
+    @Override
+    public List<Loan> findAll() {
+        return database.query(SELECT + " ORDER BY id", this::map);
+    }
+
+    @Override
+    public void forEach(Consumer<? super Loan> action) {
+        database.forEach(SELECT + " ORDER BY id", this::map, action);
+    }
+
+    @Override
+    public Loan findById(String id) {
+        return database.queryOne(SELECT + " WHERE id = ?", this::map, id);
+    }
+
+    @Override
+    public List<Loan> findByMemberId(String memberId) {
+        return database.query(SELECT + " WHERE member_id = ? ORDER BY id", this::map, memberId);
+    }
+
+    @Override
+    public List<Loan> findByState(LoanState state) {
+        return database.query(SELECT + " WHERE state = ? ORDER BY id", this::map, state);
+    }
+
+    @Override
+    public List<Loan> findActiveLoansByMemberId(String memberId) {
+        return database.query(SELECT + " WHERE member_id = ? AND " + OPEN + " ORDER BY id", this::map, memberId);
+    }
+
+    @Override
+    public List<Loan> findOverdueLoans(LocalDate today) {
+        return database.query(SELECT + " WHERE " + OPEN + " AND due_day < ? ORDER BY due_day, id", this::map,
+                JdbcDatabase.epochDay(today));
+    }
+
+    @Override
+    public List<Loan> markOverdueLoans(LocalDate today) {
+        List<Loan> marked = database.inTransaction(connection -> {
+            List<Loan> markedLoans = database.query(
+                    SELECT + " WHERE state = ? AND due_day < ? ORDER BY due_day, id", this::map,
+                    LoanState.ACTIVE, JdbcDatabase.epochDay(today));
+            markedLoans.forEach(loan -> loan.setState(LoanState.OVERDUE));
+            database.batch("UPDATE loans SET state = ? WHERE id = ?", markedLoans,
+                    loan -> new Object[] { LoanState.OVERDUE, loan.getId() });
+            return markedLoans;
+        });
+        marked.forEach(loan -> listeners.stored(loan.getId(), loan, loan));
+        return marked;
+    }
+
+    @Override
+    public List<Loan> findByCopyCode(String copyCode) {
+        return database.query(SELECT + " WHERE copy_code = ? ORDER BY id", this::map, copyCode);
+    }
+
+    @Override
+    public Loan findActiveLoanByCopy(Copy copy) {
+        return database.queryOne(SELECT + " WHERE copy_code = ? AND " + OPEN, this::map, copy.getCode());
+    }
+
+    @Override
+    public List<Loan> findOverdueLoansByMemberId(String memberId) {
+        return database.query(SELECT + " WHERE member_id = ? AND " + OPEN + " AND due_day < ? ORDER BY id",
+                this::map, memberId, JdbcDatabase.epochDay(LocalDate.now()));
+    }
+
+    @Override
+    public long countActiveLoansByMemberId(String memberId) {
+        return (long) database.queryNumber("SELECT COUNT(*) FROM loans WHERE member_id = ? AND " + OPEN,
+                memberId);
+    }
+
+    @Override
+    public Loan save(Loan loan) {
+        if (loan.getId() == null || loan.getId().isEmpty()) {
+            // Nuevo préstamo
+            loan = withGeneratedId(loan);
+            database.update(INSERT, parameters(loan));
+            listeners.stored(loan.getId(), null, loan);
+        } else {
+            // Actualización
+            loan.attach(resolver);
+            database.update(UPDATE, parameters(loan));
+            listeners.stored(loan.getId(), loan, loan);
+        }
+        return loan;
+    }
+
+    /**
+     * Inserta los préstamos nuevos y actualiza los existentes en dos lotes
+     * dentro de una misma transacción.
+     */
+    @Override
+    public List<Loan> saveAll(List<Loan> loans) {
+        List<Loan> saved = new ArrayList<>(loans.size());
+        List<Loan> inserted = new ArrayList<>();
+        List<Loan> updated = new ArrayList<>();
+        for (Loan loan : loans) {
+            if (loan.getId() == null || loan.getId().isEmpty()) {
+                loan = withGeneratedId(loan);
+                inserted.add(loan);
+            } else {
+                loan.attach(resolver);
+                updated.add(loan);
+            }
+            saved.add(loan);
+        }
+        database.inTransaction(connection -> {
+            database.batch(INSERT, inserted, JdbcLoanRepository::parameters);
+            return database.batch(UPDATE, updated, JdbcLoanRepository::parameters);
+        });
+        inserted.forEach(loan -> listeners.stored(loan.getId(), null, loan));
+        updated.forEach(loan -> listeners.stored(loan.getId(), loan, loan));
+        return saved;
+    }
+
+    @Override
+    public void deleteById(String id) {
+        Loan loan = findById(id);
+        if (database.update("DELETE FROM loans WHERE id = ?", id) > 0) {
+            listeners.removed(id, loan);
+        }
+    }
+
+    @Override
+    public void addListener(StoreListener<String, Loan> listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        return database.queryNumber("SELECT COUNT(*) FROM loans WHERE id = ?", id) > 0;
+    }
+
+    @Override
+    public String generateId() {
+        return ids.nextId();
+    }
+
+    private Loan withGeneratedId(Loan loan) {
+        return new Loan(generateId(), loan.getMemberId(), loan.getCopyCode(), loan.getLoanDate(),
+                loan.getDueDate(), loan.getState(), resolver);
+    }
+
+    private void recomputeNextId() {
+        ids.advancePastAll(database.query("SELECT id FROM loans", resultSet -> resultSet.getString(1)).stream());
+    }
+
+    private Loan map(ResultSet resultSet) throws SQLException {
+        Loan loan = new Loan(resultSet.getString("id"),
+                resultSet.getString("member_id"),
+                resultSet.getString("copy_code"),
+                JdbcDatabase.date(resultSet, "loan_day"),
+                JdbcDatabase.date(resultSet, "due_day"),
+                LoanState.valueOf(resultSet.getString("state")),
+                resolver);
+        loan.setReturnDate(JdbcDatabase.date(resultSet, "return_day"));
+        return loan;
+    }
+
+    private static Object[] parameters(Loan loan) {
+        return new Object[] {
+                loan.getMemberId(),
+                loan.getCopyCode(),
+                JdbcDatabase.epochDay(loan.getLoanDate()),
+                JdbcDatabase.epochDay(loan.getDueDate()),
+                JdbcDatabase.epochDay(loan.getReturnDate()),
+                loan.getState(),
+                loan.getId() };
+    }
+}
@@ -0,0 +1,209 @@
+package biblioteca.data.database.jdbc;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.Locale;
+
+import biblioteca.data.database.MemberRepository;
+import biblioteca.data.ids.IdKind;
+import biblioteca.data.ids.IdSequence;
+import biblioteca.data.ids.IdService;
+import biblioteca.data.store.IdentityCache;
+import biblioteca.data.store.StoreListener;
+import biblioteca.data.store.StoreListeners;
+import biblioteca.data.store.TextNormalizer;
+import biblioteca.domain.entities.Member;
+import biblioteca.domain.enums.MemberState;
+import biblioteca.domain.enums.MemberType;
+
+/**
+ * Member repository backed by the "members" table. The unique "email_key"
+ * column enforces one member per email; name and email searches are LIKE
+ * queries on normalized columns. Lookups by ID go through a bounded
+ * identity cache, so loans and fines resolving their member do not query
+ * the table each time.
+ */
+public class JdbcMemberRepository implements MemberRepository {
+    private static final String SELECT = "SELECT id, name, email, phone, member_type, state, pending_fines"
+            + " FROM members";
+    private static final String INSERT = "INSERT INTO members (name, name_key, email, email_key, email_search,"
+            + " phone, member_type, state, pending_fines, id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE = "UPDATE members SET name = ?, name_key = ?, email = ?, email_key = ?,"
+            + " email_search = ?, phone = ?, member_type = ?, state = ?, pending_fines = ? WHERE id = ?";
+
+    private final JdbcDatabase database;
+    private final IdentityCache<String, Member> cache = new IdentityCache<>(JdbcDatabase.IDENTITY_CACHE_SIZE);
+    private final StoreListeners<String, Member> listeners = new StoreListeners<>();
+    private final IdSequence ids;
+
+    public JdbcMemberRepository(JdbcDatabase database, IdService idService) {
+        this.database = database;
+        this.ids = idService.sequence(IdKind.MEMBER);
+        // A rolled back transaction may have changed cached instances
+        database.onRollback(cache::clear);
+        database.onCommit(cache::discardLoadsInFlight);
+        if (!ids.hasStoredMark()) {
+            recomputeNextId();
+        }
+    }
+
+    @Override
+    public void loadDummyData(List<Member> initialData) {
+        database.inTransaction(connection -> {
+            database.update("DELETE FROM members");
+            return database.batch(INSERT, initialData, JdbcMemberRepository::parameters);
+        });
+        cache.clear();
+        ids.advancePastAll(initialData.stream().map(Member::getId));
+    }
+
+    @Override
+    public Member save(Member member) {
+        if (member.getId() == null || member.getId().isEmpty()) {
+            member.setId(ids.nextId());
+        } else {
+            ids.advancePast(member.getId());
+        }
+        boolean inserted = database.inTransaction(connection -> {
+            if (database.update(UPDATE, parameters(member)) == 0) {
+                database.update(INSERT, parameters(member));
+                return true;
+            }
+            return false;
+        });
+        cache.put(member.getId(), member);
+        listeners.stored(member.getId(), inserted ? null : member, member);
+        return member;
+    }
+
+    @Override
+    public Member update(Member member) {
+        if (database.update(UPDATE, parameters(member)) == 0) {
+            return null;
+        }
+        cache.put(member.getId(), member);
+        listeners.stored(member.getId(), member, member);
+        return member;
+    }
+
+    @Override
+    public Member findById(String id) {
+        return cache.get(id, key -> database.queryOne(SELECT + " WHERE id = ?", JdbcMemberRepository::map, key));
+    }
+
+    @Override
+    public List<Member> searchByName(String name) {
+        String key = TextNormalizer.normalize(name);
+        if (key.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        return database.query(SELECT + " WHERE name_key LIKE ? ESCAPE '\\' ORDER BY id",
+                JdbcMemberRepository::map, JdbcDatabase.likeContaining(key));
+    }
+
+    @Override
+    public List<Member> searchByText(String searchText) {
+        String key = TextNormalizer.normalize(searchText);
+        if (key.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        String pattern = JdbcDatabase.likeContaining(key);
+        return database.query(SELECT + " WHERE name_key LIKE ? ESCAPE '\\' OR email_search LIKE ? ESCAPE '\\'"
+                + " OR id = ? ORDER BY id", JdbcMemberRepository::map, pattern, pattern, searchText);
+    }
+
+    @Override
+    public Member findByEmail(String email) {
+        return database.queryOne(SELECT + " WHERE email_key = ?", JdbcMemberRepository::map,
+                normalizeEmail(email));
+    }
+
+    @Override
+    public List<Member> findAll() {
+        return database.query(SELECT + " ORDER BY id", JdbcMemberRepository::map);
+    }
+
+    @Override
+    public void forEach(Consumer<? super Member> action) {
+        database.forEach(SELECT + " ORDER BY id", JdbcMemberRepository::map, action);
+    }
+
+    @Override
+    public List<Member> findByType(MemberType type) {
+        return database.query(SELECT + " WHERE member_type = ? ORDER BY id", JdbcMemberRepository::map, type);
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        return database.queryNumber("SELECT COUNT(*) FROM members WHERE id = ?", id) > 0;
+    }
+
+    @Override
+    public boolean existsByEmail(String email) {
+        return database.queryNumber("SELECT COUNT(*) FROM members WHERE email_key = ?",
+                normalizeEmail(email)) > 0;
+    }
+
+    @Override
+    public boolean deleteById(String id) {
+        Member member = findById(id);
+        cache.remove(id);
+        if (database.update("DELETE FROM members WHERE id = ?", id) == 0) {
+            return false;
+        }
+        listeners.removed(id, member);
+        return true;
+    }
+
+    @Override
+    public void addListener(StoreListener<String, Member> listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public int count() {
+        return (int) database.queryNumber("SELECT COUNT(*) FROM members");
+    }
+
+    /**
+     * Moves the ID counter past every stored member ID, for a database the
+     * ID service has no mark for
+     */
+    private void recomputeNextId() {
+        ids.advancePastAll(database.query("SELECT id FROM members", resultSet -> resultSet.getString(1)).stream());
+    }
+
+    private static Member map(ResultSet resultSet) throws SQLException {
+        String type = resultSet.getString("member_type");
+        Member member = new Member(resultSet.getString("id"), resultSet.getString("name"),
+                resultSet.getString("email"), resultSet.getString("phone"),
+                type != null ? MemberType.valueOf(type) : null);
+        String state = resultSet.getString("state");
+        member.setState(state != null ? MemberState.valueOf(state) : null);
+        member.setPendingFines(resultSet.getDouble("pending_fines"));
+        return member;
+    }
+
+    private static Object[] parameters(Member member) {
+        return new Object[] {
+                member.getName(),
+                TextNormalizer.normalize(member.getName()),
+                member.getEmail(),
+                normalizeEmail(member.getEmail()),
+                TextNormalizer.normalize(member.getEmail()),
+                member.getPhone(),
+                member.getType(),
+                member.getState(),
+                member.getPendingFines(),
+                member.getId() };
+    }
+
+    private static String normalizeEmail(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+}
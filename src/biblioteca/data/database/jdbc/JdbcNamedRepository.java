@@ -0,0 +1,98 @@
+package biblioteca.data.database.jdbc;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ToIntFunction;
+
+import biblioteca.data.store.TextNormalizer;
+
+/**
+ * Shared implementation of the catalog tables that only hold an ID and a
+ * name (authors, categories, publishers)
+ *
+ * @param <T> Entity type
+ */
+abstract class JdbcNamedRepository<T> {
+    protected final JdbcDatabase database;
+    private final BiFunction<Integer, String, T> factory;
+    private final ToIntFunction<T> idOf;
+    private final Function<T, String> nameOf;
+    private final ObjIntConsumer<T> setId;
+    private final String selectAll;
+    private final String selectById;
+    private final String selectByName;
+    private final String countById;
+    private final String maxId;
+    private final String insert;
+    private final String updateById;
+    private final String deleteAll;
+
+    JdbcNamedRepository(JdbcDatabase database, String table, BiFunction<Integer, String, T> factory,
+            ToIntFunction<T> idOf, Function<T, String> nameOf, ObjIntConsumer<T> setId) {
+        this.database = database;
+        this.factory = factory;
+        this.idOf = idOf;
+        this.nameOf = nameOf;
+        this.setId = setId;
+        this.selectAll = "SELECT id, name FROM " + table + " ORDER BY id";
+        this.selectById = "SELECT id, name FROM " + table + " WHERE id = ?";
+        this.selectByName = "SELECT id, name FROM " + table + " WHERE name_key LIKE ? ESCAPE '\\' ORDER BY id";
+        this.countById = "SELECT COUNT(*) FROM " + table + " WHERE id = ?";
+        this.maxId = "SELECT MAX(id) FROM " + table;
+        this.insert = "INSERT INTO " + table + " (name, name_key, id) VALUES (?, ?, ?)";
+        this.updateById = "UPDATE " + table + " SET name = ?, name_key = ? WHERE id = ?";
+        this.deleteAll = "DELETE FROM " + table;
+    }
+
+    public void loadDummyData(List<T> initialData) {
+        database.inTransaction(connection -> {
+            database.update(deleteAll);
+            return database.batch(insert, initialData, this::parameters);
+        });
+    }
+
+    public T findById(int id) {
+        return database.queryOne(selectById, this::map, id);
+    }
+
+    public List<T> findAll() {
+        return database.query(selectAll, this::map);
+    }
+
+    public boolean existsById(int id) {
+        return database.queryNumber(countById, id) > 0;
+    }
+
+    public List<T> findByNameContaining(String name) {
+        String key = TextNormalizer.normalize(name);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        return database.query(selectByName, this::map, JdbcDatabase.likeContaining(key));
+    }
+
+    public T save(T entity) {
+        return database.inTransaction(connection -> {
+            if (idOf.applyAsInt(entity) == 0) {
+                setId.accept(entity, (int) database.queryNumber(maxId) + 1);
+            }
+            if (database.update(updateById, parameters(entity)) == 0) {
+                database.update(insert, parameters(entity));
+            }
+            return entity;
+        });
+    }
+
+    private T map(ResultSet resultSet) throws SQLException {
+        return factory.apply(resultSet.getInt("id"), resultSet.getString("name"));
+    }
+
+    private Object[] parameters(T entity) {
+        String name = nameOf.apply(entity);
+        return new Object[] { name, TextNormalizer.normalize(name), idOf.applyAsInt(entity) };
+    }
+}
@@ -0,0 +1,152 @@
+package biblioteca.data.database.jdbc;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import biblioteca.data.database.NotificationRepository;
+import biblioteca.data.ids.IdKind;
+import biblioteca.data.ids.IdSequence;
+import biblioteca.data.ids.IdService;
+import biblioteca.domain.notifications.ConsoleNotification;
+import biblioteca.domain.notifications.EmailNotification;
+import biblioteca.domain.notifications.Notification;
+import biblioteca.domain.notifications.SMSNotification;
+
+/**
+ * Notification repository backed by the "notifications" table.
+ * Stored notifications record their delivery time when deliver() succeeds.
+ */
+public class JdbcNotificationRepository implements NotificationRepository {
+    private static final String SELECT = "SELECT id, channel, message, recipient, subject, created_at, sent_at"
+            + " FROM notifications";
+    private static final String INSERT = "INSERT INTO notifications (channel, message, recipient, subject,"
+            + " created_at, sent_at, id) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE = "UPDATE notifications SET channel = ?, message = ?, recipient = ?,"
+            + " subject = ?, created_at = ?, sent_at = ? WHERE id = ?";
+
+    private final JdbcDatabase database;
+    private final IdSequence ids;
+
+    public JdbcNotificationRepository(JdbcDatabase database, IdService idService) {
+        this.database = database;
+        this.ids = idService.sequence(IdKind.NOTIFICATION);
+        if (!ids.hasStoredMark()) {
+            ids.advancePastAll(database.query("SELECT id FROM notifications", resultSet -> resultSet.getString(1))
+                    .stream());
+        }
+    }
+
+    @Override
+    public void save(Notification notification) {
+        ids.advancePast(notification.getId());
+        database.inTransaction(connection -> {
+            if (database.update(UPDATE, parameters(notification)) == 0) {
+                database.update(INSERT, parameters(notification));
+            }
+            return notification;
+        });
+        notification.onDelivered(this::onDelivered);
+    }
+
+    @Override
+    public String generateId() {
+        return ids.nextId();
+    }
+
+    @Override
+    public Notification findById(String id) {
+        return database.queryOne(SELECT + " WHERE id = ?", this::map, id);
+    }
+
+    @Override
+    public List<Notification> findAll() {
+        return database.query(SELECT + " ORDER BY created_at, id", this::map);
+    }
+
+    @Override
+    public List<Notification> findAllSent() {
+        return database.query(SELECT + " WHERE sent_at IS NOT NULL ORDER BY created_at, id", this::map);
+    }
+
+    @Override
+    public List<Notification> findAllPending() {
+        return database.query(SELECT + " WHERE sent_at IS NULL ORDER BY created_at, id", this::map);
+    }
+
+    @Override
+    public List<Notification> findByChannel(String channelName) {
+        return database.query(SELECT + " WHERE LOWER(channel) = LOWER(?) ORDER BY created_at, id", this::map,
+                channelName == null ? "" : channelName);
+    }
+
+    @Override
+    public int count() {
+        return (int) database.queryNumber("SELECT COUNT(*) FROM notifications");
+    }
+
+    @Override
+    public int countSent() {
+        return (int) database.queryNumber("SELECT COUNT(*) FROM notifications WHERE sent_at IS NOT NULL");
+    }
+
+    @Override
+    public int countPending() {
+        return (int) database.queryNumber("SELECT COUNT(*) FROM notifications WHERE sent_at IS NULL");
+    }
+
+    @Override
+    public void clear() {
+        database.update("DELETE FROM notifications");
+    }
+
+    @Override
+    public void loadDummyData(List<Notification> dummyNotifications) {
+        dummyNotifications.forEach(this::save);
+    }
+
+    /**
+     * Records the delivery time after deliver() succeeds
+     */
+    private void onDelivered(Notification notification) {
+        database.update("UPDATE notifications SET sent_at = ? WHERE id = ?",
+                timestamp(notification.getSentAt()), notification.getId());
+    }
+
+    private Notification map(ResultSet resultSet) throws SQLException {
+        String channel = resultSet.getString("channel");
+        String id = resultSet.getString("id");
+        String message = resultSet.getString("message");
+        String recipient = resultSet.getString("recipient");
+        Notification notification = switch (channel) {
+            case "Email" -> new EmailNotification(id, message, recipient, resultSet.getString("subject"));
+            case "SMS" -> new SMSNotification(id, message, recipient);
+            case "Consola" -> new ConsoleNotification(id, message, recipient);
+            default -> throw new DataAccessException("Canal de notificación desconocido: " + channel, null);
+        };
+        notification.restore(dateTime(resultSet.getString("created_at")), dateTime(resultSet.getString("sent_at")));
+        notification.onDelivered(this::onDelivered);
+        return notification;
+    }
+
+    private static Object[] parameters(Notification notification) {
+        return new Object[] {
+                notification.getChannelName(),
+                notification.getMessage(),
+                notification.getRecipientInfo(),
+                notification instanceof EmailNotification email ? email.getSubject() : null,
+                timestamp(notification.getCreatedAt()),
+                timestamp(notification.getSentAt()),
+                notification.getId() };
+    }
+
+    // ISO-8601 text sorts chronologically and keeps the nanoseconds
+    private static String timestamp(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.toString() : null;
+    }
+
+    private static LocalDateTime dateTime(String text) {
+        return text != null ? LocalDateTime.parse(text) : null;
+    }
+}
@@ -0,0 +1,14 @@
+package biblioteca.data.database.jdbc;
+
+import biblioteca.data.database.PublisherRepository;
+import biblioteca.domain.entities.Publisher;
+
+/**
+ * Publisher repository backed by the "publishers" table
+ */
+public class JdbcPublisherRepository extends JdbcNamedRepository<Publisher> implements PublisherRepository {
+
+    public JdbcPublisherRepository(JdbcDatabase database) {
+        super(database, "publishers", Publisher::new, Publisher::getId, Publisher::getName, Publisher::setId);
+    }
+}
@@ -0,0 +1,115 @@
+package biblioteca.data.database.jdbc;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import biblioteca.data.database.jdbc.JdbcDatabase.PooledConnection;
+
+/**
+ * Tables and indexes of the JDBC storage.
+ *
+ * Dates are stored as epoch days and enums by name, like the binary
+ * codecs. Names and titles also get a normalized "_key" column (lower
+ * case, without accents), so a substring search is a plain LIKE that the
+ * database evaluates instead of loading every row to normalize it in Java.
+ * A LIKE '%term%' cannot seek a B-tree index: those searches still read
+ * the whole table. Only exact lookups, such as a title that already
+ * exists, use an index on a "_key" column.
+ */
+final class JdbcSchema {
+    static final int VERSION = 3;
+
+    private static final String[] STATEMENTS = {
+            "CREATE TABLE IF NOT EXISTS schema_version (version INT NOT NULL)",
+            "CREATE TABLE IF NOT EXISTS authors (id INT PRIMARY KEY, name VARCHAR(200) NOT NULL,"
+                    + " name_key VARCHAR(200) NOT NULL)",
+            "CREATE TABLE IF NOT EXISTS categories (id INT PRIMARY KEY, name VARCHAR(200) NOT NULL,"
+                    + " name_key VARCHAR(200) NOT NULL)",
+            "CREATE TABLE IF NOT EXISTS publishers (id INT PRIMARY KEY, name VARCHAR(200) NOT NULL,"
+                    + " name_key VARCHAR(200) NOT NULL)",
+            "CREATE TABLE IF NOT EXISTS books (id INT PRIMARY KEY, title VARCHAR(500) NOT NULL,"
+                    + " title_key VARCHAR(500) NOT NULL, author_id INT, category_id INT, publisher_id INT,"
+                    + " publication_year INT NOT NULL, search_terms VARCHAR(4000) NOT NULL)",
+            "CREATE TABLE IF NOT EXISTS copies (code VARCHAR(40) PRIMARY KEY, state VARCHAR(20) NOT NULL,"
+                    + " origin VARCHAR(20), book_id INT NOT NULL, version BIGINT DEFAULT 0 NOT NULL)",
+            "CREATE TABLE IF NOT EXISTS members (id VARCHAR(40) PRIMARY KEY, name VARCHAR(200) NOT NULL,"
+                    + " name_key VARCHAR(200) NOT NULL, email VARCHAR(200), email_key VARCHAR(200) UNIQUE,"
+                    + " email_search VARCHAR(200), phone VARCHAR(40), member_type VARCHAR(20),"
+                    + " state VARCHAR(20), pending_fines DOUBLE PRECISION NOT NULL)",
+            "CREATE TABLE IF NOT EXISTS loans (id VARCHAR(40) PRIMARY KEY, member_id VARCHAR(40) NOT NULL,"
+                    + " copy_code VARCHAR(40) NOT NULL, loan_day INT, due_day INT, return_day INT,"
+                    + " state VARCHAR(20) NOT NULL)",
+            "CREATE TABLE IF NOT EXISTS fines (id VARCHAR(40) PRIMARY KEY, member_id VARCHAR(40) NOT NULL,"
+                    + " amount DOUBLE PRECISION NOT NULL, issue_day INT, paid BOOLEAN NOT NULL, paid_day INT)",
+            "CREATE TABLE IF NOT EXISTS notifications (id VARCHAR(60) PRIMARY KEY,"
+                    + " channel VARCHAR(20) NOT NULL, message VARCHAR(4000), recipient VARCHAR(200),"
+                    + " subject VARCHAR(500), created_at VARCHAR(40), sent_at VARCHAR(40))",
+            "CREATE TABLE IF NOT EXISTS system_parameters (id INT PRIMARY KEY, max_loans_per_member INT NOT NULL,"
+                    + " loan_days INT NOT NULL, fine_per_day DOUBLE PRECISION NOT NULL,"
+                    + " max_active_reservations INT NOT NULL)",
+            "CREATE INDEX IF NOT EXISTS books_title ON books (title_key)",
+            "CREATE INDEX IF NOT EXISTS copies_book_state ON copies (book_id, state)",
+            "CREATE INDEX IF NOT EXISTS copies_state ON copies (state)",
+            "CREATE INDEX IF NOT EXISTS members_type ON members (member_type)",
+            "CREATE INDEX IF NOT EXISTS loans_member ON loans (member_id, state)",
+            "CREATE INDEX IF NOT EXISTS loans_copy ON loans (copy_code, state)",
+            "CREATE INDEX IF NOT EXISTS loans_state_due ON loans (state, due_day)",
+            "CREATE INDEX IF NOT EXISTS fines_member ON fines (member_id, paid)",
+    };
+
+    // Statements that bring a database of version i + 1 to version i + 2
+    private static final String[][] MIGRATIONS = {
+            { "ALTER TABLE copies ADD COLUMN version BIGINT DEFAULT 0 NOT NULL" },
+            // Names are only searched by substring, which these never served
+            { "DROP INDEX IF EXISTS authors_name", "DROP INDEX IF EXISTS categories_name",
+                    "DROP INDEX IF EXISTS publishers_name" },
+    };
+
+    private JdbcSchema() {
+    }
+
+    /**
+     * Creates the missing tables and indexes
+     *
+     * @return true if the database was empty, false if it already had the
+     *         schema
+     * @throws DataAccessException if the database has a newer or unknown
+     *                             schema version
+     */
+    static boolean create(PooledConnection connection) throws SQLException {
+        for (String statement : STATEMENTS) {
+            connection.execute(statement);
+        }
+        PreparedStatement select = connection.prepare("SELECT version FROM schema_version");
+        try (ResultSet resultSet = select.executeQuery()) {
+            if (resultSet.next()) {
+                int version = resultSet.getInt(1);
+                if (version < 1 || version > VERSION) {
+                    throw new DataAccessException("Versión de esquema " + version
+                            + " no soportada (se esperaba " + VERSION + ")", null);
+                }
+                migrate(connection, version);
+                return false;
+            }
+        }
+        PreparedStatement insert = connection.prepare("INSERT INTO schema_version (version) VALUES (?)");
+        insert.setInt(1, VERSION);
+        insert.executeUpdate();
+        return true;
+    }
+
+    private static void migrate(PooledConnection connection, int version) throws SQLException {
+        if (version == VERSION) {
+            return;
+        }
+        for (int from = version; from < VERSION; from++) {
+            for (String statement : MIGRATIONS[from - 1]) {
+                connection.execute(statement);
+            }
+        }
+        PreparedStatement update = connection.prepare("UPDATE schema_version SET version = ?");
+        update.setInt(1, VERSION);
+        update.executeUpdate();
+    }
+}
@@ -0,0 +1,85 @@
+package biblioteca.data.database.jdbc;
+
+import biblioteca.data.database.SystemParametersRepository;
+import biblioteca.domain.entities.SystemParameters;
+
+/**
+ * System parameters stored in the single row of "system_parameters".
+ * The row is read once and written through on every change.
+ */
+public class JdbcSystemParametersRepository implements SystemParametersRepository {
+    private static final int ROW_ID = 1;
+
+    private final JdbcDatabase database;
+    private SystemParameters parameters;
+
+    public JdbcSystemParametersRepository(JdbcDatabase database) {
+        this.database = database;
+        this.parameters = database.queryOne("SELECT max_loans_per_member, loan_days, fine_per_day,"
+                + " max_active_reservations FROM system_parameters WHERE id = ?",
+                resultSet -> new SystemParameters(resultSet.getInt(1), resultSet.getInt(2),
+                        resultSet.getDouble(3), resultSet.getInt(4)),
+                ROW_ID);
+        if (this.parameters == null) {
+            // Initialize with default parameters
+            update(new SystemParameters(
+                    3, // maxLoansPerMember - default
+                    14, // loanDays - 14 days standard
+                    5.0, // finePerDay - $5 per day
+                    5 // maxActiveReservationsPerMember - 5 reservations max
+            ));
+        }
+    }
+
+    @Override
+    public synchronized SystemParameters get() {
+        return parameters;
+    }
+
+    @Override
+    public synchronized void update(SystemParameters parameters) {
+        this.parameters = parameters;
+        store();
+    }
+
+    @Override
+    public synchronized void updateMaxLoansPerMember(int maxLoans) {
+        parameters.setMaxLoansPerMember(maxLoans);
+        store();
+    }
+
+    @Override
+    public synchronized void updateLoanDays(int loanDays) {
+        parameters.setLoanDays(loanDays);
+        store();
+    }
+
+    @Override
+    public synchronized void updateFinePerDay(double finePerDay) {
+        parameters.setFinePerDay(finePerDay);
+        store();
+    }
+
+    @Override
+    public synchronized void updateMaxActiveReservationsPerMember(int maxReservations) {
+        parameters.setMaxActiveReservationsPerMember(maxReservations);
+        store();
+    }
+
+    private void store() {
+        Object[] values = {
+                parameters.getMaxLoansPerMember(),
+                parameters.getLoanDays(),
+                parameters.getFinePerDay(),
+                parameters.getMaxActiveReservationsPerMember(),
+                ROW_ID };
+        database.inTransaction(connection -> {
+            if (database.update("UPDATE system_parameters SET max_loans_per_member = ?, loan_days = ?,"
+                    + " fine_per_day = ?, max_active_reservations = ? WHERE id = ?", values) == 0) {
+                database.update("INSERT INTO system_parameters (max_loans_per_member, loan_days, fine_per_day,"
+                        + " max_active_reservations, id) VALUES (?, ?, ?, ?, ?)", values);
+            }
+            return null;
+        });
+    }
+}
@@ -87,18 +87,4 @@ public class MemberDummyData {
                                 .filter(member -> member.getType() == memberType)
                                 .toList();
         }
-
-        /**
-         * Obtiene el siguiente ID disponible para nuevos socios
-         * 
-         * @return Próximo ID de socio disponible
-         */
-        public static String getNextAvailableId() {
-                List<Member> members = getMembers();
-                int maxId = members.stream()
-                                .mapToInt(member -> Integer.parseInt(member.getId()))
-                                .max()
-                                .orElse(1000);
-                return String.valueOf(maxId + 1);
-        }
 }
\ No newline at end of file
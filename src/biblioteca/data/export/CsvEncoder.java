@@ -0,0 +1,70 @@
+package biblioteca.data.export;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * CSV records: fields separated by ',', lines by '\n'. Text containing a
+ * separator, a quote or a line break is quoted, doubling its quotes.
+ * Null is an empty field.
+ */
+final class CsvEncoder extends RecordEncoder {
+
+    CsvEncoder(ExportSink sink, List<String> columns) {
+        super(sink, columns);
+    }
+
+    @Override
+    void header() throws IOException {
+        for (int column = 0; column < columns.size(); column++) {
+            beginValue(column);
+            writeString(columns.get(column));
+        }
+        endRecord();
+    }
+
+    @Override
+    void beginValue(int column) throws IOException {
+        if (column > 0) {
+            sink.writeByte(',');
+        }
+    }
+
+    @Override
+    void endRecord() throws IOException {
+        sink.writeByte('\n');
+    }
+
+    @Override
+    void writeNull() {
+    }
+
+    @Override
+    void writeString(String value) throws IOException {
+        int length = value.length();
+        boolean quoted = false;
+        for (int i = 0; i < length && !quoted; i++) {
+            char c = value.charAt(i);
+            quoted = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quoted) {
+            sink.writeText(value, 0, length);
+            return;
+        }
+        sink.writeByte('"');
+        int start = 0;
+        for (int i = 0; i < length; i++) {
+            if (value.charAt(i) == '"') {
+                // Up to and including the quote, which is then written again
+                sink.writeText(value, start, i + 1);
+                start = i;
+            }
+        }
+        sink.writeText(value, start, length);
+        sink.writeByte('"');
+    }
+
+    @Override
+    void quote() {
+    }
+}
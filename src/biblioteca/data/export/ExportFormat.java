@@ -0,0 +1,39 @@
+package biblioteca.data.export;
+
+import java.util.List;
+
+/**
+ * Text formats of an export: one file per table, one line per entity
+ */
+public enum ExportFormat {
+    /**
+     * Comma separated values with a header line (RFC 4180 quoting)
+     */
+    CSV("csv") {
+        @Override
+        RecordEncoder encoder(ExportSink sink, List<String> columns) {
+            return new CsvEncoder(sink, columns);
+        }
+    },
+    /**
+     * One JSON object per line
+     */
+    NDJSON("ndjson") {
+        @Override
+        RecordEncoder encoder(ExportSink sink, List<String> columns) {
+            return new NdjsonEncoder(sink, columns);
+        }
+    };
+
+    private final String extension;
+
+    ExportFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    abstract RecordEncoder encoder(ExportSink sink, List<String> columns);
+}
@@ -0,0 +1,240 @@
+package biblioteca.data.export;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * UTF-8 text output written to a file channel through a large direct
+ * buffer, optionally gzip compressed.
+ *
+ * Text is encoded into a byte array (plain array stores are much cheaper
+ * than per-byte buffer puts) and copied in one bulk move to a direct
+ * buffer, which the channel writes without a further copy. With gzip the
+ * direct buffer is handed to a {@link Deflater} whose output is a second
+ * direct buffer; the gzip header and trailer are written around the raw
+ * deflate stream. The fastest compression level is used: deflate, not
+ * encoding or I/O, bounds the throughput of a compressed export.
+ *
+ * The file is written under a temporary name and only renamed to its
+ * final name by {@link #finish()}; closing an unfinished sink deletes it.
+ */
+public final class ExportSink implements AutoCloseable {
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final byte[] GZIP_HEADER = {
+            0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff };
+
+    private final Path target;
+    private final Path temporary;
+    private final FileChannel channel;
+    // text is encoded into the array, then copied in bulk to the direct buffer
+    private final byte[] bytes = new byte[BUFFER_SIZE];
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private int position;
+    private final Deflater deflater;
+    private final ByteBuffer compressed;
+    private final CRC32 crc;
+    private long textBytes;
+    private long fileBytes;
+    private boolean finished;
+
+    private ExportSink(Path target, boolean gzip) throws IOException {
+        this.target = target;
+        this.temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        this.channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        if (gzip) {
+            this.deflater = new Deflater(Deflater.BEST_SPEED, true);
+            this.compressed = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            this.crc = new CRC32();
+            compressed.put(GZIP_HEADER);
+        } else {
+            this.deflater = null;
+            this.compressed = null;
+            this.crc = null;
+        }
+    }
+
+    /**
+     * Opens a sink for the given file, replacing it once finished
+     *
+     * @param target Final file
+     * @param gzip   Whether to gzip the text
+     */
+    public static ExportSink open(Path target, boolean gzip) throws IOException {
+        return new ExportSink(target, gzip);
+    }
+
+    public void writeByte(int value) throws IOException {
+        if (position == bytes.length) {
+            drain();
+        }
+        bytes[position++] = (byte) value;
+    }
+
+    /**
+     * Writes text that is known to be ASCII (names, numbers, dates)
+     */
+    public void writeAscii(String text) throws IOException {
+        int length = text.length();
+        if (bytes.length - position < length) {
+            drain();
+            if (bytes.length < length) {
+                writeText(text, 0, length);
+                return;
+            }
+        }
+        for (int i = 0; i < length; i++) {
+            bytes[position++] = (byte) text.charAt(i);
+        }
+    }
+
+    /**
+     * Writes chars [from, to) of the text as UTF-8
+     */
+    public void writeText(String text, int from, int to) throws IOException {
+        byte[] bytes = this.bytes;
+        int position = this.position;
+        for (int i = from; i < to; i++) {
+            if (bytes.length - position < 4) {
+                this.position = position;
+                drain();
+                position = 0;
+            }
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                bytes[position++] = (byte) c;
+            } else if (c < 0x800) {
+                bytes[position++] = (byte) (0xC0 | (c >> 6));
+                bytes[position++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < to && Character.isLowSurrogate(text.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, text.charAt(++i));
+                bytes[position++] = (byte) (0xF0 | (codePoint >> 18));
+                bytes[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                bytes[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                bytes[position++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                bytes[position++] = '?';
+            } else {
+                bytes[position++] = (byte) (0xE0 | (c >> 12));
+                bytes[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                bytes[position++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        this.position = position;
+    }
+
+    /**
+     * Writes a long in decimal without going through a String
+     */
+    public void writeLong(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            writeAscii(Long.toString(value));
+            return;
+        }
+        if (bytes.length - position < 20) {
+            drain();
+        }
+        if (value < 0) {
+            bytes[position++] = '-';
+            value = -value;
+        }
+        long divisor = 1;
+        while (value / divisor >= 10) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            bytes[position++] = (byte) ('0' + value / divisor % 10);
+        }
+    }
+
+    /**
+     * Bytes of text written, before compression
+     */
+    public long textBytes() {
+        return textBytes + position;
+    }
+
+    /**
+     * Size of the finished file
+     */
+    public long fileBytes() {
+        return fileBytes;
+    }
+
+    /**
+     * Flushes everything, forces it to disk and renames the file to its
+     * final name
+     */
+    public void finish() throws IOException {
+        drain();
+        if (deflater != null) {
+            deflater.finish();
+            while (!deflater.finished()) {
+                deflateInto();
+            }
+            if (compressed.remaining() < 2 * Integer.BYTES) {
+                writeCompressed();
+            }
+            compressed.putInt((int) crc.getValue()).putInt((int) textBytes);
+            writeCompressed();
+        }
+        channel.force(false);
+        fileBytes = channel.size();
+        channel.close();
+        Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        finished = true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (deflater != null) {
+            deflater.end();
+        }
+        if (!finished) {
+            channel.close();
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    private void drain() throws IOException {
+        buffer.clear();
+        buffer.put(bytes, 0, position).flip();
+        textBytes += position;
+        position = 0;
+        if (deflater == null) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } else {
+            crc.update(buffer.duplicate());
+            // A slice: the deflater keeps its input, which clear() would refill
+            deflater.setInput(buffer.slice());
+            while (!deflater.needsInput()) {
+                deflateInto();
+            }
+        }
+    }
+
+    private void deflateInto() throws IOException {
+        if (!compressed.hasRemaining()) {
+            writeCompressed();
+        }
+        deflater.deflate(compressed);
+    }
+
+    private void writeCompressed() throws IOException {
+        compressed.flip();
+        while (compressed.hasRemaining()) {
+            channel.write(compressed);
+        }
+        compressed.clear();
+    }
+}
@@ -0,0 +1,78 @@
+package biblioteca.data.export;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Columns exported for one entity type. A column is a name and a getter
+ * whose result (String, number, Boolean, LocalDate, enum or null) is
+ * written according to its type.
+ *
+ * @param <T> Entity type
+ */
+public final class ExportTable<T> {
+    private final String name;
+    private final List<String> columns = new ArrayList<>();
+    private final List<Function<? super T, ?>> getters = new ArrayList<>();
+
+    /**
+     * @param name Name of the table, also the base name of its file
+     */
+    public ExportTable(String name) {
+        this.name = name;
+    }
+
+    public ExportTable<T> column(String column, Function<? super T, ?> getter) {
+        columns.add(column);
+        getters.add(getter);
+        return this;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<String> getColumns() {
+        return Collections.unmodifiableList(columns);
+    }
+
+    /**
+     * Starts writing this table to the sink: writes the header, if the
+     * format has one, and returns the writer for the rows
+     */
+    public Writer<T> open(ExportFormat format, ExportSink sink) throws IOException {
+        RecordEncoder encoder = format.encoder(sink, getColumns());
+        encoder.header();
+        return new Writer<>(this, encoder);
+    }
+
+    /**
+     * Writes the rows of a table, one record per entity
+     */
+    public static final class Writer<T> {
+        private final ExportTable<T> table;
+        private final RecordEncoder encoder;
+        private long rows;
+
+        private Writer(ExportTable<T> table, RecordEncoder encoder) {
+            this.table = table;
+            this.encoder = encoder;
+        }
+
+        public void write(T entity) throws IOException {
+            List<Function<? super T, ?>> getters = table.getters;
+            for (int column = 0; column < getters.size(); column++) {
+                encoder.value(column, getters.get(column).apply(entity));
+            }
+            encoder.endRecord();
+            rows++;
+        }
+
+        public long rows() {
+            return rows;
+        }
+    }
+}
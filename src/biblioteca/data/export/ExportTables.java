@@ -0,0 +1,61 @@
+package biblioteca.data.export;
+
+import biblioteca.domain.entities.Book;
+import biblioteca.domain.entities.Copy;
+import biblioteca.domain.entities.Fine;
+import biblioteca.domain.entities.Loan;
+import biblioteca.domain.entities.Member;
+
+/**
+ * Tables of the full dataset export. Column names follow the database
+ * schema; references to other entities are exported as their IDs (plus
+ * the names for a book's author, category and publisher).
+ */
+public final class ExportTables {
+
+    public static final ExportTable<Member> MEMBERS = new ExportTable<Member>("members")
+            .column("id", Member::getId)
+            .column("name", Member::getName)
+            .column("email", Member::getEmail)
+            .column("phone", Member::getPhone)
+            .column("member_type", Member::getType)
+            .column("state", Member::getState)
+            .column("pending_fines", Member::getPendingFines);
+
+    public static final ExportTable<Book> BOOKS = new ExportTable<Book>("books")
+            .column("id", Book::getId)
+            .column("title", Book::getTitle)
+            .column("author_id", book -> book.getAuthor() != null ? book.getAuthor().getId() : null)
+            .column("author", book -> book.getAuthor() != null ? book.getAuthor().getName() : null)
+            .column("category_id", book -> book.getCategory() != null ? book.getCategory().getId() : null)
+            .column("category", book -> book.getCategory() != null ? book.getCategory().getName() : null)
+            .column("publisher_id", book -> book.getPublisher() != null ? book.getPublisher().getId() : null)
+            .column("publisher", book -> book.getPublisher() != null ? book.getPublisher().getName() : null)
+            .column("publication_year", Book::getYear);
+
+    public static final ExportTable<Copy> COPIES = new ExportTable<Copy>("copies")
+            .column("code", Copy::getCode)
+            .column("book_id", copy -> copy.getBook().getId())
+            .column("state", Copy::getState)
+            .column("origin", Copy::getOrigin);
+
+    public static final ExportTable<Loan> LOANS = new ExportTable<Loan>("loans")
+            .column("id", Loan::getId)
+            .column("member_id", loan -> loan.getMemberId())
+            .column("copy_code", loan -> loan.getCopyCode())
+            .column("loan_date", Loan::getLoanDate)
+            .column("due_date", Loan::getDueDate)
+            .column("return_date", Loan::getReturnDate)
+            .column("state", Loan::getState);
+
+    public static final ExportTable<Fine> FINES = new ExportTable<Fine>("fines")
+            .column("id", Fine::getId)
+            .column("member_id", fine -> fine.getMemberId())
+            .column("amount", Fine::getAmount)
+            .column("paid", Fine::isPaid)
+            .column("issue_date", Fine::getIssueDate)
+            .column("paid_date", Fine::getPaidDate);
+
+    private ExportTables() {
+    }
+}
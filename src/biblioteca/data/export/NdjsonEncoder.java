@@ -0,0 +1,76 @@
+package biblioteca.data.export;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * NDJSON records: one JSON object per line, keys in column order. The
+ * "key": prefixes are built once per table.
+ */
+final class NdjsonEncoder extends RecordEncoder {
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final String[] prefixes;
+
+    NdjsonEncoder(ExportSink sink, List<String> columns) {
+        super(sink, columns);
+        this.prefixes = new String[columns.size()];
+        for (int column = 0; column < prefixes.length; column++) {
+            prefixes[column] = (column == 0 ? "{\"" : ",\"") + columns.get(column) + "\":";
+        }
+    }
+
+    @Override
+    void header() {
+    }
+
+    @Override
+    void beginValue(int column) throws IOException {
+        sink.writeAscii(prefixes[column]);
+    }
+
+    @Override
+    void endRecord() throws IOException {
+        sink.writeByte('}');
+        sink.writeByte('\n');
+    }
+
+    @Override
+    void writeNull() throws IOException {
+        sink.writeAscii("null");
+    }
+
+    @Override
+    void writeString(String value) throws IOException {
+        sink.writeByte('"');
+        int start = 0;
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= 0x20 && c != '"' && c != '\\') {
+                continue;
+            }
+            sink.writeText(value, start, i);
+            start = i + 1;
+            switch (c) {
+                case '"' -> sink.writeAscii("\\\"");
+                case '\\' -> sink.writeAscii("\\\\");
+                case '\n' -> sink.writeAscii("\\n");
+                case '\r' -> sink.writeAscii("\\r");
+                case '\t' -> sink.writeAscii("\\t");
+                default -> {
+                    sink.writeAscii("\\u00");
+                    sink.writeByte(HEX[c >> 4]);
+                    sink.writeByte(HEX[c & 0xF]);
+                }
+            }
+        }
+        sink.writeText(value, start, length);
+        sink.writeByte('"');
+    }
+
+    @Override
+    void quote() throws IOException {
+        sink.writeByte('"');
+    }
+}
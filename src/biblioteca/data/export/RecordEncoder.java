@@ -0,0 +1,93 @@
+package biblioteca.data.export;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Writes records of a fixed list of columns in one text format. Values
+ * are written by type straight into the sink: numbers and dates without
+ * building Strings, text escaped in runs.
+ */
+abstract class RecordEncoder {
+    protected final ExportSink sink;
+    protected final List<String> columns;
+
+    RecordEncoder(ExportSink sink, List<String> columns) {
+        this.sink = sink;
+        this.columns = columns;
+    }
+
+    /**
+     * Writes whatever precedes the first record
+     */
+    abstract void header() throws IOException;
+
+    /**
+     * Writes what precedes the value of the column (separator, key)
+     */
+    abstract void beginValue(int column) throws IOException;
+
+    abstract void endRecord() throws IOException;
+
+    abstract void writeNull() throws IOException;
+
+    abstract void writeString(String value) throws IOException;
+
+    /**
+     * Writes the quote around a value that needs no escaping but is text
+     * in the format (dates, enum names)
+     */
+    abstract void quote() throws IOException;
+
+    final void value(int column, Object value) throws IOException {
+        beginValue(column);
+        if (value == null) {
+            writeNull();
+        } else if (value instanceof String text) {
+            writeString(text);
+        } else if (value instanceof Integer || value instanceof Long) {
+            sink.writeLong(((Number) value).longValue());
+        } else if (value instanceof Double number) {
+            if (Double.isFinite(number)) {
+                sink.writeAscii(number.toString());
+            } else {
+                writeNull();
+            }
+        } else if (value instanceof Boolean flag) {
+            sink.writeAscii(flag ? "true" : "false");
+        } else if (value instanceof LocalDate date) {
+            quote();
+            writeDate(date);
+            quote();
+        } else if (value instanceof Enum<?> constant) {
+            quote();
+            sink.writeAscii(constant.name());
+            quote();
+        } else {
+            writeString(value.toString());
+        }
+    }
+
+    /**
+     * ISO-8601 date (yyyy-MM-dd) for years 0 to 9999
+     */
+    private void writeDate(LocalDate date) throws IOException {
+        int year = date.getYear();
+        if (year < 0 || year > 9999) {
+            sink.writeAscii(date.toString());
+            return;
+        }
+        writeDigits(year, 4);
+        sink.writeByte('-');
+        writeDigits(date.getMonthValue(), 2);
+        sink.writeByte('-');
+        writeDigits(date.getDayOfMonth(), 2);
+    }
+
+    private void writeDigits(int value, int digits) throws IOException {
+        for (int divisor = digits == 4 ? 1000 : 10; divisor > 0; divisor /= 10) {
+            sink.writeByte('0' + value / divisor % 10);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package biblioteca.data.ids;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Rendering of numeric IDs: an ASCII prefix followed by the number,
+ * zero-padded to a minimum width, e.g. "LOAN0042".
+ *
+ * The digits are written straight into the bytes of a Latin-1 String, so
+ * rendering an ID costs one small array and none of the pattern parsing
+ * and boxing of {@code String.format}.
+ */
+public final class IdFormat {
+    /** The bare number, e.g. member IDs like "1001" */
+    public static final IdFormat PLAIN = new IdFormat("", 0);
+
+    private final String prefix;
+    private final byte[] prefixBytes;
+    private final int width;
+
+    /**
+     * @param prefix ASCII text before the number
+     * @param width  Minimum number of digits
+     */
+    public IdFormat(String prefix, int width) {
+        this.prefix = prefix;
+        this.prefixBytes = prefix.getBytes(StandardCharsets.US_ASCII);
+        this.width = width;
+    }
+
+    public String format(long number) {
+        if (number < 0) {
+            throw new IllegalArgumentException("Número de ID negativo: " + number);
+        }
+        int length = prefixBytes.length + Math.max(width, digits(number));
+        byte[] bytes = new byte[length];
+        System.arraycopy(prefixBytes, 0, bytes, 0, prefixBytes.length);
+        for (int i = length - 1; i >= prefixBytes.length; i--) {
+            bytes[i] = (byte) ('0' + number % 10);
+            number /= 10;
+        }
+        return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Number of an ID in this format
+     *
+     * @return The number, -1 if the ID does not follow the format
+     */
+    public long parse(String id) {
+        int length = id != null ? id.length() - prefix.length() : 0;
+        if (length <= 0 || length > 18 || !id.startsWith(prefix)) {
+            return -1;
+        }
+        long number = 0;
+        for (int i = prefix.length(); i < id.length(); i++) {
+            char c = id.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            number = number * 10 + (c - '0');
+        }
+        return number;
+    }
+
+    /**
+     * Appends a non-negative number zero-padded to the given width, for IDs
+     * made of several numbers
+     */
+    public static StringBuilder appendPadded(StringBuilder target, long number, int width) {
+        for (int i = digits(number); i < width; i++) {
+            target.append('0');
+        }
+        return target.append(number);
+    }
+
+    private static int digits(long number) {
+        int digits = 1;
+        while (number >= 10) {
+            number /= 10;
+            digits++;
+        }
+        return digits;
+    }
+}
@@ -0,0 +1,33 @@
+package biblioteca.data.ids;
+
+/**
+ * Generated ID families, each with its own sequence. The name of the
+ * constant is the key of the sequence in the {@link IdService} file.
+ */
+public enum IdKind {
+    MEMBER(IdFormat.PLAIN, 1001),
+    // Copy numbers; the code also carries the book ID, see CopyCodes
+    COPY(IdFormat.PLAIN, 1),
+    LOAN(new IdFormat("LOAN", 4), 1),
+    FINE(new IdFormat("FINE", 4), 1),
+    NOTIFICATION(new IdFormat("NOTIF-", 5), 1);
+
+    private final IdFormat format;
+    private final long first;
+
+    IdKind(IdFormat format, long first) {
+        this.format = format;
+        this.first = first;
+    }
+
+    public IdFormat getFormat() {
+        return format;
+    }
+
+    /**
+     * First number handed out in an empty library
+     */
+    public long getFirst() {
+        return first;
+    }
+}
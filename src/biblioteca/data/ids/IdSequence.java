@@ -0,0 +1,118 @@
+package biblioteca.data.ids;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Lock-free counter of one {@link IdKind}.
+ *
+ * Numbers are reserved from the {@link IdService} in blocks: handing out a
+ * number is one atomic increment, and only the number that opens a new
+ * block waits while the end of the block is stored. After a crash the
+ * unused rest of the last block is skipped, so no number is ever handed
+ * out twice, not even one whose entity was rolled back or deleted.
+ */
+public final class IdSequence {
+    private final IdKind kind;
+    private final IdService service;
+    private final AtomicLong next;
+    private final boolean stored;
+    // Every number below has been stored as possibly handed out
+    private volatile long reserved;
+
+    IdSequence(IdKind kind, IdService service, long first, boolean stored) {
+        this.kind = kind;
+        this.service = service;
+        this.next = new AtomicLong(first);
+        this.stored = stored;
+        this.reserved = first;
+    }
+
+    public IdKind getKind() {
+        return kind;
+    }
+
+    /**
+     * Whether the service had a stored mark for this kind: then it already
+     * covers every number in use, generated or passed to
+     * {@link #advancePast(long)}. Without one, a repository must move the
+     * sequence past the IDs it holds.
+     */
+    public boolean hasStoredMark() {
+        return stored;
+    }
+
+    /**
+     * Next number of the sequence
+     *
+     * @throws java.io.UncheckedIOException if a new block cannot be stored
+     */
+    public long next() {
+        long number = next.getAndIncrement();
+        if (number >= reserved) {
+            reserve(number);
+        }
+        return number;
+    }
+
+    /**
+     * Next number rendered in the format of its kind
+     */
+    public String nextId() {
+        return kind.getFormat().format(next());
+    }
+
+    /**
+     * Moves the sequence past a number already in use, storing a new mark
+     * if the number is past the reserved block
+     */
+    public void advancePast(long number) {
+        next.accumulateAndGet(number + 1, Math::max);
+        if (number >= reserved) {
+            reserve(number);
+        }
+    }
+
+    /**
+     * Moves the sequence past an ID already in use; IDs that do not follow
+     * the format of the kind cannot collide with generated ones
+     */
+    public void advancePast(String id) {
+        long number = kind.getFormat().parse(id);
+        if (number >= 0) {
+            advancePast(number);
+        }
+    }
+
+    /**
+     * Moves the sequence past all the IDs of a bulk load at once, storing
+     * at most one new mark
+     */
+    public void advancePastAll(Stream<String> ids) {
+        long highest = ids.mapToLong(kind.getFormat()::parse).max().orElse(-1);
+        if (highest >= 0) {
+            advancePast(highest);
+        }
+    }
+
+    private synchronized void reserve(long number) {
+        if (number >= reserved) {
+            long end = number + IdService.BLOCK_SIZE;
+            service.store(kind, end);
+            reserved = end;
+        }
+    }
+
+    /**
+     * Gives the unused rest of the block back, marking the exact next
+     * number: the next number handed out reserves a block again
+     */
+    synchronized void release() {
+        // From here on every number goes through reserve(), which waits
+        // for this monitor: none is handed out past the value read below
+        reserved = 0;
+        long end = next.get();
+        service.mark(kind, end);
+        reserved = end;
+    }
+}
@@ -0,0 +1,121 @@
+package biblioteca.data.ids;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import biblioteca.data.persistence.SnapshotFile;
+
+/**
+ * Central source of generated IDs: one {@link IdSequence} per
+ * {@link IdKind}.
+ *
+ * The service stores, per kind, the number below which every number may
+ * have been handed out or stored with an explicit ID. A sequence starts
+ * past that mark after a restart, so IDs of deleted or rolled back
+ * entities are never reused, and a repository only needs to read the IDs
+ * it holds when there is no mark yet. The marks file is rewritten
+ * once per block of {@value #BLOCK_SIZE} numbers, and with the exact next
+ * numbers on {@link #close()}, so a clean restart leaves no gap.
+ */
+public final class IdService implements AutoCloseable {
+    static final int BLOCK_SIZE = 1024;
+
+    private final Path path;
+    private final Map<IdKind, Long> marks = new EnumMap<>(IdKind.class);
+    private final Map<IdKind, IdSequence> sequences = new EnumMap<>(IdKind.class);
+
+    private IdService(Path path) {
+        this.path = path;
+    }
+
+    /**
+     * Opens the service, reading the marks stored in the file, if any
+     *
+     * @param path Marks file
+     * @throws IOException if the file exists but cannot be read
+     */
+    public static IdService open(Path path) throws IOException {
+        IdService service = new IdService(path);
+        if (Files.exists(path)) {
+            SnapshotFile.read(path, in -> {
+                int count = in.readInt();
+                for (int i = 0; i < count; i++) {
+                    String kind = in.readUTF();
+                    long mark = in.readLong();
+                    try {
+                        service.marks.put(IdKind.valueOf(kind), mark);
+                    } catch (IllegalArgumentException e) {
+                        // A kind no longer generated
+                    }
+                }
+                return null;
+            });
+        }
+        return service;
+    }
+
+    /**
+     * A service that stores nothing, for repositories used without a data
+     * directory
+     */
+    public static IdService inMemory() {
+        return new IdService(null);
+    }
+
+    /**
+     * Sequence of the given kind, starting past its stored mark
+     */
+    public synchronized IdSequence sequence(IdKind kind) {
+        return sequences.computeIfAbsent(kind,
+                key -> new IdSequence(key, this, Math.max(key.getFirst(), marks.getOrDefault(key, 0L)),
+                        marks.containsKey(key)));
+    }
+
+    synchronized void mark(IdKind kind, long mark) {
+        marks.put(kind, mark);
+    }
+
+    synchronized void store(IdKind kind, long mark) {
+        marks.put(kind, mark);
+        try {
+            write();
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudieron reservar IDs de " + kind, e);
+        }
+    }
+
+    /**
+     * Stores the exact next number of every sequence
+     */
+    @Override
+    public void close() throws IOException {
+        // Sequences lock before the service, as when they reserve a block
+        List<IdSequence> open;
+        synchronized (this) {
+            open = new ArrayList<>(sequences.values());
+        }
+        open.forEach(IdSequence::release);
+        synchronized (this) {
+            write();
+        }
+    }
+
+    private void write() throws IOException {
+        if (path == null) {
+            return;
+        }
+        SnapshotFile.write(path, out -> {
+            out.writeInt(marks.size());
+            for (Map.Entry<IdKind, Long> mark : marks.entrySet()) {
+                out.writeUTF(mark.getKey().name());
+                out.writeLong(mark.getValue());
+            }
+        });
+    }
+}
@@ -0,0 +1,185 @@
+package biblioteca.data.persistence;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Decoder for what {@link BinaryWriter} wrote, either from a byte array or
+ * from the chunked stream of a streaming writer. Every occurrence of a
+ * symbol decodes to the same String instance.
+ */
+public final class BinaryReader {
+    private final InputStream source;
+    private final List<String> symbols = new ArrayList<>();
+    private byte[] buffer;
+    private int position;
+    private int limit;
+
+    public BinaryReader(byte[] data, int offset, int length) {
+        this.source = null;
+        this.buffer = data;
+        this.position = offset;
+        this.limit = offset + length;
+    }
+
+    /**
+     * Reads the chunks of a streaming writer, never reading past the last
+     * chunk actually needed
+     */
+    public BinaryReader(InputStream source) {
+        this.source = source;
+        this.buffer = new byte[0];
+    }
+
+    public byte readByte() throws IOException {
+        require(1);
+        return buffer[position++];
+    }
+
+    public boolean readBoolean() throws IOException {
+        return readByte() != 0;
+    }
+
+    public int readInt() throws IOException {
+        int value = readUnsignedInt();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    public long readLong() throws IOException {
+        long value = readUnsignedLong();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    public double readDouble() throws IOException {
+        require(Long.BYTES);
+        long bits = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            bits = (bits << 8) | (buffer[position++] & 0xFF);
+        }
+        return Double.longBitsToDouble(bits);
+    }
+
+    public String readString() throws IOException {
+        int length = readUnsignedInt() - 1;
+        if (length < 0) {
+            return null;
+        }
+        require(length);
+        String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+
+    public String readSymbol() throws IOException {
+        int code = readUnsignedInt();
+        if (code == BinaryWriter.NULL_SYMBOL) {
+            return null;
+        }
+        if (code == BinaryWriter.NEW_SYMBOL) {
+            String value = readString();
+            symbols.add(value);
+            return value;
+        }
+        int index = code - BinaryWriter.FIRST_SYMBOL_REFERENCE;
+        if (index >= symbols.size()) {
+            throw new IOException("Referencia a símbolo inexistente: " + index);
+        }
+        return symbols.get(index);
+    }
+
+    public <E extends Enum<E>> E readEnum(Class<E> type) throws IOException {
+        String name = readSymbol();
+        try {
+            return name != null ? Enum.valueOf(type, name) : null;
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Valor desconocido para " + type.getSimpleName() + ": " + name, e);
+        }
+    }
+
+    public LocalDate readDate() throws IOException {
+        long value = readUnsignedLong();
+        if (value == 0) {
+            return null;
+        }
+        value--;
+        return LocalDate.ofEpochDay((value >>> 1) ^ -(value & 1));
+    }
+
+    public LocalDateTime readDateTime() throws IOException {
+        if (!readBoolean()) {
+            return null;
+        }
+        long epochSecond = readLong();
+        return LocalDateTime.ofEpochSecond(epochSecond, readUnsignedInt(), ZoneOffset.UTC);
+    }
+
+    private int readUnsignedInt() throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = readByte();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IOException("Entero mal codificado");
+    }
+
+    private long readUnsignedLong() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            byte b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IOException("Entero mal codificado");
+    }
+
+    private void require(int bytes) throws IOException {
+        while (limit - position < bytes) {
+            if (source == null) {
+                throw new EOFException("Fin de datos inesperado");
+            }
+            readChunk();
+        }
+    }
+
+    private void readChunk() throws IOException {
+        int length = 0;
+        for (int i = 0; i < 4; i++) {
+            int b = source.read();
+            if (b < 0) {
+                throw new EOFException("Fin de datos inesperado");
+            }
+            length = (length << 8) | b;
+        }
+        int remaining = limit - position;
+        if (length < 0 || remaining + length < 0) {
+            throw new IOException("Bloque mal codificado: " + length + " bytes");
+        }
+        if (buffer.length < remaining + length) {
+            buffer = Arrays.copyOfRange(buffer, position, position + Math.max(remaining + length, buffer.length));
+        } else {
+            System.arraycopy(buffer, position, buffer, 0, remaining);
+        }
+        position = 0;
+        limit = remaining;
+        while (limit < remaining + length) {
+            int read = source.read(buffer, limit, remaining + length - limit);
+            if (read < 0) {
+                throw new EOFException("Fin de datos inesperado");
+            }
+            limit += read;
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package biblioteca.data.persistence;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compact binary encoder used by the {@link EntityCodec entity codecs}.
+ *
+ * Integers are zigzag varints, so small IDs and counts take one or two
+ * bytes. Symbols (IDs referenced from other entities, enum names) are
+ * dictionary encoded: the first occurrence is written in full and later
+ * ones as its index, for as long as the writer lives. Encoding goes
+ * straight into a reusable byte array; nothing is allocated per value
+ * except when a new symbol is added.
+ *
+ * In streaming mode the buffer is written to the sink as length-prefixed
+ * chunks whenever it fills up, so {@link BinaryReader} can read the body
+ * without reading past its end.
+ */
+public final class BinaryWriter {
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    static final int NULL_SYMBOL = 0;
+    static final int NEW_SYMBOL = 1;
+    static final int FIRST_SYMBOL_REFERENCE = 2;
+
+    private final OutputStream sink;
+    private final Map<String, Integer> symbols = new HashMap<>();
+    private byte[] buffer;
+    private int position;
+
+    /**
+     * In-memory writer; see {@link #toByteArray()}
+     */
+    public BinaryWriter() {
+        this.sink = null;
+        this.buffer = new byte[128];
+    }
+
+    /**
+     * Streaming writer; call {@link #flush()} once done
+     */
+    public BinaryWriter(OutputStream sink) {
+        this.sink = sink;
+        this.buffer = new byte[CHUNK_SIZE];
+    }
+
+    public void writeByte(int value) throws IOException {
+        ensure(1);
+        buffer[position++] = (byte) value;
+    }
+
+    public void writeBoolean(boolean value) throws IOException {
+        writeByte(value ? 1 : 0);
+    }
+
+    public void writeInt(int value) throws IOException {
+        writeUnsignedInt((value << 1) ^ (value >> 31));
+    }
+
+    public void writeLong(long value) throws IOException {
+        writeUnsignedLong((value << 1) ^ (value >> 63));
+    }
+
+    public void writeDouble(double value) throws IOException {
+        ensure(Long.BYTES);
+        long bits = Double.doubleToRawLongBits(value);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            buffer[position++] = (byte) (bits >>> shift);
+        }
+    }
+
+    /**
+     * Writes a string (may be null) in full
+     */
+    public void writeString(String value) throws IOException {
+        if (value == null) {
+            writeUnsignedInt(0);
+            return;
+        }
+        int length = value.length();
+        boolean ascii = true;
+        for (int i = 0; i < length && ascii; i++) {
+            ascii = value.charAt(i) < 0x80;
+        }
+        if (ascii) {
+            writeUnsignedInt(length + 1);
+            ensure(length);
+            for (int i = 0; i < length; i++) {
+                buffer[position++] = (byte) value.charAt(i);
+            }
+        } else {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeUnsignedInt(bytes.length + 1);
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+    }
+
+    /**
+     * Writes a string (may be null) that is expected to repeat: after its
+     * first occurrence it costs the varint of its dictionary index
+     */
+    public void writeSymbol(String value) throws IOException {
+        if (value == null) {
+            writeUnsignedInt(NULL_SYMBOL);
+            return;
+        }
+        Integer index = symbols.get(value);
+        if (index != null) {
+            writeUnsignedInt(index + FIRST_SYMBOL_REFERENCE);
+            return;
+        }
+        symbols.put(value, symbols.size());
+        writeUnsignedInt(NEW_SYMBOL);
+        writeString(value);
+    }
+
+    public void writeEnum(Enum<?> value) throws IOException {
+        writeSymbol(value != null ? value.name() : null);
+    }
+
+    /**
+     * Writes a date (may be null) as its epoch day
+     */
+    public void writeDate(LocalDate date) throws IOException {
+        if (date == null) {
+            writeUnsignedLong(0);
+        } else {
+            long epochDay = date.toEpochDay();
+            writeUnsignedLong(((epochDay << 1) ^ (epochDay >> 63)) + 1);
+        }
+    }
+
+    /**
+     * Writes a date-time (may be null) as UTC epoch seconds plus nanos
+     */
+    public void writeDateTime(LocalDateTime dateTime) throws IOException {
+        writeBoolean(dateTime != null);
+        if (dateTime != null) {
+            writeLong(dateTime.toEpochSecond(ZoneOffset.UTC));
+            writeUnsignedInt(dateTime.getNano());
+        }
+    }
+
+    /**
+     * Bytes written so far (in-memory mode)
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, position);
+    }
+
+    public int size() {
+        return position;
+    }
+
+    /**
+     * Forgets the bytes and the symbol dictionary, for reuse
+     */
+    public void reset() {
+        position = 0;
+        symbols.clear();
+    }
+
+    /**
+     * Writes the buffered bytes to the sink (streaming mode)
+     */
+    public void flush() throws IOException {
+        if (sink == null || position == 0) {
+            return;
+        }
+        sink.write(position >>> 24);
+        sink.write(position >>> 16);
+        sink.write(position >>> 8);
+        sink.write(position);
+        sink.write(buffer, 0, position);
+        position = 0;
+    }
+
+    private void writeUnsignedInt(int value) throws IOException {
+        ensure(5);
+        while ((value & ~0x7F) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+
+    private void writeUnsignedLong(long value) throws IOException {
+        ensure(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (position + bytes <= buffer.length) {
+            return;
+        }
+        if (sink != null && position > 0 && bytes <= buffer.length) {
+            flush();
+            return;
+        }
+        buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + bytes));
+    }
+}
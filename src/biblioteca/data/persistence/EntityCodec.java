@@ -0,0 +1,18 @@
+package biblioteca.data.persistence;
+
+import java.io.IOException;
+
+/**
+ * Binary encoding of one entity type for the persistence files.
+ * References to other entities are written as their IDs and resolved again
+ * when reading. String IDs that other entities refer to are written as
+ * {@link BinaryWriter#writeSymbol symbols}.
+ *
+ * @param <V> Entity type
+ */
+public interface EntityCodec<V> {
+
+    void write(BinaryWriter out, V entity) throws IOException;
+
+    V read(BinaryReader in) throws IOException;
+}
@@ -0,0 +1,287 @@
+package biblioteca.data.persistence;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.function.IntFunction;
+
+import biblioteca.domain.entities.Author;
+import biblioteca.domain.entities.Book;
+import biblioteca.domain.entities.Category;
+import biblioteca.domain.entities.Copy;
+import biblioteca.domain.entities.EntityResolver;
+import biblioteca.domain.entities.Fine;
+import biblioteca.domain.entities.Loan;
+import biblioteca.domain.entities.Member;
+import biblioteca.domain.entities.Publisher;
+import biblioteca.domain.entities.SystemParameters;
+import biblioteca.domain.enums.CopyOrigin;
+import biblioteca.domain.enums.CopyState;
+import biblioteca.domain.enums.LoanState;
+import biblioteca.domain.enums.MemberState;
+import biblioteca.domain.enums.MemberType;
+import biblioteca.domain.notifications.ConsoleNotification;
+import biblioteca.domain.notifications.EmailNotification;
+import biblioteca.domain.notifications.Notification;
+import biblioteca.domain.notifications.SMSNotification;
+
+/**
+ * Codecs for the domain entities. Enums are written by name and dates as
+ * epoch days, so reordering enum constants does not corrupt stored data.
+ * Member IDs and copy codes are symbols, so a loan or fine that refers to
+ * them costs one or two bytes per reference within the same writer.
+ * Referenced books, authors, categories and publishers are looked up
+ * through the given resolvers and must already be loaded when a record is
+ * read; loans and fines keep only the IDs and resolve them on demand.
+ */
+public final class EntityCodecs {
+    /**
+     * Layout version of the codecs, stored alongside the encoded data.
+     * Version 1 was a fixed-width DataOutput layout; version 2 did not
+     * store the version of copies.
+     */
+    public static final int FORMAT_VERSION = 3;
+
+    private static final int NO_ID = -1;
+
+    private EntityCodecs() {
+    }
+
+    public static EntityCodec<Author> author() {
+        return new EntityCodec<>() {
+            @Override
+            public void write(BinaryWriter out, Author author) throws IOException {
+                out.writeInt(author.getId());
+                out.writeString(author.getName());
+            }
+
+            @Override
+            public Author read(BinaryReader in) throws IOException {
+                return new Author(in.readInt(), in.readString());
+            }
+        };
+    }
+
+    public static EntityCodec<Category> category() {
+        return new EntityCodec<>() {
+            @Override
+            public void write(BinaryWriter out, Category category) throws IOException {
+                out.writeInt(category.getId());
+                out.writeString(category.getName());
+            }
+
+            @Override
+            public Category read(BinaryReader in) throws IOException {
+                return new Category(in.readInt(), in.readString());
+            }
+        };
+    }
+
+    public static EntityCodec<Publisher> publisher() {
+        return new EntityCodec<>() {
+            @Override
+            public void write(BinaryWriter out, Publisher publisher) throws IOException {
+                out.writeInt(publisher.getId());
+                out.writeString(publisher.getName());
+            }
+
+            @Override
+            public Publisher read(BinaryReader in) throws IOException {
+                return new Publisher(in.readInt(), in.readString());
+            }
+        };
+    }
+
+    public static EntityCodec<Book> book(IntFunction<Author> authors, IntFunction<Category> categories,
+            IntFunction<Publisher> publishers) {
+        return new EntityCodec<>() {
+            @Override
+            public void write(BinaryWriter out, Book book) throws IOException {
+                out.writeInt(book.getId());
+                out.writeString(book.getTitle());
+                out.writeInt(book.getAuthor() != null ? book.getAuthor().getId() : NO_ID);
+                out.writeInt(book.getCategory() != null ? book.getCategory().getId() : NO_ID);
+                out.writeInt(book.getPublisher() != null ? book.getPublisher().getId() : NO_ID);
+                out.writeInt(book.getYear());
+            }
+
+            @Override
+            public Book read(BinaryReader in) throws IOException {
+                int id = in.readInt();
+                String title = in.readString();
+                Author author = resolve(in.readInt(), authors, "autor");
+                Category category = resolve(in.readInt(), categories, "categoría");
+                Publisher publisher = resolve(in.readInt(), publishers, "editorial");
+                return new Book(id, title, author, category, publisher, in.readInt());
+            }
+        };
+    }
+
+    public static EntityCodec<Copy> copy(IntFunction<Book> books) {
+        return new EntityCodec<>() {
+            @Override
+            public void write(BinaryWriter out, Copy copy) throws IOException {
+                out.writeSymbol(copy.getCode());
+                out.writeEnum(copy.getState());
+                out.writeEnum(copy.getOrigin());
+                out.writeInt(copy.getBook() != null ? copy.getBook().getId() : NO_ID);
+                out.writeLong(copy.getVersion());
+            }
+
+            @Override
+            public Copy read(BinaryReader in) throws IOException {
+                String code = in.readSymbol();
+                CopyState state = in.readEnum(CopyState.class);
+                CopyOrigin origin = in.readEnum(CopyOrigin.class);
+                Book book = resolve(in.readInt(), books, "libro");
+                Copy copy = new Copy(code, state, origin, book);
+                copy.setVersion(in.readLong());
+                return copy;
+            }
+        };
+    }
+
+    public static EntityCodec<Member> member() {
+        return new EntityCodec<>() {
+            @Override
+            public void write(BinaryWriter out, Member member) throws IOException {
+                out.writeSymbol(member.getId());
+                out.writeString(member.getName());
+                out.writeString(member.getEmail());
+                out.writeString(member.getPhone());
+                out.writeEnum(member.getType());
+                out.writeEnum(member.getState());
+                out.writeDouble(member.getPendingFines());
+            }
+
+            @Override
+            public Member read(BinaryReader in) throws IOException {
+                Member member = new Member(in.readSymbol(), in.readString(), in.readString(), in.readString(),
+                        in.readEnum(MemberType.class));
+                member.setState(in.readEnum(MemberState.class));
+                member.setPendingFines(in.readDouble());
+                return member;
+            }
+        };
+    }
+
+    public static EntityCodec<Loan> loan(EntityResolver resolver) {
+        return new EntityCodec<>() {
+            @Override
+            public void write(BinaryWriter out, Loan loan) throws IOException {
+                out.writeString(loan.getId());
+                out.writeSymbol(loan.getMemberId());
+                out.writeSymbol(loan.getCopyCode());
+                out.writeDate(loan.getLoanDate());
+                out.writeDate(loan.getDueDate());
+                out.writeDate(loan.getReturnDate());
+                out.writeEnum(loan.getState());
+            }
+
+            @Override
+            public Loan read(BinaryReader in) throws IOException {
+                String id = in.readString();
+                String memberId = in.readSymbol();
+                String copyCode = in.readSymbol();
+                LocalDate loanDate = in.readDate();
+                LocalDate dueDate = in.readDate();
+                LocalDate returnDate = in.readDate();
+                Loan loan = new Loan(id, memberId, copyCode, loanDate, dueDate, in.readEnum(LoanState.class),
+                        resolver);
+                loan.setReturnDate(returnDate);
+                return loan;
+            }
+        };
+    }
+
+    public static EntityCodec<Fine> fine(EntityResolver resolver) {
+        return new EntityCodec<>() {
+            @Override
+            public void write(BinaryWriter out, Fine fine) throws IOException {
+                out.writeString(fine.getId());
+                out.writeSymbol(fine.getMemberId());
+                out.writeDouble(fine.getAmount());
+                out.writeDate(fine.getIssueDate());
+                out.writeBoolean(fine.isPaid());
+                out.writeDate(fine.getPaidDate());
+            }
+
+            @Override
+            public Fine read(BinaryReader in) throws IOException {
+                String id = in.readString();
+                String memberId = in.readSymbol();
+                double amount = in.readDouble();
+                Fine fine = new Fine(id, memberId, amount, in.readDate(), resolver);
+                boolean paid = in.readBoolean();
+                LocalDate paidDate = in.readDate();
+                if (paid) {
+                    fine.pay(paidDate);
+                }
+                return fine;
+            }
+        };
+    }
+
+    public static EntityCodec<Notification> notification() {
+        return new EntityCodec<>() {
+            @Override
+            public void write(BinaryWriter out, Notification notification) throws IOException {
+                out.writeSymbol(notification.getChannelName());
+                out.writeString(notification.getId());
+                out.writeString(notification.getMessage());
+                out.writeSymbol(notification.getRecipientInfo());
+                out.writeDateTime(notification.getCreatedAt());
+                out.writeDateTime(notification.getSentAt());
+                if (notification instanceof EmailNotification email) {
+                    out.writeSymbol(email.getSubject());
+                }
+            }
+
+            @Override
+            public Notification read(BinaryReader in) throws IOException {
+                String channel = in.readSymbol();
+                String id = in.readString();
+                String message = in.readString();
+                String recipient = in.readSymbol();
+                LocalDateTime createdAt = in.readDateTime();
+                LocalDateTime sentAt = in.readDateTime();
+                Notification notification = switch (channel) {
+                    case "Email" -> new EmailNotification(id, message, recipient, in.readSymbol());
+                    case "SMS" -> new SMSNotification(id, message, recipient);
+                    case "Consola" -> new ConsoleNotification(id, message, recipient);
+                    default -> throw new IOException("Canal de notificación desconocido: " + channel);
+                };
+                notification.restore(createdAt, sentAt);
+                return notification;
+            }
+        };
+    }
+
+    public static EntityCodec<SystemParameters> systemParameters() {
+        return new EntityCodec<>() {
+            @Override
+            public void write(BinaryWriter out, SystemParameters parameters) throws IOException {
+                out.writeInt(parameters.getMaxLoansPerMember());
+                out.writeInt(parameters.getLoanDays());
+                out.writeDouble(parameters.getFinePerDay());
+                out.writeInt(parameters.getMaxActiveReservationsPerMember());
+            }
+
+            @Override
+            public SystemParameters read(BinaryReader in) throws IOException {
+                return new SystemParameters(in.readInt(), in.readInt(), in.readDouble(), in.readInt());
+            }
+        };
+    }
+
+    private static <T> T resolve(int id, IntFunction<T> resolver, String kind) throws IOException {
+        if (id == NO_ID) {
+            return null;
+        }
+        T entity = resolver.apply(id);
+        if (entity == null) {
+            throw new IOException("Referencia a " + kind + " inexistente: " + id);
+        }
+        return entity;
+    }
+}
@@ -0,0 +1,229 @@
+package biblioteca.data.persistence;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import biblioteca.domain.entities.EntityResolver;
+import biblioteca.domain.entities.Loan;
+import biblioteca.domain.enums.LoanState;
+
+/**
+ * Archive of returned loans kept outside the heap in memory-mapped
+ * {@link LoanArchiveSegment columnar segments}, one file per archiving
+ * pass ({@code loans-000001.seg}, {@code loans-000002.seg}, ...). A new
+ * segment is numbered after the highest existing one, so a missing file
+ * never leads to a name that is already taken.
+ *
+ * Only IDs and dates are stored, and loans read back keep only the IDs:
+ * members and copies are resolved through the given resolver on demand,
+ * so archived loans do not pin their member and copy. A loan whose member
+ * or copy was deleted keeps its IDs, like one in memory.
+ */
+public class LoanArchive {
+    private static final String SEGMENT_PREFIX = "loans-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+
+    private final Path directory;
+    private final EntityResolver resolver;
+    // copy-on-write: readers never lock
+    private volatile List<LoanArchiveSegment> segments;
+    private long nextSegmentNumber;
+
+    private LoanArchive(Path directory, List<LoanArchiveSegment> segments, long nextSegmentNumber,
+            EntityResolver resolver) {
+        this.directory = directory;
+        this.segments = segments;
+        this.nextSegmentNumber = nextSegmentNumber;
+        this.resolver = resolver;
+    }
+
+    /**
+     * Opens (or creates) the archive in the given directory. Leftover
+     * temporary files from an interrupted write are deleted.
+     *
+     * @param directory Segment directory
+     * @param resolver  Member and copy lookup
+     * @throws IOException if a segment cannot be read or is corrupt
+     */
+    public static LoanArchive open(Path directory, EntityResolver resolver) throws IOException {
+        Files.createDirectories(directory);
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*")) {
+            for (Path entry : entries) {
+                String name = entry.getFileName().toString();
+                if (name.endsWith(SEGMENT_SUFFIX)) {
+                    files.add(entry);
+                } else if (name.endsWith(".tmp")) {
+                    Files.delete(entry);
+                }
+            }
+        }
+        // Sequence number order is write order
+        Map<Path, Long> numbers = new HashMap<>();
+        for (Path file : files) {
+            numbers.put(file, segmentNumber(file));
+        }
+        files.sort(Comparator.comparing(numbers::get));
+        List<LoanArchiveSegment> segments = new ArrayList<>(files.size());
+        for (Path file : files) {
+            segments.add(LoanArchiveSegment.open(file));
+        }
+        long last = files.isEmpty() ? 0 : numbers.get(files.get(files.size() - 1));
+        return new LoanArchive(directory, List.copyOf(segments), last + 1, resolver);
+    }
+
+    /**
+     * Writes the given returned loans as a new segment. The segment is
+     * durable when this method returns.
+     *
+     * @param loans Loans in state RETURNED
+     * @throws IOException if the segment cannot be written
+     */
+    public synchronized void append(List<Loan> loans) throws IOException {
+        for (Loan loan : loans) {
+            if (loan.getState() != LoanState.RETURNED) {
+                throw new IllegalArgumentException("Solo se archivan préstamos devueltos: " + loan.getId());
+            }
+        }
+        if (loans.isEmpty()) {
+            return;
+        }
+        String name = String.format("%s%06d%s", SEGMENT_PREFIX, nextSegmentNumber, SEGMENT_SUFFIX);
+        List<LoanArchiveSegment> updated = new ArrayList<>(segments);
+        updated.add(LoanArchiveSegment.write(directory.resolve(name), loans));
+        nextSegmentNumber++;
+        segments = List.copyOf(updated);
+    }
+
+    /**
+     * Total number of archived loans
+     */
+    public long size() {
+        long size = 0;
+        for (LoanArchiveSegment segment : segments) {
+            size += segment.rows();
+        }
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Every archived loan, in archiving order
+     */
+    public List<Loan> findAll() {
+        List<Loan> result = new ArrayList<>();
+        forEach(result::add);
+        return result;
+    }
+
+    /**
+     * Visits every archived loan, in archiving order, decoding one row at a
+     * time
+     */
+    public void forEach(Consumer<? super Loan> action) {
+        for (LoanArchiveSegment segment : segments) {
+            for (int row = 0; row < segment.rows(); row++) {
+                action.accept(loan(segment, row));
+            }
+        }
+    }
+
+    /**
+     * Archived loan with the given ID, or null
+     */
+    public Loan findById(String loanId) {
+        for (LoanArchiveSegment segment : segments) {
+            int row = segment.rowOfLoan(loanId);
+            if (row >= 0) {
+                return loan(segment, row);
+            }
+        }
+        return null;
+    }
+
+    public List<Loan> findByMemberId(String memberId) {
+        List<Loan> result = new ArrayList<>();
+        for (LoanArchiveSegment segment : segments) {
+            for (int row : segment.rowsOfMember(memberId)) {
+                result.add(loan(segment, row));
+            }
+        }
+        return result;
+    }
+
+    public List<Loan> findByCopyCode(String copyCode) {
+        List<Loan> result = new ArrayList<>();
+        for (LoanArchiveSegment segment : segments) {
+            for (int row : segment.rowsOfCopy(copyCode)) {
+                result.add(loan(segment, row));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * IDs of every archived loan, without resolving members or copies
+     */
+    public List<String> loanIds() {
+        List<String> ids = new ArrayList<>();
+        for (LoanArchiveSegment segment : segments) {
+            for (int row = 0; row < segment.rows(); row++) {
+                ids.add(segment.loanId(row));
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * IDs in the most recent segment, the only one whose loans can still be
+     * in memory after an interrupted archiving pass
+     */
+    public List<String> latestLoanIds() {
+        List<LoanArchiveSegment> current = segments;
+        if (current.isEmpty()) {
+            return List.of();
+        }
+        LoanArchiveSegment latest = current.get(current.size() - 1);
+        List<String> ids = new ArrayList<>(latest.rows());
+        for (int row = 0; row < latest.rows(); row++) {
+            ids.add(latest.loanId(row));
+        }
+        return ids;
+    }
+
+    /**
+     * Sequence number in a segment file name
+     *
+     * @throws IOException if the name has no number
+     */
+    private static long segmentNumber(Path file) throws IOException {
+        String name = file.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(SEGMENT_PREFIX.length(),
+                    name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            throw new IOException("Nombre de segmento de préstamos inválido: " + file, e);
+        }
+    }
+
+    /**
+     * Loan of the row; its member and copy are resolved when asked for
+     */
+    private Loan loan(LoanArchiveSegment segment, int row) {
+        Loan loan = new Loan(segment.loanId(row), segment.memberId(row), segment.copyCode(row),
+                segment.loanDate(row), segment.dueDate(row), LoanState.RETURNED, resolver);
+        loan.setReturnDate(segment.returnDate(row));
+        return loan;
+    }
+}
@@ -0,0 +1,410 @@
+package biblioteca.data.persistence;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.zip.CRC32;
+
+import biblioteca.domain.entities.Loan;
+
+/**
+ * Immutable, memory-mapped segment of archived loans stored column by
+ * column, so a lookup only touches the columns it needs.
+ *
+ * Layout: header [magic, version, rows, members, copies, 12 column offsets],
+ * then the columns, then a CRC32 of everything before it. Member IDs and
+ * copy codes are dictionary encoded (sorted string tables plus one int
+ * reference per row); loan IDs are a plain string table and dates are
+ * epoch days. A string table is [int offsets[n + 1]][UTF-8 bytes].
+ *
+ * Each dictionary also has a postings index: the row numbers grouped by
+ * dictionary entry ([int starts[n + 1]][int rows[rows]]), so the loans of a
+ * member or copy are read without scanning the reference column. Version 1
+ * segments have no postings and are scanned.
+ */
+final class LoanArchiveSegment {
+    private static final int MAGIC = 0x424C4152; // "BLAR"
+    private static final int VERSION = 2;
+    private static final int COLUMN_COUNT = 12;
+    private static final int HEADER_SIZE = 5 * Integer.BYTES + COLUMN_COUNT * Integer.BYTES;
+    private static final int VERSION_1_COLUMN_COUNT = 8;
+    private static final int NO_COLUMN = -1;
+    private static final int NO_DATE = Integer.MIN_VALUE;
+
+    private final ByteBuffer data;
+    private final int rows;
+    private final StringTable loanIds;
+    private final StringTable memberIds;
+    private final StringTable copyCodes;
+    private final int memberRefs;
+    private final int copyRefs;
+    private final int loanDays;
+    private final int dueDays;
+    private final int returnDays;
+    private final int memberPostingStarts;
+    private final int memberPostings;
+    private final int copyPostingStarts;
+    private final int copyPostings;
+
+    private LoanArchiveSegment(Path path, ByteBuffer data) throws IOException {
+        this.data = data;
+        int version = data.capacity() >= 2 * Integer.BYTES ? data.getInt(4) : 0;
+        int columns = version == 1 ? VERSION_1_COLUMN_COUNT : COLUMN_COUNT;
+        if (data.capacity() < 5 * Integer.BYTES + columns * Integer.BYTES + Long.BYTES
+                || data.getInt(0) != MAGIC || (version != 1 && version != VERSION)) {
+            throw new IOException("El archivo no es un segmento de préstamos válido: " + path);
+        }
+        this.rows = data.getInt(8);
+        int memberCount = data.getInt(12);
+        int copyCount = data.getInt(16);
+        this.loanIds = new StringTable(data, data.getInt(20), rows);
+        this.memberIds = new StringTable(data, data.getInt(24), memberCount);
+        this.copyCodes = new StringTable(data, data.getInt(28), copyCount);
+        this.memberRefs = data.getInt(32);
+        this.copyRefs = data.getInt(36);
+        this.loanDays = data.getInt(40);
+        this.dueDays = data.getInt(44);
+        this.returnDays = data.getInt(48);
+        boolean indexed = version == VERSION;
+        this.memberPostingStarts = indexed ? data.getInt(52) : NO_COLUMN;
+        this.memberPostings = indexed ? data.getInt(56) : NO_COLUMN;
+        this.copyPostingStarts = indexed ? data.getInt(60) : NO_COLUMN;
+        this.copyPostings = indexed ? data.getInt(64) : NO_COLUMN;
+    }
+
+    /**
+     * Maps an existing segment read-only and verifies its checksum
+     */
+    static LoanArchiveSegment open(Path path) throws IOException {
+        MappedByteBuffer data;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        int checksumAt = data.capacity() - Long.BYTES;
+        if (checksumAt < 0 || data.getLong(checksumAt) != checksum(data, checksumAt)) {
+            throw new IOException("Segmento de préstamos corrupto (checksum inválido): " + path);
+        }
+        return new LoanArchiveSegment(path, data);
+    }
+
+    /**
+     * Writes the given loans as a new segment through a temporary file that
+     * is forced to disk and atomically renamed, then maps it
+     *
+     * @param path  Segment file, must not exist yet
+     * @param loans Loans to archive
+     */
+    static LoanArchiveSegment write(Path path, List<Loan> loans) throws IOException {
+        int rows = loans.size();
+        byte[][] ids = new byte[rows][];
+        String[] members = dictionary(loans, loan -> loan.getMemberId());
+        String[] copies = dictionary(loans, loan -> loan.getCopyCode());
+        Map<String, Integer> memberIndex = indexOf(members);
+        Map<String, Integer> copyIndex = indexOf(copies);
+        for (int row = 0; row < rows; row++) {
+            ids[row] = utf8(loans.get(row).getId());
+        }
+        byte[][] memberBytes = Arrays.stream(members).map(LoanArchiveSegment::utf8).toArray(byte[][]::new);
+        byte[][] copyBytes = Arrays.stream(copies).map(LoanArchiveSegment::utf8).toArray(byte[][]::new);
+        int[] memberRefs = new int[rows];
+        int[] copyRefs = new int[rows];
+        for (int row = 0; row < rows; row++) {
+            memberRefs[row] = memberIndex.get(loans.get(row).getMemberId());
+            copyRefs[row] = copyIndex.get(loans.get(row).getCopyCode());
+        }
+
+        int[] offsets = new int[COLUMN_COUNT];
+        long position = HEADER_SIZE;
+        offsets[0] = (int) position;
+        position += StringTable.size(ids);
+        offsets[1] = (int) position;
+        position += StringTable.size(memberBytes);
+        offsets[2] = (int) position;
+        position += StringTable.size(copyBytes);
+        for (int column = 3; column < 8; column++) {
+            offsets[column] = (int) position;
+            position += (long) rows * Integer.BYTES;
+        }
+        offsets[8] = (int) position;
+        position += (long) (members.length + 1) * Integer.BYTES;
+        offsets[9] = (int) position;
+        position += (long) rows * Integer.BYTES;
+        offsets[10] = (int) position;
+        position += (long) (copies.length + 1) * Integer.BYTES;
+        offsets[11] = (int) position;
+        position += (long) rows * Integer.BYTES;
+        long size = position + Long.BYTES;
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Demasiados préstamos para un segmento: " + rows);
+        }
+
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer out = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            out.putInt(MAGIC).putInt(VERSION).putInt(rows).putInt(members.length).putInt(copies.length);
+            for (int offset : offsets) {
+                out.putInt(offset);
+            }
+            StringTable.write(out, ids);
+            StringTable.write(out, memberBytes);
+            StringTable.write(out, copyBytes);
+            for (int reference : memberRefs) {
+                out.putInt(reference);
+            }
+            for (int reference : copyRefs) {
+                out.putInt(reference);
+            }
+            for (Loan loan : loans) {
+                out.putInt(epochDay(loan.getLoanDate()));
+            }
+            for (Loan loan : loans) {
+                out.putInt(epochDay(loan.getDueDate()));
+            }
+            for (Loan loan : loans) {
+                out.putInt(epochDay(loan.getReturnDate()));
+            }
+            writePostings(out, memberRefs, members.length);
+            writePostings(out, copyRefs, copies.length);
+            out.putLong(checksum(out, (int) position));
+            out.force();
+            channel.force(true);
+        }
+        Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE);
+        return open(path);
+    }
+
+    int rows() {
+        return rows;
+    }
+
+    String loanId(int row) {
+        return loanIds.get(row);
+    }
+
+    String memberId(int row) {
+        return memberIds.get(data.getInt(memberRefs + row * Integer.BYTES));
+    }
+
+    String copyCode(int row) {
+        return copyCodes.get(data.getInt(copyRefs + row * Integer.BYTES));
+    }
+
+    LocalDate loanDate(int row) {
+        return date(loanDays, row);
+    }
+
+    LocalDate dueDate(int row) {
+        return date(dueDays, row);
+    }
+
+    LocalDate returnDate(int row) {
+        return date(returnDays, row);
+    }
+
+    /**
+     * Row of the given loan, or -1: a scan of the loan ID column that
+     * compares the stored bytes without decoding them
+     */
+    int rowOfLoan(String loanId) {
+        return loanIds.find(loanId.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Rows of the given member: one dictionary lookup, then its postings
+     */
+    int[] rowsOfMember(String memberId) {
+        return rowsReferencing(memberRefs, memberPostingStarts, memberPostings, memberIds.indexOf(memberId));
+    }
+
+    /**
+     * Rows of the given copy
+     */
+    int[] rowsOfCopy(String copyCode) {
+        return rowsReferencing(copyRefs, copyPostingStarts, copyPostings, copyCodes.indexOf(copyCode));
+    }
+
+    private int[] rowsReferencing(int column, int postingStarts, int postings, int reference) {
+        if (reference < 0) {
+            return new int[0];
+        }
+        if (postingStarts != NO_COLUMN) {
+            int start = data.getInt(postingStarts + reference * Integer.BYTES);
+            int end = data.getInt(postingStarts + (reference + 1) * Integer.BYTES);
+            int[] matches = new int[end - start];
+            for (int i = 0; i < matches.length; i++) {
+                matches[i] = data.getInt(postings + (start + i) * Integer.BYTES);
+            }
+            return matches;
+        }
+        // Version 1 segment: scan the reference column
+        int[] matches = new int[8];
+        int count = 0;
+        for (int row = 0; row < rows; row++) {
+            if (data.getInt(column + row * Integer.BYTES) == reference) {
+                if (count == matches.length) {
+                    matches = Arrays.copyOf(matches, count * 2);
+                }
+                matches[count++] = row;
+            }
+        }
+        return Arrays.copyOf(matches, count);
+    }
+
+    /**
+     * Writes the postings of a reference column: where each entry's rows
+     * start, then the rows grouped by entry, each group in row order
+     */
+    private static void writePostings(ByteBuffer out, int[] references, int entries) {
+        int[] starts = new int[entries + 1];
+        for (int reference : references) {
+            starts[reference + 1]++;
+        }
+        for (int entry = 0; entry < entries; entry++) {
+            starts[entry + 1] += starts[entry];
+        }
+        int[] rows = new int[references.length];
+        int[] next = Arrays.copyOf(starts, entries);
+        for (int row = 0; row < references.length; row++) {
+            rows[next[references[row]]++] = row;
+        }
+        for (int start : starts) {
+            out.putInt(start);
+        }
+        for (int row : rows) {
+            out.putInt(row);
+        }
+    }
+
+    private LocalDate date(int column, int row) {
+        int epochDay = data.getInt(column + row * Integer.BYTES);
+        return epochDay == NO_DATE ? null : LocalDate.ofEpochDay(epochDay);
+    }
+
+    private static int epochDay(LocalDate date) {
+        return date != null ? Math.toIntExact(date.toEpochDay()) : NO_DATE;
+    }
+
+    private static String[] dictionary(List<Loan> loans, Function<Loan, String> value) {
+        return loans.stream().map(value).distinct().sorted().toArray(String[]::new);
+    }
+
+    private static Map<String, Integer> indexOf(String[] dictionary) {
+        Map<String, Integer> index = new HashMap<>(dictionary.length * 2);
+        for (int i = 0; i < dictionary.length; i++) {
+            index.put(dictionary[i], i);
+        }
+        return index;
+    }
+
+    private static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static long checksum(ByteBuffer data, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(data.duplicate().position(0).limit(length));
+        return crc.getValue();
+    }
+
+    /**
+     * Read access to a string table inside the mapped segment
+     */
+    private static final class StringTable {
+        private final ByteBuffer data;
+        private final int offsets;
+        private final int bytes;
+        private final int count;
+
+        StringTable(ByteBuffer data, int position, int count) {
+            this.data = data;
+            this.offsets = position;
+            this.bytes = position + (count + 1) * Integer.BYTES;
+            this.count = count;
+        }
+
+        static long size(byte[][] values) {
+            long size = (long) (values.length + 1) * Integer.BYTES;
+            for (byte[] value : values) {
+                size += value.length;
+            }
+            return size;
+        }
+
+        static void write(ByteBuffer out, byte[][] values) {
+            int offset = 0;
+            out.putInt(offset);
+            for (byte[] value : values) {
+                offset += value.length;
+                out.putInt(offset);
+            }
+            for (byte[] value : values) {
+                out.put(value);
+            }
+        }
+
+        String get(int index) {
+            int start = data.getInt(offsets + index * Integer.BYTES);
+            int end = data.getInt(offsets + (index + 1) * Integer.BYTES);
+            byte[] value = new byte[end - start];
+            data.get(bytes + start, value);
+            return new String(value, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * Linear search, for the loan ID table, which is not sorted
+         */
+        int find(byte[] value) {
+            for (int index = 0; index < count; index++) {
+                int start = data.getInt(offsets + index * Integer.BYTES);
+                int end = data.getInt(offsets + (index + 1) * Integer.BYTES);
+                if (end - start == value.length && matches(bytes + start, value)) {
+                    return index;
+                }
+            }
+            return -1;
+        }
+
+        private boolean matches(int position, byte[] value) {
+            for (int i = 0; i < value.length; i++) {
+                if (data.get(position + i) != value[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Binary search; only valid for the sorted dictionary tables
+         */
+        int indexOf(String value) {
+            int low = 0;
+            int high = count - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                int comparison = get(middle).compareTo(value);
+                if (comparison < 0) {
+                    low = middle + 1;
+                } else if (comparison > 0) {
+                    high = middle - 1;
+                } else {
+                    return middle;
+                }
+            }
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package biblioteca.data.persistence;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Whole-state binary snapshot file, written and read sequentially through
+ * large buffers.
+ *
+ * A snapshot is first written to a temporary file, forced to disk and then
+ * atomically renamed over the previous one, so a crash never leaves a half
+ * written snapshot in place. Layout: magic, version, body, CRC32 of
+ * everything before the checksum.
+ */
+public final class SnapshotFile {
+    private static final int MAGIC = 0x42534E50; // "BSNP"
+    private static final int VERSION = 1;
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private SnapshotFile() {
+    }
+
+    /**
+     * Writes a snapshot, replacing the existing one atomically
+     *
+     * @param path   Snapshot file
+     * @param writer Writes the body
+     * @return Size of the snapshot in bytes
+     * @throws IOException if the snapshot cannot be written
+     */
+    public static long write(Path path, Writer writer) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            OutputStream buffered = new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE);
+            CheckedOutputStream checked = new CheckedOutputStream(buffered, new CRC32());
+            DataOutputStream out = new DataOutputStream(checked);
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            writer.write(out);
+            out.flush();
+
+            DataOutputStream trailer = new DataOutputStream(buffered);
+            trailer.writeLong(checked.getChecksum().getValue());
+            trailer.flush();
+            channel.force(true);
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return Files.size(path);
+    }
+
+    /**
+     * Reads a snapshot and verifies its checksum
+     *
+     * @param path   Snapshot file
+     * @param reader Reads the body
+     * @return Whatever the reader returned
+     * @throws IOException if the file is missing, unreadable or corrupt
+     */
+    public static <T> T read(Path path, Reader<T> reader) throws IOException {
+        try (InputStream buffered = new BufferedInputStream(Files.newInputStream(path), BUFFER_SIZE)) {
+            CheckedInputStream checked = new CheckedInputStream(buffered, new CRC32());
+            DataInputStream in = new DataInputStream(checked);
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("El archivo no es un snapshot válido: " + path);
+            }
+            T result = reader.read(in);
+
+            long expected = new DataInputStream(buffered).readLong();
+            if (checked.getChecksum().getValue() != expected) {
+                throw new IOException("Snapshot corrupto (checksum inválido): " + path);
+            }
+            return result;
+        }
+    }
+
+    @FunctionalInterface
+    public interface Writer {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    @FunctionalInterface
+    public interface Reader<T> {
+        T read(DataInputStream in) throws IOException;
+    }
+}
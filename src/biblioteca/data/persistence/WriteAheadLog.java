@@ -0,0 +1,364 @@
+package biblioteca.data.persistence;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only, checksummed log of records with group commit.
+ *
+ * Writers hand their record to {@link #append(byte[])} and wait in
+ * {@link #awaitDurable(long)}. A single flusher thread writes every record
+ * queued since its last pass and forces them to disk with one fsync, so
+ * concurrent writers share the disk latency instead of paying it one after
+ * another. Waiting uses a {@link ReentrantLock} rather than a monitor so a
+ * writer on a virtual thread unmounts while it waits instead of pinning its
+ * carrier thread.
+ *
+ * File layout: an 8 byte header (magic, version) followed by frames of
+ * [int length][int crc32][payload]. A torn or corrupt frame at the end of the
+ * file (e.g. after a crash mid-write) is discarded on {@link #replay}.
+ */
+public class WriteAheadLog implements AutoCloseable {
+    private static final int MAGIC = 0x4257414C; // "BWAL"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 8;
+    private static final int FRAME_HEADER_SIZE = 8;
+    private static final int MAX_RECORD_SIZE = 16 * 1024 * 1024;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition queued = lock.newCondition();
+    private final Condition flushed = lock.newCondition();
+    private final Thread flusher;
+
+    // guarded by lock
+    private List<ByteBuffer> pending = new ArrayList<>();
+    private long appendedSequence;
+    private long durableSequence;
+    private IOException failure;
+    private boolean closed;
+
+    private WriteAheadLog(Path path, FileChannel channel) {
+        this.path = path;
+        this.channel = channel;
+        this.flusher = new Thread(this::flushLoop, "wal-flusher");
+        this.flusher.setDaemon(true);
+    }
+
+    /**
+     * Opens (or creates) a log file. Appends are accepted once
+     * {@link #replay} or {@link #start()} has been called.
+     *
+     * @param path Log file
+     * @return The opened log
+     * @throws IOException if the file cannot be opened or is not a log
+     */
+    public static WriteAheadLog open(Path path) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            if (channel.size() < HEADER_SIZE) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION).flip();
+                channel.truncate(0);
+                channel.write(header, 0);
+                channel.force(true);
+            } else {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+                readFully(channel, header, 0);
+                header.flip();
+                if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+                    throw new IOException("El archivo no es un log de transacciones válido: " + path);
+                }
+            }
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        return new WriteAheadLog(path, channel);
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Checks whether the log holds any record
+     */
+    public boolean isEmpty() throws IOException {
+        return channel.size() <= HEADER_SIZE;
+    }
+
+    /**
+     * Reads every intact record in order, truncates a torn tail and starts
+     * accepting appends.
+     *
+     * @param handler Receives each record payload
+     * @return Number of records replayed
+     * @throws IOException if reading fails or the handler rejects a record
+     */
+    public long replay(RecordHandler handler) throws IOException {
+        long count = 0;
+        long position = HEADER_SIZE;
+        long size = channel.size();
+        ByteBuffer frameHeader = ByteBuffer.allocate(FRAME_HEADER_SIZE);
+        CRC32 crc = new CRC32();
+
+        while (position + FRAME_HEADER_SIZE <= size) {
+            frameHeader.clear();
+            readFully(channel, frameHeader, position);
+            frameHeader.flip();
+            int length = frameHeader.getInt();
+            int checksum = frameHeader.getInt();
+            if (length < 0 || length > MAX_RECORD_SIZE || position + FRAME_HEADER_SIZE + length > size) {
+                break;
+            }
+
+            ByteBuffer payload = ByteBuffer.allocate(length);
+            readFully(channel, payload, position + FRAME_HEADER_SIZE);
+            crc.reset();
+            crc.update(payload.array(), 0, length);
+            if ((int) crc.getValue() != checksum) {
+                break;
+            }
+
+            payload.flip();
+            handler.handle(payload);
+            position += FRAME_HEADER_SIZE + length;
+            count++;
+        }
+
+        if (position < size) {
+            // Torn or corrupt tail: nothing after it was ever acknowledged
+            channel.truncate(position);
+            channel.force(true);
+        }
+        start();
+        return count;
+    }
+
+    /**
+     * Starts accepting appends without replaying
+     */
+    public void start() throws IOException {
+        lock.lock();
+        try {
+            if (flusher.isAlive() || closed) {
+                return;
+            }
+            channel.position(channel.size());
+            flusher.start();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Queues a record for the next group commit
+     *
+     * @param payload Record bytes
+     * @return Sequence number to pass to {@link #awaitDurable(long)}
+     */
+    public long append(byte[] payload) {
+        if (payload.length > MAX_RECORD_SIZE) {
+            throw new IllegalArgumentException("Registro demasiado grande: " + payload.length + " bytes");
+        }
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        ByteBuffer frame = ByteBuffer.allocate(FRAME_HEADER_SIZE + payload.length)
+                .putInt(payload.length)
+                .putInt((int) crc.getValue())
+                .put(payload)
+                .flip();
+
+        lock.lock();
+        try {
+            checkUsable();
+            if (!flusher.isAlive()) {
+                throw new IllegalStateException("El log de transacciones no fue iniciado");
+            }
+            pending.add(frame);
+            appendedSequence++;
+            queued.signal();
+            return appendedSequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Blocks until the record with the given sequence number is on disk
+     */
+    public void awaitDurable(long sequence) {
+        lock.lock();
+        try {
+            while (durableSequence < sequence) {
+                // close() drains the queue first, so only a write failure can
+                // leave an appended record behind
+                checkWritable();
+                flushed.awaitUninterruptibly();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Appends a record and waits until it is durable
+     */
+    public void commit(byte[] payload) {
+        awaitDurable(append(payload));
+    }
+
+    /**
+     * Discards every record, keeping the header. Callers must make sure
+     * nothing is appended concurrently.
+     */
+    public void truncate() throws IOException {
+        lock.lock();
+        try {
+            checkUsable();
+            while (!pending.isEmpty() || durableSequence < appendedSequence) {
+                try {
+                    flushed.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrumpido mientras se vaciaba el log", e);
+                }
+                checkUsable();
+            }
+            channel.truncate(HEADER_SIZE);
+            channel.position(HEADER_SIZE);
+            channel.force(true);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Size of the log file in bytes
+     */
+    public long size() throws IOException {
+        return channel.size();
+    }
+
+    /**
+     * Waits for queued records to be written and closes the file
+     */
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            queued.signal();
+        } finally {
+            lock.unlock();
+        }
+        if (flusher.isAlive()) {
+            try {
+                flusher.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        channel.close();
+    }
+
+    private void flushLoop() {
+        while (true) {
+            List<ByteBuffer> batch;
+            long batchSequence;
+            lock.lock();
+            try {
+                while (pending.isEmpty() && !closed) {
+                    // Only close() stops the flusher
+                    queued.awaitUninterruptibly();
+                }
+                if (pending.isEmpty()) {
+                    return;
+                }
+                batch = pending;
+                pending = new ArrayList<>();
+                batchSequence = appendedSequence;
+            } finally {
+                lock.unlock();
+            }
+
+            try {
+                ByteBuffer[] buffers = batch.toArray(new ByteBuffer[0]);
+                long remaining = 0;
+                for (ByteBuffer buffer : buffers) {
+                    remaining += buffer.remaining();
+                }
+                while (remaining > 0) {
+                    remaining -= channel.write(buffers);
+                }
+                channel.force(false);
+            } catch (IOException e) {
+                lock.lock();
+                try {
+                    failure = e;
+                    flushed.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+                return;
+            }
+
+            lock.lock();
+            try {
+                durableSequence = batchSequence;
+                flushed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void checkUsable() {
+        checkWritable();
+        if (closed) {
+            throw new IllegalStateException("El log de transacciones está cerrado");
+        }
+    }
+
+    private void checkWritable() {
+        if (failure != null) {
+            throw new UncheckedIOException("Error al escribir el log de transacciones", failure);
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("Fin de archivo inesperado en el log");
+            }
+            position += read;
+        }
+    }
+
+    /**
+     * Consumer of replayed record payloads
+     */
+    @FunctionalInterface
+    public interface RecordHandler {
+        void handle(ByteBuffer payload) throws IOException;
+    }
+}
@@ -0,0 +1,443 @@
+package biblioteca.data.store;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.UnaryOperator;
+
+/**
+ * Typed in-memory entity store: a primary key map plus declared secondary
+ * indexes that are maintained on every insert, update and delete.
+ * Entities are kept in insertion order.
+ *
+ * The store is safe for concurrent use: reads, index lookups included, share
+ * a read lock and changes take the write lock, so many readers run in
+ * parallel and a writer only waits for the map and index updates of other
+ * writers. Listeners are notified while the write lock is held, in the
+ * order the changes were made; their slow work belongs in
+ * {@link StoreListener#released()}. A read-modify-write of a stored entity
+ * is atomic when done inside {@link #write(Supplier)} or
+ * {@link #update(Object, Consumer)}. A thread holding the read lock must not
+ * change the store: the lock cannot be upgraded.
+ *
+ * Keys changed inside a {@link UnitOfWork} stay claimed by it until it ends;
+ * changing a key claimed by another unit throws IllegalStateException
+ * before anything is written.
+ *
+ * Stored entities are never changed in place by the store: {@link #update}
+ * applies the change to a copy and stores the copy, so a failed change
+ * leaves the stored entity as it was and a snapshot keeps showing the
+ * entities as they were when it was taken.
+ *
+ * @param <K> Primary key type
+ * @param <V> Entity type
+ */
+public class EntityStore<K, V> {
+    private final Function<V, K> keyExtractor;
+    private final UnaryOperator<V> copier;
+    private Map<K, V> entities;
+    private final List<StoreIndex<K, V>> indexes = new ArrayList<>();
+    private final List<StoreListener<K, V>> listeners = new CopyOnWriteArrayList<>();
+    final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // immutable copy of the entities, rebuilt on the first read after a write
+    private volatile List<V> snapshot;
+    // a change was made since the write lock was last fully released
+    private boolean changed;
+    // keys changed by units of work that have not ended yet
+    private final Map<K, UnitOfWork> claims = new HashMap<>();
+
+    public EntityStore(Function<V, K> keyExtractor) {
+        this(keyExtractor, null);
+    }
+
+    /**
+     * Store whose entities can be changed with {@link #update}
+     *
+     * @param copier Copies an entity, for update to change the copy
+     */
+    public EntityStore(Function<V, K> keyExtractor, UnaryOperator<V> copier) {
+        this(keyExtractor, copier, new LinkedHashMap<>());
+    }
+
+    /**
+     * Store backed by a specialized primary map. The map must keep
+     * insertion order and start empty.
+     */
+    protected EntityStore(Function<V, K> keyExtractor, UnaryOperator<V> copier, Map<K, V> entities) {
+        this.keyExtractor = keyExtractor;
+        this.copier = copier;
+        this.entities = entities;
+    }
+
+    /**
+     * Declares a non-unique hash index
+     */
+    public <I> HashIndex<I, K, V> addHashIndex(Function<V, I> indexKey) {
+        return addIndex(new HashIndex<>(indexKey));
+    }
+
+    /**
+     * Declares a unique hash index
+     */
+    public <I> UniqueIndex<I, K, V> addUniqueIndex(String name, Function<V, I> indexKey) {
+        return addIndex(new UniqueIndex<>(name, indexKey));
+    }
+
+    /**
+     * Declares an ordered (range) index
+     */
+    public <I extends Comparable<? super I>> OrderedIndex<I, K, V> addOrderedIndex(Function<V, I> indexKey) {
+        return addIndex(new OrderedIndex<>(indexKey));
+    }
+
+    /**
+     * Declares a running per-key sum of a numeric attribute
+     */
+    public <I> SumIndex<I, K, V> addSumIndex(Function<V, I> groupKey, ToDoubleFunction<V> value) {
+        return addIndex(new SumIndex<>(groupKey, value));
+    }
+
+    /**
+     * Registers a custom index. Existing entities are indexed immediately.
+     */
+    public <T extends StoreIndex<K, V>> T addIndex(T index) {
+        return write(() -> {
+            index.attach(this);
+            indexes.add(index);
+            entities.forEach(index::add);
+            return index;
+        });
+    }
+
+    /**
+     * Prepares an empty store and its indexes for a bulk load of about count
+     * entities, so they are sized once instead of growing entity by entity.
+     * Does nothing if the store already has entities.
+     */
+    public void reserve(int count) {
+        write(() -> {
+            if (entities.isEmpty()) {
+                reserveEntities(count);
+                for (StoreIndex<K, V> index : indexes) {
+                    index.reserve(count);
+                }
+            }
+        });
+    }
+
+    /**
+     * Sizes the empty primary map for count entities
+     */
+    protected void reserveEntities(int count) {
+        entities = new LinkedHashMap<>(capacityFor(count));
+    }
+
+    /**
+     * Initial capacity of a HashMap that holds count entries without resizing
+     */
+    static int capacityFor(int count) {
+        return (int) Math.min(Integer.MAX_VALUE, count * 4L / 3 + 1);
+    }
+
+    /**
+     * Registers a listener notified after every change
+     */
+    public void addListener(StoreListener<K, V> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Primary key of an entity, whether stored or not
+     */
+    public K keyOf(V entity) {
+        return keyExtractor.apply(entity);
+    }
+
+    public V get(K key) {
+        lock.readLock().lock();
+        try {
+            return entities.get(key);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * {@link #get} for a caller that already holds the lock
+     */
+    V getLocked(K key) {
+        return entities.get(key);
+    }
+
+    public boolean contains(K key) {
+        lock.readLock().lock();
+        try {
+            return entities.containsKey(key);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entities.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Runs a query under the read lock, so it sees no change half done
+     */
+    public <T> T read(Supplier<T> query) {
+        lock.readLock().lock();
+        try {
+            return query.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Runs several reads and changes under the write lock, as one atomic
+     * step for the other threads. Listeners are released once the
+     * outermost write returns.
+     */
+    public <T> T write(Supplier<T> change) {
+        lock.writeLock().lock();
+        try {
+            return change.get();
+        } finally {
+            unlockWrite();
+        }
+    }
+
+    /**
+     * Like {@link #write(Supplier)}, for changes without a result
+     */
+    public void write(Runnable change) {
+        write(() -> {
+            change.run();
+            return null;
+        });
+    }
+
+    /**
+     * Read-only view of the stored entities, in insertion order. It is live
+     * and unlocked: iterate it only inside {@link #read} or {@link #write},
+     * or use {@link #snapshot()}.
+     */
+    public Collection<V> values() {
+        return Collections.unmodifiableCollection(entities.values());
+    }
+
+    /**
+     * Immutable snapshot of the stored entities, in insertion order. The same
+     * snapshot is shared by every reader until the next write, so repeated
+     * reads of an unchanged store neither copy nor allocate. Changes made
+     * through the store replace entities and do not show in the snapshot; an
+     * entity a caller mutates itself before {@link #put} does.
+     */
+    public List<V> snapshot() {
+        List<V> current = snapshot;
+        if (current == null) {
+            current = read(() -> {
+                List<V> copy = List.copyOf(entities.values());
+                snapshot = copy;
+                return copy;
+            });
+        }
+        return current;
+    }
+
+    /**
+     * Inserts an entity or replaces the one with the same key, reindexing it.
+     * If an index rejects the entity nothing is changed.
+     *
+     * @return The entity previously stored under the key, null if new
+     */
+    public V put(V entity) {
+        K key = keyExtractor.apply(entity);
+        lock.writeLock().lock();
+        try {
+            claim(key);
+            for (StoreIndex<K, V> index : indexes) {
+                index.check(key, entity);
+            }
+            V previous = entities.put(key, entity);
+            snapshot = null;
+            changed = true;
+            for (StoreIndex<K, V> index : indexes) {
+                if (previous != null) {
+                    index.remove(key);
+                }
+                index.add(key, entity);
+            }
+            for (StoreListener<K, V> listener : listeners) {
+                listener.stored(key, previous, entity);
+            }
+            return previous;
+        } finally {
+            unlockWrite();
+        }
+    }
+
+    /**
+     * Replaces an existing entity; does nothing if the key is not stored
+     *
+     * @return true if the entity was replaced
+     */
+    public boolean replace(V entity) {
+        return write(() -> {
+            if (!entities.containsKey(keyExtractor.apply(entity))) {
+                return false;
+            }
+            put(entity);
+            return true;
+        });
+    }
+
+    /**
+     * Inserts several entities, atomically for readers
+     */
+    public void putAll(Collection<? extends V> newEntities) {
+        write(() -> {
+            for (V entity : newEntities) {
+                put(entity);
+            }
+        });
+    }
+
+    /**
+     * Removes an entity and its index entries
+     *
+     * @return The removed entity, null if not stored
+     */
+    public V remove(K key) {
+        lock.writeLock().lock();
+        try {
+            if (entities.containsKey(key)) {
+                claim(key);
+            }
+            V removed = entities.remove(key);
+            if (removed != null) {
+                snapshot = null;
+                changed = true;
+                for (StoreIndex<K, V> index : indexes) {
+                    index.remove(key);
+                }
+                for (StoreListener<K, V> listener : listeners) {
+                    listener.removed(key, removed);
+                }
+            }
+            return removed;
+        } finally {
+            unlockWrite();
+        }
+    }
+
+    /**
+     * Removes every entity and clears all indexes
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            for (K key : claims.keySet()) {
+                claim(key);
+            }
+            List<V> removed = listeners.isEmpty() ? List.of() : List.copyOf(entities.values());
+            entities.clear();
+            snapshot = null;
+            changed = true;
+            for (StoreIndex<K, V> index : indexes) {
+                index.clear();
+            }
+            for (StoreListener<K, V> listener : listeners) {
+                listener.cleared(removed);
+            }
+        } finally {
+            unlockWrite();
+        }
+    }
+
+    /**
+     * Changes a copy of a stored entity and stores it in its place, as one
+     * step. If another unit of work has the key claimed or an index rejects
+     * the changed entity, the stored one is left untouched.
+     *
+     * @return The changed entity, null if the key is not stored
+     * @throws UnsupportedOperationException if the store has no copier
+     */
+    public V update(K key, Consumer<V> change) {
+        if (copier == null) {
+            throw new UnsupportedOperationException("El almacén no admite cambios por copia");
+        }
+        return write(() -> {
+            V stored = entities.get(key);
+            if (stored == null) {
+                return null;
+            }
+            claim(key);
+            V changed = copier.apply(stored);
+            change.accept(changed);
+            put(changed);
+            return changed;
+        });
+    }
+
+    /**
+     * Whether a unit of work other than the caller's has the key claimed,
+     * i.e. changing it now would fail
+     */
+    public boolean isClaimedByOther(K key) {
+        return read(() -> {
+            UnitOfWork owner = claims.get(key);
+            return owner != null && owner != UnitOfWork.current();
+        });
+    }
+
+    /**
+     * Fails if another unit of work owns the key; otherwise claims it for
+     * the caller's unit, if any. Called with the write lock held.
+     */
+    private void claim(K key) {
+        UnitOfWork current = UnitOfWork.current();
+        UnitOfWork owner = claims.get(key);
+        if (owner != null && owner != current) {
+            throw new IllegalStateException("El registro " + key
+                    + " está siendo modificado por otra operación; intente nuevamente");
+        }
+        if (owner == null && current != null) {
+            claims.put(key, current);
+            current.onEnd(() -> write(() -> claims.remove(key, current)));
+        }
+    }
+
+    private void unlockWrite() {
+        boolean release = changed && lock.getWriteHoldCount() == 1;
+        if (release) {
+            changed = false;
+        }
+        lock.writeLock().unlock();
+        if (release) {
+            for (StoreListener<K, V> listener : listeners) {
+                listener.released();
+            }
+        }
+    }
+}
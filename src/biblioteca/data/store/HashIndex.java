@@ -0,0 +1,95 @@
+package biblioteca.data.store;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Non-unique hash index: index key to the entities sharing it, in insertion
+ * order. Lookups and counts are O(1).
+ *
+ * @param <I> Index key type
+ * @param <K> Primary key type
+ * @param <V> Entity type
+ */
+public class HashIndex<I, K, V> extends KeyedIndex<I, K, V> {
+    private final Map<I, Set<K>> buckets = new HashMap<>();
+
+    public HashIndex(Function<V, I> keyExtractor) {
+        super(keyExtractor);
+    }
+
+    /**
+     * Finds the entities indexed under a key
+     */
+    public List<V> find(I indexKey) {
+        return read(() -> {
+            Set<K> keys = buckets.get(indexKey);
+            if (keys == null) {
+                return new ArrayList<>();
+            }
+            List<V> result = new ArrayList<>(keys.size());
+            for (K key : keys) {
+                result.add(resolve(key));
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Finds the first entity indexed under a key, null if none
+     */
+    public V findFirst(I indexKey) {
+        return read(() -> {
+            Set<K> keys = buckets.get(indexKey);
+            return keys == null ? null : resolve(keys.iterator().next());
+        });
+    }
+
+    /**
+     * Primary keys indexed under a key (read-only copy, in insertion order)
+     */
+    public Set<K> keys(I indexKey) {
+        return read(() -> {
+            Set<K> keys = buckets.get(indexKey);
+            return keys == null ? Set.of() : Collections.unmodifiableSet(new LinkedHashSet<>(keys));
+        });
+    }
+
+    public int count(I indexKey) {
+        return read(() -> {
+            Set<K> keys = buckets.get(indexKey);
+            return keys == null ? 0 : keys.size();
+        });
+    }
+
+    public boolean contains(I indexKey) {
+        return read(() -> buckets.containsKey(indexKey));
+    }
+
+    @Override
+    protected void insert(I indexKey, K key, V entity) {
+        buckets.computeIfAbsent(indexKey, k -> new LinkedHashSet<>()).add(key);
+    }
+
+    @Override
+    protected void delete(I indexKey, K key) {
+        Set<K> keys = buckets.get(indexKey);
+        if (keys != null) {
+            keys.remove(key);
+            if (keys.isEmpty()) {
+                buckets.remove(indexKey);
+            }
+        }
+    }
+
+    @Override
+    protected void clearEntries() {
+        buckets.clear();
+    }
+}
@@ -0,0 +1,92 @@
+package biblioteca.data.store;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Bounded identity map: key to the one loaded instance of an entity,
+ * evicting the least recently used entry once full. Repositories backed by
+ * a database use it so repeated lookups of the same entity (e.g. loans
+ * resolving their member) return the same instance without a query.
+ *
+ * The owner keeps it coherent: writes put the saved instance, deletes
+ * remove it, and {@link #discardLoadsInFlight()} is called whenever other
+ * writes become visible (e.g. on commit). A load that overlaps any of these
+ * is returned but not cached, since it may have read the row as it was
+ * before. Thread-safe.
+ *
+ * @param <K> Key type
+ * @param <V> Entity type
+ */
+public class IdentityCache<K, V> {
+    private final Map<K, V> entries;
+    // Bumped by every write; a load is cached only if it did not change
+    private long generation;
+
+    /**
+     * @param maxEntries Entries kept before evicting the least recently used
+     */
+    public IdentityCache(int maxEntries) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached instance, loading and caching it if absent. A null
+     * result (entity not found) is not cached.
+     */
+    public V get(K key, Function<K, V> loader) {
+        long loadedAt;
+        synchronized (this) {
+            V value = entries.get(key);
+            if (value != null) {
+                return value;
+            }
+            loadedAt = generation;
+        }
+        // Loaded outside the lock; if two threads race, the first put wins
+        V loaded = loader.apply(key);
+        if (loaded == null) {
+            return null;
+        }
+        synchronized (this) {
+            if (generation != loadedAt) {
+                return loaded;
+            }
+            V value = entries.putIfAbsent(key, loaded);
+            return value != null ? value : loaded;
+        }
+    }
+
+    public synchronized void put(K key, V value) {
+        generation++;
+        entries.put(key, value);
+    }
+
+    public synchronized void remove(K key) {
+        generation++;
+        entries.remove(key);
+    }
+
+    public synchronized void clear() {
+        generation++;
+        entries.clear();
+    }
+
+    /**
+     * Keeps loads already running from being cached: what they read may
+     * predate writes that just became visible
+     */
+    public synchronized void discardLoadsInFlight() {
+        generation++;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+}
@@ -0,0 +1,45 @@
+package biblioteca.data.store;
+
+import java.util.function.ToIntFunction;
+
+/**
+ * Entity store keyed by a primitive int ID. The primary map is an
+ * {@link IntObjectMap}, so lookups by ID neither box nor allocate.
+ *
+ * @param <V> Entity type
+ */
+public class IntEntityStore<V> extends EntityStore<Integer, V> {
+    private final IntObjectMap<V> entities;
+
+    public IntEntityStore(ToIntFunction<V> idExtractor) {
+        this(idExtractor, new IntObjectMap<>());
+    }
+
+    private IntEntityStore(ToIntFunction<V> idExtractor, IntObjectMap<V> entities) {
+        super(entity -> idExtractor.applyAsInt(entity), null, entities);
+        this.entities = entities;
+    }
+
+    @Override
+    protected void reserveEntities(int count) {
+        entities.reserve(count);
+    }
+
+    public V get(int id) {
+        lock.readLock().lock();
+        try {
+            return entities.get(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean contains(int id) {
+        lock.readLock().lock();
+        try {
+            return entities.containsKey(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,306 @@
+package biblioteca.data.store;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Insertion-ordered map from primitive int keys to objects.
+ * Keys and values live in two parallel arrays in insertion order; an
+ * open-addressing table (linear probing) maps each key to its position in
+ * those arrays. Lookups by int key neither box nor allocate, and an entry
+ * costs a few array slots instead of a node plus a boxed key.
+ *
+ * Removed entries leave a hole in the arrays that is compacted the next time
+ * the arrays fill up. Null values are not allowed.
+ *
+ * @param <V> Value type
+ */
+public class IntObjectMap<V> extends AbstractMap<Integer, V> {
+    private static final int MIN_CAPACITY = 8;
+    private static final int EMPTY = -1;
+    private static final int DELETED = -2;
+
+    // open-addressing table: position in keys/values, EMPTY or DELETED
+    private int[] slots;
+    private int[] keys;
+    private Object[] values;
+    // positions used in keys/values, including holes left by removals
+    private int end;
+    private int size;
+    private int modCount;
+
+    public IntObjectMap() {
+        allocate(MIN_CAPACITY);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    public boolean containsKey(int key) {
+        return positionOf(key) >= 0;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof Integer && containsKey(((Integer) key).intValue());
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        int position = positionOf(key);
+        return position >= 0 ? (V) values[position] : null;
+    }
+
+    @Override
+    public V get(Object key) {
+        return key instanceof Integer ? get(((Integer) key).intValue()) : null;
+    }
+
+    /**
+     * Associates a value with a key, keeping the key's original position if
+     * it was already present
+     *
+     * @return The previous value, null if the key was new
+     */
+    @SuppressWarnings("unchecked")
+    public V put(int key, V value) {
+        if (value == null) {
+            throw new NullPointerException("IntObjectMap no admite valores nulos");
+        }
+        int position = positionOf(key);
+        if (position >= 0) {
+            V previous = (V) values[position];
+            values[position] = value;
+            return previous;
+        }
+
+        if (end == keys.length) {
+            rebuild();
+        }
+        int mask = slots.length - 1;
+        int slot = hash(key) & mask;
+        while (slots[slot] >= 0) {
+            slot = (slot + 1) & mask;
+        }
+        slots[slot] = end;
+        keys[end] = key;
+        values[end] = value;
+        end++;
+        size++;
+        modCount++;
+        return null;
+    }
+
+    @Override
+    public V put(Integer key, V value) {
+        return put(key.intValue(), value);
+    }
+
+    @SuppressWarnings("unchecked")
+    public V remove(int key) {
+        int slot = slotOf(key);
+        if (slot < 0) {
+            return null;
+        }
+        int position = slots[slot];
+        V previous = (V) values[position];
+        slots[slot] = DELETED;
+        values[position] = null;
+        size--;
+        modCount++;
+        return previous;
+    }
+
+    @Override
+    public V remove(Object key) {
+        return key instanceof Integer ? remove(((Integer) key).intValue()) : null;
+    }
+
+    /**
+     * Grows the arrays to hold count entries without rebuilding again
+     */
+    public void reserve(int count) {
+        if (count > keys.length) {
+            int capacity = MIN_CAPACITY;
+            while (capacity < count) {
+                capacity <<= 1;
+            }
+            rebuildTo(capacity);
+        }
+    }
+
+    @Override
+    public void clear() {
+        allocate(MIN_CAPACITY);
+        end = 0;
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super Integer, ? super V> action) {
+        int expectedModCount = modCount;
+        for (int position = 0; position < end; position++) {
+            if (values[position] != null) {
+                action.accept(keys[position], (V) values[position]);
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+            }
+        }
+    }
+
+    @Override
+    public Collection<V> values() {
+        return new AbstractCollection<V>() {
+            @Override
+            public Iterator<V> iterator() {
+                return new PositionIterator<V>() {
+                    @Override
+                    @SuppressWarnings("unchecked")
+                    V at(int position) {
+                        return (V) values[position];
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    @Override
+    public Set<Entry<Integer, V>> entrySet() {
+        return new AbstractSet<Entry<Integer, V>>() {
+            @Override
+            public Iterator<Entry<Integer, V>> iterator() {
+                return new PositionIterator<Entry<Integer, V>>() {
+                    @Override
+                    @SuppressWarnings("unchecked")
+                    Entry<Integer, V> at(int position) {
+                        return new SimpleImmutableEntry<>(keys[position], (V) values[position]);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * Iterates live positions in insertion order
+     */
+    private abstract class PositionIterator<T> implements Iterator<T> {
+        private final int expectedModCount = modCount;
+        private int next = advance(0);
+
+        abstract T at(int position);
+
+        @Override
+        public boolean hasNext() {
+            return next < end;
+        }
+
+        @Override
+        public T next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (next >= end) {
+                throw new NoSuchElementException();
+            }
+            T element = at(next);
+            next = advance(next + 1);
+            return element;
+        }
+
+        private int advance(int position) {
+            while (position < end && values[position] == null) {
+                position++;
+            }
+            return position;
+        }
+    }
+
+    private int positionOf(int key) {
+        int slot = slotOf(key);
+        return slot >= 0 ? slots[slot] : -1;
+    }
+
+    private int slotOf(int key) {
+        int mask = slots.length - 1;
+        for (int slot = hash(key) & mask;; slot = (slot + 1) & mask) {
+            int position = slots[slot];
+            if (position == EMPTY) {
+                return -1;
+            }
+            if (position != DELETED && keys[position] == key) {
+                return slot;
+            }
+        }
+    }
+
+    /**
+     * Compacts the holes left by removals and, if still more than half full,
+     * doubles the capacity. The table always keeps at least half of its slots
+     * EMPTY, so probing terminates quickly.
+     */
+    private void rebuild() {
+        int capacity = MIN_CAPACITY;
+        while (capacity < size * 2) {
+            capacity <<= 1;
+        }
+        rebuildTo(capacity);
+    }
+
+    private void rebuildTo(int capacity) {
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        int oldEnd = end;
+        allocate(capacity);
+
+        int mask = slots.length - 1;
+        end = 0;
+        for (int position = 0; position < oldEnd; position++) {
+            if (oldValues[position] != null) {
+                int slot = hash(oldKeys[position]) & mask;
+                while (slots[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                slots[slot] = end;
+                keys[end] = oldKeys[position];
+                values[end] = oldValues[position];
+                end++;
+            }
+        }
+        modCount++;
+    }
+
+    private void allocate(int capacity) {
+        slots = new int[capacity * 2];
+        Arrays.fill(slots, EMPTY);
+        keys = new int[capacity];
+        values = new Object[capacity];
+    }
+
+    private static int hash(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,71 @@
+package biblioteca.data.store;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Index whose entries are derived from a key extracted from each entity.
+ * The extracted key is recorded per entity, so an entity mutated in place
+ * before being saved again is still removed from the right bucket. A null
+ * extracted key means the entity is not indexed (partial index).
+ *
+ * @param <I> Index key type
+ * @param <K> Primary key type
+ * @param <V> Entity type
+ */
+public abstract class KeyedIndex<I, K, V> extends StoreIndex<K, V> {
+    private final Function<V, I> keyExtractor;
+    private Map<K, I> indexedKeys = new HashMap<>();
+
+    protected KeyedIndex(Function<V, I> keyExtractor) {
+        this.keyExtractor = keyExtractor;
+    }
+
+    protected I keyOf(V entity) {
+        return keyExtractor.apply(entity);
+    }
+
+    /**
+     * Index key an entity was last indexed with, null if not indexed
+     */
+    public I indexedKey(K key) {
+        return read(() -> indexedKeys.get(key));
+    }
+
+    @Override
+    protected void reserve(int count) {
+        if (indexedKeys.isEmpty()) {
+            indexedKeys = new HashMap<>(EntityStore.capacityFor(count));
+        }
+    }
+
+    @Override
+    protected final void add(K key, V entity) {
+        I indexKey = keyOf(entity);
+        if (indexKey != null) {
+            indexedKeys.put(key, indexKey);
+            insert(indexKey, key, entity);
+        }
+    }
+
+    @Override
+    protected final void remove(K key) {
+        I indexKey = indexedKeys.remove(key);
+        if (indexKey != null) {
+            delete(indexKey, key);
+        }
+    }
+
+    @Override
+    protected final void clear() {
+        indexedKeys.clear();
+        clearEntries();
+    }
+
+    protected abstract void insert(I indexKey, K key, V entity);
+
+    protected abstract void delete(I indexKey, K key);
+
+    protected abstract void clearEntries();
+}
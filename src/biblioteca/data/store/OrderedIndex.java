@@ -0,0 +1,83 @@
+package biblioteca.data.store;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Ordered index backed by a TreeMap, for range queries over comparable keys
+ * such as dates. Range scans cost O(log n + matches).
+ *
+ * @param <I> Index key type
+ * @param <K> Primary key type
+ * @param <V> Entity type
+ */
+public class OrderedIndex<I extends Comparable<? super I>, K, V> extends KeyedIndex<I, K, V> {
+    private final NavigableMap<I, Set<K>> buckets = new TreeMap<>();
+
+    public OrderedIndex(Function<V, I> keyExtractor) {
+        super(keyExtractor);
+    }
+
+    /**
+     * Entities whose key is strictly lower than the bound, in key order
+     */
+    public List<V> findBefore(I bound) {
+        return read(() -> collect(buckets.headMap(bound, false)));
+    }
+
+    /**
+     * Entities whose key is within [from, to], in key order
+     */
+    public List<V> findBetween(I from, I to) {
+        return read(() -> collect(buckets.subMap(from, true, to, true)));
+    }
+
+    /**
+     * Number of entities whose key is strictly lower than the bound
+     */
+    public int countBefore(I bound) {
+        return read(() -> {
+            int count = 0;
+            for (Set<K> keys : buckets.headMap(bound, false).values()) {
+                count += keys.size();
+            }
+            return count;
+        });
+    }
+
+    private List<V> collect(NavigableMap<I, Set<K>> range) {
+        List<V> result = new ArrayList<>();
+        for (Set<K> keys : range.values()) {
+            for (K key : keys) {
+                result.add(resolve(key));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    protected void insert(I indexKey, K key, V entity) {
+        buckets.computeIfAbsent(indexKey, k -> new LinkedHashSet<>()).add(key);
+    }
+
+    @Override
+    protected void delete(I indexKey, K key) {
+        Set<K> keys = buckets.get(indexKey);
+        if (keys != null) {
+            keys.remove(key);
+            if (keys.isEmpty()) {
+                buckets.remove(indexKey);
+            }
+        }
+    }
+
+    @Override
+    protected void clearEntries() {
+        buckets.clear();
+    }
+}
@@ -0,0 +1,67 @@
+package biblioteca.data.store;
+
+import java.util.function.Supplier;
+
+/**
+ * Base class for the secondary indexes of an {@link EntityStore}.
+ * The store calls these hooks on every insert, update and delete, so an
+ * index never has to be maintained by hand from repository code.
+ *
+ * The hooks run under the store's write lock. Queries of an index must go
+ * through {@link #read(Supplier)} to see the index and the store in step.
+ *
+ * @param <K> Primary key type
+ * @param <V> Entity type
+ */
+public abstract class StoreIndex<K, V> {
+    private EntityStore<K, V> store;
+
+    void attach(EntityStore<K, V> store) {
+        if (this.store != null) {
+            throw new IllegalStateException("El índice ya pertenece a otro store");
+        }
+        this.store = store;
+    }
+
+    /**
+     * Resolves a primary key to the stored entity; called with the store
+     * locked, from a hook or a query
+     */
+    protected V resolve(K key) {
+        return store.getLocked(key);
+    }
+
+    /**
+     * Runs a query of this index under the store's read lock
+     */
+    protected <T> T read(Supplier<T> query) {
+        return store.read(query);
+    }
+
+    /**
+     * Validates an entity before anything is written. Throwing here leaves
+     * the store and every index untouched.
+     */
+    protected void check(K key, V entity) {
+    }
+
+    /**
+     * Sizing hint before a bulk load of about count entities into the empty
+     * store
+     */
+    protected void reserve(int count) {
+    }
+
+    /**
+     * Indexes an entity under its primary key
+     */
+    protected abstract void add(K key, V entity);
+
+    /**
+     * Removes whatever was indexed for the primary key. Implementations must
+     * not read the entity: it may have been mutated since it was indexed.
+     */
+    protected abstract void remove(K key);
+
+    protected abstract void clear();
+}
@@ -0,0 +1,41 @@
+package biblioteca.data.store;
+
+import java.util.List;
+
+/**
+ * Receives every change applied to an {@link EntityStore}, after the store
+ * and its indexes have been updated and while the store is still locked.
+ *
+ * @param <K> Primary key type
+ * @param <V> Entity type
+ */
+public interface StoreListener<K, V> {
+
+    /**
+     * An entity was inserted, replaced or reindexed after an in-place change
+     *
+     * @param previous The entity stored before: null if new, the same
+     *                 instance after an in-place change
+     */
+    void stored(K key, V previous, V entity);
+
+    /**
+     * An entity was removed
+     */
+    void removed(K key, V entity);
+
+    /**
+     * Every entity was removed
+     *
+     * @param removed The entities that were stored
+     */
+    void cleared(List<V> removed);
+
+    /**
+     * The store was unlocked after one or more changes, on the thread that
+     * made them. Work that may block, such as waiting for a write to reach
+     * the disk, goes here so it does not hold up other threads.
+     */
+    default void released() {
+    }
+}
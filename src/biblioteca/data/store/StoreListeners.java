@@ -0,0 +1,41 @@
+package biblioteca.data.store;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Listeners of a repository that has no {@link EntityStore}, e.g. one
+ * backed by a database: the repository reports each change here after
+ * writing it, and every registered listener receives it.
+ *
+ * @param <K> Primary key type
+ * @param <V> Entity type
+ */
+public class StoreListeners<K, V> implements StoreListener<K, V> {
+    private final List<StoreListener<K, V>> listeners = new CopyOnWriteArrayList<>();
+
+    public void add(StoreListener<K, V> listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void stored(K key, V previous, V entity) {
+        for (StoreListener<K, V> listener : listeners) {
+            listener.stored(key, previous, entity);
+        }
+    }
+
+    @Override
+    public void removed(K key, V entity) {
+        for (StoreListener<K, V> listener : listeners) {
+            listener.removed(key, entity);
+        }
+    }
+
+    @Override
+    public void cleared(List<V> removed) {
+        for (StoreListener<K, V> listener : listeners) {
+            listener.cleared(removed);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package biblioteca.data.store;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Running per-key sum and count of a numeric entity attribute, e.g. the
+ * unpaid fine balance of each member. Reads are O(1).
+ *
+ * @param <I> Group key type
+ * @param <K> Primary key type
+ * @param <V> Entity type
+ */
+public class SumIndex<I, K, V> extends KeyedIndex<I, K, V> {
+    private final ToDoubleFunction<V> valueExtractor;
+    private final Map<K, Double> indexedValues = new HashMap<>();
+    private final Map<I, Group> groups = new HashMap<>();
+
+    public SumIndex(Function<V, I> keyExtractor, ToDoubleFunction<V> valueExtractor) {
+        super(keyExtractor);
+        this.valueExtractor = valueExtractor;
+    }
+
+    public double sum(I indexKey) {
+        return read(() -> {
+            Group group = groups.get(indexKey);
+            return group == null ? 0.0 : group.sum;
+        });
+    }
+
+    public int count(I indexKey) {
+        return read(() -> {
+            Group group = groups.get(indexKey);
+            return group == null ? 0 : group.count;
+        });
+    }
+
+    @Override
+    protected void insert(I indexKey, K key, V entity) {
+        double value = valueExtractor.applyAsDouble(entity);
+        indexedValues.put(key, value);
+        Group group = groups.computeIfAbsent(indexKey, k -> new Group());
+        group.sum += value;
+        group.count++;
+    }
+
+    @Override
+    protected void delete(I indexKey, K key) {
+        Double value = indexedValues.remove(key);
+        Group group = groups.get(indexKey);
+        if (group == null || value == null) {
+            return;
+        }
+        group.count--;
+        if (group.count == 0) {
+            // Drop the group so floating point residue never survives it
+            groups.remove(indexKey);
+        } else {
+            group.sum -= value;
+        }
+    }
+
+    @Override
+    protected void clearEntries() {
+        indexedValues.clear();
+        groups.clear();
+    }
+
+    private static class Group {
+        private double sum;
+        private int count;
+    }
+}
@@ -0,0 +1,41 @@
+package biblioteca.data.store;
+
+import java.text.Normalizer;
+import java.util.regex.Pattern;
+
+/**
+ * Normalizes free text for the in-memory search indexes
+ */
+public final class TextNormalizer {
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}");
+
+    private TextNormalizer() {
+    }
+
+    /**
+     * Lowercases the text and strips accents ("Pérez" -> "perez")
+     *
+     * @param text The text to normalize
+     * @return The normalized text, empty if text is null
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        // Plain ASCII has no accents to strip; most IDs, codes and titles are
+        if (isAscii(text)) {
+            return text.trim().toLowerCase();
+        }
+        String decomposed = Normalizer.normalize(text.trim(), Normalizer.Form.NFD);
+        return DIACRITICS.matcher(decomposed).replaceAll("").toLowerCase();
+    }
+
+    private static boolean isAscii(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
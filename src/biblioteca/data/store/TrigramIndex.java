@@ -0,0 +1,117 @@
+package biblioteca.data.store;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Trigram index for case and accent insensitive substring search.
+ * A query of three or more characters only verifies the entries that contain
+ * its rarest trigram; shorter queries scan the pre-normalized texts.
+ *
+ * @param <K> Primary key type
+ * @param <V> Entity type
+ */
+public class TrigramIndex<K, V> extends StoreIndex<K, V> {
+    private static final int GRAM_SIZE = 3;
+
+    private final Function<V, String> textExtractor;
+    private final Map<String, Set<K>> postings = new HashMap<>();
+    private Map<K, String> normalizedTexts = new LinkedHashMap<>();
+
+    public TrigramIndex(Function<V, String> textExtractor) {
+        this.textExtractor = textExtractor;
+    }
+
+    /**
+     * Finds the entities whose text contains the query
+     *
+     * @param query Text to search for
+     * @return Matching entities in insertion order
+     */
+    public List<V> search(String query) {
+        String normalizedQuery = TextNormalizer.normalize(query);
+        if (normalizedQuery.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return read(() -> find(normalizedQuery));
+    }
+
+    private List<V> find(String normalizedQuery) {
+        List<V> matches = new ArrayList<>();
+
+        Iterable<K> candidates = normalizedTexts.keySet();
+        if (normalizedQuery.length() >= GRAM_SIZE) {
+            Set<K> rarest = null;
+            for (String gram : grams(normalizedQuery)) {
+                Set<K> keys = postings.get(gram);
+                if (keys == null) {
+                    return matches;
+                }
+                if (rarest == null || keys.size() < rarest.size()) {
+                    rarest = keys;
+                }
+            }
+            candidates = rarest;
+        }
+
+        for (K key : candidates) {
+            if (normalizedTexts.get(key).contains(normalizedQuery)) {
+                matches.add(resolve(key));
+            }
+        }
+        return matches;
+    }
+
+    @Override
+    protected void reserve(int count) {
+        if (normalizedTexts.isEmpty()) {
+            normalizedTexts = new LinkedHashMap<>(EntityStore.capacityFor(count));
+        }
+    }
+
+    @Override
+    protected void add(K key, V entity) {
+        String normalized = TextNormalizer.normalize(textExtractor.apply(entity));
+        normalizedTexts.put(key, normalized);
+        for (String gram : grams(normalized)) {
+            postings.computeIfAbsent(gram, g -> new LinkedHashSet<>()).add(key);
+        }
+    }
+
+    @Override
+    protected void remove(K key) {
+        String normalized = normalizedTexts.remove(key);
+        if (normalized == null) {
+            return;
+        }
+        for (String gram : grams(normalized)) {
+            Set<K> keys = postings.get(gram);
+            if (keys != null) {
+                keys.remove(key);
+                if (keys.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    @Override
+    protected void clear() {
+        postings.clear();
+        normalizedTexts.clear();
+    }
+
+    private static Set<String> grams(String normalized) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM_SIZE <= normalized.length(); i++) {
+            grams.add(normalized.substring(i, i + GRAM_SIZE));
+        }
+        return grams;
+    }
+}
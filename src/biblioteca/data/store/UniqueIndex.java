@@ -0,0 +1,66 @@
+package biblioteca.data.store;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Unique hash index: each index key maps to at most one entity. Saving a
+ * second entity with the same key is rejected before the store changes.
+ *
+ * @param <I> Index key type
+ * @param <K> Primary key type
+ * @param <V> Entity type
+ */
+public class UniqueIndex<I, K, V> extends KeyedIndex<I, K, V> {
+    private final String name;
+    private final Map<I, K> entries = new HashMap<>();
+
+    public UniqueIndex(String name, Function<V, I> keyExtractor) {
+        super(keyExtractor);
+        this.name = name;
+    }
+
+    /**
+     * Finds the entity indexed under a key, null if none
+     */
+    public V find(I indexKey) {
+        return read(() -> {
+            K key = entries.get(indexKey);
+            return key == null ? null : resolve(key);
+        });
+    }
+
+    public boolean contains(I indexKey) {
+        return read(() -> entries.containsKey(indexKey));
+    }
+
+    @Override
+    protected void check(K key, V entity) {
+        I indexKey = keyOf(entity);
+        if (indexKey == null) {
+            return;
+        }
+        K owner = entries.get(indexKey);
+        if (owner != null && !Objects.equals(owner, key)) {
+            throw new IllegalStateException(
+                    String.format("Valor duplicado en índice único %s: %s", name, indexKey));
+        }
+    }
+
+    @Override
+    protected void insert(I indexKey, K key, V entity) {
+        entries.put(indexKey, key);
+    }
+
+    @Override
+    protected void delete(I indexKey, K key) {
+        entries.remove(indexKey, key);
+    }
+
+    @Override
+    protected void clearEntries() {
+        entries.clear();
+    }
+}
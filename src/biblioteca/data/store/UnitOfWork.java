@@ -0,0 +1,56 @@
+package biblioteca.data.store;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Groups the changes a thread makes to {@link EntityStore}s. Every key the
+ * unit changes is claimed until the unit ends: another thread trying to
+ * change a claimed key fails at once instead of interleaving with it, so a
+ * unit that is rolled back or logged as a whole never overwrites, or is
+ * overwritten by, a change it did not see. Keys of different entities do
+ * not conflict.
+ *
+ * Claims only order writers; readers still see the changes of a unit as
+ * they are made.
+ */
+public final class UnitOfWork {
+    private static final ThreadLocal<UnitOfWork> CURRENT = new ThreadLocal<>();
+
+    private final List<Runnable> releases = new ArrayList<>();
+
+    private UnitOfWork() {
+    }
+
+    /**
+     * Runs the work as a unit of work, releasing its claims when it
+     * returns or throws. Nested calls join the outer unit.
+     */
+    public static <T> T run(Supplier<T> work) {
+        if (CURRENT.get() != null) {
+            return work.get();
+        }
+        UnitOfWork unit = new UnitOfWork();
+        CURRENT.set(unit);
+        try {
+            return work.get();
+        } finally {
+            CURRENT.remove();
+            for (int i = unit.releases.size() - 1; i >= 0; i--) {
+                unit.releases.get(i).run();
+            }
+        }
+    }
+
+    /**
+     * The unit of work of the calling thread, null if none
+     */
+    static UnitOfWork current() {
+        return CURRENT.get();
+    }
+
+    void onEnd(Runnable release) {
+        releases.add(release);
+    }
+}
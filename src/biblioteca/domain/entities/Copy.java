@@ -6,13 +6,16 @@ import biblioteca.domain.enums.CopyOrigin;
 import biblioteca.domain.enums.CopyState;
 
 /**
- * Copy entity representing a physical copy of a book in the library
+ * Copy entity representing a physical copy of a book in the library.
+ * The version counts the times the copy was saved; the repository uses it
+ * to change the state only if nobody changed the copy since it was read.
  */
 public class Copy {
     private String code;
     private CopyState state;
     private CopyOrigin origin;
     private Book book;
+    private long version;
 
     public Copy() {
     }
@@ -56,6 +59,14 @@ public class Copy {
         this.book = book;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     public boolean isAvailable() {
         return state == CopyState.AVAILABLE;
     }
@@ -0,0 +1,30 @@
+package biblioteca.domain.entities;
+
+/**
+ * Resuelve por su identificador los socios y ejemplares a los que hacen
+ * referencia préstamos y multas. Devuelve null si la entidad ya no existe.
+ */
+public interface EntityResolver {
+
+    Member findMember(String memberId);
+
+    Copy findCopy(String copyCode);
+
+    /**
+     * Resolver que sólo conoce las instancias dadas; lo usan las entidades
+     * creadas en memoria hasta que un repositorio las guarda
+     */
+    static EntityResolver pinned(Member member, Copy copy) {
+        return new EntityResolver() {
+            @Override
+            public Member findMember(String memberId) {
+                return member != null && member.getId().equals(memberId) ? member : null;
+            }
+
+            @Override
+            public Copy findCopy(String copyCode) {
+                return copy != null && copy.getCode().equals(copyCode) ? copy : null;
+            }
+        };
+    }
+}
@@ -2,28 +2,55 @@ package biblioteca.domain.entities;
 
 import java.time.LocalDate;
 
+/**
+ * Multa de un socio. Como {@link Loan}, guarda sólo el ID del socio y lo
+ * resuelve al pedirlo.
+ */
 public class Fine {
     private String id;
-    private Member member;
+    private String memberId;
+    private EntityResolver resolver;
     private double amount;
     private boolean paid;
     private LocalDate issueDate;
     private LocalDate paidDate;
 
     public Fine(String id, Member member, double amount, LocalDate issueDate) {
+        this(id, member != null ? member.getId() : null, amount, issueDate, EntityResolver.pinned(member, null));
+    }
+
+    /**
+     * Constructor por referencia, para repositorios y lectura de ficheros
+     */
+    public Fine(String id, String memberId, double amount, LocalDate issueDate, EntityResolver resolver) {
         this.id = id;
-        this.member = member;
+        this.memberId = memberId;
         this.amount = amount;
         this.issueDate = issueDate;
         this.paid = false;
+        this.resolver = resolver;
     }
 
     public String getId() {
         return id;
     }
 
+    public String getMemberId() {
+        return memberId;
+    }
+
+    /**
+     * @return El socio, o null si ya no existe
+     */
     public Member getMember() {
-        return member;
+        return memberId != null ? resolver.findMember(memberId) : null;
+    }
+
+    /**
+     * Pasa a resolver el socio con el resolver del repositorio
+     */
+    public void attach(EntityResolver resolver) {
+        this.resolver = resolver;
     }
 
     public double getAmount() {
@@ -42,6 +69,16 @@ public class Fine {
         return paidDate;
     }
 
+    /**
+     * Copia de la multa; cambiar una no cambia la otra
+     */
+    public Fine copy() {
+        Fine fine = new Fine(id, memberId, amount, issueDate, resolver);
+        fine.paid = paid;
+        fine.paidDate = paidDate;
+        return fine;
+    }
+
     public void pay(LocalDate paidDate) {
         this.paid = true;
         this.paidDate = paidDate;
@@ -4,22 +4,38 @@ import java.time.LocalDate;
 
 import biblioteca.domain.enums.LoanState;
 
+/**
+ * Préstamo de un ejemplar a un socio. Guarda sólo el ID del socio y el
+ * código del ejemplar; getMember() y getCopy() los resuelven al pedirlos,
+ * así un historial largo no retiene socios, ejemplares ni libros.
+ */
 public class Loan {
     private String id;
-    private Member member;
-    private Copy copy;
+    private String memberId;
+    private String copyCode;
+    private EntityResolver resolver;
     private LocalDate loanDate;
     private LocalDate dueDate;
     private LocalDate returnDate;
     private LoanState state;
 
     public Loan(String id, Member member, Copy copy, LocalDate loanDate, LocalDate dueDate, LoanState state) {
+        this(id, member != null ? member.getId() : null, copy != null ? copy.getCode() : null,
+                loanDate, dueDate, state, EntityResolver.pinned(member, copy));
+    }
+
+    /**
+     * Constructor por referencias, para repositorios y lectura de ficheros
+     */
+    public Loan(String id, String memberId, String copyCode, LocalDate loanDate, LocalDate dueDate,
+            LoanState state, EntityResolver resolver) {
         this.id = id;
-        this.member = member;
-        this.copy = copy;
+        this.memberId = memberId;
+        this.copyCode = copyCode;
         this.loanDate = loanDate;
         this.dueDate = dueDate;
         this.state = state;
+        this.resolver = resolver;
     }
 
     // Constructor simplificado que inicializa con estado ACTIVE
@@ -31,12 +47,34 @@ public class Loan {
         return id;
     }
 
+    public String getMemberId() {
+        return memberId;
+    }
+
+    public String getCopyCode() {
+        return copyCode;
+    }
+
+    /**
+     * @return El socio, o null si ya no existe
+     */
     public Member getMember() {
-        return member;
+        return memberId != null ? resolver.findMember(memberId) : null;
     }
 
+    /**
+     * @return El ejemplar, o null si ya no existe
+     */
     public Copy getCopy() {
-        return copy;
+        return copyCode != null ? resolver.findCopy(copyCode) : null;
+    }
+
+    /**
+     * Pasa a resolver las referencias con el resolver del repositorio,
+     * soltando las instancias con las que se creó el préstamo
+     */
+    public void attach(EntityResolver resolver) {
+        this.resolver = resolver;
     }
 
     public LocalDate getLoanDate() {
@@ -55,6 +93,25 @@ public class Loan {
         return state;
     }
 
+    /**
+     * Copia del préstamo; cambiar una no cambia la otra
+     */
+    public Loan copy() {
+        Loan loan = new Loan(id, memberId, copyCode, loanDate, dueDate, state, resolver);
+        loan.setReturnDate(returnDate);
+        return loan;
+    }
+
+    /**
+     * Copia del préstamo marcada como devuelta en la fecha dada; el
+     * préstamo original no cambia
+     */
+    public Loan returned(LocalDate returnDate) {
+        Loan loan = new Loan(id, memberId, copyCode, loanDate, dueDate, LoanState.RETURNED, resolver);
+        loan.setReturnDate(returnDate);
+        return loan;
+    }
+
     public void setReturnDate(LocalDate returnDate) {
         this.returnDate = returnDate;
     }
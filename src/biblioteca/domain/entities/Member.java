@@ -142,6 +142,18 @@ public class Member {
         return type.calculateLoanDays(standardLoanDays);
     }
 
+    /**
+     * Creates a copy of this member; changing one does not change the other
+     * 
+     * @return A new member with the same data
+     */
+    public Member copy() {
+        Member copy = new Member(id, name, email, phone, type);
+        copy.setState(state);
+        copy.setPendingFines(pendingFines);
+        return copy;
+    }
+
     @Override
     public String toString() {
         return String.format("ID: %s | %s | %s", id, name, type.getDisplayName());
@@ -2,6 +2,7 @@ package biblioteca.domain.notifications;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.function.Consumer;
 
 /**
  * Abstract base class for all notification types.
@@ -18,6 +19,7 @@ public abstract class Notification implements Notifiable {
     protected LocalDateTime sentAt;
     protected boolean sent;
     protected String recipientInfo;
+    private Consumer<Notification> deliveryListener;
 
     /**
      * Constructor for notification
@@ -50,6 +52,9 @@ public abstract class Notification implements Notifiable {
             if (success) {
                 this.sent = true;
                 this.sentAt = LocalDateTime.now();
+                if (deliveryListener != null) {
+                    deliveryListener.accept(this);
+                }
             }
             return success;
         } catch (Exception e) {
@@ -57,6 +62,29 @@ public abstract class Notification implements Notifiable {
         }
     }
 
+    /**
+     * Restore the timestamps and delivery state of a stored notification
+     * without sending it again.
+     * 
+     * @param createdAt creation timestamp
+     * @param sentAt    sent timestamp (null if not sent)
+     */
+    public void restore(LocalDateTime createdAt, LocalDateTime sentAt) {
+        this.createdAt = createdAt;
+        this.sentAt = sentAt;
+        this.sent = sentAt != null;
+    }
+
+    /**
+     * Register a callback invoked after a successful delivery.
+     * Used by storage to keep sent/pending indexes up to date.
+     * 
+     * @param listener Callback receiving this notification
+     */
+    public void onDelivered(Consumer<Notification> listener) {
+        this.deliveryListener = listener;
+    }
+
     /**
      * Get the name of the notification channel.
      * Must be implemented by subclasses.
@@ -4,6 +4,7 @@ import java.time.LocalDate;
 import java.util.List;
 
 import biblioteca.domain.entities.Loan;
+import biblioteca.domain.entities.Member;
 import biblioteca.domain.enums.LoanState;
 
 /**
@@ -90,8 +91,10 @@ public class ActiveLoansReport extends Report {
         content.append("─".repeat(80)).append("\n");
 
         for (Loan loan : activeLoans) {
-            String memberName = truncate(loan.getMember().getName(), 20);
-            String copyCode = loan.getCopy().getCode();
+            // El socio puede haberse dado de baja con el préstamo abierto
+            Member member = loan.getMember();
+            String memberName = truncate(member != null ? member.getName() : "(dado de baja)", 20);
+            String copyCode = loan.getCopyCode();
             String loanDate = loan.getLoanDate().toString();
             String dueDate = loan.getDueDate().toString();
             String status = loan.getDueDate().isBefore(LocalDate.now()) ? "VENCIDO" : "Al día";
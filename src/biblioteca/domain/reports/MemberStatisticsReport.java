@@ -2,6 +2,7 @@ package biblioteca.domain.reports;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 import biblioteca.domain.entities.Fine;
@@ -109,9 +110,12 @@ public class MemberStatisticsReport extends Report {
         membersByType = members.stream()
                 .collect(Collectors.groupingBy(Member::getType, Collectors.counting()));
 
-        // Loans by member (top 5)
+        // Loans by member (top 5). Members removed since then are left out of
+        // both rankings
         loansByMember = loans.stream()
-                .collect(Collectors.groupingBy(Loan::getMember, Collectors.counting()))
+                .map(Loan::getMember)
+                .filter(Objects::nonNull)
+                .collect(Collectors.groupingBy(member -> member, Collectors.counting()))
                 .entrySet().stream()
                 .sorted(Map.Entry.<Member, Long>comparingByValue().reversed())
                 .limit(5)
@@ -119,6 +123,7 @@ public class MemberStatisticsReport extends Report {
 
         // Fines by member (top 5 with pending fines)
         finesByMember = pendingFines.stream()
+                .filter(fine -> fine.getMember() != null)
                 .collect(Collectors.groupingBy(
                         Fine::getMember,
                         Collectors.summingDouble(Fine::getAmount)))
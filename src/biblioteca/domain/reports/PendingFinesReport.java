@@ -16,7 +16,7 @@ import biblioteca.domain.entities.Member;
 public class PendingFinesReport extends Report {
 
     private List<Fine> pendingFines;
-    private Map<Member, List<Fine>> finesByMember;
+    private Map<String, List<Fine>> finesByMember;
     private double totalAmount;
     private int totalFines;
 
@@ -67,9 +67,9 @@ public class PendingFinesReport extends Report {
                 .mapToDouble(Fine::getAmount)
                 .sum();
 
-        // Group fines by member
+        // Group fines by member id: a removed member's debt is still listed
         finesByMember = pendingFines.stream()
-                .collect(Collectors.groupingBy(Fine::getMember));
+                .collect(Collectors.groupingBy(Fine::getMemberId));
     }
 
     @Override
@@ -91,18 +91,23 @@ public class PendingFinesReport extends Report {
         content.append("DETALLE POR SOCIO\n");
         content.append("═".repeat(80)).append("\n");
 
-        for (Map.Entry<Member, List<Fine>> entry : finesByMember.entrySet()) {
-            Member member = entry.getKey();
+        for (Map.Entry<String, List<Fine>> entry : finesByMember.entrySet()) {
             List<Fine> memberFines = entry.getValue();
+            Member member = memberFines.get(0).getMember();
             double memberTotal = memberFines.stream()
                     .mapToDouble(Fine::getAmount)
                     .sum();
 
             // Member header
-            content.append(String.format("\n👤 Socio: %s (ID: %s)\n",
-                    member.getName(), member.getId()));
-            content.append(String.format("   Tipo: %s | Total adeudado: $%.2f\n",
-                    getMemberTypeText(member.getType()), memberTotal));
+            if (member != null) {
+                content.append(String.format("\n👤 Socio: %s (ID: %s)\n",
+                        member.getName(), member.getId()));
+                content.append(String.format("   Tipo: %s | Total adeudado: $%.2f\n",
+                        getMemberTypeText(member.getType()), memberTotal));
+            } else {
+                content.append(String.format("\n👤 Socio dado de baja (ID: %s)\n", entry.getKey()));
+                content.append(String.format("   Total adeudado: $%.2f\n", memberTotal));
+            }
             content.append("   ").append("─".repeat(77)).append("\n");
 
             // Member's fines
@@ -0,0 +1,121 @@
+package biblioteca.application.prestamos.carrito;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import biblioteca.data.database.InMemoryLoanRepository;
+import biblioteca.data.ids.IdService;
+import biblioteca.domain.entities.EntityResolver;
+
+/**
+ * Cupo de préstamos por socio: varios carritos del mismo socio reservando
+ * y liberando a la vez nunca pasan el límite, y las entradas de socios sin
+ * reservas se retiran del mapa.
+ *
+ * <pre>
+ * java -cp bin:test-bin biblioteca.application.prestamos.carrito.LoanQuotaTest
+ * </pre>
+ */
+public class LoanQuotaTest {
+    private static final int LIMIT = 3;
+    private static final int DESKS = 8;
+    private static final int ITERATIONS = 20_000;
+
+    private static int checks;
+    private static final List<String> failures = new ArrayList<>();
+
+    public static void main(String[] args) throws Exception {
+        // Sin préstamos abiertos: el cupo es solo de reservas
+        InMemoryLoanRepository loans = new InMemoryLoanRepository(EntityResolver.pinned(null, null),
+                IdService.inMemory());
+        concurrentReserveAndRelease(new LoanQuota(loans, LIMIT, Duration.ofMinutes(30)));
+        cartsOfManyMembers(new LoanQuota(loans, LIMIT, Duration.ofMinutes(30)));
+        expiredHolds(new LoanQuota(loans, LIMIT, Duration.ofMillis(50)));
+        rejectedReserve(new LoanQuota(loans, 0, Duration.ofMinutes(30)));
+
+        System.out.println("Cupo de préstamos: " + checks + " comprobaciones, " + failures.size() + " fallidas");
+        failures.forEach(failure -> System.out.println("  FALLA " + failure));
+        if (!failures.isEmpty()) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Cada mostrador reserva y libera sin parar para el mismo socio: la
+     * entrada del socio se retira y se vuelve a crear todo el tiempo, y
+     * nunca hay más lugares tomados que el límite
+     */
+    private static void concurrentReserveAndRelease(LoanQuota quota) throws Exception {
+        AtomicInteger held = new AtomicInteger();
+        AtomicInteger highest = new AtomicInteger();
+        AtomicInteger granted = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(DESKS);
+        List<Future<?>> desks = new ArrayList<>();
+        for (int d = 0; d < DESKS; d++) {
+            desks.add(pool.submit(() -> {
+                for (int i = 0; i < ITERATIONS; i++) {
+                    LoanCart cart = new LoanCart("1001");
+                    if (quota.reserve(cart)) {
+                        granted.incrementAndGet();
+                        highest.accumulateAndGet(held.incrementAndGet(), Math::max);
+                        held.decrementAndGet();
+                        quota.releaseAll(cart);
+                    }
+                }
+            }));
+        }
+        for (Future<?> desk : desks) {
+            desk.get();
+        }
+        pool.shutdown();
+        check("nunca más de " + LIMIT + " lugares tomados (máximo " + highest + ")", highest.get() <= LIMIT);
+        check("se concedieron reservas", granted.get() > 0);
+        check("sin reservas al terminar", quota.reserved("1001") == 0);
+        check("sin socios en memoria al terminar", quota.trackedMembers() == 0);
+    }
+
+    private static void cartsOfManyMembers(LoanQuota quota) {
+        List<LoanCart> carts = new ArrayList<>();
+        for (int m = 0; m < 1000; m++) {
+            LoanCart cart = new LoanCart("socio" + m);
+            quota.reserve(cart);
+            quota.reserve(cart);
+            carts.add(cart);
+        }
+        check("un socio por carrito con reservas", quota.trackedMembers() == 1000);
+        LoanCart full = new LoanCart("socio0");
+        check("un lugar más entra en el cupo", quota.reserve(full));
+        check("el cuarto no", !quota.reserve(full));
+        quota.release(full);
+        check("liberar un lugar lo devuelve", quota.reserved("socio0") == 2);
+        carts.forEach(quota::releaseAll);
+        check("liberados todos, no queda ninguno en memoria", quota.trackedMembers() == 0);
+    }
+
+    private static void expiredHolds(LoanQuota quota) throws InterruptedException {
+        LoanCart abandoned = new LoanCart("1002");
+        quota.reserve(abandoned);
+        quota.reserve(abandoned);
+        Thread.sleep(80);
+        check("las reservas vencidas no cuentan", quota.reserved("1002") == 0);
+        check("el socio con reservas vencidas se retira", quota.trackedMembers() == 0);
+        check("el carrito vencido vuelve a reservar", quota.reserve(abandoned) && quota.reserved("1002") == 1);
+    }
+
+    private static void rejectedReserve(LoanQuota quota) {
+        check("sin cupo no se reserva", !quota.reserve(new LoanCart("1003")));
+        check("un socio sin cupo no queda en memoria", quota.trackedMembers() == 0);
+    }
+
+    private static void check(String description, boolean condition) {
+        checks++;
+        if (!condition) {
+            failures.add(description);
+        }
+    }
+}
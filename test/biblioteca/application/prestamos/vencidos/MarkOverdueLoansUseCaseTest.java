@@ -0,0 +1,85 @@
+package biblioteca.application.prestamos.vencidos;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import biblioteca.data.database.InMemoryLoanRepository;
+import biblioteca.data.ids.IdService;
+import biblioteca.data.store.UnitOfWork;
+import biblioteca.domain.entities.Book;
+import biblioteca.domain.entities.Copy;
+import biblioteca.domain.entities.EntityResolver;
+import biblioteca.domain.entities.Loan;
+import biblioteca.domain.entities.Member;
+import biblioteca.domain.enums.CopyOrigin;
+import biblioteca.domain.enums.CopyState;
+import biblioteca.domain.enums.LoanState;
+import biblioteca.domain.enums.MemberType;
+
+/**
+ * Marcado diario de vencidos: un préstamo vencido que otra unidad de
+ * trabajo tiene tomado no se marca en esa pasada, y la ejecución diaria lo
+ * vuelve a intentar el mismo día en vez de dejarlo activo hasta mañana.
+ *
+ * <pre>
+ * java -cp bin:test-bin biblioteca.application.prestamos.vencidos.MarkOverdueLoansUseCaseTest
+ * </pre>
+ */
+public class MarkOverdueLoansUseCaseTest {
+    private static int checks;
+    private static final List<String> failures = new ArrayList<>();
+
+    public static void main(String[] args) throws Exception {
+        InMemoryLoanRepository loans = new InMemoryLoanRepository(EntityResolver.pinned(null, null),
+                IdService.inMemory());
+        MarkOverdueLoansUseCase markOverdue = new MarkOverdueLoansUseCase(loans);
+        LocalDate today = LocalDate.now();
+        Member member = new Member("1001", "Prueba", "vencidos@prueba.test", "0", MemberType.STANDARD);
+        Copy copy = new Copy("LIB0001-001", CopyState.LOANED, CopyOrigin.PURCHASE, new Book());
+        Loan loan = loans.save(new Loan(null, member, copy, today.minusDays(20), today.minusDays(5),
+                LoanState.ACTIVE));
+
+        // Otro mostrador tiene el préstamo tomado mientras corre la pasada
+        CountDownLatch claimed = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        Thread desk = new Thread(() -> UnitOfWork.run(() -> {
+            loans.save(new Loan(loan.getId(), member, copy, loan.getLoanDate(), loan.getDueDate(),
+                    LoanState.ACTIVE));
+            claimed.countDown();
+            try {
+                done.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        }));
+        desk.start();
+        claimed.await();
+        check("el préstamo tomado no se marca", markOverdue.executeDaily() == 0);
+        check("sigue activo", loans.findById(loan.getId()).getState() == LoanState.ACTIVE);
+        check("la pasada del día queda pendiente", !markOverdue.isUpToDate());
+        done.countDown();
+        desk.join();
+
+        check("la siguiente ejecución del día lo marca", markOverdue.executeDaily() == 1);
+        check("queda vencido", loans.findById(loan.getId()).getState() == LoanState.OVERDUE);
+        check("la pasada del día queda hecha", markOverdue.isUpToDate());
+        check("con todo marcado no se repite en el día", markOverdue.executeDaily() == 0);
+
+        System.out.println("Marcado de vencidos: " + checks + " comprobaciones, " + failures.size()
+                + " fallidas");
+        failures.forEach(failure -> System.out.println("  FALLA " + failure));
+        if (!failures.isEmpty()) {
+            System.exit(1);
+        }
+    }
+
+    private static void check(String description, boolean condition) {
+        checks++;
+        if (!condition) {
+            failures.add(description);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package biblioteca.data.changes;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import biblioteca.data.database.InMemoryMemberRepository;
+import biblioteca.data.ids.IdService;
+import biblioteca.domain.entities.Member;
+import biblioteca.domain.enums.MemberType;
+
+/**
+ * Flujo de cambios:
+ *
+ * <ul>
+ * <li>Una suscripción desde una posición recibe los eventos conservados
+ * posteriores y después los nuevos, sin huecos ni repetidos, también al
+ * retomar desde el último entregado.</li>
+ * <li>Cuando el buffer circular ya descartó la posición pedida, la
+ * suscripción falla en vez de saltearse eventos.</li>
+ * <li>Los cambios de una unidad de trabajo se publican al terminar, y
+ * ninguno si falla.</li>
+ * </ul>
+ *
+ * <pre>
+ * java -cp bin:test-bin biblioteca.data.changes.ChangeStreamTest
+ * </pre>
+ */
+public class ChangeStreamTest {
+    private static final int RETAINED = 5;
+    private static int checks;
+    private static final List<String> failures = new ArrayList<>();
+
+    public static void main(String[] args) {
+        replay();
+        overrun();
+        batches();
+        repositoryChanges();
+
+        System.out.println("Flujo de cambios: " + checks + " comprobaciones, " + failures.size() + " fallidas");
+        failures.forEach(failure -> System.out.println("  FALLA " + failure));
+        if (!failures.isEmpty()) {
+            System.exit(1);
+        }
+    }
+
+    private static void replay() {
+        ChangeStream stream = new ChangeStream(RETAINED);
+        publish(stream, 3);
+        List<Long> fromStart = new ArrayList<>();
+        ChangeStream.Subscription all = stream.subscribe(0, event -> fromStart.add(event.sequence()));
+        List<Long> fromTwo = new ArrayList<>();
+        stream.subscribe(2, event -> fromTwo.add(event.sequence()));
+        check("desde el principio recibe los conservados", fromStart.equals(sequences(1, 3)));
+        check("desde una posición recibe los posteriores", fromTwo.equals(sequences(3, 3)));
+
+        publish(stream, 1);
+        check("después recibe los nuevos", fromStart.equals(sequences(1, 4)) && fromTwo.equals(sequences(3, 4)));
+
+        // Se corta y retoma desde el último entregado, con eventos en el medio
+        all.cancel();
+        publish(stream, 2);
+        check("cancelada no recibe más", fromStart.equals(sequences(1, 4)));
+        stream.subscribe(all.getLastDelivered(), event -> fromStart.add(event.sequence()));
+        publish(stream, 1);
+        check("al retomar no hay huecos ni repetidos", fromStart.equals(sequences(1, 7)));
+    }
+
+    private static void overrun() {
+        ChangeStream stream = new ChangeStream(RETAINED);
+        publish(stream, 12);
+        check("conserva los últimos", stream.firstRetainedSequence() == 8 && stream.lastSequence() == 12);
+        boolean rejected;
+        try {
+            stream.subscribe(3, event -> {
+            });
+            rejected = false;
+        } catch (IllegalArgumentException e) {
+            rejected = true;
+        }
+        check("una posición descartada se rechaza", rejected);
+        List<Long> fromOldest = new ArrayList<>();
+        stream.subscribe(7, event -> fromOldest.add(event.sequence()));
+        check("justo antes del más viejo conservado se acepta", fromOldest.equals(sequences(8, 12)));
+        List<Long> fromStart = new ArrayList<>();
+        stream.subscribe(0, event -> fromStart.add(event.sequence()));
+        check("desde el principio recibe solo los conservados", fromStart.equals(sequences(8, 12)));
+
+        // Un consumidor que falla queda desuscripto con su error
+        ChangeStream.Subscription failing = stream.subscribe(stream.lastSequence(), event -> {
+            throw new IllegalStateException("consumidor roto");
+        });
+        publish(stream, 2);
+        check("un consumidor que falla se desuscribe",
+                !failing.isActive() && failing.getFailure() != null && failing.getLastDelivered() == 0);
+        check("los demás siguen recibiendo", fromStart.equals(sequences(8, 14)));
+    }
+
+    private static void batches() {
+        ChangeStream stream = new ChangeStream(RETAINED);
+        List<Long> seen = new ArrayList<>();
+        stream.subscribe(0, event -> seen.add(event.sequence()));
+        List<Integer> seenInside = new ArrayList<>();
+        stream.batch(() -> {
+            publish(stream, 2);
+            seenInside.add(seen.size());
+        });
+        check("la unidad publica al terminar", seenInside.equals(List.of(0)) && seen.equals(sequences(1, 2)));
+        try {
+            stream.batch(() -> {
+                publish(stream, 2);
+                throw new IllegalStateException("falla");
+            });
+        } catch (IllegalStateException expected) {
+            // la unidad se deshizo
+        }
+        check("una unidad que falla no publica nada", seen.equals(sequences(1, 2)) && stream.lastSequence() == 2);
+    }
+
+    private static void repositoryChanges() {
+        ChangeStream stream = new ChangeStream(RETAINED);
+        InMemoryMemberRepository members = new InMemoryMemberRepository(IdService.inMemory());
+        members.addListener(new ChangeCapture<>(stream, Member.class, Member::getId));
+        List<String> seen = new ArrayList<>();
+        stream.subscribe(0, Member.class, event -> seen.add(event.type() + " " + event.entity().getName()));
+        Member member = members.save(new Member(null, "Nueva", "nueva@prueba.test", "0", MemberType.STANDARD));
+        members.save(new Member(member.getId(), "Cambiada", "nueva@prueba.test", "0", MemberType.STANDARD));
+        members.deleteById(member.getId());
+        check("los cambios del repositorio llegan en orden",
+                seen.equals(List.of("CREATED Nueva", "UPDATED Cambiada", "DELETED Cambiada")));
+    }
+
+    private static void publish(ChangeStream stream, int count) {
+        for (int i = 0; i < count; i++) {
+            stream.publish(String.class, ChangeType.CREATED, "k", null, "v");
+        }
+    }
+
+    private static List<Long> sequences(long first, long last) {
+        return LongStream.rangeClosed(first, last).boxed().collect(Collectors.toList());
+    }
+
+    private static void check(String description, boolean condition) {
+        checks++;
+        if (!condition) {
+            failures.add(description);
+        }
+    }
+}
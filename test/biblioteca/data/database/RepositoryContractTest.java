@@ -0,0 +1,430 @@
+package biblioteca.data.database;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import biblioteca.data.database.jdbc.JdbcAuthorRepository;
+import biblioteca.data.database.jdbc.JdbcBookRepository;
+import biblioteca.data.database.jdbc.JdbcCategoryRepository;
+import biblioteca.data.database.jdbc.JdbcCopyRepository;
+import biblioteca.data.database.jdbc.JdbcDatabase;
+import biblioteca.data.database.jdbc.JdbcFineRepository;
+import biblioteca.data.database.jdbc.JdbcLoanRepository;
+import biblioteca.data.database.jdbc.JdbcMemberRepository;
+import biblioteca.data.database.jdbc.JdbcNotificationRepository;
+import biblioteca.data.database.jdbc.JdbcPublisherRepository;
+import biblioteca.data.database.jdbc.JdbcSystemParametersRepository;
+import biblioteca.data.ids.IdService;
+import biblioteca.domain.entities.Author;
+import biblioteca.domain.entities.Book;
+import biblioteca.domain.entities.Category;
+import biblioteca.domain.entities.Copy;
+import biblioteca.domain.entities.EntityResolver;
+import biblioteca.domain.entities.Fine;
+import biblioteca.domain.entities.Loan;
+import biblioteca.domain.entities.Member;
+import biblioteca.domain.entities.Publisher;
+import biblioteca.domain.entities.SystemParameters;
+import biblioteca.domain.enums.CopyOrigin;
+import biblioteca.domain.enums.CopyState;
+import biblioteca.domain.enums.LoanState;
+import biblioteca.domain.enums.MemberType;
+import biblioteca.domain.notifications.ConsoleNotification;
+import biblioteca.domain.notifications.Notification;
+
+/**
+ * Contrato de los repositorios: las mismas comprobaciones se corren contra
+ * los repositorios en memoria y contra los JDBC sobre una base H2 embebida
+ * en memoria, así ambos almacenamientos se comportan igual para los casos
+ * de uso.
+ *
+ * No depende de un framework de pruebas; el driver de H2 tiene que estar en
+ * el classpath:
+ *
+ * <pre>
+ * javac -encoding UTF-8 -d bin $(find src -name '*.java')
+ * javac -encoding UTF-8 -cp bin -d test-bin $(find test -name '*.java')
+ * java -cp bin:test-bin:h2.jar biblioteca.data.database.RepositoryContractTest
+ * </pre>
+ */
+public class RepositoryContractTest {
+    // Los vencidos de un socio se calculan a la fecha actual
+    private static final LocalDate TODAY = LocalDate.now();
+
+    private final String backend;
+    private final Repositories repositories;
+    private int checks;
+    private final List<String> failures = new ArrayList<>();
+
+    private RepositoryContractTest(String backend, Repositories repositories) {
+        this.backend = backend;
+        this.repositories = repositories;
+    }
+
+    public static void main(String[] args) {
+        int failed = 0;
+        failed += run("memoria", RepositoryContractTest::inMemory);
+        failed += run("jdbc (H2)", RepositoryContractTest::jdbc);
+        if (failed > 0) {
+            System.exit(1);
+        }
+    }
+
+    private static int run(String backend, Supplier<Repositories> factory) {
+        Repositories repositories = factory.get();
+        RepositoryContractTest test = new RepositoryContractTest(backend, repositories);
+        try {
+            test.runAll();
+        } finally {
+            repositories.close();
+        }
+        System.out.println(backend + ": " + test.checks + " comprobaciones, " + test.failures.size() + " fallidas");
+        test.failures.forEach(failure -> System.out.println("  FALLA " + failure));
+        return test.failures.size();
+    }
+
+    private void runAll() {
+        // Las comprobaciones comparten el estado en este orden: el catálogo
+        // primero, luego ejemplares, socios y lo que los referencia
+        Book book = catalog();
+        copies(book);
+        Member member = members();
+        loans(member, book);
+        fines(member);
+        notifications(member);
+        systemParameters();
+    }
+
+    private Book catalog() {
+        Author author = repositories.authors.save(new Author(0, "Gabriel García Márquez"));
+        Category category = repositories.categories.save(new Category(0, "Novela"));
+        Publisher publisher = repositories.publishers.save(new Publisher(0, "Sudamericana"));
+        check("autor con ID generado", author.getId() > 0);
+        equal("autor por ID", "Gabriel García Márquez", nameOf(repositories.authors.findById(author.getId())));
+        equal("autor por parte del nombre sin acentos", 1,
+                repositories.authors.findByNameContaining("garcia").size());
+
+        Book book = repositories.books.save(
+                new Book(0, "Cien años de soledad", author, category, publisher, 1967));
+        Book other = repositories.books.save(
+                new Book(0, "El amor en los tiempos del cólera", author, category, publisher, 1985));
+        check("libros con IDs distintos", book.getId() > 0 && book.getId() != other.getId());
+        check("libro existe por título sin distinguir mayúsculas",
+                repositories.books.existsByTitle("cien AÑOS de soledad"));
+        check("libro inexistente por título", !repositories.books.existsByTitle("Rayuela"));
+        Book found = repositories.books.findById(book.getId());
+        equal("libro por ID", "Cien años de soledad", found != null ? found.getTitle() : null);
+        equal("autor del libro", author.getId(), found != null && found.getAuthor() != null
+                ? found.getAuthor().getId() : null);
+        equal("búsqueda por texto en el título", List.of(book.getId()),
+                ids(repositories.books.searchByText("soledad")));
+        equal("búsqueda por texto en el autor", 2, repositories.books.searchByText("marquez").size());
+
+        other.setTitle("El otoño del patriarca");
+        repositories.books.update(other);
+        check("título anterior ya no existe", !repositories.books.existsByTitle("El amor en los tiempos del cólera"));
+        check("título nuevo existe", repositories.books.existsByTitle("el otoño del patriarca"));
+        equal("búsqueda por el título nuevo", List.of(other.getId()),
+                ids(repositories.books.searchByText("patriarca")));
+        check("borrar libro", repositories.books.deleteById(other.getId()));
+        check("libro borrado", !repositories.books.existsById(other.getId()));
+        equal("libros restantes", 1, repositories.books.findAll().size());
+        return book;
+    }
+
+    private void copies(Book book) {
+        List<Copy> created = repositories.copies.createCopies(book, 5, CopyOrigin.PURCHASE);
+        equal("ejemplares creados", 5, created.size());
+        Set<String> codes = new HashSet<>();
+        created.forEach(copy -> codes.add(copy.getCode()));
+        equal("códigos distintos", 5, codes.size());
+        check("el número se lee del código sin conocer el libro",
+                created.stream().map(copy -> CopyCodes.number(copy.getCode())).distinct()
+                        .filter(number -> number > 0).count() == 5);
+        equal("ejemplares del libro", 5L, repositories.copies.countByBook(book));
+        equal("ejemplares disponibles", 5, repositories.copies.findAvailableCopiesByBook(book).size());
+
+        Copy copy = repositories.copies.findByCode(created.get(0).getCode());
+        check("ejemplar por código", copy != null && copy.getBook() != null
+                && copy.getBook().getId() == book.getId());
+        Copy loaned = repositories.copies.compareAndSetState(copy, CopyState.LOANED);
+        check("cambio de estado con la versión leída", loaned != null && loaned.getState() == CopyState.LOANED);
+        check("la versión aumenta", loaned != null && loaned.getVersion() > copy.getVersion());
+        check("cambio de estado con una versión vieja falla",
+                repositories.copies.compareAndSetState(copy, CopyState.RESERVED) == null);
+        equal("estado guardado", CopyState.LOANED, repositories.copies.findByCode(copy.getCode()).getState());
+        equal("prestados del libro", 1L, repositories.copies.countByBookAndState(book, CopyState.LOANED));
+        check("el libro tiene ejemplares activos", repositories.copies.hasActiveCopies(book));
+        equal("ejemplares prestados", 1, repositories.copies.findByState(CopyState.LOANED).size());
+
+        Copy returned = repositories.copies.findByCode(copy.getCode());
+        returned.setState(CopyState.AVAILABLE);
+        check("actualizar ejemplar", repositories.copies.update(returned) != null);
+        equal("disponibles tras actualizar", 5L, repositories.copies.countByBookAndState(book, CopyState.AVAILABLE));
+        check("actualizar ejemplar inexistente",
+                repositories.copies.update(new Copy("NO-EXISTE", CopyState.AVAILABLE, CopyOrigin.PURCHASE, book)) == null);
+
+        List<Copy> more = repositories.copies.createCopies(book, 2, CopyOrigin.DONATION);
+        check("códigos nuevos no repiten los anteriores",
+                more.stream().noneMatch(extra -> codes.contains(extra.getCode())));
+        equal("ejemplares tras agregar", 7L, repositories.copies.countByBook(book));
+    }
+
+    private Member members() {
+        Member ana = repositories.members.save(
+                new Member(null, "Ana Pérez", "Ana.Perez@Mail.com", "111", MemberType.STUDENT));
+        Member luis = repositories.members.save(
+                new Member(null, "Luis Gómez", "luis@mail.com", "222", MemberType.STANDARD));
+        check("socio con ID generado", ana.getId() != null && !ana.getId().isEmpty());
+        check("socios con IDs distintos", !Objects.equals(ana.getId(), luis.getId()));
+        equal("socio por email sin distinguir mayúsculas", ana.getId(),
+                idOf(repositories.members.findByEmail("ana.perez@mail.com")));
+        check("existe el email", repositories.members.existsByEmail("ANA.PEREZ@MAIL.COM"));
+        check("existe el ID", repositories.members.existsById(ana.getId()));
+        equal("socios por nombre sin acentos", List.of(ana.getId()),
+                memberIds(repositories.members.searchByName("perez")));
+        equal("socios por texto en el email", List.of(luis.getId()),
+                memberIds(repositories.members.searchByText("luis@")));
+        equal("socio por ID exacto", List.of(luis.getId()),
+                memberIds(repositories.members.searchByText(luis.getId())));
+        equal("socios por tipo", List.of(ana.getId()),
+                memberIds(repositories.members.findByType(MemberType.STUDENT)));
+
+        // Los repositorios pueden devolver la instancia guardada: los
+        // cambios se preparan sobre otra
+        Member change = new Member(luis.getId(), "Luis Gómez", "ana.perez@mail.com", "222", MemberType.STANDARD);
+        boolean rejected;
+        try {
+            repositories.members.update(change);
+            rejected = false;
+        } catch (RuntimeException e) {
+            rejected = true;
+        }
+        check("email repetido rechazado", rejected);
+        equal("el socio conserva su email", "luis@mail.com", repositories.members.findById(luis.getId()).getEmail());
+
+        change = new Member(luis.getId(), "Luis Gómez", "luis.gomez@mail.com", "333", MemberType.STANDARD);
+        check("actualizar socio", repositories.members.update(change) != null);
+        check("email anterior liberado", !repositories.members.existsByEmail("luis@mail.com"));
+        equal("socio por email nuevo", luis.getId(), idOf(repositories.members.findByEmail("luis.gomez@mail.com")));
+        equal("teléfono actualizado", "333", repositories.members.findById(luis.getId()).getPhone());
+
+        check("borrar socio", repositories.members.deleteById(luis.getId()));
+        check("socio borrado", repositories.members.findById(luis.getId()) == null);
+        check("borrar socio inexistente", !repositories.members.deleteById(luis.getId()));
+        equal("socios restantes", 1, repositories.members.count());
+        return ana;
+    }
+
+    private void loans(Member member, Book book) {
+        List<Copy> available = repositories.copies.findAvailableCopiesByBook(book);
+        Copy first = available.get(0);
+        Copy second = available.get(1);
+        Loan active = repositories.loans.save(
+                new Loan(null, member, first, TODAY, TODAY.plusDays(14), LoanState.ACTIVE));
+        Loan late = repositories.loans.save(
+                new Loan(null, member, second, TODAY.minusDays(20), TODAY.minusDays(6), LoanState.ACTIVE));
+        check("préstamo con ID generado", active.getId() != null && !active.getId().isEmpty());
+        check("préstamos con IDs distintos", !Objects.equals(active.getId(), late.getId()));
+        equal("préstamo por ID", first.getCode(), copyCodeOf(repositories.loans.findById(active.getId())));
+        equal("socio del préstamo", member.getId(), memberIdOf(repositories.loans.findById(active.getId())));
+        equal("préstamo activo del ejemplar", active.getId(), loanIdOf(repositories.loans.findActiveLoanByCopy(first)));
+        equal("préstamos activos del socio", 2L, repositories.loans.countActiveLoansByMemberId(member.getId()));
+        equal("préstamos por ejemplar", 1, repositories.loans.findByCopyCode(second.getCode()).size());
+        equal("vencidos a hoy", List.of(late.getId()), loanIds(repositories.loans.findOverdueLoans(TODAY)));
+
+        List<Loan> marked = repositories.loans.markOverdueLoans(TODAY);
+        equal("marcados como vencidos", List.of(late.getId()), loanIds(marked));
+        equal("estado vencido guardado", LoanState.OVERDUE, repositories.loans.findById(late.getId()).getState());
+        equal("vencidos del socio", List.of(late.getId()),
+                loanIds(repositories.loans.findOverdueLoansByMemberId(member.getId())));
+        equal("marcar de nuevo no repite", 0, repositories.loans.markOverdueLoans(TODAY).size());
+        equal("un vencido sigue contando como activo", 2L,
+                repositories.loans.countActiveLoansByMemberId(member.getId()));
+
+        Loan back = repositories.loans.findById(active.getId());
+        repositories.loans.save(back.returned(TODAY.plusDays(3)));
+        Loan stored = repositories.loans.findById(active.getId());
+        equal("préstamo devuelto", LoanState.RETURNED, stored.getState());
+        equal("fecha de devolución", TODAY.plusDays(3), stored.getReturnDate());
+        check("sin préstamo activo del ejemplar devuelto", repositories.loans.findActiveLoanByCopy(first) == null);
+        equal("préstamos devueltos", List.of(active.getId()),
+                loanIds(repositories.loans.findByState(LoanState.RETURNED)));
+        equal("préstamos del socio", 2, repositories.loans.findByMemberId(member.getId()).size());
+        equal("activos del socio tras devolver", 1L, repositories.loans.countActiveLoansByMemberId(member.getId()));
+    }
+
+    private void fines(Member member) {
+        Fine small = repositories.fines.save(new Fine(null, member, 150.0, TODAY));
+        Fine large = repositories.fines.save(new Fine(null, member, 300.0, TODAY));
+        check("multa con ID generado", small.getId() != null && !small.getId().isEmpty());
+        equal("multa por ID", 150.0, amountOf(repositories.fines.findById(small.getId())));
+        equal("multas impagas del socio", 2, repositories.fines.countUnpaidByMember(member));
+        equal("total impago", 450.0, repositories.fines.getTotalUnpaidAmount(member));
+
+        check("pagar multa", repositories.fines.markAsPaid(small.getId()));
+        check("multa pagada", repositories.fines.findById(small.getId()).isPaid());
+        check("pagar de nuevo no cambia nada", !repositories.fines.markAsPaid(small.getId()));
+        equal("total impago tras pagar", 300.0, repositories.fines.getTotalUnpaidAmount(member));
+        equal("impagas del socio", List.of(large.getId()),
+                fineIds(repositories.fines.findUnpaidByMember(member)));
+        equal("multas del socio", 2, repositories.fines.findByMember(member).size());
+        equal("impagas en total", 1, repositories.fines.findAllUnpaid().size());
+    }
+
+    private void notifications(Member member) {
+        String pendingId = repositories.notifications.generateId();
+        String sentId = repositories.notifications.generateId();
+        check("IDs de notificación distintos", !Objects.equals(pendingId, sentId));
+        repositories.notifications.save(new ConsoleNotification(pendingId, "Vence mañana", member.getId()));
+        Notification sent = new ConsoleNotification(sentId, "Préstamo vencido", member.getId());
+        sent.restore(LocalDateTime.of(2024, 3, 14, 9, 0), LocalDateTime.of(2024, 3, 15, 10, 0));
+        repositories.notifications.save(sent);
+        equal("notificación por ID", "Vence mañana", messageOf(repositories.notifications.findById(pendingId)));
+        equal("pendientes", 1, repositories.notifications.countPending());
+        equal("enviadas", 1, repositories.notifications.countSent());
+        equal("por canal", 2, repositories.notifications.findByChannel("Consola").size());
+        equal("todas", 2, repositories.notifications.findAll().size());
+    }
+
+    private void systemParameters() {
+        repositories.systemParameters.updateMaxLoansPerMember(5);
+        repositories.systemParameters.updateLoanDays(21);
+        repositories.systemParameters.updateFinePerDay(75.5);
+        SystemParameters parameters = repositories.systemParameters.get();
+        equal("máximo de préstamos", 5, parameters.getMaxLoansPerMember());
+        equal("días de préstamo", 21, parameters.getLoanDays());
+        equal("multa por día", 75.5, parameters.getFinePerDay());
+    }
+
+    private void check(String description, boolean condition) {
+        checks++;
+        if (!condition) {
+            failures.add(backend + ": " + description);
+        }
+    }
+
+    private void equal(String description, Object expected, Object actual) {
+        checks++;
+        if (!Objects.equals(expected, actual)) {
+            failures.add(backend + ": " + description + " (esperado " + expected + ", obtenido " + actual + ")");
+        }
+    }
+
+    private static String nameOf(Author author) {
+        return author != null ? author.getName() : null;
+    }
+
+    private static String idOf(Member member) {
+        return member != null ? member.getId() : null;
+    }
+
+    private static String copyCodeOf(Loan loan) {
+        return loan != null ? loan.getCopyCode() : null;
+    }
+
+    private static String memberIdOf(Loan loan) {
+        return loan != null ? loan.getMemberId() : null;
+    }
+
+    private static String loanIdOf(Loan loan) {
+        return loan != null ? loan.getId() : null;
+    }
+
+    private static Double amountOf(Fine fine) {
+        return fine != null ? fine.getAmount() : null;
+    }
+
+    private static String messageOf(Notification notification) {
+        return notification != null ? notification.getMessage() : null;
+    }
+
+    private static List<Integer> ids(List<Book> books) {
+        return books.stream().map(Book::getId).sorted().toList();
+    }
+
+    private static List<String> memberIds(List<Member> members) {
+        return members.stream().map(Member::getId).sorted().toList();
+    }
+
+    private static List<String> loanIds(List<Loan> loans) {
+        return loans.stream().map(Loan::getId).sorted().toList();
+    }
+
+    private static List<String> fineIds(List<Fine> fines) {
+        return fines.stream().map(Fine::getId).sorted().toList();
+    }
+
+    private static Repositories inMemory() {
+        IdService ids = IdService.inMemory();
+        InMemoryCopyRepository copies = new InMemoryCopyRepository(ids);
+        InMemoryMemberRepository members = new InMemoryMemberRepository(ids);
+        // Sin los socios de prueba que carga el constructor
+        members.loadDummyData(List.of());
+        EntityResolver resolver = new RepositoryResolver(members, copies);
+        return new Repositories(
+                new InMemoryAuthorRepository(),
+                new InMemoryCategoryRepository(),
+                new InMemoryPublisherRepository(),
+                new InMemoryBookRepository(),
+                copies,
+                members,
+                new InMemoryLoanRepository(resolver, ids),
+                new InMemoryFineRepository(resolver, ids),
+                new InMemoryNotificationRepository(ids),
+                new InMemorySystemParametersRepository(),
+                null);
+    }
+
+    private static Repositories jdbc() {
+        IdService ids = IdService.inMemory();
+        JdbcDatabase database = JdbcDatabase.open("jdbc:h2:mem:contrato;DB_CLOSE_DELAY=-1", 4);
+        JdbcBookRepository books = new JdbcBookRepository(database);
+        JdbcCopyRepository copies = new JdbcCopyRepository(database, books, ids);
+        JdbcMemberRepository members = new JdbcMemberRepository(database, ids);
+        EntityResolver resolver = new RepositoryResolver(members, copies);
+        return new Repositories(
+                new JdbcAuthorRepository(database),
+                new JdbcCategoryRepository(database),
+                new JdbcPublisherRepository(database),
+                books,
+                copies,
+                members,
+                new JdbcLoanRepository(database, resolver, ids),
+                new JdbcFineRepository(database, resolver, ids),
+                new JdbcNotificationRepository(database, ids),
+                new JdbcSystemParametersRepository(database),
+                database);
+    }
+
+    private record Repositories(
+            AuthorRepository authors,
+            CategoryRepository categories,
+            PublisherRepository publishers,
+            BookRepository books,
+            CopyRepository copies,
+            MemberRepository members,
+            LoanRepository loans,
+            FineRepository fines,
+            NotificationRepository notifications,
+            SystemParametersRepository systemParameters,
+            AutoCloseable resource) {
+
+        void close() {
+            if (resource == null) {
+                return;
+            }
+            try {
+                resource.close();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
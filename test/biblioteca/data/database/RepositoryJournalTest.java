@@ -0,0 +1,76 @@
+package biblioteca.data.database;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import biblioteca.data.ids.IdService;
+import biblioteca.data.persistence.WriteAheadLog;
+import biblioteca.domain.entities.EntityResolver;
+import biblioteca.domain.entities.Member;
+import biblioteca.domain.enums.MemberType;
+
+/**
+ * Cambios que no llegan al log de transacciones: si no se puede agregar el
+ * registro, el cambio se deshace en memoria y el error llega al que lo hizo.
+ *
+ * <pre>
+ * java -cp bin:test-bin biblioteca.data.database.RepositoryJournalTest
+ * </pre>
+ */
+public class RepositoryJournalTest {
+    private static int checks;
+    private static final List<String> failures = new ArrayList<>();
+
+    public static void main(String[] args) throws Exception {
+        Path directory = Files.createTempDirectory("biblioteca-journal");
+        IdService ids = IdService.inMemory();
+        InMemoryMemberRepository members = new InMemoryMemberRepository(ids);
+        WriteAheadLog log = WriteAheadLog.open(directory.resolve("biblioteca.wal"));
+        RepositoryJournal journal = new RepositoryJournal(log, directory.resolve("biblioteca.snap"),
+                new InMemoryAuthorRepository(), new InMemoryCategoryRepository(),
+                new InMemoryPublisherRepository(), new InMemoryBookRepository(), new InMemoryCopyRepository(ids),
+                members, new InMemoryLoanRepository(EntityResolver.pinned(null, null), ids),
+                new InMemoryFineRepository(EntityResolver.pinned(null, null), ids),
+                new InMemoryNotificationRepository(ids), new InMemorySystemParametersRepository());
+        journal.recover(() -> {
+        });
+        Member kept = members.save(new Member(null, "Guardado", "guardado@prueba.test", "0", MemberType.STANDARD));
+        long count = members.count();
+
+        // Sin log abierto ningún registro se puede agregar
+        log.close();
+        check("un socio nuevo falla", fails(() -> members.save(
+                new Member(null, "Perdido", "perdido@prueba.test", "0", MemberType.STANDARD))));
+        check("y no queda en memoria", members.count() == count);
+        check("un cambio falla", fails(() -> members.save(
+                new Member(kept.getId(), "Cambiado", "guardado@prueba.test", "0", MemberType.STANDARD))));
+        check("y se vuelve al anterior", "Guardado".equals(members.findById(kept.getId()).getName()));
+        check("una baja falla", fails(() -> members.deleteById(kept.getId())));
+        check("y el socio sigue", members.findById(kept.getId()) != null);
+
+        System.out.println("Log de transacciones: " + checks + " comprobaciones, " + failures.size()
+                + " fallidas");
+        failures.forEach(failure -> System.out.println("  FALLA " + failure));
+        if (!failures.isEmpty()) {
+            System.exit(1);
+        }
+    }
+
+    private static boolean fails(Runnable change) {
+        try {
+            change.run();
+            return false;
+        } catch (IllegalStateException e) {
+            return true;
+        }
+    }
+
+    private static void check(String description, boolean condition) {
+        checks++;
+        if (!condition) {
+            failures.add(description);
+        }
+    }
+}
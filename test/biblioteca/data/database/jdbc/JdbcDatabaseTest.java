@@ -0,0 +1,146 @@
+package biblioteca.data.database.jdbc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import biblioteca.data.store.IdentityCache;
+
+/**
+ * Transacciones y pool de conexiones de {@link JdbcDatabase} sobre una base
+ * H2 en memoria:
+ *
+ * <ul>
+ * <li>Una unidad de trabajo que falla, con cualquier excepción o error, no
+ * deja nada confirmado.</li>
+ * <li>Con un pool de una sola conexión, las consultas y transacciones que
+ * corre el callback de un recorrido usan la conexión del recorrido en vez
+ * de esperar otra.</li>
+ * <li>Una caché de identidad no guarda una fila leída antes de que otra
+ * transacción confirmara un cambio.</li>
+ * </ul>
+ *
+ * <pre>
+ * java -cp bin:test-bin:h2.jar biblioteca.data.database.jdbc.JdbcDatabaseTest
+ * </pre>
+ */
+public class JdbcDatabaseTest {
+    private static int checks;
+    private static final List<String> failures = new ArrayList<>();
+
+    public static void main(String[] args) throws Exception {
+        try (JdbcDatabase database = JdbcDatabase.open("jdbc:h2:mem:pool;DB_CLOSE_DELAY=-1", 1)) {
+            database.inTransaction(connection -> {
+                connection.execute("CREATE TABLE scratch (id INT PRIMARY KEY, name VARCHAR(20))");
+                return null;
+            });
+            failedWork(database);
+            nestedQueries(database);
+            cacheFillDuringCommit(database);
+        }
+
+        System.out.println("Base JDBC: " + checks + " comprobaciones, " + failures.size() + " fallidas");
+        failures.forEach(failure -> System.out.println("  FALLA " + failure));
+        if (!failures.isEmpty()) {
+            System.exit(1);
+        }
+    }
+
+    private static void failedWork(JdbcDatabase database) {
+        check("una excepción deshace la transacción", fails(database, new IllegalStateException("falla")));
+        check("un Error también la deshace", fails(database, new AssertionError("falla")));
+        check("nada quedó confirmado", database.queryNumber("SELECT COUNT(*) FROM scratch") == 0);
+        check("la conexión vuelve al pool usable",
+                database.update("INSERT INTO scratch (id, name) VALUES (?, ?)", 9, "nueve") == 1);
+        database.update("DELETE FROM scratch");
+    }
+
+    /**
+     * Dentro del recorrido se consulta, se recorre la misma consulta y se
+     * actualiza en una transacción. Si algo espera otra conexión la prueba
+     * se corta a los 10 segundos
+     */
+    private static void nestedQueries(JdbcDatabase database) throws Exception {
+        for (int id = 1; id <= 3; id++) {
+            database.update("INSERT INTO scratch (id, name) VALUES (?, ?)", id, "fila" + id);
+        }
+        String scan = "SELECT id FROM scratch ORDER BY id";
+        List<Integer> outer = new ArrayList<>();
+        List<Integer> inner = new ArrayList<>();
+        ExecutorService thread = Executors.newSingleThreadExecutor();
+        Future<?> run = thread.submit(() -> database.forEach(scan, resultSet -> resultSet.getInt(1), id -> {
+            outer.add(id);
+            inner.add((int) database.queryNumber("SELECT COUNT(*) FROM scratch WHERE id <= ?", id));
+            database.forEach(scan, resultSet -> resultSet.getInt(1), other -> {
+            });
+            database.inTransaction(connection -> database.update("UPDATE scratch SET name = ? WHERE id = ?",
+                    "visto", id));
+        }));
+        try {
+            run.get(10, TimeUnit.SECONDS);
+            check("el recorrido leyó todas las filas", outer.equals(List.of(1, 2, 3)));
+            check("las consultas del callback responden", inner.equals(List.of(1, 2, 3)));
+            check("las transacciones del callback se confirman",
+                    database.queryNumber("SELECT COUNT(*) FROM scratch WHERE name = ?", "visto") == 3);
+        } catch (TimeoutException e) {
+            System.out.println("Base JDBC: recorrido bloqueado esperando una conexión");
+            System.exit(1);
+        } finally {
+            thread.shutdownNow();
+        }
+    }
+
+    /**
+     * La carga lee la fila y, antes de guardarla en la caché, otra
+     * transacción la cambia y confirma
+     */
+    private static void cacheFillDuringCommit(JdbcDatabase database) {
+        IdentityCache<Integer, String> cache = new IdentityCache<>(10);
+        database.onCommit(cache::discardLoadsInFlight);
+        database.update("INSERT INTO scratch (id, name) VALUES (?, ?)", 10, "antes");
+        String loaded = cache.get(10, id -> {
+            String name = database.queryOne("SELECT name FROM scratch WHERE id = ?",
+                    resultSet -> resultSet.getString(1), id);
+            database.inTransaction(connection -> database.update("UPDATE scratch SET name = ? WHERE id = ?",
+                    "después", id));
+            return name;
+        });
+        check("la carga devuelve lo que leyó", "antes".equals(loaded));
+        check("la caché no guarda la fila vieja",
+                "después".equals(cache.get(10, id -> database.queryOne("SELECT name FROM scratch WHERE id = ?",
+                        resultSet -> resultSet.getString(1), id))));
+    }
+
+    /**
+     * Inserta una fila dentro de una transacción que luego lanza el error
+     *
+     * @return true si el error llegó al que llamó
+     */
+    private static boolean fails(JdbcDatabase database, Throwable error) {
+        try {
+            database.inTransaction(connection -> {
+                database.update("INSERT INTO scratch (id, name) VALUES (?, ?)", 1, "uno");
+                throw JdbcDatabaseTest.<RuntimeException>sneaky(error);
+            });
+            return false;
+        } catch (Throwable thrown) {
+            return thrown == error;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E extends Throwable> E sneaky(Throwable error) throws E {
+        throw (E) error;
+    }
+
+    private static void check(String description, boolean condition) {
+        checks++;
+        if (!condition) {
+            failures.add(description);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package biblioteca.data.persistence;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import biblioteca.domain.entities.EntityResolver;
+import biblioteca.domain.entities.Loan;
+import biblioteca.domain.enums.LoanState;
+
+/**
+ * Archivo de préstamos devueltos:
+ *
+ * <ul>
+ * <li>Las búsquedas por socio y por ejemplar devuelven las filas de cada
+ * segmento en el orden en que se archivaron.</li>
+ * <li>Si falta un segmento, el siguiente toma un número mayor que el último
+ * y no pisa uno existente.</li>
+ * </ul>
+ *
+ * <pre>
+ * java -cp bin:test-bin biblioteca.data.persistence.LoanArchiveTest
+ * </pre>
+ */
+public class LoanArchiveTest {
+    private static final EntityResolver RESOLVER = EntityResolver.pinned(null, null);
+    private static int checks;
+    private static final List<String> failures = new ArrayList<>();
+
+    public static void main(String[] args) throws Exception {
+        Path directory = Files.createTempDirectory("biblioteca-archivo");
+        LoanArchive archive = LoanArchive.open(directory, RESOLVER);
+        archive.append(loans(1, 300));
+        archive.append(loans(301, 300));
+
+        check("préstamos de un socio", ids(archive.findByMemberId("1003")).equals(expected(1, 600, 7, 3)));
+        check("préstamos de un ejemplar",
+                ids(archive.findByCopyCode("LIB0002-005")).equals(expected(1, 600, 11, 5)));
+        check("un socio sin préstamos", archive.findByMemberId("9999").isEmpty());
+
+        // Se perdió el primer segmento: el nuevo no puede llamarse como el segundo
+        Files.delete(directory.resolve("loans-000001.seg"));
+        archive = LoanArchive.open(directory, RESOLVER);
+        archive.append(loans(601, 100));
+        check("el nuevo segmento sigue al último", Files.exists(directory.resolve("loans-000003.seg")));
+        archive = LoanArchive.open(directory, RESOLVER);
+        check("se conservan los dos segmentos", archive.size() == 400);
+        check("préstamos del socio al reabrir",
+                ids(archive.findByMemberId("1003")).equals(expected(301, 700, 7, 3)));
+        check("el último segmento es el nuevo", archive.latestLoanIds().get(0).equals("LOAN601"));
+
+        System.out.println("Archivo de préstamos: " + checks + " comprobaciones, " + failures.size()
+                + " fallidas");
+        failures.forEach(failure -> System.out.println("  FALLA " + failure));
+        if (!failures.isEmpty()) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Préstamos devueltos numerados desde first; el socio rota entre 7 y el
+     * ejemplar entre 11
+     */
+    private static List<Loan> loans(int first, int count) {
+        LocalDate day = LocalDate.of(2024, 1, 1);
+        List<Loan> loans = new ArrayList<>();
+        for (int number = first; number < first + count; number++) {
+            Loan loan = new Loan("LOAN" + number, "100" + (number % 7), copyOf(number), day, day.plusDays(14),
+                    LoanState.RETURNED, RESOLVER);
+            loan.setReturnDate(day.plusDays(10));
+            loans.add(loan);
+        }
+        return loans;
+    }
+
+    private static String copyOf(int number) {
+        return String.format("LIB0002-%03d", number % 11);
+    }
+
+    /**
+     * IDs de los préstamos entre first y last cuyo número da el resto dado
+     */
+    private static List<String> expected(int first, int last, int modulus, int remainder) {
+        List<String> ids = new ArrayList<>();
+        for (int number = first; number <= last; number++) {
+            if (number % modulus == remainder) {
+                ids.add("LOAN" + number);
+            }
+        }
+        return ids;
+    }
+
+    private static List<String> ids(List<Loan> loans) {
+        return loans.stream().map(Loan::getId).collect(Collectors.toList());
+    }
+
+    private static void check(String description, boolean condition) {
+        checks++;
+        if (!condition) {
+            failures.add(description);
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package biblioteca.stress;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import biblioteca.application.devoluciones.registrar.RegisterReturnRequest;
+import biblioteca.application.devoluciones.registrar.RegisterReturnResult;
+import biblioteca.application.devoluciones.registrar.RegisterReturnUseCase;
+import biblioteca.console.ioc.DependencyContainer;
+import biblioteca.data.database.CopyRepository;
+import biblioteca.data.database.FineRepository;
+import biblioteca.data.database.LoanRepository;
+import biblioteca.data.database.MemberRepository;
+import biblioteca.domain.entities.Book;
+import biblioteca.domain.entities.Copy;
+import biblioteca.domain.entities.Fine;
+import biblioteca.domain.entities.Loan;
+import biblioteca.domain.entities.Member;
+import biblioteca.domain.enums.CopyOrigin;
+import biblioteca.domain.enums.CopyState;
+import biblioteca.domain.enums.LoanState;
+import biblioteca.domain.enums.MemberType;
+
+/**
+ * Varios mostradores sobre los mismos repositorios, como en el modo
+ * servidor:
+ *
+ * <ul>
+ * <li>Escrituras concurrentes mientras otros hilos consultan: ningún
+ * ejemplar o multa creado se pierde ni repite su código, y el estado
+ * guardado es el mismo al reabrir.</li>
+ * <li>Devolución doble: varios mostradores devuelven a la vez el mismo
+ * ejemplar vencido; solo uno lo logra y se genera una sola multa.</li>
+ * </ul>
+ *
+ * <pre>
+ * java -cp bin:test-bin biblioteca.stress.ConcurrentDesksStressTest
+ * </pre>
+ */
+public class ConcurrentDesksStressTest {
+    private static final int DESKS = 8;
+    private static final int WRITES_PER_DESK = 500;
+    private static final int RETURN_ROUNDS = 200;
+
+    public static void main(String[] args) throws Exception {
+        StressSupport checks = new StressSupport("Mostradores concurrentes");
+        DependencyContainer container = StressSupport.openContainer();
+        ExecutorService pool = Executors.newFixedThreadPool(DESKS + 1);
+        try {
+            concurrentWrites(container, pool, checks);
+            doubleReturns(container, pool, checks);
+        } finally {
+            pool.shutdown();
+        }
+        String saved = digest(container);
+        container.close();
+
+        DependencyContainer reopened = StressSupport.openContainer();
+        checks.equal("estado al reabrir", saved, digest(reopened));
+        reopened.close();
+        checks.finish();
+    }
+
+    /**
+     * Cada mostrador crea ejemplares y multas mientras otro hilo consulta
+     */
+    private static void concurrentWrites(DependencyContainer container, ExecutorService pool,
+            StressSupport checks) {
+        CopyRepository copies = container.getCopyRepository();
+        FineRepository fines = container.getFineRepository();
+        Book book = container.getBookRepository().findAll().get(0);
+        Member member = newMember(container.getMemberRepository(), "escrituras");
+        long copiesBefore = copies.countByBook(book);
+        Set<String> copyCodes = ConcurrentHashMap.newKeySet();
+        Set<String> fineIds = ConcurrentHashMap.newKeySet();
+        AtomicInteger readErrors = new AtomicInteger();
+        AtomicBoolean writing = new AtomicBoolean(true);
+
+        pool.execute(() -> {
+            while (writing.get()) {
+                try {
+                    container.getBookRepository().searchByText("amor");
+                    container.getMemberRepository().searchByText("a");
+                    container.getLoanRepository().findOverdueLoans(LocalDate.now());
+                    copies.findAvailableCopiesByBook(book);
+                    fines.getTotalUnpaidAmount(member);
+                } catch (RuntimeException e) {
+                    readErrors.incrementAndGet();
+                }
+            }
+        });
+        List<Callable<Integer>> desks = new ArrayList<>();
+        for (int d = 0; d < DESKS; d++) {
+            desks.add(() -> {
+                for (int i = 0; i < WRITES_PER_DESK; i++) {
+                    copies.createCopies(book, 1, CopyOrigin.PURCHASE).forEach(copy -> copyCodes.add(copy.getCode()));
+                    fineIds.add(fines.save(new Fine(null, member, 1.0, LocalDate.now())).getId());
+                }
+                return WRITES_PER_DESK;
+            });
+        }
+        try {
+            StressSupport.atOnce(pool, desks);
+        } finally {
+            writing.set(false);
+        }
+
+        int expected = DESKS * WRITES_PER_DESK;
+        checks.equal("códigos de ejemplar distintos", expected, copyCodes.size());
+        checks.equal("ejemplares guardados", copiesBefore + expected, copies.countByBook(book));
+        checks.check("cada ejemplar creado se encuentra",
+                copyCodes.stream().allMatch(code -> copies.findByCode(code) != null));
+        checks.equal("IDs de multa distintos", expected, fineIds.size());
+        checks.equal("multas del socio", expected, fines.findByMember(member).size());
+        checks.equal("total impago del socio", (double) expected, fines.getTotalUnpaidAmount(member));
+        checks.equal("consultas con error", 0, readErrors.get());
+    }
+
+    /**
+     * Cada ronda presta un ejemplar vencido y lo devuelven todos los
+     * mostradores a la vez
+     */
+    private static void doubleReturns(DependencyContainer container, ExecutorService pool, StressSupport checks) {
+        CopyRepository copies = container.getCopyRepository();
+        LoanRepository loans = container.getLoanRepository();
+        FineRepository fines = container.getFineRepository();
+        RegisterReturnUseCase returns = container.getRegisterReturnUseCase();
+        Book book = container.getBookRepository().findAll().get(0);
+        List<Copy> created = copies.createCopies(book, RETURN_ROUNDS, CopyOrigin.PURCHASE);
+        LocalDate today = LocalDate.now();
+        int badRounds = 0;
+        int extraFines = 0;
+        int openLoans = 0;
+
+        for (int round = 0; round < RETURN_ROUNDS; round++) {
+            Member member = newMember(container.getMemberRepository(), "devolucion" + round);
+            Copy copy = copies.compareAndSetState(copies.findByCode(created.get(round).getCode()), CopyState.LOANED);
+            Loan loan = loans.save(new Loan(null, member, copy, today.minusDays(20), today.minusDays(6),
+                    LoanState.ACTIVE));
+            String code = copy.getCode();
+
+            List<Callable<RegisterReturnResult>> desks = new ArrayList<>();
+            for (int d = 0; d < DESKS; d++) {
+                desks.add(() -> returns.execute(new RegisterReturnRequest(code)));
+            }
+            long successes = StressSupport.atOnce(pool, desks).stream().filter(RegisterReturnResult::isSuccess)
+                    .count();
+            if (successes != 1) {
+                badRounds++;
+            }
+            extraFines += Math.max(0, fines.findByMember(member).size() - 1);
+            if (loans.findById(loan.getId()).getState() != LoanState.RETURNED
+                    || copies.findByCode(code).getState() != CopyState.AVAILABLE) {
+                openLoans++;
+            }
+        }
+        checks.equal("rondas con más o menos de una devolución", 0, badRounds);
+        checks.equal("multas repetidas", 0, extraFines);
+        checks.equal("préstamos o ejemplares sin devolver", 0, openLoans);
+    }
+
+    private static Member newMember(MemberRepository members, String name) {
+        return members.save(new Member(null, "Prueba " + name, name + "@prueba.test", "0", MemberType.STANDARD));
+    }
+
+    /**
+     * Resumen de lo guardado, para comparar al reabrir
+     */
+    private static String digest(DependencyContainer container) {
+        LoanRepository loans = container.getLoanRepository();
+        return "ejemplares=" + container.getCopyRepository().findAll().size()
+                + " disponibles=" + container.getCopyRepository().findByState(CopyState.AVAILABLE).size()
+                + " socios=" + container.getMemberRepository().count()
+                + " multas=" + container.getFineRepository().findAll().size()
+                + " impagas=" + container.getFineRepository().findAllUnpaid().size()
+                + " préstamos=" + loans.findAll().size()
+                + " devueltos=" + loans.findByState(LoanState.RETURNED).size();
+    }
+}
@@ -0,0 +1,112 @@
+package biblioteca.stress;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import biblioteca.application.prestamos.carrito.LoanCart;
+import biblioteca.application.prestamos.create.CreateLoanResult;
+import biblioteca.application.prestamos.create.CreateLoanUseCase;
+import biblioteca.console.ioc.DependencyContainer;
+import biblioteca.data.database.CopyRepository;
+import biblioteca.data.database.LoanRepository;
+import biblioteca.data.database.MemberRepository;
+import biblioteca.domain.entities.Book;
+import biblioteca.domain.entities.Copy;
+import biblioteca.domain.entities.Member;
+import biblioteca.domain.enums.CopyOrigin;
+import biblioteca.domain.enums.CopyState;
+import biblioteca.domain.enums.MemberState;
+import biblioteca.domain.enums.MemberType;
+
+/**
+ * Préstamo concurrente: en cada ronda varios mostradores confirman a la
+ * vez un carrito con el mismo ejemplar, cada uno para otro socio. Solo uno
+ * puede prestarlo; los demás reciben un error y no queda ningún préstamo
+ * duplicado. Un carrito armado antes de que el ejemplar se prestara
+ * también falla. Las versiones de los ejemplares se conservan al reabrir.
+ *
+ * <pre>
+ * java -cp bin:test-bin biblioteca.stress.ConcurrentLendStressTest
+ * </pre>
+ */
+public class ConcurrentLendStressTest {
+    private static final int DESKS = 8;
+    private static final int ROUNDS = 200;
+
+    public static void main(String[] args) throws Exception {
+        StressSupport checks = new StressSupport("Préstamo concurrente");
+        DependencyContainer container = StressSupport.openContainer();
+        CopyRepository copies = container.getCopyRepository();
+        LoanRepository loans = container.getLoanRepository();
+        MemberRepository members = container.getMemberRepository();
+        CreateLoanUseCase createLoan = container.getCreateLoanUseCase();
+        Book book = container.getBookRepository().findAll().get(0);
+        List<Copy> created = copies.createCopies(book, ROUNDS + 1, CopyOrigin.PURCHASE);
+        int loansBefore = loans.findAll().size();
+        ExecutorService pool = Executors.newFixedThreadPool(DESKS);
+        int badRounds = 0;
+        int duplicated = 0;
+
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                Copy copy = copies.findByCode(created.get(round).getCode());
+                List<Callable<CreateLoanResult>> desks = new ArrayList<>();
+                for (int d = 0; d < DESKS; d++) {
+                    LoanCart cart = new LoanCart(newMember(members, round + "-" + d).getId());
+                    cart.addItem(copy);
+                    desks.add(() -> createLoan.confirmLoan(cart));
+                }
+                long wins = StressSupport.atOnce(pool, desks).stream().filter(CreateLoanResult::isSuccess).count();
+                if (wins != 1) {
+                    badRounds++;
+                }
+                if (loans.findByCopyCode(copy.getCode()).size() != 1) {
+                    duplicated++;
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+        checks.equal("rondas con más o menos de un préstamo", 0, badRounds);
+        checks.equal("ejemplares prestados más de una vez", 0, duplicated);
+        checks.equal("préstamos nuevos", ROUNDS, loans.findAll().size() - loansBefore);
+
+        // Un carrito armado antes de que otro mostrador prestara el ejemplar
+        Copy last = copies.findByCode(created.get(ROUNDS).getCode());
+        LoanCart first = new LoanCart(newMember(members, "primero").getId());
+        LoanCart stale = new LoanCart(newMember(members, "tarde").getId());
+        first.addItem(last);
+        stale.addItem(last);
+        checks.check("el primer carrito presta el ejemplar", createLoan.confirmLoan(first).isSuccess());
+        checks.check("el carrito desactualizado falla", !createLoan.confirmLoan(stale).isSuccess());
+
+        Map<String, Long> versions = new HashMap<>();
+        for (Copy copy : created) {
+            versions.put(copy.getCode(), copies.findByCode(copy.getCode()).getVersion());
+        }
+        checks.check("los ejemplares prestados cambiaron de versión",
+                created.stream().allMatch(copy -> versions.get(copy.getCode()) > 0));
+        container.close();
+
+        DependencyContainer reopened = StressSupport.openContainer();
+        CopyRepository reopenedCopies = reopened.getCopyRepository();
+        checks.check("versiones de los ejemplares al reabrir", created.stream().allMatch(copy -> {
+            Copy stored = reopenedCopies.findByCode(copy.getCode());
+            return stored.getState() == CopyState.LOANED && stored.getVersion() == versions.get(copy.getCode());
+        }));
+        reopened.close();
+        checks.finish();
+    }
+
+    private static Member newMember(MemberRepository members, String name) {
+        Member member = new Member(null, "Prueba " + name, "prestamo" + name + "@prueba.test", "0",
+                MemberType.STUDENT);
+        member.setState(MemberState.ACTIVE);
+        return members.save(member);
+    }
+}
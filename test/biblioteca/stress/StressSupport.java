@@ -0,0 +1,94 @@
+package biblioteca.stress;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import biblioteca.console.ioc.DependencyContainer;
+
+/**
+ * Lo común de las pruebas de concurrencia: el contenedor de la aplicación
+ * sobre un directorio de datos temporal, mostradores que arrancan a la vez
+ * y el registro de las comprobaciones fallidas.
+ */
+final class StressSupport {
+    private final String name;
+    private int checks;
+    private final List<String> failures = new ArrayList<>();
+
+    StressSupport(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Contenedor inicializado como al arrancar la aplicación. Sin
+     * -Dbiblioteca.dataDir los datos van a un directorio temporal, el mismo
+     * para todos los contenedores de la prueba, así se puede reabrir
+     */
+    static DependencyContainer openContainer() throws IOException {
+        if (System.getProperty("biblioteca.dataDir") == null) {
+            System.setProperty("biblioteca.dataDir", Files.createTempDirectory("biblioteca-stress").toString());
+        }
+        DependencyContainer container = new DependencyContainer();
+        container.initialize();
+        return container;
+    }
+
+    /**
+     * Corre las tareas en el pool, todas liberadas en el mismo instante
+     *
+     * @return Los resultados, en el orden de las tareas
+     */
+    static <T> List<T> atOnce(ExecutorService pool, List<Callable<T>> tasks) {
+        CyclicBarrier start = new CyclicBarrier(tasks.size());
+        List<Future<T>> futures = new ArrayList<>();
+        for (Callable<T> task : tasks) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                return task.call();
+            }));
+        }
+        List<T> results = new ArrayList<>();
+        try {
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falló un mostrador", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+        return results;
+    }
+
+    void check(String description, boolean condition) {
+        checks++;
+        if (!condition) {
+            failures.add(description);
+        }
+    }
+
+    void equal(String description, Object expected, Object actual) {
+        check(description + " (esperado " + expected + ", obtenido " + actual + ")",
+                Objects.equals(expected, actual));
+    }
+
+    /**
+     * Informa el resultado y termina con código 1 si algo falló
+     */
+    void finish() {
+        System.out.println(name + ": " + checks + " comprobaciones, " + failures.size() + " fallidas");
+        failures.forEach(failure -> System.out.println("  FALLA " + failure));
+        if (!failures.isEmpty()) {
+            System.exit(1);
+        }
+    }
+}